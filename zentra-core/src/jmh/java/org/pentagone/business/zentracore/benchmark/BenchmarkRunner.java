@@ -0,0 +1,26 @@
+package org.pentagone.business.zentracore.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler, so every result comes with its allocation rate
+ * ({@code gc.alloc.rate.norm} is bytes allocated per operation). Regular JMH options are accepted, for
+ * example a benchmark name pattern or {@code -p questions=500}.
+ * <p>
+ * {@code ./mvnw -Pbenchmark test-compile exec:exec -Dbenchmark.args="Grading -p questions=500"}
+ */
+public class BenchmarkRunner {
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        OptionsBuilder options = new OptionsBuilder();
+        options.parent(commandLine).addProfiler(GCProfiler.class);
+        if (commandLine.getIncludes().isEmpty())
+            options.include("org\\.pentagone\\.business\\.zentracore\\..*Benchmark");
+        new Runner(options.build()).run();
+    }
+}
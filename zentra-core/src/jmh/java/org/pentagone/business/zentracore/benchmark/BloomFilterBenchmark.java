@@ -0,0 +1,56 @@
+package org.pentagone.business.zentracore.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.pentagone.business.zentracore.common.util.BloomFilter;
+
+import java.util.concurrent.TimeUnit;
+
+// What a uniqueness pre-check costs in UniqueKeyIndex: absent() is the definite negative that skips the
+// database, present() a value that is stored and still needs its lookup. Both against a filter holding a
+// million emails at the default 1% false positive rate.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BloomFilterBenchmark {
+    private static final int PROBES = 1024;
+
+    @Param({"1000000"})
+    private int values;
+
+    private BloomFilter filter;
+    private final String[] present = new String[PROBES];
+    private final String[] absent = new String[PROBES];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        filter = new BloomFilter(values, 0.01);
+        for (int i = 0; i < values; i++)
+            filter.put("candidate" + i + "@example.com");
+        for (int i = 0; i < PROBES; i++) {
+            present[i] = "candidate" + (i * 977L % values) + "@example.com";
+            absent[i] = "applicant" + i + "@example.org";
+        }
+    }
+
+    @Benchmark
+    public boolean present() {
+        next = (next + 1) & (PROBES - 1);
+        return filter.mightContain(present[next]);
+    }
+
+    @Benchmark
+    public boolean absent() {
+        next = (next + 1) & (PROBES - 1);
+        return filter.mightContain(absent[next]);
+    }
+
+    @Benchmark
+    public void put() {
+        next = (next + 1) & (PROBES - 1);
+        filter.put(absent[next]);
+    }
+}
@@ -0,0 +1,100 @@
+package org.pentagone.business.zentracore.benchmark;
+
+import org.pentagone.business.zentracore.hr.dedup.CandidateFeatures;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic candidates for the duplicate detection benchmarks. Names are drawn from small pools so that
+ * distinct people often share a first or a last name, as in the real table; duplicates are the same person
+ * entered again with the usual differences: a typo, accents dropped, names swapped, another phone format,
+ * skills in another order, a field left empty.
+ */
+public final class CandidateFixtures {
+    private static final String[] FIRST_NAMES = ("Jean Marie Pierre Sophie Nicolas Isabelle Julien Camille Thomas Céline " +
+            "Antoine Élodie Mathieu Hélène Guillaume Chloé Laurent Amélie François Léa Mehdi Fatima Karim Aïcha Youssef " +
+            "Inès Olivier Sandrine Sébastien Nathalie Maxime Manon Hugo Clémence Rémi Noémie Lucas Emma Théo Zoé").split(" ");
+    private static final String[] LAST_NAMES = ("Martin Bernard Dubois Thomas Robert Richard Petit Durand Leroy Moreau " +
+            "Simon Laurent Lefèvre Michel Garcia David Bertrand Roux Vincent Fournier Morel Girard André Lefebvre Mercier " +
+            "Dupont Lambert Bonnet François Martinez Benali Haddad Nguyen Diallo Traoré Cohen Lemaire Rousseau Blanc Guérin").split(" ");
+    private static final String[] SKILLS = ("Java, Spring Boot, PostgreSQL, Docker, Kubernetes, React, Angular, TypeScript, " +
+            "Python, SQL, Git, Linux, AWS, Excel, SAP, Comptabilité, Paie, Recrutement, Gestion de projet, Anglais, " +
+            "Node.js, Kafka, Scrum, Power BI, Salesforce").split(", ");
+
+    private CandidateFixtures() {
+    }
+
+    public record Person(String firstName, String lastName, LocalDate birthDate, String phone, String skills) {
+        public long[] features() {
+            return CandidateFeatures.of(firstName, lastName, birthDate, phone, skills);
+        }
+    }
+
+    public static List<Person> people(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Person> people = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String phone = "06" + String.format("%08d", random.nextInt(100_000_000));
+            List<String> skills = new ArrayList<>(Arrays.asList(SKILLS));
+            Collections.shuffle(skills, new Random(random.nextLong()));
+            people.add(new Person(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)], LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                    LocalDate.of(1960, 1, 1).plusDays(random.nextInt(16_000)),
+                    random.nextInt(10) == 0 ? null : phone,
+                    String.join(", ", skills.subList(0, 2 + random.nextInt(6)))));
+        }
+        return people;
+    }
+
+    // The same person typed in again, one to three differences
+    public static Person duplicate(Person person, SplittableRandom random) {
+        String firstName = person.firstName();
+        String lastName = person.lastName();
+        LocalDate birthDate = person.birthDate();
+        String phone = person.phone();
+        String skills = person.skills();
+        int changes = 1 + random.nextInt(3);
+        for (int i = 0; i < changes; i++) {
+            switch (random.nextInt(6)) {
+                case 0 -> lastName = typo(lastName, random);
+                case 1 -> {
+                    String swapped = firstName;
+                    firstName = lastName.toUpperCase();
+                    lastName = swapped;
+                }
+                case 2 -> phone = phone == null || !phone.startsWith("0") ? phone : "+33 " + phone.substring(1, 2) + " " + phone.substring(2, 4) + " " +
+                        phone.substring(4, 6) + " " + phone.substring(6, 8) + " " + phone.substring(8);
+                case 3 -> {
+                    if (skills == null) continue;
+                    List<String> list = new ArrayList<>(Arrays.asList(skills.split("\\s*[,;]\\s*")));
+                    Collections.shuffle(list, new Random(random.nextLong()));
+                    if (list.size() > 2) list.remove(0);
+                    skills = String.join(" ; ", list);
+                }
+                case 4 -> {
+                    if (random.nextBoolean()) phone = null;
+                    else skills = null;
+                }
+                default -> firstName = typo(firstName, random);
+            }
+        }
+        return new Person(firstName, lastName, birthDate, phone, skills);
+    }
+
+    // A missing, doubled or replaced letter
+    private static String typo(String name, SplittableRandom random) {
+        StringBuilder typo = new StringBuilder(name);
+        int at = random.nextInt(name.length());
+        switch (random.nextInt(3)) {
+            case 0 -> typo.deleteCharAt(at);
+            case 1 -> typo.insert(at, typo.charAt(at));
+            default -> typo.setCharAt(at, (char) ('a' + random.nextInt(26)));
+        }
+        return typo.toString();
+    }
+}
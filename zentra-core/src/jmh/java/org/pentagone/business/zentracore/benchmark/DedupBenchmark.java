@@ -0,0 +1,87 @@
+package org.pentagone.business.zentracore.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.pentagone.business.zentracore.hr.dedup.MinHasher;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// lookup() is what finding the duplicates of one candidate costs once its buckets are read, scanAll() the
+// comparison against every signature that the buckets avoid. Precision is measured by DedupPrecisionReport.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DedupBenchmark {
+    private static final int PROBES = 256;
+
+    @Param({"10000", "100000"})
+    private int candidates;
+
+    private CandidateFixtures.Person[] probes;
+    private int[][] probeSignatures;
+    private int[][] signatures;
+    private final Map<Long, List<Integer>> buckets = new HashMap<>();
+    private int next;
+
+    // Probes are duplicates of indexed candidates, so lookups find something as they would in production.
+    @Setup
+    public void setUp() {
+        List<CandidateFixtures.Person> people = CandidateFixtures.people(candidates, 42);
+        signatures = new int[candidates][];
+        for (int i = 0; i < candidates; i++) {
+            signatures[i] = MinHasher.signature(people.get(i).features());
+            for (long band : MinHasher.bands(signatures[i]))
+                buckets.computeIfAbsent(band, key -> new ArrayList<>(2)).add(i);
+        }
+        SplittableRandom random = new SplittableRandom(7);
+        probes = new CandidateFixtures.Person[PROBES];
+        probeSignatures = new int[PROBES][];
+        for (int i = 0; i < PROBES; i++) {
+            probes[i] = CandidateFixtures.duplicate(people.get(random.nextInt(candidates)), random);
+            probeSignatures[i] = MinHasher.signature(probes[i].features());
+        }
+    }
+
+    @Benchmark
+    public long[] features() {
+        next = (next + 1) & (PROBES - 1);
+        return probes[next].features();
+    }
+
+    @Benchmark
+    public int[] signature() {
+        next = (next + 1) & (PROBES - 1);
+        return MinHasher.signature(probes[next].features());
+    }
+
+    @Benchmark
+    public int lookup() {
+        next = (next + 1) & (PROBES - 1);
+        int[] signature = probeSignatures[next];
+        int found = 0;
+        for (long band : MinHasher.bands(signature)) {
+            List<Integer> members = buckets.get(band);
+            if (members == null) continue;
+            for (int member : members)
+                if (MinHasher.similarity(signature, signatures[member]) >= 0.6) found++;
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int scanAll() {
+        next = (next + 1) & (PROBES - 1);
+        int[] signature = probeSignatures[next];
+        int found = 0;
+        for (int[] other : signatures)
+            if (MinHasher.similarity(signature, other) >= 0.6) found++;
+        return found;
+    }
+}
@@ -0,0 +1,85 @@
+package org.pentagone.business.zentracore.benchmark;
+
+import org.pentagone.business.zentracore.hr.dedup.MinHasher;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Precision and recall of duplicate detection on synthetic candidates: {@code people} distinct persons and
+ * {@code duplicates} of them entered again (see {@link CandidateFixtures}), matched the way the service does,
+ * by LSH buckets then signature similarity. Also prints how many pairs the buckets made it compare and the
+ * single thread throughput of signing and of lookups. Not a JMH benchmark, it measures quality, not time.
+ * <p>
+ * {@code ./mvnw -Pbenchmark test-compile exec:exec -Dbenchmark.main=org.pentagone.business.zentracore.benchmark.DedupPrecisionReport -Dbenchmark.args="100000 5000 0.6"}
+ */
+public class DedupPrecisionReport {
+    // zentra.dedup.max-bucket-size
+    private static final int MAX_BUCKET_SIZE = 50;
+
+    public static void main(String[] args) {
+        int people = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        int duplicateCount = args.length > 1 ? Integer.parseInt(args[1]) : 2_500;
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 0.6;
+
+        List<CandidateFixtures.Person> candidates = new ArrayList<>(CandidateFixtures.people(people, 42));
+        // The person each candidate is, pairs of the same person are the ones to find
+        int[] person = new int[people + duplicateCount];
+        for (int i = 0; i < people; i++)
+            person[i] = i;
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < duplicateCount; i++) {
+            int original = random.nextInt(people);
+            person[candidates.size()] = original;
+            candidates.add(CandidateFixtures.duplicate(candidates.get(original), random));
+        }
+
+        long start = System.nanoTime();
+        int[][] signatures = new int[candidates.size()][];
+        for (int i = 0; i < candidates.size(); i++)
+            signatures[i] = MinHasher.signature(candidates.get(i).features());
+        long signNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        Map<Long, List<Integer>> buckets = new HashMap<>();
+        for (int i = 0; i < signatures.length; i++)
+            for (long band : MinHasher.bands(signatures[i]))
+                buckets.computeIfAbsent(band, key -> new ArrayList<>(2)).add(i);
+        long compared = 0;
+        long found = 0;
+        long truePositives = 0;
+        Set<Long> pairs = new HashSet<>();
+        for (int i = 0; i < signatures.length; i++) {
+            for (long band : MinHasher.bands(signatures[i])) {
+                List<Integer> members = buckets.get(band);
+                if (members.size() > MAX_BUCKET_SIZE) continue;
+                for (int other : members) {
+                    if (other <= i || !pairs.add((long) i * signatures.length + other)) continue;
+                    compared++;
+                    if (MinHasher.similarity(signatures[i], signatures[other]) >= threshold) {
+                        found++;
+                        if (person[i] == person[other]) truePositives++;
+                    }
+                }
+            }
+        }
+        long lookupNanos = System.nanoTime() - start;
+
+        Map<Integer, Integer> sizes = new HashMap<>();
+        for (int p : person)
+            sizes.merge(p, 1, Integer::sum);
+        long expected = sizes.values().stream().mapToLong(size -> (long) size * (size - 1) / 2).sum();
+        long allPairs = (long) signatures.length * (signatures.length - 1) / 2;
+        System.out.printf("%d candidates, %d planted duplicates, threshold %.2f%n", signatures.length, duplicateCount, threshold);
+        System.out.printf("precision %.4f  recall %.4f  (%d found, %d true, %d expected)%n",
+                found == 0 ? 1.0 : (double) truePositives / found, (double) truePositives / expected, found, truePositives, expected);
+        System.out.printf("pairs compared %d of %d (%.5f%%)%n", compared, allPairs, 100.0 * compared / allPairs);
+        System.out.printf("signatures %.0f/s, bucket lookups and comparisons %.0f candidates/s%n",
+                signatures.length / (signNanos / 1e9), signatures.length / (lookupNanos / 1e9));
+    }
+}
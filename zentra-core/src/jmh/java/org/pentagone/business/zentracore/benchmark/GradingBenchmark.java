@@ -0,0 +1,54 @@
+package org.pentagone.business.zentracore.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.pentagone.business.zentracore.hr.entity.Qcm;
+import org.pentagone.business.zentracore.hr.grading.AnswerKey;
+import org.pentagone.business.zentracore.hr.grading.GradeSheet;
+import org.pentagone.business.zentracore.hr.grading.GradingPolicy;
+import org.pentagone.business.zentracore.hr.model.CompiledQcm;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GradingBenchmark {
+    private static final int SHEETS = 64;
+
+    @Param({"50", "200", "500"})
+    private int questions;
+
+    @Param({"ALL_OR_NOTHING", "PARTIAL_CREDIT"})
+    private GradingPolicy policy;
+
+    private CompiledQcm compiledQcm;
+    private AnswerKey answerKey;
+    private long[][] answers;
+    private final GradeSheet sheet = new GradeSheet();
+    private int next;
+
+    // Several answer sheets are cycled through so the branch predictor does not learn a single attempt.
+    @Setup
+    public void setUp() {
+        Qcm qcm = QcmFixtures.qcm(questions, 42);
+        compiledQcm = CompiledQcm.compile(qcm);
+        answerKey = compiledQcm.answerKey();
+        answers = new long[SHEETS][];
+        for (int i = 0; i < SHEETS; i++)
+            answers[i] = QcmFixtures.answers(qcm, i);
+    }
+
+    @Benchmark
+    public double grade() {
+        next = (next + 1) & (SHEETS - 1);
+        return answerKey.grade(answers[next], policy, sheet);
+    }
+
+    @Benchmark
+    public AnswerKey compileAnswerKey() {
+        return AnswerKey.compile(compiledQcm.questions());
+    }
+}
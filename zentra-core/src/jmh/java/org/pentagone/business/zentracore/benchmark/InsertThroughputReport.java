@@ -0,0 +1,142 @@
+package org.pentagone.business.zentracore.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.pentagone.business.zentracore.ZentraCoreApplication;
+import org.pentagone.business.zentracore.hr.dto.AttemptSubmissionDto;
+import org.pentagone.business.zentracore.hr.entity.*;
+import org.pentagone.business.zentracore.hr.service.AttemptService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compares attempt submission throughput with one INSERT round trip per row, which is what identity ids
+ * forced, against the batched path, on the database the application is configured with. Every run is
+ * rolled back. Not a JMH benchmark: it needs the application context and a database.
+ * <p>
+ * {@code ./mvnw -Pbenchmark test-compile exec:exec -Dbenchmark.main=org.pentagone.business.zentracore.benchmark.InsertThroughputReport -Dbenchmark.args="2000 20"}
+ */
+public class InsertThroughputReport {
+    private final AttemptService attemptService;
+    private final TransactionTemplate transaction;
+    private final EntityManager entityManager;
+    private final int attempts;
+    private final int responsesPerAttempt;
+
+    private InsertThroughputReport(ConfigurableApplicationContext context, int attempts, int responsesPerAttempt) {
+        this.attemptService = context.getBean(AttemptService.class);
+        this.transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        this.entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        this.attempts = attempts;
+        this.responsesPerAttempt = responsesPerAttempt;
+    }
+
+    public static void main(String[] args) {
+        int attempts = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        int responsesPerAttempt = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ZentraCoreApplication.class)
+                .web(WebApplicationType.NONE).run()) {
+            InsertThroughputReport report = new InsertThroughputReport(context, attempts, responsesPerAttempt);
+            double rowByRow = report.measure("row by row", 1);
+            double batched = report.measure("batched", null);
+            System.out.printf("Attempt submission: %d rows/s row by row, %d rows/s batched (%.1fx)%n",
+                    Math.round(rowByRow), Math.round(batched), batched / rowByRow);
+        }
+    }
+
+    private double measure(String label, Integer jdbcBatchSize) {
+        double[] rowsPerSecond = new double[1];
+        transaction.executeWithoutResult(status -> {
+            List<AttemptSubmissionDto> submissions = createFixtures();
+            entityManager.flush();
+            entityManager.clear();
+            entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+
+            long start = System.nanoTime();
+            attemptService.submitAttempts(submissions);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            long rows = (long) attempts * (1 + responsesPerAttempt);
+            rowsPerSecond[0] = rows / seconds;
+            System.out.printf("%s: %d rows in %d ms%n", label, rows, Math.round(seconds * 1000));
+            status.setRollbackOnly();
+        });
+        return rowsPerSecond[0];
+    }
+
+    private List<AttemptSubmissionDto> createFixtures() {
+        String suffix = UUID.randomUUID().toString();
+
+        Department department = new Department();
+        department.setName("Benchmark " + suffix);
+        entityManager.persist(department);
+        Job job = new Job();
+        job.setTitle("Benchmark");
+        job.setDepartment(department);
+        entityManager.persist(job);
+        Publication publication = new Publication();
+        publication.setTitle("Benchmark");
+        publication.setDescription("Benchmark");
+        publication.setPublishedDate(LocalDate.now());
+        publication.setJob(job);
+        entityManager.persist(publication);
+
+        Qcm qcm = new Qcm();
+        qcm.setTitle("Benchmark");
+        qcm.setDescription("Benchmark");
+        qcm.setRequiredScore(0.0);
+        qcm.setQuestions(new ArrayList<>());
+        List<Long> firstChoices = new ArrayList<>();
+        entityManager.persist(qcm);
+        for (int q = 0; q < responsesPerAttempt; q++) {
+            Question question = new Question();
+            question.setLibelle("Question " + q);
+            question.setScore(1.0);
+            question.setQcm(qcm);
+            question.setChoices(new ArrayList<>());
+            entityManager.persist(question);
+            for (int c = 0; c < 4; c++) {
+                Choice choice = new Choice();
+                choice.setLibelle("Choice " + c);
+                choice.setCorrect(c == 0);
+                choice.setQuestion(question);
+                entityManager.persist(choice);
+                question.getChoices().add(choice);
+                if (c == 0) firstChoices.add(choice.getId());
+            }
+            qcm.getQuestions().add(question);
+        }
+
+        List<AttemptSubmissionDto> submissions = new ArrayList<>(attempts);
+        for (int i = 0; i < attempts; i++) {
+            Candidate candidate = new Candidate();
+            candidate.setLastName("Benchmark");
+            candidate.setFirstName("Candidate " + i);
+            candidate.setEmail(i + "." + suffix + "@benchmark.local");
+            candidate.setBirthDate(LocalDate.of(1990, 1, 1));
+            entityManager.persist(candidate);
+            Application application = new Application();
+            application.setAppliedAt(LocalDateTime.now());
+            application.setCandidate(candidate);
+            application.setPublication(publication);
+            entityManager.persist(application);
+
+            AttemptSubmissionDto submission = new AttemptSubmissionDto();
+            submission.setQcmId(qcm.getId());
+            submission.setApplicationId(application.getId());
+            submission.setChoiceIds(firstChoices);
+            submissions.add(submission);
+        }
+        return submissions;
+    }
+}
@@ -0,0 +1,65 @@
+package org.pentagone.business.zentracore.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.pentagone.business.zentracore.hr.dto.QcmDto;
+import org.pentagone.business.zentracore.hr.entity.Qcm;
+import org.pentagone.business.zentracore.hr.mapper.ChoiceMapperImpl;
+import org.pentagone.business.zentracore.hr.mapper.QcmMapper;
+import org.pentagone.business.zentracore.hr.mapper.QcmMapperImpl;
+import org.pentagone.business.zentracore.hr.mapper.QuestionMapperImpl;
+import org.pentagone.business.zentracore.hr.model.CompiledQcm;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+    @Param({"50", "200", "500"})
+    private int questions;
+
+    private AnnotationConfigApplicationContext context;
+    private QcmMapper qcmMapper;
+    private Qcm qcm;
+    private QcmDto qcmDto;
+    private CompiledQcm compiledQcm;
+
+    // The generated mappers inject each other, a bare context wires them without the rest of the application.
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(QcmMapperImpl.class, QuestionMapperImpl.class, ChoiceMapperImpl.class);
+        qcmMapper = context.getBean(QcmMapper.class);
+        qcm = QcmFixtures.qcm(questions, 42);
+        qcmDto = qcmMapper.toDto(qcm);
+        compiledQcm = CompiledQcm.compile(qcm);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public QcmDto entityToDto() {
+        return qcmMapper.toDto(qcm);
+    }
+
+    @Benchmark
+    public Qcm dtoToEntity() {
+        return qcmMapper.toEntity(qcmDto);
+    }
+
+    @Benchmark
+    public QcmDto compiledToDto() {
+        return qcmMapper.toDto(compiledQcm);
+    }
+
+    @Benchmark
+    public CompiledQcm compile() {
+        return CompiledQcm.compile(qcm);
+    }
+}
@@ -0,0 +1,43 @@
+package org.pentagone.business.zentracore.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.pentagone.business.zentracore.hr.numbering.NumberBlocks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Eight threads hiring at once. A block size of 1 is one counter row update per number, what taking every
+// number from the database would cost; the reservation is simulated by a lock held for a 200 µs round trip,
+// as the row lock would be.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class NumberBlocksBenchmark {
+    private static final long ROUND_TRIP_NANOS = 200_000;
+
+    @Param({"1", "100"})
+    private int blockSize;
+
+    private final AtomicLong counter = new AtomicLong(1);
+    private NumberBlocks blocks;
+
+    @Setup
+    public void setUp() {
+        blocks = new NumberBlocks(this::reserve, blockSize);
+    }
+
+    @Benchmark
+    public long next() {
+        return blocks.next();
+    }
+
+    private synchronized long reserve(int size) {
+        LockSupport.parkNanos(ROUND_TRIP_NANOS);
+        return counter.addAndGet(size) - 1;
+    }
+}
@@ -0,0 +1,76 @@
+package org.pentagone.business.zentracore.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.pentagone.business.zentracore.hr.payroll.PayrollCalculator;
+import org.pentagone.business.zentracore.hr.payroll.PayrollInput;
+import org.pentagone.business.zentracore.hr.payroll.PayrollTask;
+import org.pentagone.business.zentracore.hr.payroll.PayrollTotals;
+import org.pentagone.business.zentracore.hr.payroll.Payslip;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// Computation of a whole payroll, the part PayrollServiceImpl runs on its fork/join pool. End to end runs,
+// reads and batched writes included, log their duration and keep it on the run (startedAt, finishedAt).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayrollBenchmark {
+    private static final YearMonth PERIOD = YearMonth.of(2025, 2);
+
+    @Param({"100000"})
+    private int employees;
+
+    private final PayrollCalculator calculator = new PayrollCalculator(BigDecimal.valueOf(35), new BigDecimal("0.45"));
+    private PayrollInput[] inputs;
+    private Payslip[] payslips;
+    private ForkJoinPool pool;
+
+    // One in ten employees joins or leaves during the month, one in five is part time, one in twenty has no contract.
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        inputs = new PayrollInput[employees];
+        for (int i = 0; i < employees; i++) {
+            BigDecimal base = BigDecimal.valueOf(2_200_000 + random.nextInt(6_000_000), 2);
+            boolean contract = random.nextInt(20) != 0;
+            LocalDate start = random.nextInt(20) == 0 ? PERIOD.atDay(1 + random.nextInt(28)) : LocalDate.of(2015, 1, 1).plusDays(random.nextInt(3000));
+            LocalDate end = random.nextInt(20) == 0 ? PERIOD.atDay(1 + random.nextInt(28)) : null;
+            inputs[i] = new PayrollInput(i + 1, base,
+                    contract ? base.add(BigDecimal.valueOf(random.nextInt(300_000), 2)) : null,
+                    contract ? BigDecimal.valueOf(random.nextInt(500_000), 2) : null,
+                    contract ? (random.nextInt(5) == 0 ? new BigDecimal("24.50") : BigDecimal.valueOf(35)) : null,
+                    start, end);
+        }
+        payslips = new Payslip[employees];
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public PayrollTotals sequential() {
+        PayrollTotals totals = PayrollTotals.ZERO;
+        for (int i = 0; i < inputs.length; i++) {
+            Payslip payslip = calculator.compute(inputs[i], PERIOD);
+            payslips[i] = payslip;
+            if (payslip != null) totals = totals.plus(payslip);
+        }
+        return totals;
+    }
+
+    @Benchmark
+    public PayrollTotals forkJoin() {
+        return pool.invoke(new PayrollTask(calculator, PERIOD, inputs, payslips, 0, inputs.length));
+    }
+}
@@ -0,0 +1,92 @@
+package org.pentagone.business.zentracore.benchmark;
+
+import org.pentagone.business.zentracore.hr.entity.Choice;
+import org.pentagone.business.zentracore.hr.entity.Qcm;
+import org.pentagone.business.zentracore.hr.entity.Question;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic qcm trees and answer sheets for the benchmarks. Sizes and wording follow the qcms of the
+ * bank: 3 to 6 choices per question, one or two of them correct, labels of 20 to 150 characters.
+ */
+public final class QcmFixtures {
+    private static final String WORDS = "candidat entretien contrat salaire poste service compétence projet équipe " +
+            "client budget planning qualité sécurité réseau serveur base données analyse rapport";
+    private static final String[] VOCABULARY = WORDS.split(" ");
+
+    private QcmFixtures() {
+    }
+
+    // Ids are assigned as if the tree had been persisted, grading and caching rely on them.
+    public static Qcm qcm(int questionCount, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long nextId = 1;
+        Qcm qcm = new Qcm();
+        qcm.setId(nextId++);
+        qcm.setTitle(sentence(random, 30, 120));
+        qcm.setDescription(sentence(random, 100, 600));
+        qcm.setDurationMinutes(questionCount);
+        qcm.setRequiredScore(questionCount / 2.0);
+        qcm.setVersion(0L);
+        qcm.setCreatedAt(LocalDateTime.of(2025, 1, 1, 8, 0));
+        qcm.setUpdatedAt(qcm.getCreatedAt());
+        List<Question> questions = new ArrayList<>(questionCount);
+        for (int q = 0; q < questionCount; q++) {
+            Question question = new Question();
+            question.setId(nextId++);
+            question.setLibelle(sentence(random, 20, 150));
+            question.setRequired(random.nextInt(4) != 0);
+            question.setScore((double) (1 + random.nextInt(3)));
+            question.setQcm(qcm);
+            int choiceCount = 3 + random.nextInt(4);
+            int correct = random.nextInt(choiceCount);
+            int secondCorrect = random.nextInt(5) == 0 ? random.nextInt(choiceCount) : correct;
+            List<Choice> choices = new ArrayList<>(choiceCount);
+            for (int c = 0; c < choiceCount; c++) {
+                Choice choice = new Choice();
+                choice.setId(nextId++);
+                choice.setLibelle(sentence(random, 20, 150));
+                choice.setCorrect(c == correct || c == secondCorrect);
+                choice.setQuestion(question);
+                choices.add(choice);
+            }
+            question.setChoices(choices);
+            questions.add(question);
+        }
+        qcm.setQuestions(questions);
+        return qcm;
+    }
+
+    // Answers of a candidate who answers 90% of the questions and picks the right choice 60% of the time.
+    public static long[] answers(Qcm qcm, long seed) {
+        Random random = new Random(seed);
+        long[] answers = new long[qcm.getQuestions().size()];
+        int size = 0;
+        for (Question question : qcm.getQuestions()) {
+            if (random.nextInt(10) == 0) continue;
+            List<Choice> choices = question.getChoices();
+            Choice picked = choices.get(random.nextInt(choices.size()));
+            if (random.nextInt(10) < 6)
+                picked = choices.stream().filter(Choice::isCorrect).findFirst().orElse(picked);
+            answers[size++] = picked.getId();
+        }
+        return Arrays.copyOf(answers, size);
+    }
+
+    private static String sentence(SplittableRandom random, int minLength, int maxLength) {
+        int length = minLength + random.nextInt(maxLength - minLength + 1);
+        StringBuilder sentence = new StringBuilder(length + 16);
+        while (sentence.length() < length) {
+            if (!sentence.isEmpty()) sentence.append(' ');
+            sentence.append(VOCABULARY[random.nextInt(VOCABULARY.length)]);
+        }
+        sentence.setLength(length);
+        return sentence.toString();
+    }
+}
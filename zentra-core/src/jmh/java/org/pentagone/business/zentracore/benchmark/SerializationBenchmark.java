@@ -0,0 +1,50 @@
+package org.pentagone.business.zentracore.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.pentagone.business.zentracore.hr.dto.QcmDto;
+import org.pentagone.business.zentracore.hr.mapper.ChoiceMapperImpl;
+import org.pentagone.business.zentracore.hr.mapper.QcmMapper;
+import org.pentagone.business.zentracore.hr.mapper.QcmMapperImpl;
+import org.pentagone.business.zentracore.hr.mapper.QuestionMapperImpl;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+    @Param({"50", "200", "500"})
+    private int questions;
+
+    private ObjectMapper objectMapper;
+    private QcmDto qcmDto;
+    private byte[] json;
+
+    // Same defaults as the ObjectMapper Spring Boot configures for the controllers.
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(
+                QcmMapperImpl.class, QuestionMapperImpl.class, ChoiceMapperImpl.class)) {
+            qcmDto = context.getBean(QcmMapper.class).toDto(QcmFixtures.qcm(questions, 42));
+        }
+        json = objectMapper.writeValueAsBytes(qcmDto);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(qcmDto);
+    }
+
+    @Benchmark
+    public QcmDto deserialize() throws IOException {
+        return objectMapper.readValue(json, QcmDto.class);
+    }
+}
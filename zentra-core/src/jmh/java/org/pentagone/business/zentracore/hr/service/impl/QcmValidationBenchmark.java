@@ -0,0 +1,32 @@
+package org.pentagone.business.zentracore.hr.service.impl;
+
+import org.openjdk.jmh.annotations.*;
+import org.pentagone.business.zentracore.benchmark.QcmFixtures;
+import org.pentagone.business.zentracore.hr.entity.Qcm;
+
+import java.util.concurrent.TimeUnit;
+
+// Lives in the service package to reach QcmServiceImpl.verifyQcm, which is package private.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QcmValidationBenchmark {
+    @Param({"50", "200", "500"})
+    private int questions;
+
+    private Qcm qcm;
+
+    @Setup
+    public void setUp() {
+        qcm = QcmFixtures.qcm(questions, 42);
+    }
+
+    @Benchmark
+    public Qcm verifyQcm() {
+        QcmServiceImpl.verifyQcm(qcm);
+        return qcm;
+    }
+}
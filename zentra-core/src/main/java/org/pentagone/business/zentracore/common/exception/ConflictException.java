@@ -0,0 +1,7 @@
+package org.pentagone.business.zentracore.common.exception;
+
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
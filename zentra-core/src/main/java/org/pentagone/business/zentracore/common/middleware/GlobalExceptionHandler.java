@@ -1,11 +1,14 @@
 package org.pentagone.business.zentracore.common.middleware;
 
+import org.pentagone.business.zentracore.common.exception.ConflictException;
 import org.pentagone.business.zentracore.common.exception.EntityNotFoundException;
 import org.pentagone.business.zentracore.common.util.ApiError;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -19,6 +22,21 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(new ApiError(HttpStatus.NOT_FOUND.value(), e.getMessage()), HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler({ConflictException.class})
+    public ResponseEntity<ApiError> conflictException(ConflictException e) {
+        return new ResponseEntity<>(new ApiError(HttpStatus.CONFLICT.value(), e.getMessage()), HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler({OptimisticLockingFailureException.class})
+    public ResponseEntity<ApiError> optimisticLockingFailureException(OptimisticLockingFailureException e) {
+        return new ResponseEntity<>(new ApiError(HttpStatus.CONFLICT.value(), "The resource was modified concurrently, reload it and retry"), HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler({MaxUploadSizeExceededException.class})
+    public ResponseEntity<ApiError> maxUploadSizeExceededException(MaxUploadSizeExceededException e) {
+        return new ResponseEntity<>(new ApiError(HttpStatus.PAYLOAD_TOO_LARGE.value(), "File is too large"), HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
     @ExceptionHandler({Exception.class})
     public ResponseEntity<ApiError> exception(Exception e) {
         e.printStackTrace();
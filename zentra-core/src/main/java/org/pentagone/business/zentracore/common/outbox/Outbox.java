@@ -0,0 +1,63 @@
+package org.pentagone.business.zentracore.common.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.pentagone.business.zentracore.common.util.PooledIds;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class Outbox {
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+
+    public Outbox(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper, DataSource dataSource) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    // Joins the caller's transaction: the event exists if and only if the change that caused it commits.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public OutboxEvent publish(String aggregateType, Long aggregateId, String eventType, Object payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setAggregateType(aggregateType);
+        event.setAggregateId(aggregateId);
+        event.setEventType(eventType);
+        event.setPayload(json(eventType, payload));
+        event.setAvailableAt(LocalDateTime.now());
+        return outboxEventRepository.save(event);
+    }
+
+    // For JDBC bulk writes: the events of every aggregate id, in one batch insert within the caller's transaction
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishAll(String aggregateType, String eventType, Map<Long, ?> payloads) {
+        if (payloads.isEmpty()) return;
+        long[] ids = PooledIds.allocate(jdbcTemplate, "outbox_event_seq", payloads.size());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(payloads.size());
+        int i = 0;
+        for (Map.Entry<Long, ?> entry : payloads.entrySet())
+            rows.add(new Object[]{ids[i++], now, now, aggregateType, entry.getKey(), eventType, json(eventType, entry.getValue()), now});
+        jdbcTemplate.batchUpdate("insert into outbox_event (id, created_at, updated_at, aggregate_type, aggregate_id, event_type, " +
+                "payload, status, attempts, available_at) values (?, ?, ?, ?, ?, ?, ?, 'PENDING', 0, ?)", rows);
+    }
+
+    private String json(String eventType, Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Payload of " + eventType + " cannot be serialized", e);
+        }
+    }
+}
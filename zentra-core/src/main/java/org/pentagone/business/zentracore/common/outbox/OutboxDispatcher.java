@@ -0,0 +1,126 @@
+package org.pentagone.business.zentracore.common.outbox;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+/**
+ * Polls the outbox and runs the handlers of due events. A batch is claimed with FOR UPDATE SKIP LOCKED and
+ * leased by pushing availableAt forward, so several instances can poll side by side and an event claimed by
+ * an instance that died becomes due again once the lease expires. Handlers run on virtual threads, at most
+ * {@code zentra.outbox.concurrency} at a time, and results are written back in one batch per outcome.
+ * Failed events are retried with exponential backoff until {@code zentra.outbox.max-attempts}.
+ */
+@Slf4j
+@Component
+public class OutboxDispatcher {
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final Map<String, List<OutboxHandler>> handlers;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore permits;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long leaseSeconds;
+
+    public OutboxDispatcher(DataSource dataSource, PlatformTransactionManager transactionManager, List<OutboxHandler> handlers,
+                            @Value("${zentra.outbox.batch-size:100}") int batchSize,
+                            @Value("${zentra.outbox.concurrency:16}") int concurrency,
+                            @Value("${zentra.outbox.max-attempts:10}") int maxAttempts,
+                            @Value("${zentra.outbox.lease-seconds:300}") long leaseSeconds) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.handlers = handlers.stream().collect(Collectors.groupingBy(OutboxHandler::eventType));
+        this.permits = new Semaphore(concurrency);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.leaseSeconds = leaseSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${zentra.outbox.poll-interval-ms:1000}")
+    public void poll() {
+        List<OutboxMessage> claimed;
+        do {
+            claimed = transaction.execute(status -> claim());
+            if (claimed == null || claimed.isEmpty()) return;
+            dispatch(claimed);
+        } while (claimed.size() == batchSize);
+    }
+
+    private List<OutboxMessage> claim() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxMessage> messages = jdbcTemplate.query("select id, aggregate_type, aggregate_id, event_type, payload, attempts " +
+                        "from outbox_event where status in ('PENDING', 'PROCESSING') and available_at <= ? " +
+                        "order by available_at, id limit ? for update skip locked",
+                (rs, rowNum) -> new OutboxMessage(rs.getLong(1), rs.getString(2), rs.getLong(3), rs.getString(4),
+                        rs.getString(5), rs.getInt(6) + 1),
+                Timestamp.valueOf(now), batchSize);
+        if (!messages.isEmpty()) {
+            Timestamp leaseEnd = Timestamp.valueOf(now.plusSeconds(leaseSeconds));
+            jdbcTemplate.batchUpdate("update outbox_event set status = 'PROCESSING', attempts = attempts + 1, available_at = ? where id = ?",
+                    messages.stream().map(message -> new Object[]{leaseEnd, message.id()}).toList());
+        }
+        return messages;
+    }
+
+    private void dispatch(List<OutboxMessage> messages) {
+        List<Future<?>> results = new ArrayList<>(messages.size());
+        for (OutboxMessage message : messages)
+            results.add(executor.submit(() -> handle(message)));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> processed = new ArrayList<>();
+        List<Object[]> failed = new ArrayList<>();
+        for (int i = 0; i < messages.size(); i++) {
+            OutboxMessage message = messages.get(i);
+            try {
+                results.get(i).get();
+                processed.add(new Object[]{Timestamp.valueOf(now), message.id()});
+            } catch (Exception e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                log.warn("Outbox event {} ({}) failed, attempt {}", message.id(), message.eventType(), message.attempt(), cause);
+                boolean exhausted = message.attempt() >= maxAttempts;
+                long backoff = 1L << Math.min(message.attempt(), 12);
+                failed.add(new Object[]{exhausted ? "FAILED" : "PENDING", Timestamp.valueOf(now.plusSeconds(backoff)),
+                        String.valueOf(cause.getMessage()), message.id()});
+            }
+        }
+        if (!processed.isEmpty())
+            jdbcTemplate.batchUpdate("update outbox_event set status = 'PROCESSED', processed_at = ?, last_error = null where id = ?", processed);
+        if (!failed.isEmpty())
+            jdbcTemplate.batchUpdate("update outbox_event set status = ?, available_at = ?, last_error = ? where id = ?", failed);
+    }
+
+    private Void handle(OutboxMessage message) throws Exception {
+        permits.acquire();
+        try {
+            for (OutboxHandler handler : handlers.getOrDefault(message.eventType(), List.of()))
+                handler.handle(message);
+            return null;
+        } finally {
+            permits.release();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,10 @@
+package org.pentagone.business.zentracore.common.outbox;
+
+/**
+ * Carries out the side effects of one event type. An event is retried when any of its handlers throws,
+ * so handlers must be idempotent. Handlers run outside of any transaction.
+ */
+public interface OutboxHandler {
+    String eventType();
+    void handle(OutboxMessage message) throws Exception;
+}
@@ -0,0 +1,7 @@
+package org.pentagone.business.zentracore.common.outbox;
+
+/**
+ * Outbox event as handed to an {@link OutboxHandler}. {@code attempt} starts at 1.
+ */
+public record OutboxMessage(long id, String aggregateType, long aggregateId, String eventType, String payload, int attempt) {
+}
@@ -0,0 +1,117 @@
+package org.pentagone.business.zentracore.common.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Content addressed file store on the local disk. A document is stored under the SHA-256 of its bytes
+ * (root/ab/cd/abcd...), so uploading the same CV twice keeps one file, and a stored file never changes,
+ * which makes its hash a strong ETag. Uploads are streamed to a temporary file while being hashed, then
+ * moved in place atomically: readers never see a partial document and the heap never holds a whole one.
+ */
+@Component
+public class DocumentStore {
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+    private final Path incoming;
+
+    public DocumentStore(@Value("${zentra.storage.root:data/documents}") String root) throws IOException {
+        this.root = Path.of(root).toAbsolutePath().normalize();
+        this.incoming = this.root.resolve("incoming");
+        Files.createDirectories(incoming);
+    }
+
+    public static boolean isHash(String value) {
+        return value != null && HASH.matcher(value).matches();
+    }
+
+    public StoredDocument store(InputStream content) throws IOException {
+        Path temp = Files.createTempFile(incoming, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (DigestInputStream in = new DigestInputStream(content, digest);
+                 OutputStream out = Files.newOutputStream(temp)) {
+                size = in.transferTo(out);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = path(hash);
+            if (Files.notExists(target)) {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // Same document uploaded concurrently, the copy already there is identical
+                }
+            }
+            return new StoredDocument(hash, size, contentType(hash));
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public boolean exists(String hash) {
+        return isHash(hash) && Files.isRegularFile(path(hash));
+    }
+
+    public Path path(String hash) {
+        if (!isHash(hash))
+            throw new IllegalArgumentException("Invalid document hash");
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    // Stored files carry no name, the type is recognized from the first bytes of the usual CV formats
+    public String contentType(String hash) {
+        ByteBuffer head = ByteBuffer.allocate(8);
+        try (FileChannel channel = FileChannel.open(path(hash), StandardOpenOption.READ)) {
+            int read = 0;
+            while (head.hasRemaining() && read >= 0)
+                read = channel.read(head);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] bytes = head.flip().array();
+        int length = head.limit();
+        if (startsWith(bytes, length, "%PDF-")) return "application/pdf";
+        if (startsWith(bytes, length, "PK\u0003\u0004")) return "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+        if (length >= 8 && bytes[0] == (byte) 0xD0 && bytes[1] == (byte) 0xCF && bytes[2] == 0x11 && bytes[3] == (byte) 0xE0)
+            return "application/msword";
+        if (length >= 3 && bytes[0] == (byte) 0xFF && bytes[1] == (byte) 0xD8 && bytes[2] == (byte) 0xFF) return "image/jpeg";
+        if (startsWith(bytes, length, "\u0089PNG")) return "image/png";
+        return "application/octet-stream";
+    }
+
+    private static boolean startsWith(byte[] bytes, int length, String magic) {
+        if (length < magic.length()) return false;
+        for (int i = 0; i < magic.length(); i++) {
+            if (bytes[i] != (byte) magic.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
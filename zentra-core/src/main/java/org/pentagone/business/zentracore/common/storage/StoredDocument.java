@@ -0,0 +1,7 @@
+package org.pentagone.business.zentracore.common.storage;
+
+/**
+ * Document held by the {@link DocumentStore}: the hex SHA-256 of its bytes, which is also its key.
+ */
+public record StoredDocument(String hash, long size, String contentType) {
+}
@@ -0,0 +1,27 @@
+package org.pentagone.business.zentracore.common.util;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * PostgreSQL transaction level advisory locks taken on a row id. The lock key is one bigint: its 16 high bits
+ * name what is locked (statistics of a qcm, bookings of an interviewer...), its 48 low bits hold the id, so
+ * the id is never truncated and two kinds of locks never share a key. The lock is released at commit.
+ */
+public final class AdvisoryLocks {
+    private static final int ID_BITS = 48;
+
+    private AdvisoryLocks() {
+    }
+
+    public static void lock(JdbcTemplate jdbcTemplate, int namespace, long id) {
+        jdbcTemplate.query("select pg_advisory_xact_lock(?)", rs -> {}, key(namespace, id));
+    }
+
+    static long key(int namespace, long id) {
+        if (namespace < 0 || namespace >= 1 << (64 - ID_BITS))
+            throw new IllegalArgumentException("Lock namespace must fit in " + (64 - ID_BITS) + " bits");
+        if (id < 0 || id >= 1L << ID_BITS)
+            throw new IllegalArgumentException("Id " + id + " does not fit in a lock key");
+        return (long) namespace << ID_BITS | id;
+    }
+}
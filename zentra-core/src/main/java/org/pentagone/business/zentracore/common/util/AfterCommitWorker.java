@@ -0,0 +1,117 @@
+package org.pentagone.business.zentracore.common.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Single daemon thread keeping a read model (index, cache, summary table) in step with the rows it is built
+ * from. Writers queue the ids they changed from a {@code @TransactionalEventListener(fallbackExecution = true)},
+ * i.e. once their transaction committed, so the worker always reads the committed rows. Each {@link IdQueue} is
+ * drained as one set: a burst of events costs one pass, an id queued twice is handled once.
+ * <p>
+ * Loads, rebuilds and retries run on the same thread, so every read of the database happens after the previous
+ * one and an older row can never overwrite a newer one in the read model.
+ */
+@Slf4j
+public final class AfterCommitWorker {
+    private final ScheduledExecutorService executor;
+
+    public AfterCommitWorker(String threadName) {
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Ids handed to the handler on the worker thread, as one set per drain
+    public IdQueue queue(Consumer<Set<Long>> handler) {
+        return new IdQueue(handler);
+    }
+
+    public void execute(Runnable task) {
+        executor.execute(() -> run(task));
+    }
+
+    public ScheduledFuture<?> schedule(Runnable task, Duration delay) {
+        return executor.schedule(() -> run(task), delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // Runs the task on the worker thread and waits for its result, its exception is rethrown as is
+    public <T> T call(Callable<T> task) {
+        try {
+            return executor.submit(task).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Lets queued work finish; false when it did not within the wait
+    public boolean shutdown(Duration wait) throws InterruptedException {
+        executor.shutdown();
+        return executor.awaitTermination(wait.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void shutdownNow() {
+        executor.shutdownNow();
+    }
+
+    // Scheduled executors keep a task's exception in its future, nobody would see it
+    private static void run(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            log.error("Task failed on {}", Thread.currentThread().getName(), e);
+        }
+    }
+
+    public final class IdQueue {
+        private final Queue<Long> pending = new ConcurrentLinkedQueue<>();
+        private final Consumer<Set<Long>> handler;
+
+        private IdQueue(Consumer<Set<Long>> handler) {
+            this.handler = handler;
+        }
+
+        public void addAll(Collection<Long> ids) {
+            if (ids.isEmpty()) return;
+            pending.addAll(ids);
+            execute(this::drain);
+        }
+
+        // Queues the ids again and drains them after the delay, for a handler that failed on them
+        public void retry(Collection<Long> ids, Duration delay) {
+            pending.addAll(ids);
+            schedule(this::drain, delay);
+        }
+
+        // Drops what is queued, for a load that reads everything anyway
+        public void clear() {
+            pending.clear();
+        }
+
+        private void drain() {
+            Set<Long> ids = new HashSet<>();
+            for (Long id; (id = pending.poll()) != null; )
+                ids.add(id);
+            if (!ids.isEmpty()) handler.accept(ids);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.pentagone.business.zentracore.common.util;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size and TTL bounded cache with lock-free reads. Eviction scans for the least recently read entry,
+ * which is fine for the small sizes it is meant for since it only happens on insertion.
+ */
+public class BoundedCache<K, V> {
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public BoundedCache(int maxSize, Duration ttl) {
+        if (maxSize < 1)
+            throw new IllegalArgumentException("Max size must be positive");
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        long now = System.nanoTime();
+        if (entry == null || now - entry.createdAt > ttlNanos) {
+            if (entry != null && entries.remove(key, entry))
+                evictions.increment();
+            misses.increment();
+            return null;
+        }
+        entry.lastAccess = now;
+        hits.increment();
+        return entry.value;
+    }
+
+    // Reads the live value without counting a hit or a miss, nor making it recently read
+    public V peek(K key) {
+        Entry<V> entry = entries.get(key);
+        return entry == null || System.nanoTime() - entry.createdAt > ttlNanos ? null : entry.value;
+    }
+
+    public void put(K key, V value) {
+        entries.put(key, new Entry<>(value, System.nanoTime()));
+        if (entries.size() > maxSize)
+            evict();
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    // Scans every entry, for caches looked up by an attribute of the value they hold
+    public void invalidateValue(V value) {
+        entries.values().removeIf(entry -> entry.value.equals(value));
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), entries.size(), maxSize);
+    }
+
+    private synchronized void evict() {
+        long now = System.nanoTime();
+        entries.entrySet().removeIf(e -> {
+            boolean expired = now - e.getValue().createdAt > ttlNanos;
+            if (expired) evictions.increment();
+            return expired;
+        });
+        while (entries.size() > maxSize) {
+            K eldest = null;
+            long eldestAccess = Long.MAX_VALUE;
+            for (Map.Entry<K, Entry<V>> e : entries.entrySet()) {
+                if (e.getValue().lastAccess < eldestAccess) {
+                    eldestAccess = e.getValue().lastAccess;
+                    eldest = e.getKey();
+                }
+            }
+            if (eldest == null || entries.remove(eldest) == null) return;
+            evictions.increment();
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long createdAt;
+        private volatile long lastAccess;
+
+        private Entry(V value, long createdAt) {
+            this.value = value;
+            this.createdAt = createdAt;
+            this.lastAccess = createdAt;
+        }
+    }
+}
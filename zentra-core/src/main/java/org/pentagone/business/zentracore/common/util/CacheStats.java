@@ -0,0 +1,8 @@
+package org.pentagone.business.zentracore.common.util;
+
+public record CacheStats(long hits, long misses, long evictions, int size, int maxSize) {
+    public double hitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+}
@@ -0,0 +1,13 @@
+package org.pentagone.business.zentracore.common.util;
+
+import java.util.List;
+
+/**
+ * Page of a keyset paginated listing. {@code nextCursor} is passed back to get the following page and is
+ * null on the last one.
+ */
+public record CursorPage<T>(List<T> content, String nextCursor, boolean hasNext) {
+    public CursorPage {
+        content = List.copyOf(content);
+    }
+}
@@ -0,0 +1,37 @@
+package org.pentagone.business.zentracore.common.util;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Ids for rows inserted over JDBC into tables whose entities use the pooled sequences of BaseEntity.
+ * Ids are taken the way Hibernate's pooled optimizer does: every nextval reserves the block of ALLOCATION
+ * ids ending at the returned value, so they never collide with JPA inserts. The first value of a fresh
+ * sequence (its start, 1) only reserves the ids up to it, there are none below: another nextval follows.
+ */
+public final class PooledIds {
+    // Must match the allocation size of the entity sequences (BaseEntity)
+    public static final int ALLOCATION = 50;
+    private static final Pattern SEQUENCE = Pattern.compile("[a-z_]+");
+
+    private PooledIds() {
+    }
+
+    public static long[] allocate(JdbcTemplate jdbcTemplate, String sequence, int count) {
+        if (!SEQUENCE.matcher(sequence).matches())
+            throw new IllegalArgumentException("Invalid sequence name " + sequence);
+        long[] ids = new long[count];
+        int taken = 0;
+        while (taken < count) {
+            int blocks = (count - taken + ALLOCATION - 1) / ALLOCATION;
+            List<Long> highs = jdbcTemplate.queryForList("select nextval('" + sequence + "') from generate_series(1, ?)", Long.class, blocks);
+            for (long high : highs) {
+                for (long id = Math.max(1, high - ALLOCATION + 1); id <= high && taken < count; id++)
+                    ids[taken++] = id;
+            }
+        }
+        return ids;
+    }
+}
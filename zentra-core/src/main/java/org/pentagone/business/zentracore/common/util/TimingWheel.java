@@ -0,0 +1,115 @@
+package org.pentagone.business.zentracore.common.util;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashed timing wheel: a single ticker thread advances a ring of buckets, a timeout is placed in the bucket
+ * of its deadline with the number of full turns left, so scheduling and cancelling are O(1) whatever the
+ * number of pending timeouts. Expired tasks run on the given executor, never on the ticker thread.
+ */
+public class TimingWheel implements AutoCloseable {
+    private final long tickNanos;
+    private final Queue<Timeout>[] buckets;
+    private final int mask;
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final Executor executor;
+    private final ScheduledExecutorService ticker;
+    private final long startNanos;
+    private long currentTick;
+
+    public TimingWheel(Duration tick, int wheelSize, Executor executor) {
+        if (Integer.bitCount(wheelSize) != 1)
+            throw new IllegalArgumentException("Wheel size must be a power of two");
+        this.tickNanos = tick.toNanos();
+        this.buckets = newBuckets(wheelSize);
+        this.mask = wheelSize - 1;
+        this.executor = executor;
+        this.startNanos = System.nanoTime();
+        this.ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "timing-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.ticker.scheduleAtFixedRate(this::advance, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // Arrays of a parameterized type can only be created as wildcard arrays
+    @SuppressWarnings("unchecked")
+    private static Queue<Timeout>[] newBuckets(int size) {
+        Queue<Timeout>[] buckets = (Queue<Timeout>[]) new Queue<?>[size];
+        for (int i = 0; i < size; i++) buckets[i] = new ArrayDeque<>();
+        return buckets;
+    }
+
+    public Timeout schedule(Runnable task, Duration delay) {
+        Timeout timeout = new Timeout(task, System.nanoTime() + delay.toNanos());
+        pending.add(timeout);
+        return timeout;
+    }
+
+    private void advance() {
+        long targetTick = (System.nanoTime() - startNanos) / tickNanos;
+        while (currentTick <= targetTick) {
+            transferPending();
+            expire(buckets[(int) (currentTick & mask)]);
+            currentTick++;
+        }
+    }
+
+    private void transferPending() {
+        for (Timeout timeout; (timeout = pending.poll()) != null; ) {
+            if (timeout.cancelled) continue;
+            long deadlineTick = Math.max(currentTick, (timeout.deadlineNanos - startNanos + tickNanos - 1) / tickNanos);
+            timeout.remainingRounds = (deadlineTick - currentTick) / buckets.length;
+            buckets[(int) (deadlineTick & mask)].add(timeout);
+        }
+    }
+
+    private void expire(Queue<Timeout> bucket) {
+        for (Iterator<Timeout> iterator = bucket.iterator(); iterator.hasNext(); ) {
+            Timeout timeout = iterator.next();
+            if (timeout.cancelled) {
+                iterator.remove();
+            } else if (timeout.remainingRounds > 0) {
+                timeout.remainingRounds--;
+            } else {
+                iterator.remove();
+                try {
+                    executor.execute(timeout.task);
+                } catch (RejectedExecutionException ignored) {
+                    // the executor is shutting down along with the wheel
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+    }
+
+    public static final class Timeout {
+        private final Runnable task;
+        private final long deadlineNanos;
+        private long remainingRounds;
+        private volatile boolean cancelled;
+
+        private Timeout(Runnable task, long deadlineNanos) {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
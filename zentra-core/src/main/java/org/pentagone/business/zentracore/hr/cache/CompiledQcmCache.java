@@ -0,0 +1,63 @@
+package org.pentagone.business.zentracore.hr.cache;
+
+import org.pentagone.business.zentracore.common.util.BoundedCache;
+import org.pentagone.business.zentracore.common.util.CacheStats;
+import org.pentagone.business.zentracore.hr.model.CompiledQcm;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class CompiledQcmCache {
+    private final BoundedCache<Long, CompiledQcm> cache;
+    // Lowest version accepted per qcm once it has been updated or deleted, so that a load racing with a
+    // write cannot put the old tree back after the invalidation. Dropped once a tree at that version or
+    // above is cached: the cached tree's own version then refuses older ones. Deleted qcms keep theirs.
+    private final Map<Long, LocalDateTime> minimumVersions = new ConcurrentHashMap<>();
+
+    public CompiledQcmCache(@Value("${zentra.qcm.cache.max-size:256}") int maxSize,
+                            @Value("${zentra.qcm.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.cache = new BoundedCache<>(maxSize, Duration.ofSeconds(ttlSeconds));
+    }
+
+    public CompiledQcm get(Long id) {
+        return cache.get(id);
+    }
+
+    // Puts and invalidations are serialized, a put checks the versions and writes with no invalidation in between
+    public synchronized void put(CompiledQcm compiled) {
+        LocalDateTime version = normalize(compiled.updatedAt());
+        LocalDateTime minimum = minimumVersions.get(compiled.id());
+        if (minimum != null && (compiled.updatedAt() == null || version.isBefore(minimum)))
+            return;
+        CompiledQcm cached = cache.peek(compiled.id());
+        if (cached != null && version.isBefore(normalize(cached.updatedAt())))
+            return;
+        cache.put(compiled.id(), compiled);
+        if (minimum != null) minimumVersions.remove(compiled.id());
+    }
+
+    public synchronized void invalidate(Long id, LocalDateTime newVersion) {
+        minimumVersions.merge(id, normalize(newVersion), (a, b) -> a.isAfter(b) ? a : b);
+        cache.invalidate(id);
+    }
+
+    public synchronized void invalidateDeleted(Long id) {
+        minimumVersions.put(id, LocalDateTime.MAX);
+        cache.invalidate(id);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    // PostgreSQL keeps microseconds, the in-memory timestamp of a freshly saved entity may carry nanoseconds.
+    private static LocalDateTime normalize(LocalDateTime version) {
+        return version == null ? LocalDateTime.MIN : version.truncatedTo(ChronoUnit.MICROS);
+    }
+}
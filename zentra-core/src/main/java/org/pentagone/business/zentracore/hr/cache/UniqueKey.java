@@ -0,0 +1,38 @@
+package org.pentagone.business.zentracore.hr.cache;
+
+import java.util.Locale;
+
+/**
+ * Unique columns {@link UniqueKeyIndex} answers for. Candidate emails are compared lower-cased, as the import
+ * stores and matches them; the other keys are compared exactly, as their unique constraints do.
+ */
+public enum UniqueKey {
+    CANDIDATE_EMAIL("candidate", "lower(email)", true),
+    EMPLOYEE_NUMBER("employee", "employee_number", false),
+    EMPLOYEE_WORK_EMAIL("employee", "work_email", false),
+    CONTRACT_NUMBER("employment_contract", "contract_number", false),
+    DEPARTMENT_NAME("department", "name", false);
+
+    private final String table;
+    private final String column;
+    private final boolean lowerCase;
+
+    UniqueKey(String table, String column, boolean lowerCase) {
+        this.table = table;
+        this.column = column;
+        this.lowerCase = lowerCase;
+    }
+
+    public String table() {
+        return table;
+    }
+
+    // SQL expression the normalized value is compared with
+    public String column() {
+        return column;
+    }
+
+    public String normalize(String value) {
+        return lowerCase ? value.trim().toLowerCase(Locale.ROOT) : value;
+    }
+}
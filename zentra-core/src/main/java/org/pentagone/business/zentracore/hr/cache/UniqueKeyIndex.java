@@ -0,0 +1,200 @@
+package org.pentagone.business.zentracore.hr.cache;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.pentagone.business.zentracore.common.util.BloomFilter;
+import org.pentagone.business.zentracore.common.util.BoundedCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Answers "is this value already taken" for the unique keys of UniqueKey without a query when it can: a Bloom
+// filter per key rules out values that were never stored, and a bounded near cache keeps the ids of values
+// found. Filters are built at startup and nightly from the tables (deleted values leave bits behind until
+// then), and again as soon as the values put outgrow the size a filter was built for. Until a key's filter is
+// built, every lookup goes to the database.
+//
+// Values are put in the filters when they are written (JPA listener, JDBC imports), before the commit: a value
+// of a rolled back write only costs a false positive. They are put again once the write committed, into the
+// filters of that moment: a rebuild that read the table before the commit would otherwise miss them. A value
+// written by another instance is not in this instance's filters until the next rebuild, so a negative is only
+// trusted where a wrong one ends in a unique constraint violation that is handled, the database stays the
+// authority.
+@Slf4j
+@Component
+public class UniqueKeyIndex {
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readTransaction;
+    private final double falsePositiveRate;
+    private final long minimumCapacity;
+    private final Map<UniqueKey, Filters> filters = new EnumMap<>(UniqueKey.class);
+    private final Map<UniqueKey, BoundedCache<String, Long>> ids = new EnumMap<>(UniqueKey.class);
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "unique-keys");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public UniqueKeyIndex(DataSource dataSource, PlatformTransactionManager transactionManager,
+                          @Value("${zentra.unique-keys.false-positive-rate:0.01}") double falsePositiveRate,
+                          @Value("${zentra.unique-keys.minimum-capacity:100000}") long minimumCapacity,
+                          @Value("${zentra.unique-keys.near-cache-size:2000}") int nearCacheSize,
+                          @Value("${zentra.unique-keys.near-cache-ttl-seconds:600}") long nearCacheTtlSeconds) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(10_000);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.falsePositiveRate = falsePositiveRate;
+        this.minimumCapacity = minimumCapacity;
+        for (UniqueKey key : UniqueKey.values()) {
+            filters.put(key, new Filters());
+            ids.put(key, new BoundedCache<>(nearCacheSize, Duration.ofSeconds(nearCacheTtlSeconds)));
+        }
+    }
+
+    public boolean exists(UniqueKey key, String value) {
+        return findId(key, value).isPresent();
+    }
+
+    public Optional<Long> findId(UniqueKey key, String value) {
+        if (value == null) return Optional.empty();
+        String normalized = key.normalize(value);
+        if (!mightContain(key, normalized)) return Optional.empty();
+        BoundedCache<String, Long> cache = ids.get(key);
+        Long id = cache.get(normalized);
+        if (id != null) return Optional.of(id);
+        List<Long> found = jdbcTemplate.queryForList("select id from " + key.table() + " where " + key.column() + " = ? limit 1",
+                Long.class, normalized);
+        if (found.isEmpty()) return Optional.empty();
+        cache.put(normalized, found.get(0));
+        return Optional.of(found.get(0));
+    }
+
+    // The normalized values that may be stored, the others definitely are not (as far as this instance knows)
+    public List<String> mightExist(UniqueKey key, Collection<String> values) {
+        List<String> candidates = new ArrayList<>();
+        for (String value : values) {
+            String normalized = key.normalize(value);
+            if (mightContain(key, normalized)) candidates.add(normalized);
+        }
+        return candidates;
+    }
+
+    public void added(UniqueKey key, String value) {
+        if (value == null) return;
+        String normalized = key.normalize(value);
+        put(key, normalized);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(key, normalized);
+                }
+            });
+        }
+    }
+
+    // A value a filter already holds is not put again, the second put of a committed value would count twice
+    private void put(UniqueKey key, String normalized) {
+        Filters state = filters.get(key);
+        BloomFilter building = state.building;
+        if (building != null && !building.mightContain(normalized)) building.put(normalized);
+        BloomFilter current = state.current;
+        if (current == null || current.mightContain(normalized)) return;
+        current.put(normalized);
+        if (current.insertions() > current.capacity() && state.rebuildQueued.compareAndSet(false, true))
+            worker.execute(() -> rebuild(key));
+    }
+
+    // The id's value changed or is gone: whatever the near cache holds for it goes, now and once the write committed
+    public void changed(UniqueKey key, Long id) {
+        if (id == null) return;
+        BoundedCache<String, Long> cache = ids.get(key);
+        cache.invalidateValue(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidateValue(id);
+                }
+            });
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildAtStartup() {
+        worker.execute(this::rebuildAll);
+    }
+
+    // Sheds the bits of deleted values and picks up values written by other instances
+    @Scheduled(cron = "${zentra.unique-keys.rebuild-cron:0 0 4 * * *}")
+    public void scheduledRebuild() {
+        worker.execute(this::rebuildAll);
+    }
+
+    private void rebuildAll() {
+        for (UniqueKey key : UniqueKey.values())
+            rebuild(key);
+    }
+
+    // Values put while the table is read go to both filters, so the new one misses none of them
+    private void rebuild(UniqueKey key) {
+        Filters state = filters.get(key);
+        state.rebuildQueued.set(false);
+        long start = System.currentTimeMillis();
+        try {
+            Long count = jdbcTemplate.queryForObject("select count(*) from " + key.table(), Long.class);
+            BloomFilter filter = new BloomFilter(Math.max(minimumCapacity, 2 * (count == null ? 0 : count)), falsePositiveRate);
+            state.building = filter;
+            // Read in a transaction so the driver streams the rows by fetch size instead of loading them all
+            readTransaction.executeWithoutResult(status -> jdbcTemplate.query("select " + key.column() + " from " + key.table(), rs -> {
+                String value = rs.getString(1);
+                if (value != null) filter.put(value);
+            }));
+            state.current = filter;
+            log.info("Unique key filter {}: {} values, {} KiB, {} hashes, {} false positives in {} ms", key, filter.insertions(),
+                    filter.bitSize() / 8192, filter.hashCount(), String.format("%.4f", filter.falsePositiveRate()),
+                    System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.error("Could not build the unique key filter of {}, lookups keep using {}", key,
+                    state.current == null ? "the database" : "the previous filter", e);
+        } finally {
+            state.building = null;
+        }
+    }
+
+    private boolean mightContain(UniqueKey key, String normalized) {
+        BloomFilter current = filters.get(key).current;
+        return current == null || current.mightContain(normalized);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    private static final class Filters {
+        private volatile BloomFilter current;
+        private volatile BloomFilter building;
+        private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+    }
+}
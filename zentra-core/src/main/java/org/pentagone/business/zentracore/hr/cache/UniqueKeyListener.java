@@ -0,0 +1,59 @@
+package org.pentagone.business.zentracore.hr.cache;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.pentagone.business.zentracore.common.entity.BaseEntity;
+import org.pentagone.business.zentracore.hr.entity.Candidate;
+import org.pentagone.business.zentracore.hr.entity.Contract;
+import org.pentagone.business.zentracore.hr.entity.Department;
+import org.pentagone.business.zentracore.hr.entity.Employee;
+import org.springframework.context.annotation.Lazy;
+
+import java.util.function.BiConsumer;
+
+/**
+ * JPA listener of the entities holding a {@link UniqueKey}, keeps {@link UniqueKeyIndex} current.
+ * JDBC writes call the index themselves.
+ */
+public class UniqueKeyListener {
+    private final UniqueKeyIndex uniqueKeyIndex;
+
+    // Hibernate creates its listeners while building the entity manager factory, which the index's transaction
+    // manager depends on: the index is resolved on first use instead
+    public UniqueKeyListener(@Lazy UniqueKeyIndex uniqueKeyIndex) {
+        this.uniqueKeyIndex = uniqueKeyIndex;
+    }
+
+    @PostPersist
+    public void persisted(Object entity) {
+        forEachKey(entity, uniqueKeyIndex::added);
+    }
+
+    // The previous value stays in the filter until the next rebuild, only the near cache has to forget it
+    @PostUpdate
+    public void updated(Object entity) {
+        forEachKey(entity, uniqueKeyIndex::added);
+        removed(entity);
+    }
+
+    @PostRemove
+    public void removed(Object entity) {
+        if (entity instanceof BaseEntity base)
+            forEachKey(entity, (key, value) -> uniqueKeyIndex.changed(key, base.getId()));
+    }
+
+    private static void forEachKey(Object entity, BiConsumer<UniqueKey, String> consumer) {
+        switch (entity) {
+            case Candidate candidate -> consumer.accept(UniqueKey.CANDIDATE_EMAIL, candidate.getEmail());
+            case Employee employee -> {
+                consumer.accept(UniqueKey.EMPLOYEE_NUMBER, employee.getEmployeeNumber());
+                consumer.accept(UniqueKey.EMPLOYEE_WORK_EMAIL, employee.getWorkEmail());
+            }
+            case Contract contract -> consumer.accept(UniqueKey.CONTRACT_NUMBER, contract.getContractNumber());
+            case Department department -> consumer.accept(UniqueKey.DEPARTMENT_NAME, department.getName());
+            default -> {
+            }
+        }
+    }
+}
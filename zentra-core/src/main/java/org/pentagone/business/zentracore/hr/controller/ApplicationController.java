@@ -0,0 +1,36 @@
+package org.pentagone.business.zentracore.hr.controller;
+
+import org.pentagone.business.zentracore.common.util.CursorPage;
+import org.pentagone.business.zentracore.hr.dto.ApplicationStatusChangeDto;
+import org.pentagone.business.zentracore.hr.dto.ApplicationSummaryDto;
+import org.pentagone.business.zentracore.hr.service.ApplicationService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/applications")
+public class ApplicationController {
+
+    private final ApplicationService applicationService;
+
+    public ApplicationController(ApplicationService applicationService) {
+        this.applicationService = applicationService;
+    }
+
+    @GetMapping
+    public ResponseEntity<CursorPage<ApplicationSummaryDto>> getApplications(@RequestParam(required = false) Long publicationId,
+                                                                             @RequestParam(required = false) Long candidateId,
+                                                                             @RequestParam(required = false) String status,
+                                                                             @RequestParam(required = false) String cursor,
+                                                                             @RequestParam(defaultValue = "20") int size) {
+        CursorPage<ApplicationSummaryDto> applications = applicationService.getApplications(publicationId, candidateId, status, cursor, size);
+        return new ResponseEntity<>(applications, HttpStatus.OK);
+    }
+
+    @PatchMapping("/{id}/status")
+    public ResponseEntity<ApplicationSummaryDto> changeStatus(@PathVariable Long id, @RequestBody ApplicationStatusChangeDto change) {
+        ApplicationSummaryDto application = applicationService.changeStatus(id, change);
+        return new ResponseEntity<>(application, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,36 @@
+package org.pentagone.business.zentracore.hr.controller;
+
+import org.pentagone.business.zentracore.hr.dto.AttemptDto;
+import org.pentagone.business.zentracore.hr.dto.AttemptSubmissionDto;
+import org.pentagone.business.zentracore.hr.service.AttemptService;
+import org.pentagone.business.zentracore.hr.service.GradingService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/attempts")
+public class AttemptController {
+
+    private final AttemptService attemptService;
+    private final GradingService gradingService;
+
+    public AttemptController(AttemptService attemptService, GradingService gradingService) {
+        this.attemptService = attemptService;
+        this.gradingService = gradingService;
+    }
+
+    @PostMapping("/bulk")
+    public ResponseEntity<List<AttemptDto>> submitAttempts(@RequestBody List<AttemptSubmissionDto> submissions) {
+        List<AttemptDto> created = attemptService.submitAttempts(submissions);
+        return new ResponseEntity<>(created, HttpStatus.CREATED);
+    }
+
+    @PostMapping("/{id}/grade")
+    public ResponseEntity<AttemptDto> gradeAttempt(@PathVariable Long id) {
+        AttemptDto graded = gradingService.gradeAttempt(id);
+        return new ResponseEntity<>(graded, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,135 @@
+package org.pentagone.business.zentracore.hr.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.pentagone.business.zentracore.common.storage.DocumentServer;
+import org.pentagone.business.zentracore.hr.dto.CandidateDto;
+import org.pentagone.business.zentracore.hr.dto.CandidateImportJobDto;
+import org.pentagone.business.zentracore.hr.dto.CandidateSearchResultDto;
+import org.pentagone.business.zentracore.hr.dto.DedupScanJobDto;
+import org.pentagone.business.zentracore.hr.dto.DocumentDto;
+import org.pentagone.business.zentracore.hr.dto.DuplicateCandidateDto;
+import org.pentagone.business.zentracore.hr.model.CandidateImportJob;
+import org.pentagone.business.zentracore.hr.service.CandidateDedupService;
+import org.pentagone.business.zentracore.hr.service.CandidateImportService;
+import org.pentagone.business.zentracore.hr.service.CandidateSearchService;
+import org.pentagone.business.zentracore.hr.service.DocumentService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/candidates")
+public class CandidateController {
+
+    private final CandidateImportService candidateImportService;
+    private final DocumentService documentService;
+    private final DocumentServer documentServer;
+    private final CandidateSearchService candidateSearchService;
+    private final CandidateDedupService candidateDedupService;
+
+    public CandidateController(CandidateImportService candidateImportService, DocumentService documentService,
+                               DocumentServer documentServer, CandidateSearchService candidateSearchService,
+                               CandidateDedupService candidateDedupService) {
+        this.candidateImportService = candidateImportService;
+        this.documentService = documentService;
+        this.documentServer = documentServer;
+        this.candidateSearchService = candidateSearchService;
+        this.candidateDedupService = candidateDedupService;
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<CandidateSearchResultDto> search(@RequestParam(required = false) String q,
+                                                           @RequestParam(required = false) String country,
+                                                           @RequestParam(required = false) String educationLevel,
+                                                           @RequestParam(required = false) String experience,
+                                                           @RequestParam(defaultValue = "0") int page,
+                                                           @RequestParam(defaultValue = "20") int size) {
+        CandidateSearchResultDto result = candidateSearchService.search(q, country, educationLevel, experience, page, size);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    @PostMapping("/search/rebuild")
+    public ResponseEntity<Void> rebuildSearchIndex() {
+        candidateSearchService.rebuild();
+        return ResponseEntity.accepted().build();
+    }
+
+    @PostMapping("/duplicates/check")
+    public ResponseEntity<List<DuplicateCandidateDto>> checkDuplicates(@RequestBody CandidateDto candidate) {
+        List<DuplicateCandidateDto> duplicates = candidateDedupService.findDuplicates(candidate);
+        return new ResponseEntity<>(duplicates, HttpStatus.OK);
+    }
+
+    @PostMapping("/duplicates/scan")
+    public ResponseEntity<DedupScanJobDto> scanDuplicates() {
+        DedupScanJobDto scan = candidateDedupService.startScan();
+        return new ResponseEntity<>(scan, HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/duplicates/scan/{id}")
+    public ResponseEntity<DedupScanJobDto> getDuplicateScan(@PathVariable UUID id) {
+        DedupScanJobDto scan = candidateDedupService.getScan(id);
+        return new ResponseEntity<>(scan, HttpStatus.OK);
+    }
+
+    @GetMapping("/{id}/duplicates")
+    public ResponseEntity<List<DuplicateCandidateDto>> getDuplicates(@PathVariable Long id) {
+        List<DuplicateCandidateDto> duplicates = candidateDedupService.getDuplicates(id);
+        return new ResponseEntity<>(duplicates, HttpStatus.OK);
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<CandidateImportJobDto> importCsv(InputStream body) throws IOException {
+        CandidateImportJobDto job = candidateImportService.startImport(body, CandidateImportJob.Format.CSV);
+        return new ResponseEntity<>(job, HttpStatus.ACCEPTED);
+    }
+
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ResponseEntity<CandidateImportJobDto> importNdjson(InputStream body) throws IOException {
+        CandidateImportJobDto job = candidateImportService.startImport(body, CandidateImportJob.Format.NDJSON);
+        return new ResponseEntity<>(job, HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/import/{id}")
+    public ResponseEntity<CandidateImportJobDto> getImportJob(@PathVariable UUID id) {
+        CandidateImportJobDto job = candidateImportService.getJob(id);
+        return new ResponseEntity<>(job, HttpStatus.OK);
+    }
+
+    @PostMapping(value = "/{id}/cv", consumes = "multipart/form-data")
+    public ResponseEntity<DocumentDto> uploadCv(@PathVariable Long id, @RequestPart("file") MultipartFile file) throws IOException {
+        if (file.isEmpty())
+            throw new IllegalArgumentException("File is empty");
+        try (InputStream content = file.getInputStream()) {
+            DocumentDto document = documentService.attachCv(id, content);
+            return new ResponseEntity<>(document, HttpStatus.CREATED);
+        }
+    }
+
+    @GetMapping("/{id}/cv")
+    public void downloadCv(@PathVariable Long id, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        documentServer.serve(documentService.getCvHash(id), "cv-" + id, request, response);
+    }
+
+    @PostMapping(value = "/{id}/motivational-letter", consumes = "multipart/form-data")
+    public ResponseEntity<DocumentDto> uploadMotivationalLetter(@PathVariable Long id, @RequestPart("file") MultipartFile file) throws IOException {
+        if (file.isEmpty())
+            throw new IllegalArgumentException("File is empty");
+        try (InputStream content = file.getInputStream()) {
+            DocumentDto document = documentService.attachMotivationalLetter(id, content);
+            return new ResponseEntity<>(document, HttpStatus.CREATED);
+        }
+    }
+
+    @GetMapping("/{id}/motivational-letter")
+    public void downloadMotivationalLetter(@PathVariable Long id, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        documentServer.serve(documentService.getMotivationalLetterHash(id), "motivational-letter-" + id, request, response);
+    }
+}
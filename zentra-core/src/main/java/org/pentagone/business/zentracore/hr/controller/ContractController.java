@@ -0,0 +1,54 @@
+package org.pentagone.business.zentracore.hr.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.pentagone.business.zentracore.common.storage.DocumentServer;
+import org.pentagone.business.zentracore.hr.dto.ContractDeadlineDto;
+import org.pentagone.business.zentracore.hr.dto.DocumentDto;
+import org.pentagone.business.zentracore.hr.service.ContractDeadlineService;
+import org.pentagone.business.zentracore.hr.service.DocumentService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+@RestController
+@RequestMapping("/contracts")
+public class ContractController {
+
+    private final DocumentService documentService;
+    private final DocumentServer documentServer;
+    private final ContractDeadlineService contractDeadlineService;
+
+    public ContractController(DocumentService documentService, DocumentServer documentServer,
+                              ContractDeadlineService contractDeadlineService) {
+        this.documentService = documentService;
+        this.documentServer = documentServer;
+        this.contractDeadlineService = contractDeadlineService;
+    }
+
+    @GetMapping("/deadlines")
+    public ResponseEntity<List<ContractDeadlineDto>> getUpcomingDeadlines(@RequestParam(defaultValue = "30") int days) {
+        List<ContractDeadlineDto> deadlines = contractDeadlineService.getUpcoming(days);
+        return new ResponseEntity<>(deadlines, HttpStatus.OK);
+    }
+
+    @PostMapping(value = "/{id}/file", consumes = "multipart/form-data")
+    public ResponseEntity<DocumentDto> uploadContractFile(@PathVariable Long id, @RequestPart("file") MultipartFile file) throws IOException {
+        if (file.isEmpty())
+            throw new IllegalArgumentException("File is empty");
+        try (InputStream content = file.getInputStream()) {
+            DocumentDto document = documentService.attachContractFile(id, content);
+            return new ResponseEntity<>(document, HttpStatus.CREATED);
+        }
+    }
+
+    @GetMapping("/{id}/file")
+    public void downloadContractFile(@PathVariable Long id, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        documentServer.serve(documentService.getContractFileHash(id), "contract-" + id, request, response);
+    }
+}
@@ -0,0 +1,33 @@
+package org.pentagone.business.zentracore.hr.controller;
+
+import org.pentagone.business.zentracore.hr.dto.DepartmentSummaryDto;
+import org.pentagone.business.zentracore.hr.dto.OrgSummaryRebuildReportDto;
+import org.pentagone.business.zentracore.hr.service.OrgSummaryService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/departments")
+public class DepartmentController {
+
+    private final OrgSummaryService orgSummaryService;
+
+    public DepartmentController(OrgSummaryService orgSummaryService) {
+        this.orgSummaryService = orgSummaryService;
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<List<DepartmentSummaryDto>> getSummaries(@RequestParam(defaultValue = "false") boolean includeJobs) {
+        List<DepartmentSummaryDto> summaries = orgSummaryService.getDepartmentSummaries(includeJobs);
+        return new ResponseEntity<>(summaries, HttpStatus.OK);
+    }
+
+    @PostMapping("/summary/rebuild")
+    public ResponseEntity<OrgSummaryRebuildReportDto> rebuildSummaries() {
+        OrgSummaryRebuildReportDto report = orgSummaryService.rebuild();
+        return new ResponseEntity<>(report, HttpStatus.OK);
+    }
+}
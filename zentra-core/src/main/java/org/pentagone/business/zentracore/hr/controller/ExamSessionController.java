@@ -0,0 +1,48 @@
+package org.pentagone.business.zentracore.hr.controller;
+
+import org.pentagone.business.zentracore.hr.dto.AttemptDto;
+import org.pentagone.business.zentracore.hr.dto.ExamSessionDto;
+import org.pentagone.business.zentracore.hr.dto.ExamSessionStartDto;
+import org.pentagone.business.zentracore.hr.service.ExamSessionService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/exam-sessions")
+public class ExamSessionController {
+
+    private final ExamSessionService examSessionService;
+
+    public ExamSessionController(ExamSessionService examSessionService) {
+        this.examSessionService = examSessionService;
+    }
+
+    @PostMapping
+    public ResponseEntity<ExamSessionDto> startSession(@RequestBody ExamSessionStartDto startDto) {
+        ExamSessionDto session = examSessionService.startSession(startDto);
+        return new ResponseEntity<>(session, HttpStatus.CREATED);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ExamSessionDto> getSession(@PathVariable UUID id) {
+        ExamSessionDto session = examSessionService.getSession(id);
+        return new ResponseEntity<>(session, HttpStatus.OK);
+    }
+
+    @PutMapping("/{id}/answers/{questionId}")
+    public ResponseEntity<ExamSessionDto> answer(@PathVariable UUID id, @PathVariable Long questionId,
+                                                 @RequestBody List<Long> choiceIds) {
+        ExamSessionDto session = examSessionService.answer(id, questionId, choiceIds);
+        return new ResponseEntity<>(session, HttpStatus.OK);
+    }
+
+    @PostMapping("/{id}/submit")
+    public ResponseEntity<AttemptDto> submit(@PathVariable UUID id) {
+        AttemptDto attempt = examSessionService.submit(id);
+        return new ResponseEntity<>(attempt, HttpStatus.CREATED);
+    }
+}
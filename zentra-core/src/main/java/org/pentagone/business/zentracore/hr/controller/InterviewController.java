@@ -0,0 +1,40 @@
+package org.pentagone.business.zentracore.hr.controller;
+
+import org.pentagone.business.zentracore.hr.dto.InterviewDto;
+import org.pentagone.business.zentracore.hr.dto.SlotRequestDto;
+import org.pentagone.business.zentracore.hr.dto.SlotSuggestionDto;
+import org.pentagone.business.zentracore.hr.service.InterviewService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/interviews")
+public class InterviewController {
+
+    private final InterviewService interviewService;
+
+    public InterviewController(InterviewService interviewService) {
+        this.interviewService = interviewService;
+    }
+
+    @PostMapping
+    public ResponseEntity<InterviewDto> scheduleInterview(@RequestBody InterviewDto interviewDto) {
+        InterviewDto interview = interviewService.scheduleInterview(interviewDto);
+        return new ResponseEntity<>(interview, HttpStatus.CREATED);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> cancelInterview(@PathVariable Long id) {
+        interviewService.cancelInterview(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/slots")
+    public ResponseEntity<List<SlotSuggestionDto>> suggestSlots(@RequestBody SlotRequestDto request) {
+        List<SlotSuggestionDto> slots = interviewService.suggestSlots(request);
+        return new ResponseEntity<>(slots, HttpStatus.OK);
+    }
+}
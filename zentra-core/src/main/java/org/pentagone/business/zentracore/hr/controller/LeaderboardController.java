@@ -0,0 +1,27 @@
+package org.pentagone.business.zentracore.hr.controller;
+
+import org.pentagone.business.zentracore.hr.dto.LeaderboardEntryDto;
+import org.pentagone.business.zentracore.hr.service.LeaderboardService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/publications")
+public class LeaderboardController {
+
+    private final LeaderboardService leaderboardService;
+
+    public LeaderboardController(LeaderboardService leaderboardService) {
+        this.leaderboardService = leaderboardService;
+    }
+
+    @GetMapping("/{id}/leaderboard")
+    public ResponseEntity<List<LeaderboardEntryDto>> getLeaderboard(@PathVariable Long id,
+                                                                    @RequestParam(defaultValue = "20") int limit) {
+        List<LeaderboardEntryDto> leaderboard = leaderboardService.getLeaderboard(id, limit);
+        return new ResponseEntity<>(leaderboard, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,38 @@
+package org.pentagone.business.zentracore.hr.controller;
+
+import org.pentagone.business.zentracore.hr.dto.MatchDto;
+import org.pentagone.business.zentracore.hr.service.MatchingService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/matching")
+public class MatchingController {
+
+    private final MatchingService matchingService;
+
+    public MatchingController(MatchingService matchingService) {
+        this.matchingService = matchingService;
+    }
+
+    @GetMapping("/publications/{id}/candidates")
+    public ResponseEntity<List<MatchDto>> topCandidates(@PathVariable Long id, @RequestParam(defaultValue = "20") int k) {
+        List<MatchDto> matches = matchingService.topCandidates(id, k);
+        return new ResponseEntity<>(matches, HttpStatus.OK);
+    }
+
+    @GetMapping("/candidates/{id}/publications")
+    public ResponseEntity<List<MatchDto>> topPublications(@PathVariable Long id, @RequestParam(defaultValue = "20") int k) {
+        List<MatchDto> matches = matchingService.topPublications(id, k);
+        return new ResponseEntity<>(matches, HttpStatus.OK);
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<Void> refresh() {
+        matchingService.refresh();
+        return ResponseEntity.noContent().build();
+    }
+}
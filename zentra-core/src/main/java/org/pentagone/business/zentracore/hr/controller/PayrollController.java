@@ -0,0 +1,43 @@
+package org.pentagone.business.zentracore.hr.controller;
+
+import org.pentagone.business.zentracore.common.util.PageResponse;
+import org.pentagone.business.zentracore.hr.dto.PayrollLineDto;
+import org.pentagone.business.zentracore.hr.dto.PayrollRunDto;
+import org.pentagone.business.zentracore.hr.service.PayrollService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/payroll")
+public class PayrollController {
+
+    private final PayrollService payrollService;
+
+    public PayrollController(PayrollService payrollService) {
+        this.payrollService = payrollService;
+    }
+
+    // period is yyyy-MM
+    @PostMapping("/runs")
+    public ResponseEntity<PayrollRunDto> run(@RequestParam YearMonth period) {
+        PayrollRunDto run = payrollService.run(period);
+        return new ResponseEntity<>(run, HttpStatus.OK);
+    }
+
+    @GetMapping("/runs/{id}")
+    public ResponseEntity<PayrollRunDto> getRun(@PathVariable Long id) {
+        PayrollRunDto run = payrollService.getRun(id);
+        return new ResponseEntity<>(run, HttpStatus.OK);
+    }
+
+    @GetMapping("/runs/{id}/lines")
+    public ResponseEntity<PageResponse<PayrollLineDto>> getLines(@PathVariable Long id,
+                                                                 @RequestParam(defaultValue = "0") int page,
+                                                                 @RequestParam(defaultValue = "100") int size) {
+        PageResponse<PayrollLineDto> lines = payrollService.getLines(id, page, size);
+        return new ResponseEntity<>(lines, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,24 @@
+package org.pentagone.business.zentracore.hr.controller;
+
+import org.pentagone.business.zentracore.hr.dto.PublicationLifecycleReportDto;
+import org.pentagone.business.zentracore.hr.service.PublicationLifecycleService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/publications")
+public class PublicationController {
+
+    private final PublicationLifecycleService publicationLifecycleService;
+
+    public PublicationController(PublicationLifecycleService publicationLifecycleService) {
+        this.publicationLifecycleService = publicationLifecycleService;
+    }
+
+    @PostMapping("/lifecycle")
+    public ResponseEntity<PublicationLifecycleReportDto> runLifecycle() {
+        PublicationLifecycleReportDto report = publicationLifecycleService.run();
+        return new ResponseEntity<>(report, HttpStatus.OK);
+    }
+}
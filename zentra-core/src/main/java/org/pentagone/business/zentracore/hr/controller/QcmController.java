@@ -1,11 +1,24 @@
 package org.pentagone.business.zentracore.hr.controller;
 
+import org.pentagone.business.zentracore.common.util.CacheStats;
+import org.pentagone.business.zentracore.common.util.PageResponse;
+import org.pentagone.business.zentracore.hr.dto.ImportReportDto;
+import org.pentagone.business.zentracore.hr.dto.ItemAnalyticsDto;
 import org.pentagone.business.zentracore.hr.dto.QcmDto;
+import org.pentagone.business.zentracore.hr.dto.QcmSearchResultDto;
+import org.pentagone.business.zentracore.hr.dto.QcmSummaryDto;
+import org.pentagone.business.zentracore.hr.dto.RegradeReportDto;
+import org.pentagone.business.zentracore.hr.dto.StatisticsRebuildReportDto;
+import org.pentagone.business.zentracore.hr.service.GradingService;
+import org.pentagone.business.zentracore.hr.service.ItemAnalyticsService;
 import org.pentagone.business.zentracore.hr.service.QcmService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -13,9 +26,13 @@ import java.util.List;
 public class QcmController {
 
     private final QcmService qcmService;
+    private final GradingService gradingService;
+    private final ItemAnalyticsService itemAnalyticsService;
 
-    public QcmController(QcmService qcmService) {
+    public QcmController(QcmService qcmService, GradingService gradingService, ItemAnalyticsService itemAnalyticsService) {
         this.qcmService = qcmService;
+        this.gradingService = gradingService;
+        this.itemAnalyticsService = itemAnalyticsService;
     }
 
     @PostMapping
@@ -37,11 +54,54 @@ public class QcmController {
     }
 
     @GetMapping
-    public ResponseEntity<List<QcmDto>> getQcms() {
-        List<QcmDto> qcms = qcmService.getQcms();
+    public ResponseEntity<PageResponse<QcmSummaryDto>> getQcms(@RequestParam(defaultValue = "0") int page,
+                                                              @RequestParam(defaultValue = "20") int size) {
+        PageResponse<QcmSummaryDto> qcms = qcmService.getQcms(page, size);
         return new ResponseEntity<>(qcms, HttpStatus.OK);
     }
 
+    @PostMapping("/{id}/regrade")
+    public ResponseEntity<RegradeReportDto> regradeQcm(@PathVariable Long id) {
+        RegradeReportDto report = gradingService.regradeQcm(id);
+        return new ResponseEntity<>(report, HttpStatus.OK);
+    }
+
+    @GetMapping("/{id}/statistics")
+    public ResponseEntity<ItemAnalyticsDto> getQcmAnalytics(@PathVariable Long id) {
+        ItemAnalyticsDto analytics = itemAnalyticsService.getQcmAnalytics(id);
+        return new ResponseEntity<>(analytics, HttpStatus.OK);
+    }
+
+    @PostMapping("/statistics/rebuild")
+    public ResponseEntity<StatisticsRebuildReportDto> rebuildStatistics() {
+        StatisticsRebuildReportDto report = itemAnalyticsService.rebuildAll();
+        return new ResponseEntity<>(report, HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportQcms() {
+        StreamingResponseBody body = qcmService::exportQcms;
+        return new ResponseEntity<>(body, HttpStatus.OK);
+    }
+
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ResponseEntity<ImportReportDto> importQcms(InputStream body) throws IOException {
+        ImportReportDto report = qcmService.importQcms(body);
+        return new ResponseEntity<>(report, HttpStatus.OK);
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<CacheStats> getCacheStats() {
+        return new ResponseEntity<>(qcmService.getCacheStats(), HttpStatus.OK);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<QcmSearchResultDto>> searchQcms(@RequestParam String q,
+                                                               @RequestParam(defaultValue = "20") int limit) {
+        List<QcmSearchResultDto> results = qcmService.searchQcms(q, limit);
+        return new ResponseEntity<>(results, HttpStatus.OK);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteQcmById(@PathVariable Long id) {
         qcmService.deleteById(id);
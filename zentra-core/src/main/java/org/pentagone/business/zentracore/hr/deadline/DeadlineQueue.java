@@ -0,0 +1,150 @@
+package org.pentagone.business.zentracore.hr.deadline;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Employment deadlines (contract end, probation end) and the alarms they raise, ordered by the day each alarm
+ * fires: a reminder {@code n} days before the deadline for every configured lead, and the expiry itself on the
+ * day. Replacing the deadlines of one employee costs O(log n) per alarm, finding the next alarm O(log n), so
+ * the queue is filled once and then kept up to date employee by employee instead of being rebuilt.
+ * <p>
+ * When an employee is (re)placed after some of its alarms were due, only the latest due alarm of each deadline
+ * is kept: a contract ending in three days raises its 7 day reminder, not the 30 day one as well.
+ * Methods are synchronized, the watcher thread and request threads share the queue.
+ */
+public final class DeadlineQueue {
+    private static final Comparator<Alarm> ALARM_ORDER = Comparator.comparing(Alarm::fireDate)
+            .thenComparing(alarm -> alarm.deadline().date())
+            .thenComparingLong(alarm -> alarm.deadline().employeeId())
+            .thenComparing(alarm -> alarm.deadline().kind());
+    private static final Comparator<Deadline> DEADLINE_ORDER = Comparator.comparing(Deadline::date)
+            .thenComparingLong(Deadline::employeeId)
+            .thenComparing(Deadline::kind);
+
+    // Descending, 0 (the expiry) last
+    private final int[] leadDays;
+    private final NavigableSet<Alarm> alarms = new TreeSet<>(ALARM_ORDER);
+    private final NavigableSet<Deadline> deadlines = new TreeSet<>(DEADLINE_ORDER);
+    private final Map<Long, List<Deadline>> byEmployee = new HashMap<>();
+    private final Map<Deadline, Alarm> alarmOf = new HashMap<>();
+
+    public DeadlineQueue(int... reminderDays) {
+        int[] leads = Arrays.copyOf(reminderDays, reminderDays.length + 1);
+        for (int lead : reminderDays)
+            if (lead <= 0) throw new IllegalArgumentException("Reminder days must be positive");
+        Arrays.sort(leads);
+        this.leadDays = new int[leads.length];
+        for (int i = 0; i < leads.length; i++)
+            leadDays[i] = leads[leads.length - 1 - i];
+    }
+
+    public synchronized void clear() {
+        alarms.clear();
+        deadlines.clear();
+        byEmployee.clear();
+        alarmOf.clear();
+    }
+
+    // The employee's previous deadlines are dropped, an empty collection just removes the employee
+    public synchronized void replace(long employeeId, Collection<Deadline> employeeDeadlines, LocalDate today) {
+        List<Deadline> previous = byEmployee.remove(employeeId);
+        if (previous != null) {
+            for (Deadline deadline : previous) {
+                deadlines.remove(deadline);
+                Alarm alarm = alarmOf.remove(deadline);
+                if (alarm != null) alarms.remove(alarm);
+            }
+        }
+        if (employeeDeadlines.isEmpty()) return;
+        List<Deadline> current = new ArrayList<>(employeeDeadlines.size());
+        for (Deadline deadline : employeeDeadlines) {
+            if (deadline.employeeId() != employeeId)
+                throw new IllegalArgumentException("Deadline of employee " + deadline.employeeId() + " replaced as " + employeeId);
+            if (!deadlines.add(deadline)) continue;
+            current.add(deadline);
+            Alarm alarm = nextAlarm(deadline, today, true);
+            if (alarm != null) {
+                alarms.add(alarm);
+                alarmOf.put(deadline, alarm);
+            }
+        }
+        byEmployee.put(employeeId, current);
+    }
+
+    public synchronized LocalDate nextFireDate() {
+        return alarms.isEmpty() ? null : alarms.first().fireDate();
+    }
+
+    // Removes the alarms due on or before the day and queues the following alarm of their deadlines
+    public synchronized List<Alarm> pollDue(LocalDate day) {
+        List<Alarm> due = new ArrayList<>();
+        while (!alarms.isEmpty() && !alarms.first().fireDate().isAfter(day)) {
+            Alarm alarm = alarms.pollFirst();
+            due.add(alarm);
+            Alarm next = nextAlarm(alarm.deadline(), day, false);
+            if (next == null) {
+                // Expired, nothing is left to watch
+                forget(alarm.deadline());
+            } else {
+                alarms.add(next);
+                alarmOf.put(alarm.deadline(), next);
+            }
+        }
+        return due;
+    }
+
+    // Deadlines falling between the two days, both included, in date order
+    public synchronized List<Deadline> between(LocalDate from, LocalDate to) {
+        return new ArrayList<>(deadlines.subSet(new Deadline(Long.MIN_VALUE, Kind.values()[0], from), true,
+                new Deadline(Long.MAX_VALUE, Kind.values()[Kind.values().length - 1], to), true));
+    }
+
+    public synchronized int size() {
+        return deadlines.size();
+    }
+
+    public synchronized int pendingAlarms() {
+        return alarms.size();
+    }
+
+    private void forget(Deadline deadline) {
+        alarmOf.remove(deadline);
+        deadlines.remove(deadline);
+        List<Deadline> employeeDeadlines = byEmployee.get(deadline.employeeId());
+        if (employeeDeadlines == null) return;
+        employeeDeadlines.remove(deadline);
+        if (employeeDeadlines.isEmpty()) byEmployee.remove(deadline.employeeId());
+    }
+
+    // With catchUp, the latest alarm already due wins over the earlier ones; without, the first one after the day
+    private Alarm nextAlarm(Deadline deadline, LocalDate day, boolean catchUp) {
+        Alarm latestDue = null;
+        for (int lead : leadDays) {
+            LocalDate fireDate = deadline.date().minusDays(lead);
+            if (fireDate.isAfter(day)) return catchUp && latestDue != null ? latestDue : new Alarm(fireDate, lead, deadline);
+            if (catchUp) latestDue = new Alarm(fireDate, lead, deadline);
+        }
+        return latestDue;
+    }
+
+    public enum Kind {
+        CONTRACT_END,
+        PROBATION_END
+    }
+
+    public record Deadline(long employeeId, Kind kind, LocalDate date) {
+    }
+
+    // daysBefore is 0 for the expiry itself
+    public record Alarm(LocalDate fireDate, int daysBefore, Deadline deadline) {
+    }
+}
@@ -0,0 +1,87 @@
+package org.pentagone.business.zentracore.hr.dedup;
+
+import org.pentagone.business.zentracore.hr.matching.SkillDictionary;
+
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+/**
+ * The set a candidate is compared on, as 64 bit feature hashes: character trigrams of the name (accents,
+ * case and word order ignored, so "Éloïse Martin" and "martin eloise" share all of them), the birth date,
+ * the last nine digits of the phone (national and +33 forms match) and the normalized skills. Birth date and
+ * phone are exact identifiers, they are repeated {@link #IDENTIFIER_WEIGHT} times so that two homonyms born
+ * on different days stay well apart while a typo in the name barely counts.
+ */
+public final class CandidateFeatures {
+    public static final int IDENTIFIER_WEIGHT = 8;
+    private static final int PHONE_DIGITS = 9;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NOT_LETTERS = Pattern.compile("[^a-z ]+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private CandidateFeatures() {
+    }
+
+    // Sorted and without duplicates, an empty array when nothing is known about the candidate
+    public static long[] of(String firstName, String lastName, LocalDate birthDate, String phone, String skills) {
+        long[] features = new long[64];
+        int count = 0;
+        String name = normalizeName(firstName, lastName);
+        for (int i = 0; i + 3 <= name.length(); i++) {
+            if (count == features.length) features = Arrays.copyOf(features, count * 2);
+            features[count++] = hash('n', name, i, i + 3);
+        }
+        String date = birthDate == null ? "" : birthDate.toString();
+        String digits = phoneDigits(phone);
+        for (int weight = 0; weight < IDENTIFIER_WEIGHT; weight++) {
+            if (count + 2 > features.length) features = Arrays.copyOf(features, count * 2);
+            if (!date.isEmpty()) features[count++] = hash((char) ('b' + (weight << 8)), date, 0, date.length());
+            if (!digits.isEmpty()) features[count++] = hash((char) ('p' + (weight << 8)), digits, 0, digits.length());
+        }
+        for (String skill : SkillDictionary.parse(skills)) {
+            if (count == features.length) features = Arrays.copyOf(features, count * 2);
+            features[count++] = hash('s', skill, 0, skill.length());
+        }
+        features = Arrays.copyOf(features, count);
+        Arrays.sort(features);
+        int distinct = 0;
+        for (int i = 0; i < count; i++)
+            if (i == 0 || features[i] != features[i - 1]) features[distinct++] = features[i];
+        return Arrays.copyOf(features, distinct);
+    }
+
+    // "  Jean-Pierre ", "DUPONT" -> " dupont jean pierre ", padded so first and last letters get their own trigrams
+    static String normalizeName(String firstName, String lastName) {
+        String joined = (firstName == null ? "" : firstName) + " " + (lastName == null ? "" : lastName);
+        String normalized = MARKS.matcher(Normalizer.normalize(joined, Normalizer.Form.NFD)).replaceAll("").toLowerCase();
+        normalized = SPACES.matcher(NOT_LETTERS.matcher(normalized).replaceAll(" ")).replaceAll(" ").trim();
+        if (normalized.isEmpty()) return "";
+        String[] words = normalized.split(" ");
+        Arrays.sort(words);
+        return " " + String.join(" ", words) + " ";
+    }
+
+    static String phoneDigits(String phone) {
+        if (phone == null) return "";
+        StringBuilder digits = new StringBuilder(phone.length());
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c >= '0' && c <= '9') digits.append(c);
+        }
+        // Too short to identify anyone
+        if (digits.length() < PHONE_DIGITS) return "";
+        return digits.substring(digits.length() - PHONE_DIGITS);
+    }
+
+    // FNV-1a over a kind tag and the characters, the kind keeps a skill from matching a trigram or a date
+    private static long hash(char kind, String value, int from, int to) {
+        long hash = (FNV_OFFSET ^ kind) * FNV_PRIME;
+        for (int i = from; i < to; i++)
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        return MinHasher.mix(hash);
+    }
+}
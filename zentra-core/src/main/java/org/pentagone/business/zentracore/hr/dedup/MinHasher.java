@@ -0,0 +1,87 @@
+package org.pentagone.business.zentracore.hr.dedup;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * MinHash signatures of feature sets and their locality sensitive hashing bands. The share of equal
+ * positions in two signatures estimates the Jaccard similarity of the sets; a signature is cut into
+ * {@link #BANDS} bands of {@link #ROWS} positions and two candidates sharing any band key are compared, which
+ * finds pairs at 0.5 similarity 64% of the time, at 0.7 99% of the time and at 0.3 only 12% of the time.
+ * <p>
+ * Signatures and band keys are stored, the seeds must never change without recomputing all of them.
+ */
+public final class MinHasher {
+    public static final int HASHES = 64;
+    public static final int BANDS = 16;
+    public static final int ROWS = HASHES / BANDS;
+    public static final int SIGNATURE_BYTES = HASHES * Integer.BYTES;
+    private static final long[] MULTIPLIERS = new long[HASHES];
+    private static final long[] INCREMENTS = new long[HASHES];
+
+    static {
+        long seed = 0x5DEECE66DL;
+        for (int i = 0; i < HASHES; i++) {
+            MULTIPLIERS[i] = (seed = mix(seed + 0x9E3779B97F4A7C15L)) | 1;
+            INCREMENTS[i] = seed = mix(seed + 0x9E3779B97F4A7C15L);
+        }
+    }
+
+    private MinHasher() {
+    }
+
+    // Features are already well mixed 64 bit hashes, a multiply-add-shift per position is enough to make the
+    // HASHES independent permutations and costs a fraction of a full mix. An empty feature set gets an all
+    // MAX_VALUE signature, callers leave such candidates out.
+    public static int[] signature(long[] features) {
+        int[] signature = new int[HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (long feature : features) {
+            for (int i = 0; i < HASHES; i++) {
+                int hash = (int) ((feature * MULTIPLIERS[i] + INCREMENTS[i]) >>> 33);
+                if (hash < signature[i]) signature[i] = hash;
+            }
+        }
+        return signature;
+    }
+
+    // Band index is part of the key, equal rows in different bands do not collide
+    public static long[] bands(int[] signature) {
+        long[] bands = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long key = band;
+            for (int row = band * ROWS; row < (band + 1) * ROWS; row++)
+                key = key * 0x100000001B3L + signature[row];
+            bands[band] = mix(key);
+        }
+        return bands;
+    }
+
+    public static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < HASHES; i++)
+            if (a[i] == b[i]) equal++;
+        return (double) equal / HASHES;
+    }
+
+    public static byte[] toBytes(int[] signature) {
+        ByteBuffer buffer = ByteBuffer.allocate(SIGNATURE_BYTES);
+        buffer.asIntBuffer().put(signature);
+        return buffer.array();
+    }
+
+    public static int[] fromBytes(byte[] bytes) {
+        if (bytes.length != SIGNATURE_BYTES)
+            throw new IllegalArgumentException("A signature is " + SIGNATURE_BYTES + " bytes, got " + bytes.length);
+        int[] signature = new int[HASHES];
+        ByteBuffer.wrap(bytes).asIntBuffer().get(signature);
+        return signature;
+    }
+
+    // SplitMix64 finalizer
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
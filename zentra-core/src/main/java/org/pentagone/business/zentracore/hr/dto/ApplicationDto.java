@@ -1,7 +1,7 @@
 package org.pentagone.business.zentracore.hr.dto;
 
 import lombok.Data;
-
+import org.pentagone.business.zentracore.hr.entity.ApplicationStatus;
 
 import java.time.LocalDateTime;
 
@@ -9,7 +9,7 @@ import java.time.LocalDateTime;
 public class ApplicationDto {
     private Long id;
     private LocalDateTime appliedAt;
-    private String status;
+    private ApplicationStatus status;
     private Double documentScore;
     private Double score;
     private String comment;
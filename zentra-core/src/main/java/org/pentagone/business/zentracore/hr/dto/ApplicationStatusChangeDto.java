@@ -0,0 +1,10 @@
+package org.pentagone.business.zentracore.hr.dto;
+
+import lombok.Data;
+import org.pentagone.business.zentracore.hr.entity.ApplicationStatus;
+
+@Data
+public class ApplicationStatusChangeDto {
+    private ApplicationStatus status;
+    private String comment;
+}
@@ -0,0 +1,21 @@
+package org.pentagone.business.zentracore.hr.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.pentagone.business.zentracore.hr.entity.ApplicationStatus;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationSummaryDto {
+    private Long id;
+    private LocalDateTime appliedAt;
+    private ApplicationStatus status;
+    private Double documentScore;
+    private Double score;
+    private Long publicationId;
+    private Long candidateId;
+}
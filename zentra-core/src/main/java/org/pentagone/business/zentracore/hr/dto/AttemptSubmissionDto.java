@@ -0,0 +1,12 @@
+package org.pentagone.business.zentracore.hr.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class AttemptSubmissionDto {
+    private Long qcmId;
+    private Long applicationId;
+    private List<Long> choiceIds;
+}
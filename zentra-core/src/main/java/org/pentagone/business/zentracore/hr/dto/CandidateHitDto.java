@@ -0,0 +1,19 @@
+package org.pentagone.business.zentracore.hr.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandidateHitDto {
+    private Long id;
+    private String name;
+    private String city;
+    private String country;
+    private Float score;
+    private Map<String, String> highlights;
+}
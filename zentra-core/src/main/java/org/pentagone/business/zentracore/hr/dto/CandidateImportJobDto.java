@@ -0,0 +1,24 @@
+package org.pentagone.business.zentracore.hr.dto;
+
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class CandidateImportJobDto {
+    private UUID id;
+    private String format;
+    private String status;
+    private Instant createdAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private long processed;
+    private long inserted;
+    private long updated;
+    private long rejected;
+    private double rowsPerSecond;
+    private String failure;
+    private List<String> errors;
+}
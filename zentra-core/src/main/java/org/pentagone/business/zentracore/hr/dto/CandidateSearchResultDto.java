@@ -0,0 +1,17 @@
+package org.pentagone.business.zentracore.hr.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandidateSearchResultDto {
+    private Long total;
+    private List<CandidateHitDto> hits;
+    private Map<String, Map<String, Integer>> facets;
+}
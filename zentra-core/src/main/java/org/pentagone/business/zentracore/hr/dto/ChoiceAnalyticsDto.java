@@ -0,0 +1,12 @@
+package org.pentagone.business.zentracore.hr.dto;
+
+import lombok.Data;
+
+@Data
+public class ChoiceAnalyticsDto {
+    private Long choiceId;
+    private String libelle;
+    private boolean correct;
+    private long selections;
+    private Double selectionRate;
+}
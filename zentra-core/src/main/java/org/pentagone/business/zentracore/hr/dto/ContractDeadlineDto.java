@@ -0,0 +1,17 @@
+package org.pentagone.business.zentracore.hr.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContractDeadlineDto {
+    private Long employeeId;
+    private String kind;
+    private LocalDate deadline;
+    private long daysLeft;
+}
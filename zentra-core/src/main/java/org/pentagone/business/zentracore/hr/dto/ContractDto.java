@@ -12,6 +12,7 @@ public class ContractDto {
     private String contractNumber;
     private LocalDate startDate;
     private LocalDate endDate;
+    private LocalDate probationEndDate;
     private Double grossSalary;
     private Double annualBonus;
     private String benefits;
@@ -0,0 +1,20 @@
+package org.pentagone.business.zentracore.hr.dto;
+
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+public class DedupScanJobDto {
+    private UUID id;
+    private String status;
+    private Instant createdAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private long candidates;
+    private long comparedPairs;
+    private long duplicatePairs;
+    private long durationMillis;
+    private String failure;
+}
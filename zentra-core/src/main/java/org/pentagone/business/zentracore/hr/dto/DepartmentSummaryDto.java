@@ -0,0 +1,26 @@
+package org.pentagone.business.zentracore.hr.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class DepartmentSummaryDto {
+    private Long departmentId;
+    private String name;
+    private BigDecimal annualBudget;
+    private int jobCount;
+    private int headcount;
+    private BigDecimal baseSalaryTotal;
+    private BigDecimal grossSalaryTotal;
+    private BigDecimal annualBonusTotal;
+    // Contract gross salaries plus annual bonuses, what the budget is consumed by
+    private BigDecimal salaryMass;
+    // salaryMass / annualBudget, null without a budget
+    private BigDecimal budgetConsumption;
+    private BigDecimal remainingBudget;
+    private LocalDateTime refreshedAt;
+    private List<JobSummaryDto> jobs;
+}
@@ -0,0 +1,14 @@
+package org.pentagone.business.zentracore.hr.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentDto {
+    private String hash;
+    private Long size;
+    private String contentType;
+}
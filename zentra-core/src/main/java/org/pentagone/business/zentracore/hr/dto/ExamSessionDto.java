@@ -0,0 +1,18 @@
+package org.pentagone.business.zentracore.hr.dto;
+
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+public class ExamSessionDto {
+    private UUID id;
+    private Long applicationId;
+    private Long qcmId;
+    private Instant startedAt;
+    private Instant deadline;
+    private long remainingSeconds;
+    private int answeredQuestions;
+    private String status;
+}
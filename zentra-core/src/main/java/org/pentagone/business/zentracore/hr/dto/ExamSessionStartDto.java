@@ -0,0 +1,9 @@
+package org.pentagone.business.zentracore.hr.dto;
+
+import lombok.Data;
+
+@Data
+public class ExamSessionStartDto {
+    private Long applicationId;
+    private Long qcmId;
+}
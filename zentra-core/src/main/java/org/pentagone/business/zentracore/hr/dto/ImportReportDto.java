@@ -0,0 +1,14 @@
+package org.pentagone.business.zentracore.hr.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ImportReportDto {
+    private long processed;
+    private long imported;
+    private long rejected;
+    private List<String> errors = new ArrayList<>();
+}
@@ -0,0 +1,11 @@
+package org.pentagone.business.zentracore.hr.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ItemAnalyticsDto {
+    private Long qcmId;
+    private List<QuestionAnalyticsDto> questions;
+}
@@ -0,0 +1,19 @@
+package org.pentagone.business.zentracore.hr.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobSummaryDto {
+    private Long jobId;
+    private String title;
+    private int headcount;
+    private BigDecimal baseSalaryTotal;
+    private BigDecimal grossSalaryTotal;
+    private BigDecimal annualBonusTotal;
+}
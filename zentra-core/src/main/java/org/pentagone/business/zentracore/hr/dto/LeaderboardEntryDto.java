@@ -0,0 +1,19 @@
+package org.pentagone.business.zentracore.hr.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardEntryDto {
+    private int rank;
+    private Long applicationId;
+    private String candidateName;
+    private String status;
+    private Double documentScore;
+    private Double obtainedScore;
+    private Double interviewScore;
+    private double compositeScore;
+}
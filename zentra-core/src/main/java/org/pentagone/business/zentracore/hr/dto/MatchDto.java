@@ -0,0 +1,16 @@
+package org.pentagone.business.zentracore.hr.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchDto {
+    private Long id;
+    private String label;
+    private double score;
+    private int matchedSkills;
+    private int requiredSkills;
+}
@@ -0,0 +1,15 @@
+package org.pentagone.business.zentracore.hr.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrgSummaryRebuildReportDto {
+    private int departments;
+    private int jobs;
+    private int employees;
+    private long durationMillis;
+}
@@ -0,0 +1,15 @@
+package org.pentagone.business.zentracore.hr.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class PayrollLineDto {
+    private Long employeeId;
+    private int workedDays;
+    private BigDecimal grossPay;
+    private BigDecimal bonus;
+    private BigDecimal employerContributions;
+    private BigDecimal employerCost;
+}
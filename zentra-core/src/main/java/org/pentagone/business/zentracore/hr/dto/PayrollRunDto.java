@@ -0,0 +1,22 @@
+package org.pentagone.business.zentracore.hr.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+@Data
+public class PayrollRunDto {
+    private Long id;
+    private YearMonth period;
+    private String status;
+    private int employees;
+    private BigDecimal totalGross;
+    private BigDecimal totalBonus;
+    private BigDecimal totalEmployerContributions;
+    private BigDecimal totalEmployerCost;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
@@ -0,0 +1,15 @@
+package org.pentagone.business.zentracore.hr.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PublicationLifecycleReportDto {
+    private int closedPublications;
+    private int filledPublications;
+    private int rejectedApplications;
+    private long durationMillis;
+}
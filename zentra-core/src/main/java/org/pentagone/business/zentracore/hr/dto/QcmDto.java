@@ -14,6 +14,7 @@ public class QcmDto {
     private Integer durationMinutes;
     private Double totalScore;
     private Double requiredScore;
+    private Long version;
 
     private List<QuestionDto> questions;
 }
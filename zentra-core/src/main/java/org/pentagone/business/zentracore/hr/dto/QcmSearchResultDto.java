@@ -0,0 +1,17 @@
+package org.pentagone.business.zentracore.hr.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QcmSearchResultDto {
+    private String kind;
+    private Long qcmId;
+    private Long questionId;
+    private Long choiceId;
+    private String text;
+    private double rank;
+}
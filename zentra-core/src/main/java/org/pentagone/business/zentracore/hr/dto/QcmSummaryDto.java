@@ -0,0 +1,18 @@
+package org.pentagone.business.zentracore.hr.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QcmSummaryDto {
+    private Long id;
+    private String title;
+    private String description;
+    private Integer durationMinutes;
+    private Double totalScore;
+    private Double requiredScore;
+    private Long questionCount;
+}
@@ -0,0 +1,16 @@
+package org.pentagone.business.zentracore.hr.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class QuestionAnalyticsDto {
+    private Long questionId;
+    private String libelle;
+    private long attempts;
+    private long correct;
+    private Double difficulty;
+    private Double discrimination;
+    private List<ChoiceAnalyticsDto> choices;
+}
@@ -0,0 +1,14 @@
+package org.pentagone.business.zentracore.hr.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegradeReportDto {
+    private Long qcmId;
+    private int attempts;
+    private long durationMillis;
+}
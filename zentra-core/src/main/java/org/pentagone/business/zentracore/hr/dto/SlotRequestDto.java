@@ -0,0 +1,14 @@
+package org.pentagone.business.zentracore.hr.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class SlotRequestDto {
+    private List<Long> interviewerIds;
+    private List<Long> applicationIds;
+    private Integer durationMinutes;
+    private LocalDateTime from;
+}
@@ -0,0 +1,19 @@
+package org.pentagone.business.zentracore.hr.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotSuggestionDto {
+    private Long applicationId;
+    private Long interviewerId;
+    private LocalDate interviewDate;
+    private LocalTime startTime;
+    private LocalTime endTime;
+}
@@ -0,0 +1,15 @@
+package org.pentagone.business.zentracore.hr.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatisticsRebuildReportDto {
+    private int qcms;
+    private long attempts;
+    private int failed;
+    private long durationMillis;
+}
@@ -3,11 +3,13 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import org.pentagone.business.zentracore.common.entity.BaseEntity;
+import org.pentagone.business.zentracore.hr.event.ApplicationScoreListener;
 
 
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(ApplicationScoreListener.class)
 @Table(name = "application")
 @Data
 @EqualsAndHashCode(callSuper = true)
@@ -17,7 +19,8 @@ public class Application extends BaseEntity {
     private LocalDateTime appliedAt;
     
     @Column(name = "status", nullable = false, length = 50)
-    private String status = "Received";
+    @Convert(converter = ApplicationStatusConverter.class)
+    private ApplicationStatus status = ApplicationStatus.RECEIVED;
     
     @Column(name = "document_score")
     private Double documentScore;
@@ -0,0 +1,60 @@
+package org.pentagone.business.zentracore.hr.entity;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Status of an application and the transitions allowed out of each one. Stored and serialized as its
+ * label ("Under Review"), the values the status column has always held.
+ */
+public enum ApplicationStatus {
+    RECEIVED("Received"),
+    PENDING("Pending"),
+    UNDER_REVIEW("Under Review"),
+    SHORTLISTED("Shortlisted"),
+    ACCEPTED("Accepted"),
+    REJECTED("Rejected");
+
+    private final String label;
+    private Set<ApplicationStatus> next;
+
+    static {
+        RECEIVED.next = EnumSet.of(UNDER_REVIEW, PENDING, REJECTED);
+        PENDING.next = EnumSet.of(UNDER_REVIEW, REJECTED);
+        UNDER_REVIEW.next = EnumSet.of(SHORTLISTED, PENDING, REJECTED);
+        SHORTLISTED.next = EnumSet.of(ACCEPTED, PENDING, REJECTED);
+        ACCEPTED.next = EnumSet.noneOf(ApplicationStatus.class);
+        REJECTED.next = EnumSet.noneOf(ApplicationStatus.class);
+    }
+
+    ApplicationStatus(String label) {
+        this.label = label;
+    }
+
+    @JsonValue
+    public String getLabel() {
+        return label;
+    }
+
+    public boolean canTransitionTo(ApplicationStatus target) {
+        return next.contains(target);
+    }
+
+    public boolean isTerminal() {
+        return next.isEmpty();
+    }
+
+    // Accepts the label or the constant name, "Under Review" and "UNDER_REVIEW" alike
+    @JsonCreator
+    public static ApplicationStatus of(String value) {
+        if (value == null) return null;
+        for (ApplicationStatus status : values()) {
+            if (status.label.equalsIgnoreCase(value.trim()) || status.name().equalsIgnoreCase(value.trim()))
+                return status;
+        }
+        throw new IllegalArgumentException("Unknown application status " + value);
+    }
+}
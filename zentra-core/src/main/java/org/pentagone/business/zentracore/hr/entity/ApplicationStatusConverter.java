@@ -0,0 +1,17 @@
+package org.pentagone.business.zentracore.hr.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter
+public class ApplicationStatusConverter implements AttributeConverter<ApplicationStatus, String> {
+    @Override
+    public String convertToDatabaseColumn(ApplicationStatus status) {
+        return status == null ? null : status.getLabel();
+    }
+
+    @Override
+    public ApplicationStatus convertToEntityAttribute(String label) {
+        return ApplicationStatus.of(label);
+    }
+}
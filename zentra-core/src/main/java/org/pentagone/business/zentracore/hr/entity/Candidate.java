@@ -4,11 +4,14 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import org.pentagone.business.zentracore.common.entity.BaseEntity;
+import org.pentagone.business.zentracore.hr.cache.UniqueKeyListener;
+import org.pentagone.business.zentracore.hr.event.CandidateChangeListener;
 
 import java.time.LocalDate;
 import java.util.List;
 
 @Entity
+@EntityListeners({CandidateChangeListener.class, UniqueKeyListener.class})
 @Table(name = "candidate")
 @Data
 @EqualsAndHashCode(callSuper = true)
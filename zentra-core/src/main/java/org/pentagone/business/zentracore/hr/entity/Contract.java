@@ -4,11 +4,15 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import org.pentagone.business.zentracore.common.entity.BaseEntity;
+import org.pentagone.business.zentracore.hr.cache.UniqueKeyListener;
+import org.pentagone.business.zentracore.hr.event.OrgChangeListener;
+import org.pentagone.business.zentracore.hr.numbering.NumberAllocationListener;
 
 
 import java.time.LocalDate;
 
 @Entity
+@EntityListeners({NumberAllocationListener.class, OrgChangeListener.class, UniqueKeyListener.class})
 @Table(name = "employment_contract")
 @Data
 @EqualsAndHashCode(callSuper = true)
@@ -27,6 +31,9 @@ public class Contract extends BaseEntity {
     @Column(name = "end_date")
     private LocalDate endDate;
     
+    @Column(name = "probation_end_date")
+    private LocalDate probationEndDate;
+    
     @Column(name = "gross_salary", precision = 10, scale = 2)
     private Double grossSalary;
     
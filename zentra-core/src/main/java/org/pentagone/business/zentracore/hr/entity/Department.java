@@ -4,11 +4,13 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import org.pentagone.business.zentracore.common.entity.BaseEntity;
+import org.pentagone.business.zentracore.hr.cache.UniqueKeyListener;
 
 
 import java.util.List;
 
 @Entity
+@EntityListeners(UniqueKeyListener.class)
 @Table(name = "department")
 @Data
 @EqualsAndHashCode(callSuper = true)
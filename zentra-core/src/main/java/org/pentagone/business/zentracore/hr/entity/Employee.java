@@ -4,12 +4,16 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import org.pentagone.business.zentracore.common.entity.BaseEntity;
+import org.pentagone.business.zentracore.hr.cache.UniqueKeyListener;
+import org.pentagone.business.zentracore.hr.event.OrgChangeListener;
+import org.pentagone.business.zentracore.hr.numbering.NumberAllocationListener;
 
 
 import java.time.LocalDate;
 import java.util.List;
 
 @Entity
+@EntityListeners({NumberAllocationListener.class, OrgChangeListener.class, UniqueKeyListener.class})
 @Table(name = "employee")
 @Data
 @EqualsAndHashCode(callSuper = true)
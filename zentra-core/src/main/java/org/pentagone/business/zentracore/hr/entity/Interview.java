@@ -4,12 +4,14 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import org.pentagone.business.zentracore.common.entity.BaseEntity;
+import org.pentagone.business.zentracore.hr.event.ApplicationScoreListener;
 
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 
 @Entity
+@EntityListeners(ApplicationScoreListener.class)
 @Table(name = "interview")
 @Data
 @EqualsAndHashCode(callSuper = true)
@@ -4,11 +4,13 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import org.pentagone.business.zentracore.common.entity.BaseEntity;
+import org.pentagone.business.zentracore.hr.event.OrgChangeListener;
 
 import java.util.List;
 
 
 @Entity
+@EntityListeners(OrgChangeListener.class)
 @Table(name = "job")
 @Data
 @EqualsAndHashCode(callSuper = true)
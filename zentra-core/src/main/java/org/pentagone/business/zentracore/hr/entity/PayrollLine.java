@@ -0,0 +1,32 @@
+package org.pentagone.business.zentracore.hr.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+// One employee's pay for one run. Written by JDBC batches (PayrollServiceImpl), read through JPA; no
+// sequence id, the (run, employee) pair identifies the line.
+@Entity
+@Table(name = "payroll_line")
+@Data
+public class PayrollLine {
+
+    @EmbeddedId
+    private PayrollLineId id;
+
+    @Column(name = "worked_days", nullable = false)
+    private int workedDays;
+
+    @Column(name = "gross_pay", nullable = false, precision = 12, scale = 2)
+    private BigDecimal grossPay;
+
+    @Column(name = "bonus", nullable = false, precision = 12, scale = 2)
+    private BigDecimal bonus;
+
+    @Column(name = "employer_contributions", nullable = false, precision = 12, scale = 2)
+    private BigDecimal employerContributions;
+
+    @Column(name = "employer_cost", nullable = false, precision = 12, scale = 2)
+    private BigDecimal employerCost;
+}
@@ -0,0 +1,22 @@
+package org.pentagone.business.zentracore.hr.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayrollLineId implements Serializable {
+
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+}
@@ -0,0 +1,53 @@
+package org.pentagone.business.zentracore.hr.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.pentagone.business.zentracore.common.entity.BaseEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "payroll_run")
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class PayrollRun extends BaseEntity {
+
+    // First day of the month paid
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    // RUNNING, COMPLETED or FAILED
+    @Column(name = "status", nullable = false, length = 20)
+    private String status = "RUNNING";
+
+    @Column(name = "employees", nullable = false)
+    private int employees;
+
+    @Column(name = "total_gross", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalGross = BigDecimal.ZERO;
+
+    @Column(name = "total_bonus", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalBonus = BigDecimal.ZERO;
+
+    @Column(name = "total_employer_contributions", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalEmployerContributions = BigDecimal.ZERO;
+
+    @Column(name = "total_employer_cost", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalEmployerCost = BigDecimal.ZERO;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    // Renewed after every chunk while RUNNING; a run not renewed within the lease was abandoned by its node
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "error", columnDefinition = "TEXT")
+    private String error;
+}
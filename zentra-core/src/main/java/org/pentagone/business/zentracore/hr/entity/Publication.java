@@ -30,7 +30,7 @@ public class Publication extends BaseEntity {
     private Integer numberOfPositions = 1;
     
     @Column(name = "status", nullable = false, length = 50)
-    private String status = "Open";
+    private String status = PublicationStatus.OPEN.getLabel();
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "job_id", nullable = false)
@@ -0,0 +1,21 @@
+package org.pentagone.business.zentracore.hr.entity;
+
+/**
+ * Status of a publication, stored as its label ("Open"), the values the status column is checked against.
+ */
+public enum PublicationStatus {
+    OPEN("Open"),
+    SUSPENDED("Suspended"),
+    CLOSED("Closed"),
+    FILLED("Filled");
+
+    private final String label;
+
+    PublicationStatus(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
@@ -29,6 +29,10 @@ public class Qcm extends BaseEntity {
     
     @Column(name = "required_score")
     private Double requiredScore;
+
+    @Version
+    @Column(name = "version")
+    private Long version;
     
     @OneToMany(mappedBy = "qcm", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Question> questions;
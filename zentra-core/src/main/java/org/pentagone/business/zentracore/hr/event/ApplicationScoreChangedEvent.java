@@ -0,0 +1,18 @@
+package org.pentagone.business.zentracore.hr.event;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * One of the scores an application is ranked on (document score, attempt score, interview score) may have
+ * changed. Published inside the writing transaction, listeners decide whether to act before or after commit.
+ */
+public record ApplicationScoreChangedEvent(Set<Long> applicationIds) {
+    public ApplicationScoreChangedEvent(Collection<Long> applicationIds) {
+        this(Set.copyOf(applicationIds));
+    }
+
+    public static ApplicationScoreChangedEvent of(Long applicationId) {
+        return new ApplicationScoreChangedEvent(Set.of(applicationId));
+    }
+}
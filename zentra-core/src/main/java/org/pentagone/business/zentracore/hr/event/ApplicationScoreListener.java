@@ -0,0 +1,35 @@
+package org.pentagone.business.zentracore.hr.event;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.pentagone.business.zentracore.hr.entity.Application;
+import org.pentagone.business.zentracore.hr.entity.Attempt;
+import org.pentagone.business.zentracore.hr.entity.Interview;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * JPA listener of the entities carrying an application score, instantiated by Spring through Hibernate's
+ * bean container. Writes that bypass the persistence context (JDBC batch updates) publish the event themselves.
+ */
+public class ApplicationScoreListener {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ApplicationScoreListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void scoreChanged(Object entity) {
+        Long applicationId = switch (entity) {
+            case Application application -> application.getId();
+            case Attempt attempt -> attempt.getApplication() == null ? null : attempt.getApplication().getId();
+            case Interview interview -> interview.getApplication() == null ? null : interview.getApplication().getId();
+            default -> null;
+        };
+        if (applicationId != null)
+            eventPublisher.publishEvent(ApplicationScoreChangedEvent.of(applicationId));
+    }
+}
@@ -0,0 +1,14 @@
+package org.pentagone.business.zentracore.hr.event;
+
+import org.pentagone.business.zentracore.hr.entity.ApplicationStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox payload written on every application status transition.
+ */
+public record ApplicationStatusChanged(Long applicationId, ApplicationStatus from, ApplicationStatus to, String comment,
+                                      LocalDateTime changedAt) {
+    public static final String TYPE = "ApplicationStatusChanged";
+    public static final String AGGREGATE = "Application";
+}
@@ -0,0 +1,26 @@
+package org.pentagone.business.zentracore.hr.event;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.pentagone.business.zentracore.hr.entity.Candidate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * JPA listener of Candidate, see {@link ApplicationScoreListener}. Bulk and JDBC writes publish the event themselves.
+ */
+public class CandidateChangeListener {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CandidateChangeListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void candidateChanged(Candidate candidate) {
+        if (candidate.getId() != null)
+            eventPublisher.publishEvent(CandidatesChangedEvent.of(candidate.getId()));
+    }
+}
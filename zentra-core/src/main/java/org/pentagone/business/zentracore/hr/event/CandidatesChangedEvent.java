@@ -0,0 +1,17 @@
+package org.pentagone.business.zentracore.hr.event;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Candidates were created, updated or deleted. Published inside the writing transaction when there is one.
+ */
+public record CandidatesChangedEvent(Set<Long> candidateIds) {
+    public CandidatesChangedEvent(Collection<Long> candidateIds) {
+        this(Set.copyOf(candidateIds));
+    }
+
+    public static CandidatesChangedEvent of(Long candidateId) {
+        return new CandidatesChangedEvent(Set.of(candidateId));
+    }
+}
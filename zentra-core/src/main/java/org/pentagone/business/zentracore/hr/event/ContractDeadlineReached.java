@@ -0,0 +1,14 @@
+package org.pentagone.business.zentracore.hr.event;
+
+import org.pentagone.business.zentracore.hr.deadline.DeadlineQueue;
+
+import java.time.LocalDate;
+
+/**
+ * Outbox payload written when an employee's contract end or probation end is {@code daysBefore} days away,
+ * or reached when {@code daysBefore} is 0.
+ */
+public record ContractDeadlineReached(Long employeeId, DeadlineQueue.Kind kind, LocalDate deadline, int daysBefore) {
+    public static final String TYPE = "ContractDeadlineReached";
+    public static final String AGGREGATE = "Employee";
+}
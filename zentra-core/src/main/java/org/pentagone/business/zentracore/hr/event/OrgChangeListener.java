@@ -0,0 +1,36 @@
+package org.pentagone.business.zentracore.hr.event;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.pentagone.business.zentracore.hr.entity.Contract;
+import org.pentagone.business.zentracore.hr.entity.Employee;
+import org.pentagone.business.zentracore.hr.entity.Job;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * JPA listener of the entities the organization read model counts, see {@link ApplicationScoreListener}.
+ * Bulk and JDBC writes publish the event themselves.
+ */
+public class OrgChangeListener {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public OrgChangeListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void orgChanged(Object entity) {
+        OrgChangedEvent event = switch (entity) {
+            case Employee employee -> employee.getId() == null ? null : OrgChangedEvent.ofEmployee(employee.getId());
+            case Contract contract -> contract.getEmployee() == null || contract.getEmployee().getId() == null ? null
+                    : OrgChangedEvent.ofEmployee(contract.getEmployee().getId());
+            case Job job -> job.getId() == null ? null : OrgChangedEvent.ofJob(job.getId());
+            default -> null;
+        };
+        if (event != null)
+            eventPublisher.publishEvent(event);
+    }
+}
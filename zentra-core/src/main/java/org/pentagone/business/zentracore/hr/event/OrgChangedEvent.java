@@ -0,0 +1,23 @@
+package org.pentagone.business.zentracore.hr.event;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Employees (or their contracts) and jobs were created, updated or deleted, the headcount and salary mass of
+ * their jobs and departments have to be recounted and the contract deadlines of the employees read again.
+ * Published inside the writing transaction when there is one.
+ */
+public record OrgChangedEvent(Set<Long> employeeIds, Set<Long> jobIds) {
+    public OrgChangedEvent(Collection<Long> employeeIds, Collection<Long> jobIds) {
+        this(Set.copyOf(employeeIds), Set.copyOf(jobIds));
+    }
+
+    public static OrgChangedEvent ofEmployee(Long employeeId) {
+        return new OrgChangedEvent(Set.of(employeeId), Set.of());
+    }
+
+    public static OrgChangedEvent ofJob(Long jobId) {
+        return new OrgChangedEvent(Set.of(), Set.of(jobId));
+    }
+}
@@ -0,0 +1,160 @@
+package org.pentagone.business.zentracore.hr.grading;
+
+import org.pentagone.business.zentracore.hr.model.CompiledChoice;
+import org.pentagone.business.zentracore.hr.model.CompiledQuestion;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Flat, array based answer key of a qcm. Every choice id is mapped to a bit of its question, the
+ * correct choices of a question form a bit mask, so grading a question is a couple of popcounts.
+ */
+public final class AnswerKey {
+    private final long[] questionIds;
+    private final long[] choiceIds;
+    private final int[] choiceQuestion;
+    private final int[] choiceBit;
+    private final int[] wordOffset;
+    private final int[] wordCount;
+    private final long[] correctMask;
+    private final int[] correctCount;
+    private final double[] questionScore;
+    private final boolean[] required;
+    private final int totalWords;
+    private final double maxScore;
+
+    private AnswerKey(long[] questionIds, long[] choiceIds, int[] choiceQuestion, int[] choiceBit, int[] wordOffset, int[] wordCount,
+                      long[] correctMask, int[] correctCount, double[] questionScore, boolean[] required) {
+        this.questionIds = questionIds;
+        this.choiceIds = choiceIds;
+        this.choiceQuestion = choiceQuestion;
+        this.choiceBit = choiceBit;
+        this.wordOffset = wordOffset;
+        this.wordCount = wordCount;
+        this.correctMask = correctMask;
+        this.correctCount = correctCount;
+        this.questionScore = questionScore;
+        this.required = required;
+        this.totalWords = correctMask.length;
+        this.maxScore = Arrays.stream(questionScore).sum();
+    }
+
+    public static AnswerKey compile(List<CompiledQuestion> questions) {
+        int questionCount = questions.size();
+        long[] questionIds = new long[questionCount];
+        int[] wordOffset = new int[questionCount];
+        int[] wordCount = new int[questionCount];
+        int[] correctCount = new int[questionCount];
+        double[] questionScore = new double[questionCount];
+        boolean[] required = new boolean[questionCount];
+        int choiceTotal = 0;
+        int words = 0;
+        for (int q = 0; q < questionCount; q++) {
+            CompiledQuestion question = questions.get(q);
+            questionIds[q] = question.id() == null ? 0 : question.id();
+            wordOffset[q] = words;
+            wordCount[q] = Math.max(1, (question.choices().size() + 63) >>> 6);
+            words += wordCount[q];
+            choiceTotal += question.choices().size();
+            questionScore[q] = question.score() == null ? 0 : question.score();
+            required[q] = question.required();
+        }
+
+        long[][] entries = new long[choiceTotal][];
+        long[] correctMask = new long[words];
+        int c = 0;
+        for (int q = 0; q < questionCount; q++) {
+            List<CompiledChoice> choices = questions.get(q).choices();
+            for (int bit = 0; bit < choices.size(); bit++) {
+                CompiledChoice choice = choices.get(bit);
+                entries[c++] = new long[]{choice.id(), q, bit};
+                if (choice.correct()) {
+                    correctMask[wordOffset[q] + (bit >>> 6)] |= 1L << bit;
+                    correctCount[q]++;
+                }
+            }
+        }
+        Arrays.sort(entries, (a, b) -> Long.compare(a[0], b[0]));
+
+        long[] choiceIds = new long[choiceTotal];
+        int[] choiceQuestion = new int[choiceTotal];
+        int[] choiceBit = new int[choiceTotal];
+        for (int i = 0; i < choiceTotal; i++) {
+            choiceIds[i] = entries[i][0];
+            choiceQuestion[i] = (int) entries[i][1];
+            choiceBit[i] = (int) entries[i][2];
+        }
+        return new AnswerKey(questionIds, choiceIds, choiceQuestion, choiceBit, wordOffset, wordCount, correctMask, correctCount,
+                questionScore, required);
+    }
+
+    public double grade(long[] selectedChoiceIds, GradingPolicy policy, GradeSheet sheet) {
+        return grade(selectedChoiceIds, 0, selectedChoiceIds.length, policy, sheet);
+    }
+
+    public double grade(long[] selectedChoiceIds, int from, int to, GradingPolicy policy, GradeSheet sheet) {
+        int questionCount = wordOffset.length;
+        sheet.reset(totalWords, questionCount);
+        long[] selected = sheet.selected;
+        for (int i = from; i < to; i++) {
+            int index = Arrays.binarySearch(choiceIds, selectedChoiceIds[i]);
+            if (index < 0) {
+                sheet.unknownChoices++;
+                continue;
+            }
+            int bit = choiceBit[index];
+            selected[wordOffset[choiceQuestion[index]] + (bit >>> 6)] |= 1L << bit;
+        }
+
+        double score = 0;
+        for (int q = 0; q < questionCount; q++) {
+            int hits = 0;
+            int wrong = 0;
+            boolean picked = false;
+            for (int w = wordOffset[q], end = w + wordCount[q]; w < end; w++) {
+                long s = selected[w];
+                picked |= s != 0;
+                hits += Long.bitCount(s & correctMask[w]);
+                wrong += Long.bitCount(s & ~correctMask[w]);
+            }
+            double fraction = 0;
+            sheet.correct[q] = picked && hits == correctCount[q] && wrong == 0;
+            if (!picked) {
+                if (required[q]) sheet.missingRequired++;
+            } else {
+                sheet.answered++;
+                if (policy == GradingPolicy.PARTIAL_CREDIT)
+                    fraction = correctCount[q] == 0 ? 0 : Math.max(0, (double) (hits - wrong) / correctCount[q]);
+                else if (sheet.correct[q])
+                    fraction = 1;
+            }
+            sheet.awarded[q] = fraction * questionScore[q];
+            score += sheet.awarded[q];
+        }
+        sheet.score = score;
+        return score;
+    }
+
+    // Id of the question the choice belongs to, or -1 when the choice is not part of this qcm.
+    public long questionIdOf(long choiceId) {
+        int index = Arrays.binarySearch(choiceIds, choiceId);
+        return index < 0 ? -1 : questionIds[choiceQuestion[index]];
+    }
+
+    public long questionId(int questionIndex) {
+        return questionIds[questionIndex];
+    }
+
+    public int questionCount() {
+        return wordOffset.length;
+    }
+
+    public int choiceCount() {
+        return choiceIds.length;
+    }
+
+    public double maxScore() {
+        return maxScore;
+    }
+}
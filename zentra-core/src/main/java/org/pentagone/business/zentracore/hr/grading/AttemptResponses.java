@@ -0,0 +1,85 @@
+package org.pentagone.business.zentracore.hr.grading;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * Responses of every attempt of a qcm read as (attempt, choice) pairs into flat arrays: the choices of
+ * attempt {@code i} are {@code choiceIds()[from(i)..to(i))}, ready to be passed to {@link AnswerKey#grade}.
+ */
+public final class AttemptResponses {
+    private final long[] attemptIds;
+    private final int[] offsets;
+    private final long[] choiceIds;
+
+    private AttemptResponses(long[] attemptIds, int[] offsets, long[] choiceIds) {
+        this.attemptIds = attemptIds;
+        this.offsets = offsets;
+        this.choiceIds = choiceIds;
+    }
+
+    // One statement, so attempts and responses come from the same snapshot: with two, an attempt committed in
+    // between (pooled ids commit out of order) would have its responses sliced into the next attempt's
+    public static AttemptResponses load(JdbcTemplate jdbcTemplate, long qcmId) {
+        Slicer slicer = new Slicer();
+        jdbcTemplate.query("select a.id, r.choice_id from attempt a left join response r on r.attempt_id = a.id " +
+                "where a.qcm_id = ? order by a.id", slicer, qcmId);
+        return slicer.build();
+    }
+
+    public int size() {
+        return attemptIds.length;
+    }
+
+    public long attemptId(int index) {
+        return attemptIds[index];
+    }
+
+    public long[] choiceIds() {
+        return choiceIds;
+    }
+
+    public int from(int index) {
+        return offsets[index];
+    }
+
+    public int to(int index) {
+        return offsets[index + 1];
+    }
+
+    private static final class Slicer implements RowCallbackHandler {
+        private long[] attemptIds = new long[256];
+        private int[] offsets = new int[257];
+        private int attempts;
+        private long[] choiceIds = new long[1024];
+        private int size;
+
+        // An attempt without responses comes as one row with a null choice
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long attemptId = rs.getLong(1);
+            if (attempts == 0 || attemptIds[attempts - 1] != attemptId) {
+                if (attempts == attemptIds.length) {
+                    attemptIds = Arrays.copyOf(attemptIds, attempts * 2);
+                    offsets = Arrays.copyOf(offsets, attempts * 2 + 1);
+                }
+                attemptIds[attempts] = attemptId;
+                offsets[attempts++] = size;
+            }
+            long choiceId = rs.getLong(2);
+            if (rs.wasNull()) return;
+            if (size == choiceIds.length)
+                choiceIds = Arrays.copyOf(choiceIds, size * 2);
+            choiceIds[size++] = choiceId;
+        }
+
+        private AttemptResponses build() {
+            offsets[attempts] = size;
+            return new AttemptResponses(Arrays.copyOf(attemptIds, attempts), Arrays.copyOf(offsets, attempts + 1), choiceIds);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.pentagone.business.zentracore.hr.grading;
+
+import java.util.Arrays;
+
+/**
+ * Reusable scratch space and result of {@link AnswerKey#grade}. A sheet is not thread safe, keep one
+ * per grading thread so that grading itself does not allocate.
+ */
+public class GradeSheet {
+    long[] selected = new long[0];
+    double[] awarded = new double[0];
+    boolean[] correct = new boolean[0];
+    double score;
+    int answered;
+    int missingRequired;
+    int unknownChoices;
+
+    void reset(int words, int questions) {
+        if (selected.length < words) selected = new long[words];
+        else Arrays.fill(selected, 0, words, 0L);
+        if (awarded.length < questions) awarded = new double[questions];
+        if (correct.length < questions) correct = new boolean[questions];
+        score = 0;
+        answered = 0;
+        missingRequired = 0;
+        unknownChoices = 0;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public int getAnswered() {
+        return answered;
+    }
+
+    public int getMissingRequired() {
+        return missingRequired;
+    }
+
+    public int getUnknownChoices() {
+        return unknownChoices;
+    }
+
+    public double getAwarded(int questionIndex) {
+        return awarded[questionIndex];
+    }
+
+    // Whether exactly the correct choices of the question were selected, whatever the grading policy.
+    public boolean isCorrect(int questionIndex) {
+        return correct[questionIndex];
+    }
+
+    public boolean isComplete() {
+        return missingRequired == 0;
+    }
+}
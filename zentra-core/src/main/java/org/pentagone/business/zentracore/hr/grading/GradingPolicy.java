@@ -0,0 +1,9 @@
+package org.pentagone.business.zentracore.hr.grading;
+
+public enum GradingPolicy {
+    // The question score is awarded only when exactly the correct choices are selected.
+    ALL_OR_NOTHING,
+    // Each correct choice selected earns its share of the question score, each wrong one takes a share
+    // back, never going below zero for the question.
+    PARTIAL_CREDIT
+}
@@ -0,0 +1,133 @@
+package org.pentagone.business.zentracore.hr.grading;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Item statistics contributed by a set of graded attempts. Only sums are kept, so the contribution of new
+ * attempts can be added to the stored rows as is and difficulty and discrimination derived when read.
+ * Keys are sorted so rows are always upserted in the same order.
+ */
+public class ItemStatistics {
+    private final Set<Long> qcmIds = new TreeSet<>();
+    private final Map<Long, QuestionSums> questions = new TreeMap<>();
+    private final Map<Long, ChoiceSums> choices = new TreeMap<>();
+
+    public void add(long qcmId, AnswerKey key, long[] choiceIds, GradeSheet sheet) {
+        add(qcmId, key, choiceIds, 0, choiceIds.length, sheet);
+    }
+
+    // The sheet must hold the grading of choiceIds[from..to) against key.
+    public void add(long qcmId, AnswerKey key, long[] choiceIds, int from, int to, GradeSheet sheet) {
+        qcmIds.add(qcmId);
+        double score = sheet.getScore();
+        for (int q = 0; q < key.questionCount(); q++) {
+            QuestionSums sums = questions.computeIfAbsent(key.questionId(q), id -> new QuestionSums(qcmId));
+            sums.attempts++;
+            sums.sumScore += score;
+            sums.sumScoreSquared += score * score;
+            if (sheet.isCorrect(q)) {
+                sums.correct++;
+                sums.sumCorrectScore += score;
+            }
+        }
+        for (int i = from; i < to; i++) {
+            long questionId = key.questionIdOf(choiceIds[i]);
+            if (questionId < 0) continue;
+            choices.computeIfAbsent(choiceIds[i], id -> new ChoiceSums(qcmId, questionId)).selections++;
+        }
+    }
+
+    // Regrading an attempt already counted: the attempt and its selections stay, only the score sums of every
+    // question move from the previous score to the one in the sheet.
+    public void addScoreChange(long qcmId, AnswerKey key, double previousScore, GradeSheet sheet) {
+        double score = sheet.getScore();
+        if (score == previousScore) return;
+        qcmIds.add(qcmId);
+        for (int q = 0; q < key.questionCount(); q++) {
+            QuestionSums sums = questions.computeIfAbsent(key.questionId(q), id -> new QuestionSums(qcmId));
+            sums.sumScore += score - previousScore;
+            sums.sumScoreSquared += score * score - previousScore * previousScore;
+            if (sheet.isCorrect(q))
+                sums.sumCorrectScore += score - previousScore;
+        }
+    }
+
+    public boolean isEmpty() {
+        return qcmIds.isEmpty();
+    }
+
+    public Set<Long> qcmIds() {
+        return qcmIds;
+    }
+
+    public Map<Long, QuestionSums> questions() {
+        return questions;
+    }
+
+    public Map<Long, ChoiceSums> choices() {
+        return choices;
+    }
+
+    public static final class QuestionSums {
+        private final long qcmId;
+        private long attempts;
+        private long correct;
+        private double sumScore;
+        private double sumScoreSquared;
+        private double sumCorrectScore;
+
+        private QuestionSums(long qcmId) {
+            this.qcmId = qcmId;
+        }
+
+        public long getQcmId() {
+            return qcmId;
+        }
+
+        public long getAttempts() {
+            return attempts;
+        }
+
+        public long getCorrect() {
+            return correct;
+        }
+
+        public double getSumScore() {
+            return sumScore;
+        }
+
+        public double getSumScoreSquared() {
+            return sumScoreSquared;
+        }
+
+        public double getSumCorrectScore() {
+            return sumCorrectScore;
+        }
+    }
+
+    public static final class ChoiceSums {
+        private final long qcmId;
+        private final long questionId;
+        private long selections;
+
+        private ChoiceSums(long qcmId, long questionId) {
+            this.qcmId = qcmId;
+            this.questionId = questionId;
+        }
+
+        public long getQcmId() {
+            return qcmId;
+        }
+
+        public long getQuestionId() {
+            return questionId;
+        }
+
+        public long getSelections() {
+            return selections;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package org.pentagone.business.zentracore.hr.handler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.pentagone.business.zentracore.common.outbox.OutboxHandler;
+import org.pentagone.business.zentracore.common.outbox.OutboxMessage;
+import org.pentagone.business.zentracore.hr.entity.ApplicationStatus;
+import org.pentagone.business.zentracore.hr.entity.Attempt;
+import org.pentagone.business.zentracore.hr.event.ApplicationStatusChanged;
+import org.pentagone.business.zentracore.hr.repository.AttemptRepository;
+import org.pentagone.business.zentracore.hr.service.GradingService;
+import org.springframework.stereotype.Component;
+
+// An application going under review gets its attempt graded against the current answer key, so reviewers
+// see a score consistent with the latest version of the qcm. Grading is idempotent.
+@Component
+public class ApplicationGradingHandler implements OutboxHandler {
+    private final AttemptRepository attemptRepository;
+    private final GradingService gradingService;
+    private final ObjectMapper objectMapper;
+
+    public ApplicationGradingHandler(AttemptRepository attemptRepository, GradingService gradingService, ObjectMapper objectMapper) {
+        this.attemptRepository = attemptRepository;
+        this.gradingService = gradingService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String eventType() {
+        return ApplicationStatusChanged.TYPE;
+    }
+
+    @Override
+    public void handle(OutboxMessage message) throws Exception {
+        ApplicationStatusChanged change = objectMapper.readValue(message.payload(), ApplicationStatusChanged.class);
+        if (change.to() != ApplicationStatus.UNDER_REVIEW) return;
+        for (Attempt attempt : attemptRepository.findByApplicationId(change.applicationId()))
+            gradingService.gradeAttempt(attempt.getId());
+    }
+}
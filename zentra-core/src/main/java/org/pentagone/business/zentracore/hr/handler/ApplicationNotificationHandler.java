@@ -0,0 +1,31 @@
+package org.pentagone.business.zentracore.hr.handler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.pentagone.business.zentracore.common.outbox.OutboxHandler;
+import org.pentagone.business.zentracore.common.outbox.OutboxMessage;
+import org.pentagone.business.zentracore.hr.event.ApplicationStatusChanged;
+import org.springframework.stereotype.Component;
+
+// There is no mail gateway yet, the notification the candidate would receive is logged.
+@Slf4j
+@Component
+public class ApplicationNotificationHandler implements OutboxHandler {
+    private final ObjectMapper objectMapper;
+
+    public ApplicationNotificationHandler(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String eventType() {
+        return ApplicationStatusChanged.TYPE;
+    }
+
+    @Override
+    public void handle(OutboxMessage message) throws Exception {
+        ApplicationStatusChanged change = objectMapper.readValue(message.payload(), ApplicationStatusChanged.class);
+        log.info("Notify candidate of application {}: {} -> {}", change.applicationId(), change.from().getLabel(),
+                change.to().getLabel());
+    }
+}
@@ -0,0 +1,34 @@
+package org.pentagone.business.zentracore.hr.handler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.pentagone.business.zentracore.common.outbox.OutboxHandler;
+import org.pentagone.business.zentracore.common.outbox.OutboxMessage;
+import org.pentagone.business.zentracore.hr.event.ContractDeadlineReached;
+import org.springframework.stereotype.Component;
+
+// There is no mail gateway yet, the reminder HR would receive is logged.
+@Slf4j
+@Component
+public class ContractDeadlineNotificationHandler implements OutboxHandler {
+    private final ObjectMapper objectMapper;
+
+    public ContractDeadlineNotificationHandler(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String eventType() {
+        return ContractDeadlineReached.TYPE;
+    }
+
+    @Override
+    public void handle(OutboxMessage message) throws Exception {
+        ContractDeadlineReached reached = objectMapper.readValue(message.payload(), ContractDeadlineReached.class);
+        if (reached.daysBefore() == 0)
+            log.info("Notify HR: {} of employee {} reached on {}", reached.kind(), reached.employeeId(), reached.deadline());
+        else
+            log.info("Notify HR: {} of employee {} in {} days, on {}", reached.kind(), reached.employeeId(),
+                    reached.daysBefore(), reached.deadline());
+    }
+}
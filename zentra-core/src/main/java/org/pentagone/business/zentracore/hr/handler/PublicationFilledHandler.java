@@ -0,0 +1,39 @@
+package org.pentagone.business.zentracore.hr.handler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.pentagone.business.zentracore.common.outbox.OutboxHandler;
+import org.pentagone.business.zentracore.common.outbox.OutboxMessage;
+import org.pentagone.business.zentracore.hr.entity.ApplicationStatus;
+import org.pentagone.business.zentracore.hr.event.ApplicationStatusChanged;
+import org.pentagone.business.zentracore.hr.repository.ApplicationRepository;
+import org.pentagone.business.zentracore.hr.service.PublicationLifecycleService;
+import org.springframework.stereotype.Component;
+
+// An accepted application may fill the last position of its publication: close it right away rather than
+// at the next lifecycle run, so the remaining applicants are not kept waiting.
+@Component
+public class PublicationFilledHandler implements OutboxHandler {
+    private final ApplicationRepository applicationRepository;
+    private final PublicationLifecycleService publicationLifecycleService;
+    private final ObjectMapper objectMapper;
+
+    public PublicationFilledHandler(ApplicationRepository applicationRepository, PublicationLifecycleService publicationLifecycleService,
+                                    ObjectMapper objectMapper) {
+        this.applicationRepository = applicationRepository;
+        this.publicationLifecycleService = publicationLifecycleService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String eventType() {
+        return ApplicationStatusChanged.TYPE;
+    }
+
+    @Override
+    public void handle(OutboxMessage message) throws Exception {
+        ApplicationStatusChanged change = objectMapper.readValue(message.payload(), ApplicationStatusChanged.class);
+        if (change.to() != ApplicationStatus.ACCEPTED) return;
+        applicationRepository.findPublicationIdById(change.applicationId())
+                .ifPresent(publicationLifecycleService::closeIfFilled);
+    }
+}
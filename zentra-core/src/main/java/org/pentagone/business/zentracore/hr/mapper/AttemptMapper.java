@@ -0,0 +1,13 @@
+package org.pentagone.business.zentracore.hr.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.pentagone.business.zentracore.hr.dto.AttemptDto;
+import org.pentagone.business.zentracore.hr.entity.Attempt;
+
+@Mapper(componentModel = "spring")
+public interface AttemptMapper {
+    @Mapping(source = "qcm.id", target = "qcmId")
+    @Mapping(source = "application.id", target = "applicationId")
+    AttemptDto toDto(Attempt entity);
+}
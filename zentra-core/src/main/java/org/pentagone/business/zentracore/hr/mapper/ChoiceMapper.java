@@ -1,11 +1,15 @@
 package org.pentagone.business.zentracore.hr.mapper;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.pentagone.business.zentracore.hr.dto.ChoiceDto;
 import org.pentagone.business.zentracore.hr.entity.Choice;
+import org.pentagone.business.zentracore.hr.model.CompiledChoice;
 
 @Mapper(componentModel = "spring")
 public interface ChoiceMapper {
     Choice toEntity(ChoiceDto dto);
     ChoiceDto toDto(Choice entity);
+    @Mapping(target = "questionId", ignore = true)
+    ChoiceDto toDto(CompiledChoice compiled);
 }
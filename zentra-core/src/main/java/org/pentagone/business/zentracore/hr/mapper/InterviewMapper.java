@@ -0,0 +1,13 @@
+package org.pentagone.business.zentracore.hr.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.pentagone.business.zentracore.hr.dto.InterviewDto;
+import org.pentagone.business.zentracore.hr.entity.Interview;
+
+@Mapper(componentModel = "spring")
+public interface InterviewMapper {
+    @Mapping(source = "interviewer.id", target = "interviewerId")
+    @Mapping(source = "application.id", target = "applicationId")
+    InterviewDto toDto(Interview entity);
+}
@@ -0,0 +1,17 @@
+package org.pentagone.business.zentracore.hr.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.pentagone.business.zentracore.hr.dto.PayrollLineDto;
+import org.pentagone.business.zentracore.hr.dto.PayrollRunDto;
+import org.pentagone.business.zentracore.hr.entity.PayrollLine;
+import org.pentagone.business.zentracore.hr.entity.PayrollRun;
+
+@Mapper(componentModel = "spring")
+public interface PayrollMapper {
+    @Mapping(target = "period", expression = "java(java.time.YearMonth.from(entity.getPeriodStart()))")
+    PayrollRunDto toDto(PayrollRun entity);
+
+    @Mapping(source = "id.employeeId", target = "employeeId")
+    PayrollLineDto toDto(PayrollLine entity);
+}
@@ -5,11 +5,13 @@ import org.mapstruct.Mapper;
 import org.mapstruct.MappingTarget;
 import org.pentagone.business.zentracore.hr.dto.QcmDto;
 import org.pentagone.business.zentracore.hr.entity.Qcm;
+import org.pentagone.business.zentracore.hr.model.CompiledQcm;
 
 @Mapper(componentModel = "spring", uses = { QuestionMapper.class })
 public interface QcmMapper {
     Qcm toEntity(QcmDto dto);
     QcmDto toDto(Qcm entity);
+    QcmDto toDto(CompiledQcm compiled);
 
     @AfterMapping
     default void linkQuestions(@MappingTarget Qcm qcm) {
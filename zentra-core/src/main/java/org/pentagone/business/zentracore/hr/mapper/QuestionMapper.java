@@ -2,14 +2,18 @@ package org.pentagone.business.zentracore.hr.mapper;
 
 import org.mapstruct.AfterMapping;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.pentagone.business.zentracore.hr.dto.QuestionDto;
 import org.pentagone.business.zentracore.hr.entity.Question;
+import org.pentagone.business.zentracore.hr.model.CompiledQuestion;
 
 @Mapper(componentModel = "spring", uses = { ChoiceMapper.class })
 public interface QuestionMapper {
     Question toEntity(QuestionDto dto);
     QuestionDto toDto(Question entity);
+    @Mapping(target = "qcmId", ignore = true)
+    QuestionDto toDto(CompiledQuestion compiled);
 
     @AfterMapping
     default void linkChoices(@MappingTarget Question question) {
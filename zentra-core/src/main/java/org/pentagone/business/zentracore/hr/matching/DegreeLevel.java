@@ -0,0 +1,28 @@
+package org.pentagone.business.zentracore.hr.matching;
+
+import java.text.Normalizer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Years of higher education behind a free text degree or education level ("Bac+5", "Master 2",
+ * "Licence pro", "BTS"...). Unrecognized or empty values are 0.
+ */
+public final class DegreeLevel {
+    private static final Pattern BAC_PLUS = Pattern.compile("bac\\s*\\+\\s*(\\d)");
+
+    private DegreeLevel() {
+    }
+
+    public static int of(String degree) {
+        if (degree == null || degree.isBlank()) return 0;
+        String value = Normalizer.normalize(degree, Normalizer.Form.NFD).replaceAll("\\p{M}+", "").toLowerCase();
+        Matcher bacPlus = BAC_PLUS.matcher(value);
+        if (bacPlus.find()) return Integer.parseInt(bacPlus.group(1));
+        if (value.contains("doctorat") || value.contains("phd") || value.contains("doctorate")) return 8;
+        if (value.contains("master") || value.contains("ingenieur") || value.contains("engineer") || value.contains("mba")) return 5;
+        if (value.contains("licence") || value.contains("bachelor")) return 3;
+        if (value.contains("bts") || value.contains("dut") || value.contains("deug") || value.contains("associate")) return 2;
+        return 0;
+    }
+}
@@ -0,0 +1,13 @@
+package org.pentagone.business.zentracore.hr.matching;
+
+import java.util.Set;
+
+/**
+ * Matching view of a candidate or of a publication: normalized skills, degree level in years after the
+ * baccalaureate and years of experience (always 0 for a publication, jobs do not require any).
+ */
+public record MatchProfile(long id, String label, Set<String> skills, int degree, int experience) {
+    public MatchProfile {
+        skills = Set.copyOf(skills);
+    }
+}
@@ -0,0 +1,187 @@
+package org.pentagone.business.zentracore.hr.matching;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable snapshot of every candidate and open publication encoded for matching. Skills are bit
+ * vectors over a shared {@link SkillDictionary}, stored back to back in one long array per side, so
+ * scoring a pair is a few AND + popcount over words that sit next to each other in memory.
+ * <p>
+ * Score = 0.7 x share of the required skills the candidate has + 0.2 x degree fit + 0.1 x experience
+ * (capped at 10 years). The degree fit loses a quarter per missing year of study.
+ */
+public final class MatchingIndex {
+    private static final double SKILL_WEIGHT = 0.7;
+    private static final double DEGREE_WEIGHT = 0.2;
+    private static final double EXPERIENCE_WEIGHT = 0.1;
+    private static final int EXPERIENCE_CAP = 10;
+    // Below this many profiles splitting the scan across cores costs more than it saves
+    private static final int PARALLEL_THRESHOLD = 4096;
+
+    private final SkillDictionary dictionary;
+    private final Profiles candidates;
+    private final Profiles publications;
+    private final Instant builtAt;
+
+    private MatchingIndex(SkillDictionary dictionary, Profiles candidates, Profiles publications, Instant builtAt) {
+        this.dictionary = dictionary;
+        this.candidates = candidates;
+        this.publications = publications;
+        this.builtAt = builtAt;
+    }
+
+    public static MatchingIndex build(List<MatchProfile> candidates, List<MatchProfile> publications) {
+        SkillDictionary.Builder builder = SkillDictionary.builder();
+        candidates.forEach(profile -> builder.add(profile.skills()));
+        publications.forEach(profile -> builder.add(profile.skills()));
+        SkillDictionary dictionary = builder.build();
+        return new MatchingIndex(dictionary, new Profiles(dictionary, candidates), new Profiles(dictionary, publications), Instant.now());
+    }
+
+    public Instant builtAt() {
+        return builtAt;
+    }
+
+    public int candidateCount() {
+        return candidates.size();
+    }
+
+    public int publicationCount() {
+        return publications.size();
+    }
+
+    public MatchProfile candidate(long id) {
+        Integer position = candidates.positions.get(id);
+        return position == null ? null : candidates.profiles.get(position);
+    }
+
+    public MatchProfile publication(long id) {
+        Integer position = publications.positions.get(id);
+        return position == null ? null : publications.profiles.get(position);
+    }
+
+    // A publication loaded outside the index may require skills no profile of the index has: like the skills
+    // of indexed profiles, only those of the dictionary are counted, on both sides.
+    public List<Match> topCandidates(MatchProfile publication, int k) {
+        long[] required = encode(publication.skills());
+        int requiredCount = count(required);
+        return top(candidates, k, (profiles, i) -> score(required, 0, requiredCount, publication.degree(),
+                profiles.skills, profiles.offset(i), profiles.degrees[i], profiles.experiences[i]),
+                (profiles, i) -> match(profiles.profiles.get(i), publication, profiles.profiles.get(i)));
+    }
+
+    public List<Match> topPublications(MatchProfile candidate, int k) {
+        long[] skills = encode(candidate.skills());
+        return top(publications, k, (profiles, i) -> score(profiles.skills, profiles.offset(i), profiles.skillCounts[i],
+                profiles.degrees[i], skills, 0, candidate.degree(), candidate.experience()),
+                (profiles, i) -> match(profiles.profiles.get(i), profiles.profiles.get(i), candidate));
+    }
+
+    private long[] encode(Set<String> skills) {
+        long[] encoded = new long[dictionary.words()];
+        dictionary.encode(skills, encoded, 0);
+        return encoded;
+    }
+
+    private static int count(long[] encoded) {
+        int count = 0;
+        for (long word : encoded)
+            count += Long.bitCount(word);
+        return count;
+    }
+
+    // Every core scans a contiguous range into its own heap, heaps are merged at the end.
+    private List<Match> top(Profiles profiles, int k, Scorer scorer, Describer describer) {
+        int size = profiles.size();
+        int chunks = size < PARALLEL_THRESHOLD ? 1 : ForkJoinPool.getCommonPoolParallelism() * 4;
+        int chunkSize = (size + chunks - 1) / chunks;
+        TopK best = IntStream.range(0, chunks).parallel().mapToObj(chunk -> {
+            TopK top = new TopK(k);
+            for (int i = chunk * chunkSize, end = Math.min(size, i + chunkSize); i < end; i++)
+                top.offer(i, scorer.score(profiles, i));
+            return top;
+        }).reduce(TopK::merge).orElseGet(() -> new TopK(0));
+        return IntStream.of(best.drainSorted()).mapToObj(i -> describer.describe(profiles, i)).toList();
+    }
+
+    private Match match(MatchProfile result, MatchProfile publication, MatchProfile candidate) {
+        long[] required = encode(publication.skills());
+        long[] skills = encode(candidate.skills());
+        int matched = 0;
+        for (int w = 0; w < required.length; w++)
+            matched += Long.bitCount(required[w] & skills[w]);
+        int requiredCount = count(required);
+        double score = score(required, 0, requiredCount, publication.degree(), skills, 0,
+                candidate.degree(), candidate.experience());
+        return new Match(result.id(), result.label(), score, matched, requiredCount);
+    }
+
+    private double score(long[] required, int requiredOffset, int requiredCount, int requiredDegree,
+                         long[] skills, int skillsOffset, int degree, int experience) {
+        double skillFit = 1;
+        if (requiredCount > 0) {
+            int matched = 0;
+            for (int w = 0, words = dictionary.words(); w < words; w++)
+                matched += Long.bitCount(required[requiredOffset + w] & skills[skillsOffset + w]);
+            skillFit = (double) matched / requiredCount;
+        }
+        double degreeFit = degree >= requiredDegree ? 1 : Math.max(0, 1 - 0.25 * (requiredDegree - degree));
+        double experienceFit = (double) Math.min(experience, EXPERIENCE_CAP) / EXPERIENCE_CAP;
+        return SKILL_WEIGHT * skillFit + DEGREE_WEIGHT * degreeFit + EXPERIENCE_WEIGHT * experienceFit;
+    }
+
+    public record Match(long id, String label, double score, int matchedSkills, int requiredSkills) {
+    }
+
+    @FunctionalInterface
+    private interface Scorer {
+        double score(Profiles profiles, int position);
+    }
+
+    @FunctionalInterface
+    private interface Describer {
+        Match describe(Profiles profiles, int position);
+    }
+
+    private static final class Profiles {
+        private final List<MatchProfile> profiles;
+        private final Map<Long, Integer> positions;
+        private final int words;
+        private final long[] skills;
+        private final int[] skillCounts;
+        private final int[] degrees;
+        private final int[] experiences;
+
+        private Profiles(SkillDictionary dictionary, List<MatchProfile> profiles) {
+            this.profiles = List.copyOf(profiles);
+            this.positions = new HashMap<>(profiles.size() * 2);
+            this.words = dictionary.words();
+            this.skills = new long[profiles.size() * words];
+            this.skillCounts = new int[profiles.size()];
+            this.degrees = new int[profiles.size()];
+            this.experiences = new int[profiles.size()];
+            for (int i = 0; i < profiles.size(); i++) {
+                MatchProfile profile = profiles.get(i);
+                positions.put(profile.id(), i);
+                dictionary.encode(profile.skills(), skills, i * words);
+                skillCounts[i] = profile.skills().size();
+                degrees[i] = profile.degree();
+                experiences[i] = profile.experience();
+            }
+        }
+
+        private int size() {
+            return skillCounts.length;
+        }
+
+        private int offset(int position) {
+            return position * words;
+        }
+    }
+}
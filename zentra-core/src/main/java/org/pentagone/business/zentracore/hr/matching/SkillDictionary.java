@@ -0,0 +1,98 @@
+package org.pentagone.business.zentracore.hr.matching;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Normalized skill names mapped to dense ids, so that skill sets can be encoded as bit vectors of
+ * {@link #words()} longs. Built once per {@link MatchingIndex} and read-only afterwards.
+ */
+public final class SkillDictionary {
+    private static final Pattern SEPARATORS = Pattern.compile("[,;/|\\n\\r\\t]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NOISE = Pattern.compile("[^a-z0-9+#. ]+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+    private static final Map<String, String> ALIASES = Map.of(
+            "js", "javascript",
+            "ts", "typescript",
+            "postgres", "postgresql",
+            "k8s", "kubernetes",
+            "springboot", "spring boot",
+            "node", "node.js",
+            "nodejs", "node.js");
+
+    private final Map<String, Integer> ids;
+    private final List<String> names;
+
+    private SkillDictionary(Map<String, Integer> ids, List<String> names) {
+        this.ids = ids;
+        this.names = names;
+    }
+
+    // "Java, Spring-Boot ; PostgreSQL" -> [java, spring boot, postgresql]
+    public static Set<String> parse(String skills) {
+        Set<String> parsed = new LinkedHashSet<>();
+        if (skills == null || skills.isBlank()) return parsed;
+        for (String skill : SEPARATORS.split(skills)) {
+            String normalized = normalize(skill);
+            if (!normalized.isEmpty()) parsed.add(normalized);
+        }
+        return parsed;
+    }
+
+    public static String normalize(String skill) {
+        String normalized = MARKS.matcher(Normalizer.normalize(skill, Normalizer.Form.NFD)).replaceAll("").toLowerCase();
+        normalized = SPACES.matcher(NOISE.matcher(normalized.replace('-', ' ')).replaceAll(" ")).replaceAll(" ").trim();
+        if (normalized.endsWith(".")) normalized = normalized.substring(0, normalized.length() - 1);
+        return ALIASES.getOrDefault(normalized, normalized);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    public int words() {
+        return Math.max(1, (names.size() + 63) >>> 6);
+    }
+
+    public String name(int id) {
+        return names.get(id);
+    }
+
+    // Skills unknown to the dictionary are left out of the vector, no profile of the index has them
+    public void encode(Set<String> skills, long[] target, int offset) {
+        for (String skill : skills) {
+            Integer id = ids.get(skill);
+            if (id != null) target[offset + (id >>> 6)] |= 1L << id;
+        }
+    }
+
+    public static final class Builder {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> names = new ArrayList<>();
+
+        public Builder add(Set<String> skills) {
+            for (String skill : skills) {
+                ids.computeIfAbsent(skill, name -> {
+                    names.add(name);
+                    return names.size() - 1;
+                });
+            }
+            return this;
+        }
+
+        public SkillDictionary build() {
+            return new SkillDictionary(Map.copyOf(ids), List.copyOf(names));
+        }
+    }
+}
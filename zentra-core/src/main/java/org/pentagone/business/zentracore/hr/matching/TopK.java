@@ -0,0 +1,83 @@
+package org.pentagone.business.zentracore.hr.matching;
+
+/**
+ * Bounded min-heap of (position, score) pairs keeping the k best scores, on primitive arrays so that
+ * scanning tens of thousands of profiles does not box anything. Not thread safe, one per scanning task.
+ */
+final class TopK {
+    private final int[] positions;
+    private final double[] scores;
+    private int size;
+
+    TopK(int k) {
+        this.positions = new int[k];
+        this.scores = new double[k];
+    }
+
+    void offer(int position, double score) {
+        if (positions.length == 0) return;
+        if (size < positions.length) {
+            positions[size] = position;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (better(score, position, scores[0], positions[0])) {
+            positions[0] = position;
+            scores[0] = score;
+            siftDown(0);
+        }
+    }
+
+    TopK merge(TopK other) {
+        for (int i = 0; i < other.size; i++)
+            offer(other.positions[i], other.scores[i]);
+        return this;
+    }
+
+    // Positions from the best score to the worst, ties broken by position. Empties the heap.
+    int[] drainSorted() {
+        int[] sorted = new int[size];
+        for (int i = size - 1; i >= 0; i--) {
+            sorted[i] = positions[0];
+            size = i;
+            positions[0] = positions[i];
+            scores[0] = scores[i];
+            siftDown(0);
+        }
+        return sorted;
+    }
+
+    private static boolean better(double score, int position, double otherScore, int otherPosition) {
+        return score > otherScore || (score == otherScore && position < otherPosition);
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!better(scores[parent], positions[parent], scores[i], positions[i])) break;
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int worst = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && better(scores[worst], positions[worst], scores[left], positions[left])) worst = left;
+            if (right < size && better(scores[worst], positions[worst], scores[right], positions[right])) worst = right;
+            if (worst == i) return;
+            swap(i, worst);
+            i = worst;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int position = positions[a];
+        positions[a] = positions[b];
+        positions[b] = position;
+        double score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+}
@@ -0,0 +1,128 @@
+package org.pentagone.business.zentracore.hr.model;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Progress of a candidate import. Counters are written by the import thread only and read by the
+ * progress endpoint, so plain volatile fields are enough.
+ */
+public class CandidateImportJob {
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    public enum Format { CSV, NDJSON }
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final UUID id = UUID.randomUUID();
+    private final Format format;
+    private final Path file;
+    private final Instant createdAt = Instant.now();
+    private final List<String> errors = new ArrayList<>();
+    private volatile Status status = Status.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile long processed;
+    private volatile long inserted;
+    private volatile long updated;
+    private volatile long rejected;
+    private volatile String failure;
+
+    public CandidateImportJob(Format format, Path file) {
+        this.format = format;
+        this.file = file;
+    }
+
+    public void start() {
+        startedAt = Instant.now();
+        status = Status.RUNNING;
+    }
+
+    public void finish(String failure) {
+        this.failure = failure;
+        finishedAt = Instant.now();
+        status = failure == null ? Status.COMPLETED : Status.FAILED;
+    }
+
+    public void processed(int rows) {
+        processed += rows;
+    }
+
+    public void written(int inserted, int updated) {
+        this.inserted += inserted;
+        this.updated += updated;
+    }
+
+    public void reject(long row, String message) {
+        rejected++;
+        synchronized (errors) {
+            if (errors.size() < MAX_REPORTED_ERRORS) errors.add("Row " + row + ": " + message);
+        }
+    }
+
+    public List<String> getErrors() {
+        synchronized (errors) {
+            return List.copyOf(errors);
+        }
+    }
+
+    public double rowsPerSecond() {
+        Instant start = startedAt;
+        if (start == null) return 0;
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        long millis = Math.max(1, Duration.between(start, end).toMillis());
+        return processed * 1000.0 / millis;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public long getProcessed() {
+        return processed;
+    }
+
+    public long getInserted() {
+        return inserted;
+    }
+
+    public long getUpdated() {
+        return updated;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public String getFailure() {
+        return failure;
+    }
+}
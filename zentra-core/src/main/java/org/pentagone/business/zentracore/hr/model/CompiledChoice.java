@@ -0,0 +1,4 @@
+package org.pentagone.business.zentracore.hr.model;
+
+public record CompiledChoice(Long id, String libelle, boolean correct) {
+}
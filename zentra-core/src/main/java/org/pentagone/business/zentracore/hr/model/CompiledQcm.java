@@ -0,0 +1,48 @@
+package org.pentagone.business.zentracore.hr.model;
+
+import org.pentagone.business.zentracore.hr.entity.Choice;
+import org.pentagone.business.zentracore.hr.entity.Qcm;
+import org.pentagone.business.zentracore.hr.entity.Question;
+import org.pentagone.business.zentracore.hr.grading.AnswerKey;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of a qcm tree, detached from the persistence context so it can be shared between
+ * requests. {@code updatedAt} identifies the state of the qcm it was compiled from, {@code answerKey} is
+ * the grading form of its questions, built once per compilation.
+ */
+public record CompiledQcm(Long id, Long version, LocalDateTime updatedAt, String title, String description,
+                          Integer durationMinutes, Double totalScore, Double requiredScore,
+                          List<CompiledQuestion> questions, AnswerKey answerKey) {
+    public CompiledQcm {
+        questions = List.copyOf(questions);
+    }
+
+    public static CompiledQcm compile(Qcm qcm) {
+        List<CompiledQuestion> questions = new ArrayList<>();
+        double computedTotal = 0;
+        if (qcm.getQuestions() != null) {
+            for (Question question : qcm.getQuestions()) {
+                List<CompiledChoice> choices = new ArrayList<>();
+                Set<Long> correctChoiceIds = new HashSet<>();
+                if (question.getChoices() != null) {
+                    for (Choice choice : question.getChoices()) {
+                        choices.add(new CompiledChoice(choice.getId(), choice.getLibelle(), choice.isCorrect()));
+                        if (choice.isCorrect()) correctChoiceIds.add(choice.getId());
+                    }
+                }
+                if (question.getScore() != null) computedTotal += question.getScore();
+                questions.add(new CompiledQuestion(question.getId(), question.getLibelle(), question.isRequired(),
+                        question.getScore(), choices, correctChoiceIds));
+            }
+        }
+        Double totalScore = qcm.getTotalScore() != null ? qcm.getTotalScore() : computedTotal;
+        return new CompiledQcm(qcm.getId(), qcm.getVersion(), qcm.getUpdatedAt(), qcm.getTitle(), qcm.getDescription(),
+                qcm.getDurationMinutes(), totalScore, qcm.getRequiredScore(), questions, AnswerKey.compile(questions));
+    }
+}
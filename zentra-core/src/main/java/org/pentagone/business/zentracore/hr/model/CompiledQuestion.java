@@ -0,0 +1,12 @@
+package org.pentagone.business.zentracore.hr.model;
+
+import java.util.List;
+import java.util.Set;
+
+public record CompiledQuestion(Long id, String libelle, boolean required, Double score,
+                               List<CompiledChoice> choices, Set<Long> correctChoiceIds) {
+    public CompiledQuestion {
+        choices = List.copyOf(choices);
+        correctChoiceIds = Set.copyOf(correctChoiceIds);
+    }
+}
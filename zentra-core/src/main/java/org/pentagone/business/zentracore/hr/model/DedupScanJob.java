@@ -0,0 +1,87 @@
+package org.pentagone.business.zentracore.hr.model;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Progress of a full duplicate scan. Pairs are counted by every scan thread, the other fields are written
+ * by the thread running the job and read by the status endpoint.
+ */
+public class DedupScanJob {
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private final UUID id = UUID.randomUUID();
+    private final Instant createdAt = Instant.now();
+    private final LongAdder comparedPairs = new LongAdder();
+    private volatile Status status = Status.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile long candidates;
+    private volatile long duplicatePairs;
+    private volatile String failure;
+
+    public void start() {
+        startedAt = Instant.now();
+        status = Status.RUNNING;
+    }
+
+    public void finish(String failure) {
+        this.failure = failure;
+        finishedAt = Instant.now();
+        status = failure == null ? Status.COMPLETED : Status.FAILED;
+    }
+
+    public boolean isFinished() {
+        Status current = status;
+        return current == Status.COMPLETED || current == Status.FAILED;
+    }
+
+    public void signed(long candidates) {
+        this.candidates = candidates;
+    }
+
+    public void compared(int pairs) {
+        comparedPairs.add(pairs);
+    }
+
+    public void found(long duplicatePairs) {
+        this.duplicatePairs = duplicatePairs;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public long getCandidates() {
+        return candidates;
+    }
+
+    public long getComparedPairs() {
+        return comparedPairs.sum();
+    }
+
+    public long getDuplicatePairs() {
+        return duplicatePairs;
+    }
+
+    public String getFailure() {
+        return failure;
+    }
+}
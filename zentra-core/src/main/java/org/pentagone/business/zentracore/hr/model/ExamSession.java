@@ -0,0 +1,82 @@
+package org.pentagone.business.zentracore.hr.model;
+
+import org.pentagone.business.zentracore.common.util.TimingWheel;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+// In-progress attempt: answers live here, keyed by question, until the session is submitted or expires.
+public class ExamSession {
+    public enum Status { ACTIVE, SUBMITTED, EXPIRED }
+
+    private final UUID id = UUID.randomUUID();
+    private final Long applicationId;
+    private final CompiledQcm qcm;
+    private final Instant startedAt;
+    private final Instant deadline;
+    private final Map<Long, long[]> answers = new HashMap<>();
+    private Status status = Status.ACTIVE;
+    private TimingWheel.Timeout timeout;
+
+    public ExamSession(Long applicationId, CompiledQcm qcm, Instant startedAt, Instant deadline) {
+        this.applicationId = applicationId;
+        this.qcm = qcm;
+        this.startedAt = startedAt;
+        this.deadline = deadline;
+    }
+
+    public synchronized void answer(Long questionId, long[] choiceIds) {
+        if (status != Status.ACTIVE)
+            throw new IllegalArgumentException("Session is " + status.name().toLowerCase());
+        if (choiceIds.length == 0) answers.remove(questionId);
+        else answers.put(questionId, choiceIds);
+    }
+
+    // Closes the session exactly once and returns every selected choice, or null if it was already closed.
+    public synchronized long[] close(Status closedStatus) {
+        if (status != Status.ACTIVE) return null;
+        status = closedStatus;
+        if (timeout != null) timeout.cancel();
+        return answers.values().stream().flatMapToLong(Arrays::stream).toArray();
+    }
+
+    // Undoes a submission that could not be persisted, the answers are still there.
+    public synchronized void reopen() {
+        if (status == Status.SUBMITTED) status = Status.ACTIVE;
+    }
+
+    public synchronized int answeredQuestions() {
+        return answers.size();
+    }
+
+    public synchronized Status getStatus() {
+        return status;
+    }
+
+    public synchronized void setTimeout(TimingWheel.Timeout timeout) {
+        this.timeout = timeout;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public Long getApplicationId() {
+        return applicationId;
+    }
+
+    public CompiledQcm getQcm() {
+        return qcm;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getDeadline() {
+        return deadline;
+    }
+}
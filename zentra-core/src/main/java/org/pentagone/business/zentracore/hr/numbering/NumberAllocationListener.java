@@ -0,0 +1,38 @@
+package org.pentagone.business.zentracore.hr.numbering;
+
+import jakarta.persistence.PrePersist;
+import org.pentagone.business.zentracore.hr.entity.Contract;
+import org.pentagone.business.zentracore.hr.entity.Employee;
+import org.springframework.context.annotation.Lazy;
+
+/**
+ * JPA listener giving a new employee or contract its number when the caller left it empty. A number supplied
+ * by the caller is kept as is, unless it has the format of the allocated numbers.
+ */
+public class NumberAllocationListener {
+    private final NumberAllocator numberAllocator;
+
+    // Hibernate creates its listeners while building the entity manager factory, which the allocator's
+    // transaction manager depends on: the allocator is resolved on first use instead
+    public NumberAllocationListener(@Lazy NumberAllocator numberAllocator) {
+        this.numberAllocator = numberAllocator;
+    }
+
+    @PrePersist
+    public void assignNumber(Object entity) {
+        switch (entity) {
+            case Employee employee -> {
+                if (employee.getEmployeeNumber() == null || employee.getEmployeeNumber().isBlank())
+                    employee.setEmployeeNumber(numberAllocator.next(NumberSequence.EMPLOYEE));
+                else numberAllocator.checkSupplied(NumberSequence.EMPLOYEE, employee.getEmployeeNumber());
+            }
+            case Contract contract -> {
+                if (contract.getContractNumber() == null || contract.getContractNumber().isBlank())
+                    contract.setContractNumber(numberAllocator.next(NumberSequence.CONTRACT));
+                else numberAllocator.checkSupplied(NumberSequence.CONTRACT, contract.getContractNumber());
+            }
+            default -> {
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package org.pentagone.business.zentracore.hr.numbering;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.pentagone.business.zentracore.common.exception.ConflictException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Employee and contract numbers come from one counter row per sequence and period (number_sequence). A node
+// reserves a block of block-size values with a single "update ... returning" in a transaction of its own, so
+// the row is locked for that statement only, never for the caller's transaction, and hands the block out
+// from memory. Concurrent hires wait on the row once per block instead of once per number, and numbers
+// never collide across nodes, so no insert has to be retried on a duplicate.
+// Reservations run on a pool of their own (pool-size connections): they happen inside the caller's persist,
+// which already holds a connection of the main pool, and a burst of hires would otherwise take the main pool's
+// last connections waiting for a second one each.
+// A counter row is created on first use from the highest number of the period already stored in the format,
+// so numbers made up before the allocator existed are not handed out again. Afterwards a number in the format
+// is only handed out by the allocator: a caller supplying one is refused, it could be the next one reserved.
+@Slf4j
+@Component
+public class NumberAllocator {
+    private static final String SEED = "insert into number_sequence (name, period, next_value) " +
+            "select ?, ?, coalesce(max(substring(%2$s from ?)::bigint), 0) + 1 from %1$s where %2$s ~ ? " +
+            "on conflict (name, period) do nothing";
+    private static final String RESERVE = "update number_sequence set next_value = next_value + ? " +
+            "where name = ? and period = ? returning next_value";
+
+    private final HikariDataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate ownTransaction;
+    private final int blockSize;
+    private final Map<NumberSequence, NumberPattern> patterns = new EnumMap<>(NumberSequence.class);
+    private final Map<Counter, NumberBlocks> counters = new ConcurrentHashMap<>();
+
+    public NumberAllocator(DataSourceProperties dataSourceProperties,
+                           @Value("${zentra.numbers.block-size:100}") int blockSize,
+                           @Value("${zentra.numbers.pool-size:2}") int poolSize,
+                           @Value("${zentra.numbers.employee-format:EMP-{yyyy}-{seq:5}}") String employeeFormat,
+                           @Value("${zentra.numbers.contract-format:CTR-{yyyy}-{seq:6}}") String contractFormat) {
+        this.dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        this.dataSource.setPoolName("number-allocator");
+        this.dataSource.setMaximumPoolSize(poolSize);
+        this.dataSource.setMinimumIdle(0);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.ownTransaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = blockSize;
+        patterns.put(NumberSequence.EMPLOYEE, new NumberPattern(employeeFormat));
+        patterns.put(NumberSequence.CONTRACT, new NumberPattern(contractFormat));
+    }
+
+    public String next(NumberSequence sequence) {
+        NumberPattern pattern = patterns.get(sequence);
+        int period = pattern.period(LocalDate.now());
+        return pattern.format(period, blocks(sequence, period).next());
+    }
+
+    // A number supplied by the caller must not have the format of the allocated ones
+    public void checkSupplied(NumberSequence sequence, String number) {
+        if (patterns.get(sequence).matches(number))
+            throw new ConflictException("Number " + number + " has the format of the allocated numbers (" +
+                    patterns.get(sequence) + "), leave it empty to get one");
+    }
+
+    // Blocks of past periods stay until restart, a handful of entries a year
+    private NumberBlocks blocks(NumberSequence sequence, int period) {
+        return counters.computeIfAbsent(new Counter(sequence, period),
+                counter -> new NumberBlocks(size -> reserve(counter, size), blockSize));
+    }
+
+    private long reserve(Counter counter, int size) {
+        String name = counter.sequence().name().toLowerCase(Locale.ROOT);
+        Long next = ownTransaction.execute(status -> {
+            List<Long> updated = jdbcTemplate.queryForList(RESERVE, Long.class, size, name, counter.period());
+            if (!updated.isEmpty()) return updated.get(0);
+            String regex = patterns.get(counter.sequence()).sqlRegex(counter.period());
+            jdbcTemplate.update(SEED.formatted(counter.sequence().table(), counter.sequence().column()),
+                    name, counter.period(), regex, regex);
+            return jdbcTemplate.queryForObject(RESERVE, Long.class, size, name, counter.period());
+        });
+        log.debug("Reserved {} {} numbers of period {} up to {}", size, name, counter.period(), next - 1);
+        // next_value is the first value not handed out yet
+        return next - 1;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dataSource.close();
+    }
+
+    private record Counter(NumberSequence sequence, int period) {
+    }
+}
@@ -0,0 +1,57 @@
+package org.pentagone.business.zentracore.hr.numbering;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out the values of one counter from a block reserved in advance: taking a value is one atomic
+ * increment, only the thread that finds the block exhausted reserves the next one, the others wait for it.
+ * Values are unique and increase within a block, but not across nodes, and the rest of a block is lost
+ * when the node stops: the counter has gaps, as a database sequence does.
+ */
+public final class NumberBlocks {
+    private final Reserver reserver;
+    private final int blockSize;
+    private volatile Block block;
+
+    public NumberBlocks(Reserver reserver, int blockSize) {
+        if (blockSize < 1)
+            throw new IllegalArgumentException("Block size must be positive");
+        this.reserver = reserver;
+        this.blockSize = blockSize;
+    }
+
+    public long next() {
+        while (true) {
+            Block current = block;
+            if (current != null) {
+                long value = current.next.getAndIncrement();
+                if (value <= current.last) return value;
+            }
+            refill(current);
+        }
+    }
+
+    private synchronized void refill(Block exhausted) {
+        if (block != exhausted) return;
+        long last = reserver.reserve(blockSize);
+        block = new Block(last - blockSize + 1, last);
+    }
+
+    /**
+     * Reserves {@code size} values of the counter and returns the last of them, the others precede it.
+     */
+    @FunctionalInterface
+    public interface Reserver {
+        long reserve(int size);
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long last;
+
+        private Block(long first, long last) {
+            this.next = new AtomicLong(first);
+            this.last = last;
+        }
+    }
+}
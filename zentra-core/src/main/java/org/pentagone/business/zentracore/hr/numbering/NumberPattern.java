@@ -0,0 +1,111 @@
+package org.pentagone.business.zentracore.hr.numbering;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Format of a business number, such as {@code EMP-{yyyy}-{seq:5}}: literal text, the year ({@code {yyyy}} or
+ * {@code {yy}}) and the counter zero padded to a minimum width ({@code {seq:5}}, or {@code {seq}} unpadded).
+ * A pattern holding the year restarts its counter every year, its period is the year; otherwise the period
+ * is 0 and the counter never restarts.
+ */
+public final class NumberPattern {
+    private static final Pattern TOKEN = Pattern.compile("\\{(yyyy|yy|seq(?::(\\d{1,2}))?)}");
+
+    private final String pattern;
+    private final List<Object> parts = new ArrayList<>();
+    private final boolean yearly;
+    private final Pattern numbers;
+
+    public NumberPattern(String pattern) {
+        this.pattern = pattern;
+        Matcher matcher = TOKEN.matcher(pattern);
+        int sequences = 0;
+        boolean year = false;
+        int last = 0;
+        while (matcher.find()) {
+            if (matcher.start() > last) parts.add(pattern.substring(last, matcher.start()));
+            String token = matcher.group(1);
+            if (token.startsWith("seq")) {
+                sequences++;
+                parts.add(matcher.group(2) == null ? 1 : Integer.parseInt(matcher.group(2)));
+            } else {
+                year = true;
+                parts.add(token.length() == 4 ? Field.YEAR : Field.SHORT_YEAR);
+            }
+            last = matcher.end();
+        }
+        if (last < pattern.length()) parts.add(pattern.substring(last));
+        if (sequences != 1)
+            throw new IllegalArgumentException("Number pattern " + pattern + " must hold exactly one {seq}");
+        this.yearly = year;
+        StringBuilder regex = new StringBuilder();
+        for (Object part : parts) {
+            switch (part) {
+                case String text -> regex.append(Pattern.quote(text));
+                case Integer width -> regex.append("[0-9]+");
+                case Field field -> regex.append(field == Field.YEAR ? "[0-9]{4}" : "[0-9]{2}");
+                default -> throw new IllegalStateException();
+            }
+        }
+        this.numbers = Pattern.compile(regex.toString());
+    }
+
+    // Whether the number has this format, whatever its period
+    public boolean matches(String number) {
+        return numbers.matcher(number).matches();
+    }
+
+    public int period(LocalDate date) {
+        return yearly ? date.getYear() : 0;
+    }
+
+    public String format(int period, long sequence) {
+        StringBuilder number = new StringBuilder(pattern.length() + 8);
+        for (Object part : parts) {
+            switch (part) {
+                case String text -> number.append(text);
+                case Integer width -> {
+                    String digits = Long.toString(sequence);
+                    for (int i = digits.length(); i < width; i++) number.append('0');
+                    number.append(digits);
+                }
+                case Field field -> number.append(field == Field.YEAR ? String.format("%04d", period)
+                        : String.format("%02d", period % 100));
+                default -> throw new IllegalStateException();
+            }
+        }
+        return number.toString();
+    }
+
+    // PostgreSQL regular expression matching the numbers of the period, the counter as its only group
+    public String sqlRegex(int period) {
+        StringBuilder regex = new StringBuilder("^");
+        for (Object part : parts) {
+            switch (part) {
+                case String text -> text.chars().forEach(c -> {
+                    if (!Character.isLetterOrDigit(c)) regex.append('\\');
+                    regex.append((char) c);
+                });
+                case Integer width -> regex.append("([0-9]+)");
+                case Field field -> regex.append(field == Field.YEAR ? String.format("%04d", period)
+                        : String.format("%02d", period % 100));
+                default -> throw new IllegalStateException();
+            }
+        }
+        return regex.append('$').toString();
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+
+    private enum Field {
+        YEAR,
+        SHORT_YEAR
+    }
+}
@@ -0,0 +1,25 @@
+package org.pentagone.business.zentracore.hr.numbering;
+
+/**
+ * Business numbers {@link NumberAllocator} hands out, with the column their counter is seeded from.
+ */
+public enum NumberSequence {
+    EMPLOYEE("employee", "employee_number"),
+    CONTRACT("employment_contract", "contract_number");
+
+    private final String table;
+    private final String column;
+
+    NumberSequence(String table, String column) {
+        this.table = table;
+        this.column = column;
+    }
+
+    public String table() {
+        return table;
+    }
+
+    public String column() {
+        return column;
+    }
+}
@@ -0,0 +1,57 @@
+package org.pentagone.business.zentracore.hr.payroll;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Monthly pay from annual amounts. The contract gross salary (the employee's base salary without a contract)
+ * is the annual pay of a full time position: it is scaled by weeklyHours / full time hours, divided by 12 and
+ * prorated by the calendar days employed in the month. The annual bonus accrues by the same days, and employer
+ * contributions are a flat rate of gross pay plus bonus.
+ * <p>
+ * Amounts are exact decimals: each one is computed as a single fraction and rounded once, half up to the
+ * cent, so the result does not depend on the order of operations. Immutable, shared by the fork/join workers.
+ */
+public final class PayrollCalculator {
+    private static final BigDecimal MONTHS = BigDecimal.valueOf(12);
+
+    private final BigDecimal fullTimeHours;
+    private final BigDecimal employerRate;
+
+    public PayrollCalculator(BigDecimal fullTimeHours, BigDecimal employerRate) {
+        if (fullTimeHours.signum() <= 0)
+            throw new IllegalArgumentException("Full time hours must be positive");
+        if (employerRate.signum() < 0)
+            throw new IllegalArgumentException("Employer contribution rate cannot be negative");
+        this.fullTimeHours = fullTimeHours;
+        this.employerRate = employerRate;
+    }
+
+    // null when the employee was not employed during the month
+    public Payslip compute(PayrollInput input, YearMonth period) {
+        LocalDate first = period.atDay(1);
+        LocalDate last = period.atEndOfMonth();
+        LocalDate from = input.startDate() == null || input.startDate().isBefore(first) ? first : input.startDate();
+        LocalDate to = input.endDate() == null || input.endDate().isAfter(last) ? last : input.endDate();
+        if (to.isBefore(from)) return null;
+        int workedDays = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        BigDecimal days = BigDecimal.valueOf(workedDays);
+        BigDecimal monthDays = BigDecimal.valueOf(period.lengthOfMonth());
+
+        BigDecimal annual = input.grossSalary() != null ? input.grossSalary() : orZero(input.baseSalary());
+        BigDecimal hours = input.weeklyHours() != null ? input.weeklyHours() : fullTimeHours;
+        // annual * hours * days / (fullTimeHours * 12 * monthDays)
+        BigDecimal grossPay = annual.multiply(hours).multiply(days)
+                .divide(fullTimeHours.multiply(MONTHS).multiply(monthDays), 2, RoundingMode.HALF_UP);
+        BigDecimal bonus = orZero(input.annualBonus()).multiply(days).divide(MONTHS.multiply(monthDays), 2, RoundingMode.HALF_UP);
+        BigDecimal contributions = grossPay.add(bonus).multiply(employerRate).setScale(2, RoundingMode.HALF_UP);
+        return new Payslip(input.employeeId(), workedDays, grossPay, bonus, contributions, grossPay.add(bonus).add(contributions));
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value == null ? BigDecimal.ZERO : value;
+    }
+}
@@ -0,0 +1,12 @@
+package org.pentagone.business.zentracore.hr.payroll;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * What the pay of an employee is computed from, amounts rounded to the cent. Contract fields are null when
+ * the employee has no contract; {@code endDate} is the earlier of the employee's and the contract's end dates.
+ */
+public record PayrollInput(long employeeId, BigDecimal baseSalary, BigDecimal grossSalary, BigDecimal annualBonus,
+                           BigDecimal weeklyHours, LocalDate startDate, LocalDate endDate) {
+}
@@ -0,0 +1,47 @@
+package org.pentagone.business.zentracore.hr.payroll;
+
+import java.time.YearMonth;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Computes the payslips of {@code inputs[from, to)} into the same positions of {@code payslips} by halving
+ * the range until it is under THRESHOLD, and returns their totals. Workers write disjoint slots of the
+ * array, the join publishes them to the caller.
+ */
+public final class PayrollTask extends RecursiveTask<PayrollTotals> {
+    private static final int THRESHOLD = 512;
+
+    private final PayrollCalculator calculator;
+    private final YearMonth period;
+    private final PayrollInput[] inputs;
+    private final Payslip[] payslips;
+    private final int from;
+    private final int to;
+
+    public PayrollTask(PayrollCalculator calculator, YearMonth period, PayrollInput[] inputs, Payslip[] payslips, int from, int to) {
+        this.calculator = calculator;
+        this.period = period;
+        this.inputs = inputs;
+        this.payslips = payslips;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected PayrollTotals compute() {
+        if (to - from <= THRESHOLD) {
+            PayrollTotals totals = PayrollTotals.ZERO;
+            for (int i = from; i < to; i++) {
+                Payslip payslip = calculator.compute(inputs[i], period);
+                payslips[i] = payslip;
+                if (payslip != null) totals = totals.plus(payslip);
+            }
+            return totals;
+        }
+        int middle = (from + to) >>> 1;
+        PayrollTask left = new PayrollTask(calculator, period, inputs, payslips, from, middle);
+        left.fork();
+        PayrollTotals right = new PayrollTask(calculator, period, inputs, payslips, middle, to).compute();
+        return left.join().plus(right);
+    }
+}
@@ -0,0 +1,21 @@
+package org.pentagone.business.zentracore.hr.payroll;
+
+import java.math.BigDecimal;
+
+/**
+ * Sums of a set of payslips, merged pairwise by the fork/join tasks.
+ */
+public record PayrollTotals(int employees, BigDecimal grossPay, BigDecimal bonus, BigDecimal employerContributions,
+                            BigDecimal employerCost) {
+    public static final PayrollTotals ZERO = new PayrollTotals(0, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+
+    public PayrollTotals plus(PayrollTotals other) {
+        return new PayrollTotals(employees + other.employees, grossPay.add(other.grossPay), bonus.add(other.bonus),
+                employerContributions.add(other.employerContributions), employerCost.add(other.employerCost));
+    }
+
+    public PayrollTotals plus(Payslip payslip) {
+        return new PayrollTotals(employees + 1, grossPay.add(payslip.grossPay()), bonus.add(payslip.bonus()),
+                employerContributions.add(payslip.employerContributions()), employerCost.add(payslip.employerCost()));
+    }
+}
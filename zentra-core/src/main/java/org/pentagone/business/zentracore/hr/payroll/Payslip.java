@@ -0,0 +1,10 @@
+package org.pentagone.business.zentracore.hr.payroll;
+
+import java.math.BigDecimal;
+
+/**
+ * Pay of one employee for one month, every amount rounded once, to the cent.
+ */
+public record Payslip(long employeeId, int workedDays, BigDecimal grossPay, BigDecimal bonus,
+                      BigDecimal employerContributions, BigDecimal employerCost) {
+}
@@ -1,14 +1,72 @@
 package org.pentagone.business.zentracore.hr.repository;
 
+import jakarta.persistence.LockModeType;
+import org.pentagone.business.zentracore.hr.dto.ApplicationSummaryDto;
 import org.pentagone.business.zentracore.hr.entity.Application;
+import org.pentagone.business.zentracore.hr.entity.ApplicationStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ApplicationRepository extends JpaRepository<Application, Long> {
     List<Application> findByCandidateId(Long candidateId);
     List<Application> findByPublicationId(Long publicationId);
-    List<Application> findByStatus(String status);
+    List<Application> findByStatus(ApplicationStatus status);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Application a where a.id = :id")
+    Optional<Application> findForUpdateById(@Param("id") Long id);
+
+    @Query("select a.publication.id from Application a where a.id = :id")
+    Optional<Long> findPublicationIdById(@Param("id") Long id);
+
+    @Query("select a.id from Application a where a.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Keyset pages ordered by (appliedAt, id), each served by a range scan of a covering index (sql/indexes.sql).
+    // The "appliedAt >=" bound is redundant with the OR but gives PostgreSQL a range to start the scan from.
+    String SUMMARY = "select new org.pentagone.business.zentracore.hr.dto.ApplicationSummaryDto(a.id, a.appliedAt, " +
+            "a.status, a.documentScore, a.score, a.publication.id, a.candidate.id) from Application a ";
+    String AFTER = " and a.appliedAt >= :appliedAt and (a.appliedAt > :appliedAt or a.id > :id) order by a.appliedAt, a.id";
+
+    @Query(SUMMARY + "where a.publication.id = :publicationId" + AFTER)
+    List<ApplicationSummaryDto> findPageByPublicationId(@Param("publicationId") Long publicationId,
+                                                        @Param("appliedAt") LocalDateTime appliedAt, @Param("id") Long id, Limit limit);
+
+    @Query(SUMMARY + "where a.publication.id = :publicationId and a.status = :status" + AFTER)
+    List<ApplicationSummaryDto> findPageByPublicationIdAndStatus(@Param("publicationId") Long publicationId, @Param("status") ApplicationStatus status,
+                                                                 @Param("appliedAt") LocalDateTime appliedAt, @Param("id") Long id, Limit limit);
+
+    @Query(SUMMARY + "where a.status = :status" + AFTER)
+    List<ApplicationSummaryDto> findPageByStatus(@Param("status") ApplicationStatus status,
+                                                 @Param("appliedAt") LocalDateTime appliedAt, @Param("id") Long id, Limit limit);
+
+    @Query(SUMMARY + "where a.candidate.id = :candidateId" + AFTER)
+    List<ApplicationSummaryDto> findPageByCandidateId(@Param("candidateId") Long candidateId,
+                                                      @Param("appliedAt") LocalDateTime appliedAt, @Param("id") Long id, Limit limit);
+
+    // A candidate has few applications: the candidate index serves these too, the other filters are checked
+    // on its included columns
+    @Query(SUMMARY + "where a.candidate.id = :candidateId and a.status = :status" + AFTER)
+    List<ApplicationSummaryDto> findPageByCandidateIdAndStatus(@Param("candidateId") Long candidateId, @Param("status") ApplicationStatus status,
+                                                               @Param("appliedAt") LocalDateTime appliedAt, @Param("id") Long id, Limit limit);
+
+    @Query(SUMMARY + "where a.candidate.id = :candidateId and a.publication.id = :publicationId" + AFTER)
+    List<ApplicationSummaryDto> findPageByCandidateIdAndPublicationId(@Param("candidateId") Long candidateId, @Param("publicationId") Long publicationId,
+                                                                      @Param("appliedAt") LocalDateTime appliedAt, @Param("id") Long id, Limit limit);
+
+    @Query(SUMMARY + "where a.candidate.id = :candidateId and a.publication.id = :publicationId and a.status = :status" + AFTER)
+    List<ApplicationSummaryDto> findPageByCandidateIdAndPublicationIdAndStatus(@Param("candidateId") Long candidateId,
+                                                                               @Param("publicationId") Long publicationId,
+                                                                               @Param("status") ApplicationStatus status,
+                                                                               @Param("appliedAt") LocalDateTime appliedAt, @Param("id") Long id, Limit limit);
 }
@@ -2,12 +2,19 @@ package org.pentagone.business.zentracore.hr.repository;
 
 import org.pentagone.business.zentracore.hr.entity.Attempt;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface AttemptRepository extends JpaRepository<Attempt, Long> {
     List<Attempt> findByQcmId(Long qcmId);
     List<Attempt> findByApplicationId(Long applicationId);
+    boolean existsByApplicationId(Long applicationId);
+
+    @Query("select a.application.id from Attempt a where a.application.id in :applicationIds")
+    List<Long> findApplicationIdsWithAttempt(@Param("applicationIds") Collection<Long> applicationIds);
 }
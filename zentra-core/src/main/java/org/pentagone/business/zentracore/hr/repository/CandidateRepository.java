@@ -2,7 +2,11 @@ package org.pentagone.business.zentracore.hr.repository;
 
 import org.pentagone.business.zentracore.hr.entity.Candidate;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -10,4 +14,20 @@ import java.util.Optional;
 public interface CandidateRepository extends JpaRepository<Candidate, Long> {
     Optional<Candidate> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    @Query("select c.cvFile from Candidate c where c.id = :id")
+    Optional<String> findCvFileById(@Param("id") Long id);
+
+    @Query("select c.motivationalLetterFile from Candidate c where c.id = :id")
+    Optional<String> findMotivationalLetterFileById(@Param("id") Long id);
+
+    @Modifying
+    @Transactional
+    @Query("update Candidate c set c.cvFile = :file, c.updatedAt = local datetime where c.id = :id")
+    int updateCvFile(@Param("id") Long id, @Param("file") String file);
+
+    @Modifying
+    @Transactional
+    @Query("update Candidate c set c.motivationalLetterFile = :file, c.updatedAt = local datetime where c.id = :id")
+    int updateMotivationalLetterFile(@Param("id") Long id, @Param("file") String file);
 }
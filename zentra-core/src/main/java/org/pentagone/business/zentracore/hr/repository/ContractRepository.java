@@ -2,7 +2,11 @@ package org.pentagone.business.zentracore.hr.repository;
 
 import org.pentagone.business.zentracore.hr.entity.Contract;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -12,4 +16,12 @@ public interface ContractRepository extends JpaRepository<Contract, Long> {
     List<Contract> findByEmployeeId(Long employeeId);
     Optional<Contract> findByContractNumber(String contractNumber);
     boolean existsByContractNumber(String contractNumber);
+
+    @Query("select c.contractFile from Contract c where c.id = :id")
+    Optional<String> findContractFileById(@Param("id") Long id);
+
+    @Modifying
+    @Transactional
+    @Query("update Contract c set c.contractFile = :file, c.updatedAt = local datetime where c.id = :id")
+    int updateContractFile(@Param("id") Long id, @Param("file") String file);
 }
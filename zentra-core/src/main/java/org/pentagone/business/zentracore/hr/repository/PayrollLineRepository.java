@@ -0,0 +1,13 @@
+package org.pentagone.business.zentracore.hr.repository;
+
+import org.pentagone.business.zentracore.hr.entity.PayrollLine;
+import org.pentagone.business.zentracore.hr.entity.PayrollLineId;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PayrollLineRepository extends JpaRepository<PayrollLine, PayrollLineId> {
+    Page<PayrollLine> findByIdRunId(Long runId, Pageable pageable);
+}
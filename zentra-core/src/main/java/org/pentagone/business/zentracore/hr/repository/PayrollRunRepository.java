@@ -0,0 +1,12 @@
+package org.pentagone.business.zentracore.hr.repository;
+
+import org.pentagone.business.zentracore.hr.entity.PayrollRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+@Repository
+public interface PayrollRunRepository extends JpaRepository<PayrollRun, Long> {
+    boolean existsByPeriodStartAndStatus(LocalDate periodStart, String status);
+}
@@ -1,12 +1,36 @@
 package org.pentagone.business.zentracore.hr.repository;
 
+import jakarta.persistence.QueryHint;
+import org.pentagone.business.zentracore.hr.dto.QcmSummaryDto;
 import org.pentagone.business.zentracore.hr.entity.Qcm;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
-public interface QcmRepository extends JpaRepository<Qcm, Long> {
+public interface QcmRepository extends JpaRepository<Qcm, Long>, QcmSearchRepository {
     List<Qcm> findByTitleContainingIgnoreCase(String title);
+
+    @Query("select q from Qcm q left join fetch q.questions where q.id = :id")
+    Optional<Qcm> findWithQuestionsById(@Param("id") Long id);
+
+    @Query(value = "select new org.pentagone.business.zentracore.hr.dto.QcmSummaryDto(q.id, q.title, q.description, q.durationMinutes, q.totalScore, q.requiredScore, " +
+            "(select count(qu) from Question qu where qu.qcm = q)) from Qcm q",
+            countQuery = "select count(q) from Qcm q")
+    Page<QcmSummaryDto> findSummaries(Pageable pageable);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "50"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("select q from Qcm q order by q.id")
+    Stream<Qcm> streamAll();
 }
@@ -0,0 +1,9 @@
+package org.pentagone.business.zentracore.hr.repository;
+
+import org.pentagone.business.zentracore.hr.dto.QcmSearchResultDto;
+
+import java.util.List;
+
+public interface QcmSearchRepository {
+    List<QcmSearchResultDto> search(String query, int limit);
+}
@@ -0,0 +1,60 @@
+package org.pentagone.business.zentracore.hr.repository;
+
+import org.pentagone.business.zentracore.hr.dto.QcmSearchResultDto;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+// Ranked search over the tsvector columns declared in sql/indexes.sql. Every word of the query must match,
+// as a prefix so that partial words typed by authors already find results. Qcm hits rank above question
+// hits, which rank above choice hits.
+public class QcmSearchRepositoryImpl implements QcmSearchRepository {
+    private static final String SEARCH_SQL = """
+            with query as (select to_tsquery('simple', :query) as tsq)
+            select * from (
+                select 'QCM' as kind, q.id as qcm_id, null::bigint as question_id, null::bigint as choice_id,
+                       q.title as text, ts_rank(q.search_vector, query.tsq) as rank
+                from qcm q cross join query
+                where q.search_vector @@ query.tsq
+                union all
+                select 'QUESTION', qu.qcm_id, qu.id, null::bigint, qu.libelle, ts_rank(qu.search_vector, query.tsq) * 0.8
+                from question qu cross join query
+                where qu.search_vector @@ query.tsq
+                union all
+                select 'CHOICE', qu.qcm_id, c.question_id, c.id, c.libelle, ts_rank(c.search_vector, query.tsq) * 0.5
+                from choice c join question qu on qu.id = c.question_id cross join query
+                where c.search_vector @@ query.tsq
+            ) hits
+            order by rank desc
+            limit :limit
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public QcmSearchRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<QcmSearchResultDto> search(String query, int limit) {
+        String tsQuery = Arrays.stream(query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+        if (tsQuery.isEmpty()) return List.of();
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("query", tsQuery)
+                .addValue("limit", limit);
+        return jdbcTemplate.query(SEARCH_SQL, parameters, (rs, i) -> new QcmSearchResultDto(
+                rs.getString("kind"),
+                rs.getLong("qcm_id"),
+                rs.getObject("question_id", Long.class),
+                rs.getObject("choice_id", Long.class),
+                rs.getString("text"),
+                rs.getDouble("rank")));
+    }
+}
@@ -2,6 +2,8 @@ package org.pentagone.business.zentracore.hr.repository;
 
 import org.pentagone.business.zentracore.hr.entity.Question;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,4 +12,7 @@ import java.util.List;
 public interface QuestionRepository extends JpaRepository<Question, Long> {
     List<Question> findByQcmId(Long qcmId);
     List<Question> findByRequired(boolean required);
+
+    @Query("select distinct q from Question q left join fetch q.choices where q.qcm.id = :qcmId")
+    List<Question> findWithChoicesByQcmId(@Param("qcmId") Long qcmId);
 }
@@ -2,12 +2,19 @@ package org.pentagone.business.zentracore.hr.repository;
 
 import org.pentagone.business.zentracore.hr.entity.Response;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ResponseRepository extends JpaRepository<Response, Long> {
     List<Response> findByAttemptId(Long attemptId);
     List<Response> findByChoiceId(Long choiceId);
+    boolean existsByChoiceIdIn(Collection<Long> choiceIds);
+
+    @Query("select r.choice.id from Response r where r.attempt.id = :attemptId")
+    List<Long> findChoiceIdsByAttemptId(@Param("attemptId") Long attemptId);
 }
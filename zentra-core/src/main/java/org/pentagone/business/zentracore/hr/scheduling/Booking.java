@@ -0,0 +1,17 @@
+package org.pentagone.business.zentracore.hr.scheduling;
+
+import java.time.LocalDateTime;
+
+/**
+ * Time an interview keeps its interviewer busy, as the half open interval [start, end).
+ */
+public record Booking(long interviewId, LocalDateTime start, LocalDateTime end) {
+    public Booking {
+        if (!end.isAfter(start))
+            throw new IllegalArgumentException("Interview must end after it starts");
+    }
+
+    public boolean overlaps(LocalDateTime from, LocalDateTime to) {
+        return start.isBefore(to) && end.isAfter(from);
+    }
+}
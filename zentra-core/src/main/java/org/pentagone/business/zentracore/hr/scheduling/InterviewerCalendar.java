@@ -0,0 +1,108 @@
+package org.pentagone.business.zentracore.hr.scheduling;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Interval index of the time an interviewer is busy. Bookings are merged into disjoint busy blocks held
+ * in a TreeMap keyed by start, so whether an interval is free is one floor and one higher lookup, O(log n)
+ * whatever the size of the agenda, and the next free slot skips a whole block per step. Bookings stay
+ * sorted by start too, so a cancellation only re-merges the block it belonged to.
+ * <p>
+ * Not thread safe, callers synchronize on the calendar.
+ */
+public class InterviewerCalendar {
+    private static final Comparator<Booking> BY_START = Comparator.comparing(Booking::start)
+            .thenComparingLong(Booking::interviewId);
+
+    private final TreeMap<LocalDateTime, LocalDateTime> blocks = new TreeMap<>();
+    private final TreeSet<Booking> bookings = new TreeSet<>(BY_START);
+    private final Map<Long, Booking> byId = new HashMap<>();
+
+    public int size() {
+        return byId.size();
+    }
+
+    public boolean isFree(LocalDateTime start, LocalDateTime end) {
+        return overlapping(start, end) == null;
+    }
+
+    // Bookings overlapping [start, end), in start order
+    public List<Booking> conflicts(LocalDateTime start, LocalDateTime end) {
+        List<Booking> conflicts = new ArrayList<>();
+        Map.Entry<LocalDateTime, LocalDateTime> block = overlapping(start, end);
+        if (block == null) return conflicts;
+        for (Booking booking : bookingsIn(block.getKey(), end.isAfter(block.getValue()) ? end : block.getValue())) {
+            if (booking.overlaps(start, end)) conflicts.add(booking);
+        }
+        return conflicts;
+    }
+
+    public void add(Booking booking) {
+        remove(booking.interviewId());
+        byId.put(booking.interviewId(), booking);
+        bookings.add(booking);
+        merge(booking.start(), booking.end());
+    }
+
+    public boolean remove(long interviewId) {
+        Booking booking = byId.remove(interviewId);
+        if (booking == null) return false;
+        bookings.remove(booking);
+        Map.Entry<LocalDateTime, LocalDateTime> block = blocks.floorEntry(booking.start());
+        blocks.remove(block.getKey());
+        for (Booking rest : bookingsIn(block.getKey(), block.getValue()))
+            merge(rest.start(), rest.end());
+        return true;
+    }
+
+    // Start of the first free interval of the given length at or after from, aligned on the working hours,
+    // or null when there is none before until
+    public LocalDateTime nextFree(LocalDateTime from, Duration length, WorkingHours hours, LocalDateTime until) {
+        LocalDateTime start = hours.align(from, length);
+        while (start.isBefore(until)) {
+            Map.Entry<LocalDateTime, LocalDateTime> busy = overlapping(start, start.plus(length));
+            if (busy == null) return start;
+            start = hours.align(busy.getValue(), length);
+        }
+        return null;
+    }
+
+    // Busy block overlapping [start, end). Blocks are disjoint so only the one starting at or before start
+    // and the first one starting after it can
+    private Map.Entry<LocalDateTime, LocalDateTime> overlapping(LocalDateTime start, LocalDateTime end) {
+        Map.Entry<LocalDateTime, LocalDateTime> before = blocks.floorEntry(start);
+        if (before != null && before.getValue().isAfter(start)) return before;
+        Map.Entry<LocalDateTime, LocalDateTime> after = blocks.higherEntry(start);
+        if (after != null && after.getKey().isBefore(end)) return after;
+        return null;
+    }
+
+    private void merge(LocalDateTime start, LocalDateTime end) {
+        Map.Entry<LocalDateTime, LocalDateTime> before = blocks.floorEntry(start);
+        if (before != null && !before.getValue().isBefore(start)) {
+            start = before.getKey();
+            if (before.getValue().isAfter(end)) end = before.getValue();
+        }
+        Map.Entry<LocalDateTime, LocalDateTime> next = blocks.ceilingEntry(start);
+        while (next != null && !next.getKey().isAfter(end)) {
+            if (next.getValue().isAfter(end)) end = next.getValue();
+            blocks.remove(next.getKey());
+            next = blocks.higherEntry(next.getKey());
+        }
+        blocks.put(start, end);
+    }
+
+    private NavigableSet<Booking> bookingsIn(LocalDateTime from, LocalDateTime to) {
+        return bookings.subSet(new Booking(Long.MIN_VALUE, from, from.plusNanos(1)), true,
+                new Booking(Long.MIN_VALUE, to, to.plusNanos(1)), false);
+    }
+}
@@ -0,0 +1,53 @@
+package org.pentagone.business.zentracore.hr.scheduling;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Window, Monday to Friday, in which interviews are suggested, cut into slots of {@code slotMinutes}
+ * counted from midnight.
+ */
+public record WorkingHours(LocalTime dayStart, LocalTime dayEnd, int slotMinutes) {
+    public WorkingHours {
+        if (!dayEnd.isAfter(dayStart))
+            throw new IllegalArgumentException("Working day must end after it starts");
+        if (slotMinutes < 1)
+            throw new IllegalArgumentException("Slot length must be positive");
+    }
+
+    public boolean fits(Duration length) {
+        return !length.isNegative() && !length.isZero() && length.compareTo(Duration.between(dayStart, dayEnd)) <= 0;
+    }
+
+    // First slot boundary at or after t where [slot, slot + length) lies inside a working day
+    public LocalDateTime align(LocalDateTime t, Duration length) {
+        if (!fits(length))
+            throw new IllegalArgumentException("Interview does not fit in a working day");
+        LocalDateTime candidate = roundUp(t);
+        while (true) {
+            LocalDate day = candidate.toLocalDate();
+            if (isWorkingDay(day)) {
+                LocalDateTime open = day.atTime(dayStart);
+                if (candidate.isBefore(open)) candidate = open;
+                if (!candidate.plus(length).isAfter(day.atTime(dayEnd))) return candidate;
+            }
+            candidate = day.plusDays(1).atTime(dayStart);
+        }
+    }
+
+    private LocalDateTime roundUp(LocalDateTime t) {
+        LocalDateTime minute = t.truncatedTo(ChronoUnit.MINUTES);
+        if (minute.isBefore(t)) minute = minute.plusMinutes(1);
+        int late = (minute.getHour() * 60 + minute.getMinute()) % slotMinutes;
+        return late == 0 ? minute : minute.plusMinutes(slotMinutes - late);
+    }
+
+    private static boolean isWorkingDay(LocalDate day) {
+        DayOfWeek dayOfWeek = day.getDayOfWeek();
+        return dayOfWeek != DayOfWeek.SATURDAY && dayOfWeek != DayOfWeek.SUNDAY;
+    }
+}
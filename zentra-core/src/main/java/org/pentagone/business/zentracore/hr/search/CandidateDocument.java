@@ -0,0 +1,9 @@
+package org.pentagone.business.zentracore.hr.search;
+
+/**
+ * What the search index knows of a candidate.
+ */
+public record CandidateDocument(long id, String firstName, String lastName, String city, String country,
+                                String educationLevel, String lastDegree, Integer yearsExperience, String skills,
+                                String cvText) {
+}
@@ -0,0 +1,288 @@
+package org.pentagone.business.zentracore.hr.search;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.facet.DrillDownQuery;
+import org.apache.lucene.facet.FacetResult;
+import org.apache.lucene.facet.Facets;
+import org.apache.lucene.facet.FacetsCollector;
+import org.apache.lucene.facet.FacetsCollectorManager;
+import org.apache.lucene.facet.FacetsConfig;
+import org.apache.lucene.facet.LabelAndValue;
+import org.apache.lucene.facet.sortedset.DefaultSortedSetDocValuesReaderState;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetCounts;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetField;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesReaderState;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexOptions;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.MultiTerms;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.index.Terms;
+import org.apache.lucene.index.TermsEnum;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.BytesRef;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Embedded Lucene index of candidate profiles and CV text, on local disk. Candidates are upserted by id,
+ * searches go through a SearcherManager reopened near real time from the IndexWriter (changes are visible
+ * within maxStaleSeconds without a commit), and facets come from SortedSetDocValues so counting them is a
+ * pass over the matching documents' ordinals.
+ * <p>
+ * Text is tokenized, lower cased and folded to ASCII, so "Développeur" matches "developpeur".
+ */
+public class CandidateIndex implements Closeable {
+    public static final String COUNTRY = "country";
+    public static final String EDUCATION_LEVEL = "educationLevel";
+    public static final String EXPERIENCE = "experience";
+    public static final List<String> FACETS = List.of(COUNTRY, EDUCATION_LEVEL, EXPERIENCE);
+    static final String[] HIGHLIGHTED = {"skills", "lastDegree", "city", "cv"};
+    private static final Map<String, Float> WEIGHTS = Map.of("skills", 3f, "lastDegree", 2f, "name", 2f, "city", 1f, "cv", 1f);
+    private static final String ID = "id";
+    private static final String INDEXED_AT = "indexedAt";
+    private static final String SYNCED_AT = "syncedAt";
+    private static final int FACET_VALUES = 20;
+    // CV text is long: offsets in the postings let the highlighter skip re-analysing it
+    private static final FieldType CV_TYPE = new FieldType(TextField.TYPE_STORED);
+
+    static {
+        CV_TYPE.setIndexOptions(IndexOptions.DOCS_AND_FREQS_AND_POSITIONS_AND_OFFSETS);
+        CV_TYPE.freeze();
+    }
+
+    private final Directory directory;
+    private final Analyzer analyzer = new Analyzer() {
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            Tokenizer tokenizer = new StandardTokenizer();
+            TokenStream stream = new ASCIIFoldingFilter(new LowerCaseFilter(tokenizer));
+            return new TokenStreamComponents(tokenizer, stream);
+        }
+    };
+    private final FacetsConfig facetsConfig = new FacetsConfig();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final ControlledRealTimeReopenThread<IndexSearcher> reopenThread;
+    private volatile FacetState facetState;
+
+    public CandidateIndex(Path path, double maxStaleSeconds) throws IOException {
+        this.directory = FSDirectory.open(path);
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer).setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        this.searcherManager = new SearcherManager(writer, null);
+        this.reopenThread = new ControlledRealTimeReopenThread<>(writer, searcherManager, maxStaleSeconds, Math.min(0.025, maxStaleSeconds));
+        this.reopenThread.setName("candidate-index-reopen");
+        this.reopenThread.setDaemon(true);
+        this.reopenThread.start();
+    }
+
+    public long size() {
+        return writer.getDocStats().numDocs;
+    }
+
+    public void update(CandidateDocument candidate, long indexedAt) throws IOException {
+        Document document = new Document();
+        document.add(new StringField(ID, Long.toString(candidate.id()), Field.Store.YES));
+        document.add(new LongPoint(INDEXED_AT, indexedAt));
+        document.add(new TextField("name", join(candidate.firstName(), candidate.lastName()), Field.Store.YES));
+        addText(document, "skills", candidate.skills());
+        addText(document, "lastDegree", candidate.lastDegree());
+        addText(document, "city", candidate.city());
+        if (candidate.cvText() != null && !candidate.cvText().isBlank())
+            document.add(new Field("cv", candidate.cvText(), CV_TYPE));
+        if (candidate.country() != null) document.add(new StoredField(COUNTRY, candidate.country()));
+        addFacet(document, COUNTRY, candidate.country());
+        addFacet(document, EDUCATION_LEVEL, candidate.educationLevel());
+        addFacet(document, EXPERIENCE, experienceBucket(candidate.yearsExperience()));
+        writer.updateDocument(new Term(ID, Long.toString(candidate.id())), facetsConfig.build(document));
+    }
+
+    public void delete(Collection<Long> ids) throws IOException {
+        if (ids.isEmpty()) return;
+        writer.deleteDocuments(ids.stream().map(id -> new Term(ID, Long.toString(id))).toArray(Term[]::new));
+    }
+
+    // Ids in the index, uncommitted changes included. An id deleted but not merged away yet may still be
+    // listed, deleting it again is harmless.
+    public List<Long> ids() throws IOException {
+        List<Long> ids = new ArrayList<>();
+        try (DirectoryReader reader = DirectoryReader.open(writer)) {
+            Terms terms = MultiTerms.getTerms(reader, ID);
+            if (terms == null) return ids;
+            TermsEnum termsEnum = terms.iterator();
+            for (BytesRef term; (term = termsEnum.next()) != null; )
+                ids.add(Long.parseLong(term.utf8ToString()));
+        }
+        return ids;
+    }
+
+    // Drops candidates last indexed before a full rebuild started, i.e. the ones the rebuild did not see
+    public void deleteIndexedBefore(long indexedAt) throws IOException {
+        writer.deleteDocuments(LongPoint.newRangeQuery(INDEXED_AT, Long.MIN_VALUE, indexedAt - 1));
+    }
+
+    // Durable point: every change made before syncedAt (epoch millis) is in the index
+    public void commit(long syncedAt) throws IOException {
+        writer.setLiveCommitData(Map.of(SYNCED_AT, Long.toString(syncedAt)).entrySet());
+        writer.commit();
+    }
+
+    public Long syncedAt() {
+        Iterable<Map.Entry<String, String>> data = writer.getLiveCommitData();
+        if (data == null) return null;
+        for (Map.Entry<String, String> entry : data) {
+            if (SYNCED_AT.equals(entry.getKey())) return Long.parseLong(entry.getValue());
+        }
+        return null;
+    }
+
+    public Result search(String text, Map<String, String> filters, int offset, int limit) throws IOException {
+        Query query = text == null || text.isBlank() ? new MatchAllDocsQuery() : parse(text);
+        DrillDownQuery drillDown = new DrillDownQuery(facetsConfig, query);
+        filters.forEach((dimension, value) -> {
+            if (value != null && !value.isBlank()) drillDown.add(dimension, value);
+        });
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            if (searcher.getIndexReader().numDocs() == 0) return new Result(0, List.of(), Map.of());
+            FacetsCollectorManager.FacetsResult result = FacetsCollectorManager.search(searcher, drillDown, offset + limit,
+                    new FacetsCollectorManager());
+            TopDocs top = result.topDocs();
+            ScoreDoc[] page = top.scoreDocs.length <= offset ? new ScoreDoc[0]
+                    : Arrays.copyOfRange(top.scoreDocs, offset, top.scoreDocs.length);
+            TopDocs pageDocs = new TopDocs(top.totalHits, page);
+
+            Map<String, String[]> highlights = page.length == 0 || query instanceof MatchAllDocsQuery ? Map.of()
+                    : UnifiedHighlighter.builder(searcher, analyzer).build()
+                    .highlightFields(HIGHLIGHTED, query, pageDocs, new int[]{1, 1, 1, 2});
+            StoredFields storedFields = searcher.storedFields();
+            List<Hit> hits = new ArrayList<>(page.length);
+            for (int i = 0; i < page.length; i++) {
+                Document document = storedFields.document(page[i].doc);
+                Map<String, String> snippets = new LinkedHashMap<>();
+                for (String field : HIGHLIGHTED) {
+                    String[] values = highlights.get(field);
+                    if (values != null && values[i] != null) snippets.put(field, values[i]);
+                }
+                hits.add(new Hit(Long.parseLong(document.get(ID)), document.get("name"), document.get("city"),
+                        document.get(COUNTRY), page[i].score, snippets));
+            }
+
+            return new Result(top.totalHits.value, hits, facetCounts(searcher.getIndexReader(), result.facetsCollector()));
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reopenThread.close();
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    public static String experienceBucket(Integer years) {
+        if (years == null) return null;
+        if (years < 2) return "0-1";
+        if (years < 5) return "2-4";
+        if (years < 10) return "5-9";
+        return "10+";
+    }
+
+    private Query parse(String text) {
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, WEIGHTS);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        return parser.parse(text);
+    }
+
+    private Map<String, Map<String, Integer>> facetCounts(IndexReader reader, FacetsCollector collector) throws IOException {
+        Map<String, Map<String, Integer>> counts = new LinkedHashMap<>();
+        FACETS.forEach(dimension -> counts.put(dimension, new LinkedHashMap<>()));
+        Facets facets;
+        try {
+            facets = new SortedSetDocValuesFacetCounts(facetState(reader), collector);
+        } catch (IllegalArgumentException e) {
+            // No document has a facet value yet
+            return counts;
+        }
+        for (String dimension : FACETS) {
+            FacetResult result;
+            try {
+                result = facets.getTopChildren(FACET_VALUES, dimension);
+            } catch (IllegalArgumentException e) {
+                result = null;
+            }
+            if (result == null) continue;
+            for (LabelAndValue labelAndValue : result.labelValues)
+                counts.get(dimension).put(labelAndValue.label, labelAndValue.value.intValue());
+        }
+        return counts;
+    }
+
+    // Ordinal maps of the facet values, built once per reader: only a reopen can add values
+    private SortedSetDocValuesReaderState facetState(IndexReader reader) throws IOException {
+        FacetState current = facetState;
+        if (current == null || current.reader() != reader) {
+            current = new FacetState(reader, new DefaultSortedSetDocValuesReaderState(reader, facetsConfig));
+            facetState = current;
+        }
+        return current.state();
+    }
+
+    private static void addText(Document document, String field, String value) {
+        if (value != null && !value.isBlank()) document.add(new TextField(field, value, Field.Store.YES));
+    }
+
+    private static void addFacet(Document document, String dimension, String value) {
+        if (value != null && !value.isBlank()) document.add(new SortedSetDocValuesFacetField(dimension, value.trim()));
+    }
+
+    private static String join(String firstName, String lastName) {
+        return ((firstName == null ? "" : firstName) + " " + (lastName == null ? "" : lastName)).trim();
+    }
+
+    public record Hit(long id, String name, String city, String country, float score, Map<String, String> highlights) {
+    }
+
+    public record Result(long total, List<Hit> hits, Map<String, Map<String, Integer>> facets) {
+    }
+
+    private record FacetState(IndexReader reader, SortedSetDocValuesReaderState state) {
+    }
+}
@@ -0,0 +1,77 @@
+package org.pentagone.business.zentracore.hr.search;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Plain text of a stored CV, for indexing. PDF goes through PDFBox, which reads the file through a random
+ * access buffer instead of loading it whole; DOCX is read from word/document.xml with StAX. Other formats
+ * have no text. The result is capped at maxChars, the start of a CV being the part worth searching.
+ */
+public final class CvTextExtractor {
+    private static final XMLInputFactory XML = XMLInputFactory.newFactory();
+
+    static {
+        XML.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        XML.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    private CvTextExtractor() {
+    }
+
+    public static String extract(Path file, String contentType, int maxChars) throws IOException {
+        String text = switch (contentType) {
+            case "application/pdf" -> pdf(file);
+            case "application/vnd.openxmlformats-officedocument.wordprocessingml.document" -> docx(file, maxChars);
+            default -> "";
+        };
+        return text.length() > maxChars ? text.substring(0, maxChars) : text;
+    }
+
+    private static String pdf(Path file) throws IOException {
+        try (PDDocument document = Loader.loadPDF(file.toFile())) {
+            return new PDFTextStripper().getText(document);
+        }
+    }
+
+    private static String docx(Path file, int maxChars) throws IOException {
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            ZipEntry entry = zip.getEntry("word/document.xml");
+            if (entry == null) return "";
+            StringBuilder text = new StringBuilder();
+            try (InputStream in = zip.getInputStream(entry)) {
+                XMLStreamReader reader = XML.createXMLStreamReader(in);
+                boolean inText = false;
+                while (reader.hasNext() && text.length() < maxChars) {
+                    switch (reader.next()) {
+                        case XMLStreamConstants.START_ELEMENT -> inText = "t".equals(reader.getLocalName());
+                        case XMLStreamConstants.END_ELEMENT -> {
+                            if ("p".equals(reader.getLocalName())) text.append('\n');
+                            inText = false;
+                        }
+                        case XMLStreamConstants.CHARACTERS -> {
+                            if (inText) text.append(reader.getText());
+                        }
+                        default -> {
+                        }
+                    }
+                }
+                reader.close();
+            } catch (XMLStreamException e) {
+                throw new IOException("Unreadable DOCX document", e);
+            }
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package org.pentagone.business.zentracore.hr.service;
+
+import org.pentagone.business.zentracore.common.util.CursorPage;
+import org.pentagone.business.zentracore.hr.dto.ApplicationStatusChangeDto;
+import org.pentagone.business.zentracore.hr.dto.ApplicationSummaryDto;
+
+public interface ApplicationService {
+    CursorPage<ApplicationSummaryDto> getApplications(Long publicationId, Long candidateId, String status, String cursor, int size);
+    ApplicationSummaryDto changeStatus(Long applicationId, ApplicationStatusChangeDto change);
+}
@@ -0,0 +1,10 @@
+package org.pentagone.business.zentracore.hr.service;
+
+import org.pentagone.business.zentracore.hr.dto.AttemptDto;
+import org.pentagone.business.zentracore.hr.dto.AttemptSubmissionDto;
+
+import java.util.List;
+
+public interface AttemptService {
+    List<AttemptDto> submitAttempts(List<AttemptSubmissionDto> submissions);
+}
@@ -0,0 +1,15 @@
+package org.pentagone.business.zentracore.hr.service;
+
+import org.pentagone.business.zentracore.hr.dto.CandidateDto;
+import org.pentagone.business.zentracore.hr.dto.DedupScanJobDto;
+import org.pentagone.business.zentracore.hr.dto.DuplicateCandidateDto;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface CandidateDedupService {
+    List<DuplicateCandidateDto> findDuplicates(CandidateDto candidate);
+    List<DuplicateCandidateDto> getDuplicates(Long candidateId);
+    DedupScanJobDto startScan();
+    DedupScanJobDto getScan(UUID scanId);
+}
@@ -0,0 +1,13 @@
+package org.pentagone.business.zentracore.hr.service;
+
+import org.pentagone.business.zentracore.hr.dto.CandidateImportJobDto;
+import org.pentagone.business.zentracore.hr.model.CandidateImportJob;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
+
+public interface CandidateImportService {
+    CandidateImportJobDto startImport(InputStream in, CandidateImportJob.Format format) throws IOException;
+    CandidateImportJobDto getJob(UUID jobId);
+}
@@ -0,0 +1,8 @@
+package org.pentagone.business.zentracore.hr.service;
+
+import org.pentagone.business.zentracore.hr.dto.CandidateSearchResultDto;
+
+public interface CandidateSearchService {
+    CandidateSearchResultDto search(String query, String country, String educationLevel, String experience, int page, int size);
+    void rebuild();
+}
@@ -0,0 +1,9 @@
+package org.pentagone.business.zentracore.hr.service;
+
+import org.pentagone.business.zentracore.hr.dto.ContractDeadlineDto;
+
+import java.util.List;
+
+public interface ContractDeadlineService {
+    List<ContractDeadlineDto> getUpcoming(int days);
+}
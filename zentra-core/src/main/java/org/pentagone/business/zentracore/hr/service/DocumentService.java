@@ -0,0 +1,15 @@
+package org.pentagone.business.zentracore.hr.service;
+
+import org.pentagone.business.zentracore.hr.dto.DocumentDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface DocumentService {
+    DocumentDto attachCv(Long candidateId, InputStream content) throws IOException;
+    DocumentDto attachMotivationalLetter(Long candidateId, InputStream content) throws IOException;
+    DocumentDto attachContractFile(Long contractId, InputStream content) throws IOException;
+    String getCvHash(Long candidateId);
+    String getMotivationalLetterHash(Long candidateId);
+    String getContractFileHash(Long contractId);
+}
@@ -0,0 +1,15 @@
+package org.pentagone.business.zentracore.hr.service;
+
+import org.pentagone.business.zentracore.hr.dto.AttemptDto;
+import org.pentagone.business.zentracore.hr.dto.ExamSessionDto;
+import org.pentagone.business.zentracore.hr.dto.ExamSessionStartDto;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface ExamSessionService {
+    ExamSessionDto startSession(ExamSessionStartDto startDto);
+    ExamSessionDto getSession(UUID sessionId);
+    ExamSessionDto answer(UUID sessionId, Long questionId, List<Long> choiceIds);
+    AttemptDto submit(UUID sessionId);
+}
@@ -0,0 +1,12 @@
+package org.pentagone.business.zentracore.hr.service;
+
+import org.pentagone.business.zentracore.hr.dto.AttemptDto;
+import org.pentagone.business.zentracore.hr.dto.RegradeReportDto;
+import org.pentagone.business.zentracore.hr.grading.GradeSheet;
+import org.pentagone.business.zentracore.hr.model.CompiledQcm;
+
+public interface GradingService {
+    AttemptDto gradeAttempt(Long attemptId);
+    RegradeReportDto regradeQcm(Long qcmId);
+    GradeSheet grade(CompiledQcm qcm, long[] choiceIds);
+}
@@ -0,0 +1,13 @@
+package org.pentagone.business.zentracore.hr.service;
+
+import org.pentagone.business.zentracore.hr.dto.InterviewDto;
+import org.pentagone.business.zentracore.hr.dto.SlotRequestDto;
+import org.pentagone.business.zentracore.hr.dto.SlotSuggestionDto;
+
+import java.util.List;
+
+public interface InterviewService {
+    InterviewDto scheduleInterview(InterviewDto interviewDto);
+    void cancelInterview(Long id);
+    List<SlotSuggestionDto> suggestSlots(SlotRequestDto request);
+}
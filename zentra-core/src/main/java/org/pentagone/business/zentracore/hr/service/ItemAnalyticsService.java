@@ -0,0 +1,12 @@
+package org.pentagone.business.zentracore.hr.service;
+
+import org.pentagone.business.zentracore.hr.dto.ItemAnalyticsDto;
+import org.pentagone.business.zentracore.hr.dto.StatisticsRebuildReportDto;
+import org.pentagone.business.zentracore.hr.grading.ItemStatistics;
+
+public interface ItemAnalyticsService {
+    void record(ItemStatistics statistics);
+    ItemAnalyticsDto getQcmAnalytics(Long qcmId);
+    int rebuildQcm(Long qcmId);
+    StatisticsRebuildReportDto rebuildAll();
+}
@@ -0,0 +1,9 @@
+package org.pentagone.business.zentracore.hr.service;
+
+import org.pentagone.business.zentracore.hr.dto.LeaderboardEntryDto;
+
+import java.util.List;
+
+public interface LeaderboardService {
+    List<LeaderboardEntryDto> getLeaderboard(Long publicationId, int limit);
+}
@@ -0,0 +1,11 @@
+package org.pentagone.business.zentracore.hr.service;
+
+import org.pentagone.business.zentracore.hr.dto.MatchDto;
+
+import java.util.List;
+
+public interface MatchingService {
+    List<MatchDto> topCandidates(Long publicationId, int k);
+    List<MatchDto> topPublications(Long candidateId, int k);
+    void refresh();
+}
@@ -0,0 +1,11 @@
+package org.pentagone.business.zentracore.hr.service;
+
+import org.pentagone.business.zentracore.hr.dto.DepartmentSummaryDto;
+import org.pentagone.business.zentracore.hr.dto.OrgSummaryRebuildReportDto;
+
+import java.util.List;
+
+public interface OrgSummaryService {
+    List<DepartmentSummaryDto> getDepartmentSummaries(boolean includeJobs);
+    OrgSummaryRebuildReportDto rebuild();
+}
@@ -0,0 +1,13 @@
+package org.pentagone.business.zentracore.hr.service;
+
+import org.pentagone.business.zentracore.common.util.PageResponse;
+import org.pentagone.business.zentracore.hr.dto.PayrollLineDto;
+import org.pentagone.business.zentracore.hr.dto.PayrollRunDto;
+
+import java.time.YearMonth;
+
+public interface PayrollService {
+    PayrollRunDto run(YearMonth period);
+    PayrollRunDto getRun(Long runId);
+    PageResponse<PayrollLineDto> getLines(Long runId, int page, int size);
+}
@@ -0,0 +1,8 @@
+package org.pentagone.business.zentracore.hr.service;
+
+import org.pentagone.business.zentracore.hr.dto.PublicationLifecycleReportDto;
+
+public interface PublicationLifecycleService {
+    PublicationLifecycleReportDto run();
+    PublicationLifecycleReportDto closeIfFilled(Long publicationId);
+}
@@ -1,13 +1,27 @@
 package org.pentagone.business.zentracore.hr.service;
 
+import org.pentagone.business.zentracore.common.util.CacheStats;
+import org.pentagone.business.zentracore.common.util.PageResponse;
+import org.pentagone.business.zentracore.hr.dto.ImportReportDto;
 import org.pentagone.business.zentracore.hr.dto.QcmDto;
+import org.pentagone.business.zentracore.hr.dto.QcmSearchResultDto;
+import org.pentagone.business.zentracore.hr.dto.QcmSummaryDto;
+import org.pentagone.business.zentracore.hr.model.CompiledQcm;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface QcmService {
     QcmDto createQcm(QcmDto qcmDto);
     QcmDto updateQcm(QcmDto qcmDto);
     QcmDto getQcmById(Long id);
-    List<QcmDto> getQcms();
+    CompiledQcm getCompiledQcm(Long id);
+    PageResponse<QcmSummaryDto> getQcms(int page, int size);
+    List<QcmSearchResultDto> searchQcms(String query, int limit);
     void deleteById(Long id);
+    CacheStats getCacheStats();
+    void exportQcms(OutputStream out) throws IOException;
+    ImportReportDto importQcms(InputStream in) throws IOException;
 }
@@ -0,0 +1,88 @@
+package org.pentagone.business.zentracore.hr.service.impl;
+
+import org.pentagone.business.zentracore.common.exception.EntityNotFoundException;
+import org.pentagone.business.zentracore.common.outbox.Outbox;
+import org.pentagone.business.zentracore.common.util.CursorPage;
+import org.pentagone.business.zentracore.common.util.KeysetCursor;
+import org.pentagone.business.zentracore.hr.dto.ApplicationStatusChangeDto;
+import org.pentagone.business.zentracore.hr.dto.ApplicationSummaryDto;
+import org.pentagone.business.zentracore.hr.entity.Application;
+import org.pentagone.business.zentracore.hr.entity.ApplicationStatus;
+import org.pentagone.business.zentracore.hr.event.ApplicationStatusChanged;
+import org.pentagone.business.zentracore.hr.repository.ApplicationRepository;
+import org.pentagone.business.zentracore.hr.service.ApplicationService;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+public class ApplicationServiceImpl implements ApplicationService {
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ApplicationRepository applicationRepository;
+    private final Outbox outbox;
+
+    public ApplicationServiceImpl(ApplicationRepository applicationRepository, Outbox outbox) {
+        this.applicationRepository = applicationRepository;
+        this.outbox = outbox;
+    }
+
+    // One row more than the page size is fetched to know whether a next page exists without counting.
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ApplicationSummaryDto> getApplications(Long publicationId, Long candidateId, String statusLabel, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE)
+            throw new IllegalArgumentException("Size must be between 1 and " + MAX_PAGE_SIZE);
+        ApplicationStatus status = ApplicationStatus.of(statusLabel);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Limit limit = Limit.of(size + 1);
+        List<ApplicationSummaryDto> rows;
+        // Every filter given applies; the candidate, the most selective, leads when present
+        if (candidateId != null && publicationId != null && status != null)
+            rows = applicationRepository.findPageByCandidateIdAndPublicationIdAndStatus(candidateId, publicationId, status, after.at(), after.id(), limit);
+        else if (candidateId != null && publicationId != null)
+            rows = applicationRepository.findPageByCandidateIdAndPublicationId(candidateId, publicationId, after.at(), after.id(), limit);
+        else if (candidateId != null && status != null)
+            rows = applicationRepository.findPageByCandidateIdAndStatus(candidateId, status, after.at(), after.id(), limit);
+        else if (candidateId != null)
+            rows = applicationRepository.findPageByCandidateId(candidateId, after.at(), after.id(), limit);
+        else if (publicationId != null && status != null)
+            rows = applicationRepository.findPageByPublicationIdAndStatus(publicationId, status, after.at(), after.id(), limit);
+        else if (publicationId != null)
+            rows = applicationRepository.findPageByPublicationId(publicationId, after.at(), after.id(), limit);
+        else if (status != null)
+            rows = applicationRepository.findPageByStatus(status, after.at(), after.id(), limit);
+        else
+            throw new IllegalArgumentException("Publication, candidate or status is required");
+
+        if (rows.size() <= size)
+            return new CursorPage<>(rows, null, false);
+        List<ApplicationSummaryDto> content = rows.subList(0, size);
+        ApplicationSummaryDto last = content.get(size - 1);
+        return new CursorPage<>(content, new KeysetCursor(last.getAppliedAt(), last.getId()).encode(), true);
+    }
+
+    // The application row is locked so concurrent transitions are checked one after the other. Side effects
+    // (grading, notifications...) only get an outbox row here and run after commit on the OutboxDispatcher.
+    @Override
+    @Transactional
+    public ApplicationSummaryDto changeStatus(Long applicationId, ApplicationStatusChangeDto change) {
+        if (change.getStatus() == null)
+            throw new IllegalArgumentException("Status is empty");
+        Application application = applicationRepository.findForUpdateById(applicationId)
+                .orElseThrow(() -> new EntityNotFoundException("Application not found"));
+        ApplicationStatus from = application.getStatus();
+        if (!from.canTransitionTo(change.getStatus()))
+            throw new IllegalArgumentException("Application cannot go from " + from.getLabel() + " to " + change.getStatus().getLabel());
+        application.setStatus(change.getStatus());
+        if (change.getComment() != null) application.setComment(change.getComment());
+        outbox.publish(ApplicationStatusChanged.AGGREGATE, applicationId, ApplicationStatusChanged.TYPE,
+                new ApplicationStatusChanged(applicationId, from, change.getStatus(), change.getComment(), LocalDateTime.now()));
+        return new ApplicationSummaryDto(application.getId(), application.getAppliedAt(), application.getStatus(),
+                application.getDocumentScore(), application.getScore(), application.getPublication().getId(),
+                application.getCandidate().getId());
+    }
+}
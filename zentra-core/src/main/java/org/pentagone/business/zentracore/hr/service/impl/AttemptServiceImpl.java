@@ -0,0 +1,124 @@
+package org.pentagone.business.zentracore.hr.service.impl;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.pentagone.business.zentracore.common.exception.EntityNotFoundException;
+import org.pentagone.business.zentracore.hr.dto.AttemptDto;
+import org.pentagone.business.zentracore.hr.dto.AttemptSubmissionDto;
+import org.pentagone.business.zentracore.hr.entity.Application;
+import org.pentagone.business.zentracore.hr.entity.Attempt;
+import org.pentagone.business.zentracore.hr.entity.Choice;
+import org.pentagone.business.zentracore.hr.entity.Qcm;
+import org.pentagone.business.zentracore.hr.entity.Response;
+import org.pentagone.business.zentracore.hr.grading.GradeSheet;
+import org.pentagone.business.zentracore.hr.grading.ItemStatistics;
+import org.pentagone.business.zentracore.hr.mapper.AttemptMapper;
+import org.pentagone.business.zentracore.hr.model.CompiledQcm;
+import org.pentagone.business.zentracore.hr.repository.ApplicationRepository;
+import org.pentagone.business.zentracore.hr.repository.AttemptRepository;
+import org.pentagone.business.zentracore.hr.service.AttemptService;
+import org.pentagone.business.zentracore.hr.service.GradingService;
+import org.pentagone.business.zentracore.hr.service.ItemAnalyticsService;
+import org.pentagone.business.zentracore.hr.service.QcmService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class AttemptServiceImpl implements AttemptService {
+    private final ApplicationRepository applicationRepository;
+    private final AttemptRepository attemptRepository;
+    private final QcmService qcmService;
+    private final GradingService gradingService;
+    private final ItemAnalyticsService itemAnalyticsService;
+    private final AttemptMapper attemptMapper;
+    private final int batchSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public AttemptServiceImpl(ApplicationRepository applicationRepository, AttemptRepository attemptRepository,
+                              QcmService qcmService, GradingService gradingService,
+                              ItemAnalyticsService itemAnalyticsService, AttemptMapper attemptMapper,
+                              @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        this.applicationRepository = applicationRepository;
+        this.attemptRepository = attemptRepository;
+        this.qcmService = qcmService;
+        this.gradingService = gradingService;
+        this.itemAnalyticsService = itemAnalyticsService;
+        this.attemptMapper = attemptMapper;
+        this.batchSize = batchSize;
+    }
+
+    private void verifySubmissions(List<AttemptSubmissionDto> submissions) {
+        if (submissions == null || submissions.isEmpty())
+            throw new IllegalArgumentException("Submissions is empty");
+        Set<Long> applicationIds = new HashSet<>();
+        for (AttemptSubmissionDto submission : submissions) {
+            if (submission.getQcmId() == null)
+                throw new IllegalArgumentException("Qcm is empty");
+            if (submission.getApplicationId() == null)
+                throw new IllegalArgumentException("Application is empty");
+            if (!applicationIds.add(submission.getApplicationId()))
+                throw new IllegalArgumentException("Application " + submission.getApplicationId() + " is submitted twice");
+        }
+        Set<Long> existing = new HashSet<>(applicationRepository.findExistingIds(applicationIds));
+        applicationIds.stream().filter(id -> !existing.contains(id)).findFirst().ifPresent(id -> {
+            throw new EntityNotFoundException("Application " + id + " not found");
+        });
+        attemptRepository.findApplicationIdsWithAttempt(applicationIds).stream().findFirst().ifPresent(id -> {
+            throw new IllegalArgumentException("Application " + id + " already has an attempt");
+        });
+    }
+
+    // References are used for the qcm, application and choices so that building the graph issues no
+    // SELECT, and the persistence context is flushed and cleared every batch so inserts go out as JDBC
+    // batches and memory stays bounded whatever the size of the submission. The item statistics of the whole
+    // submission are accumulated while grading and added in the same transaction.
+    @Override
+    @Transactional
+    public List<AttemptDto> submitAttempts(List<AttemptSubmissionDto> submissions) {
+        verifySubmissions(submissions);
+        List<AttemptDto> result = new ArrayList<>(submissions.size());
+        ItemStatistics statistics = new ItemStatistics();
+        int pending = 0;
+        for (AttemptSubmissionDto submission : submissions) {
+            CompiledQcm qcm = qcmService.getCompiledQcm(submission.getQcmId());
+            long[] choiceIds = submission.getChoiceIds() == null ? new long[0]
+                    : submission.getChoiceIds().stream().mapToLong(Long::longValue).toArray();
+            GradeSheet sheet = gradingService.grade(qcm, choiceIds);
+            if (sheet.getUnknownChoices() > 0)
+                throw new IllegalArgumentException("Choices do not belong to qcm " + qcm.id());
+            statistics.add(qcm.id(), qcm.answerKey(), choiceIds, sheet);
+
+            Attempt attempt = new Attempt();
+            attempt.setQcm(entityManager.getReference(Qcm.class, qcm.id()));
+            attempt.setApplication(entityManager.getReference(Application.class, submission.getApplicationId()));
+            attempt.setObtainedScore(sheet.getScore());
+            List<Response> responses = new ArrayList<>(choiceIds.length);
+            for (long choiceId : choiceIds) {
+                Response response = new Response();
+                response.setAttempt(attempt);
+                response.setChoice(entityManager.getReference(Choice.class, choiceId));
+                responses.add(response);
+            }
+            attempt.setResponses(responses);
+            entityManager.persist(attempt);
+            result.add(attemptMapper.toDto(attempt));
+
+            if (++pending == batchSize) {
+                entityManager.flush();
+                entityManager.clear();
+                pending = 0;
+            }
+        }
+        entityManager.flush();
+        itemAnalyticsService.record(statistics);
+        return result;
+    }
+}
@@ -0,0 +1,433 @@
+package org.pentagone.business.zentracore.hr.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.pentagone.business.zentracore.common.exception.ConflictException;
+import org.pentagone.business.zentracore.common.exception.EntityNotFoundException;
+import org.pentagone.business.zentracore.common.util.AfterCommitWorker;
+import org.pentagone.business.zentracore.common.util.BoundedCache;
+import org.pentagone.business.zentracore.hr.dedup.CandidateFeatures;
+import org.pentagone.business.zentracore.hr.dedup.MinHasher;
+import org.pentagone.business.zentracore.hr.dto.CandidateDto;
+import org.pentagone.business.zentracore.hr.dto.DedupScanJobDto;
+import org.pentagone.business.zentracore.hr.dto.DuplicateCandidateDto;
+import org.pentagone.business.zentracore.hr.event.CandidatesChangedEvent;
+import org.pentagone.business.zentracore.hr.model.DedupScanJob;
+import org.pentagone.business.zentracore.hr.repository.CandidateRepository;
+import org.pentagone.business.zentracore.hr.service.CandidateDedupService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongBinaryOperator;
+
+// Every candidate carries a MinHash signature and its LSH band keys (candidate_signature, candidate_lsh_bucket),
+// so its likely duplicates are found with BANDS index lookups and a signature comparison against the few
+// candidates sharing a bucket, whatever the size of the table. Buckets holding more than max-bucket-size
+// candidates (a very common name with nothing else known) are ignored. Changed candidates are queued by id and
+// handled on one thread after commit, as for the search index; the full scan recomputes every signature over
+// id ranges in parallel, then compares the members of each bucket, again range by range. It runs in the background,
+// one at a time, and its progress is polled by id.
+@Slf4j
+@Service
+public class CandidateDedupServiceImpl implements CandidateDedupService {
+    private static final int BATCH_SIZE = 200;
+    private static final int MAX_IDS_PER_QUERY = 5000;
+    private static final int SLICES_PER_THREAD = 4;
+    private static final String COLUMNS = "select id, first_name, last_name, birth_date, phone, skills from candidate ";
+    // %s is the comparison between the two ids: <> for changed candidates, > for the scan (each pair once)
+    private static final String SHARED_BUCKETS = "select a.candidate_id, b.candidate_id from candidate_lsh_bucket a " +
+            "join candidate_lsh_bucket b on b.bucket = a.bucket and b.candidate_id %s a.candidate_id " +
+            "where a.candidate_id in (:ids) " +
+            "and (select count(*) from candidate_lsh_bucket c where c.bucket = a.bucket) <= :maxBucketSize";
+    private static final String UPSERT_DUPLICATE = "insert into candidate_duplicate (candidate_id, duplicate_id, similarity, detected_at) " +
+            "values (:candidateId, :duplicateId, :similarity, :now) on conflict (candidate_id, duplicate_id) " +
+            "do update set similarity = excluded.similarity, detected_at = excluded.detected_at";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final CandidateRepository candidateRepository;
+    private final double threshold;
+    private final int maxBucketSize;
+    private final int scanThreads;
+    private final AtomicReference<DedupScanJob> runningScan = new AtomicReference<>();
+    private final BoundedCache<UUID, DedupScanJob> finishedScans = new BoundedCache<>(20, Duration.ofDays(1));
+    private final AfterCommitWorker worker = new AfterCommitWorker("candidate-dedup");
+    private final AfterCommitWorker.IdQueue changedCandidates = worker.queue(this::applyPending);
+    private final ExecutorService scanner;
+    private final ExecutorService scanJobs = Executors.newSingleThreadExecutor();
+
+    public CandidateDedupServiceImpl(DataSource dataSource, PlatformTransactionManager transactionManager,
+                                     CandidateRepository candidateRepository,
+                                     @Value("${zentra.dedup.threshold:0.6}") double threshold,
+                                     @Value("${zentra.dedup.max-bucket-size:50}") int maxBucketSize,
+                                     @Value("${zentra.dedup.scan-threads:4}") int scanThreads) {
+        if (threshold <= 0 || threshold > 1)
+            throw new IllegalArgumentException("zentra.dedup.threshold must be in (0, 1]");
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.candidateRepository = candidateRepository;
+        this.threshold = threshold;
+        this.maxBucketSize = maxBucketSize;
+        this.scanThreads = Math.max(1, scanThreads);
+        AtomicInteger threads = new AtomicInteger();
+        this.scanner = Executors.newFixedThreadPool(this.scanThreads, runnable -> {
+            Thread thread = new Thread(runnable, "candidate-dedup-scan-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Checks a candidate before it is saved (or an existing one, whose own id is left out), nothing is written
+    @Override
+    public List<DuplicateCandidateDto> findDuplicates(CandidateDto candidate) {
+        long[] features = CandidateFeatures.of(candidate.getFirstName(), candidate.getLastName(), candidate.getBirthDate(),
+                candidate.getPhone(), candidate.getSkills());
+        if (features.length == 0) return List.of();
+        int[] signature = MinHasher.signature(features);
+        List<Long> buckets = new ArrayList<>(MinHasher.BANDS);
+        for (long band : MinHasher.bands(signature))
+            buckets.add(band);
+        List<Long> sharing = jdbcTemplate.queryForList("select distinct b.candidate_id from candidate_lsh_bucket b " +
+                        "where b.bucket in (:buckets) " +
+                        "and (select count(*) from candidate_lsh_bucket c where c.bucket = b.bucket) <= :maxBucketSize",
+                new MapSqlParameterSource("buckets", buckets).addValue("maxBucketSize", maxBucketSize), Long.class);
+        Map<Long, Double> similar = new HashMap<>();
+        signatures(sharing).forEach((id, other) -> {
+            double similarity = MinHasher.similarity(signature, other);
+            if (similarity >= threshold && !id.equals(candidate.getId())) similar.put(id, similarity);
+        });
+        return describe(similar);
+    }
+
+    @Override
+    public List<DuplicateCandidateDto> getDuplicates(Long candidateId) {
+        if (!candidateRepository.existsById(candidateId))
+            throw new EntityNotFoundException("Candidate not found");
+        Map<Long, Double> similar = new HashMap<>();
+        jdbcTemplate.query("select candidate_id, duplicate_id, similarity from candidate_duplicate " +
+                "where candidate_id = :id or duplicate_id = :id", new MapSqlParameterSource("id", candidateId), rs -> {
+            long low = rs.getLong(1);
+            similar.put(low == candidateId ? rs.getLong(2) : low, rs.getDouble(3));
+        });
+        return describe(similar);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCandidatesChanged(CandidatesChangedEvent event) {
+        changedCandidates.addAll(event.candidateIds());
+    }
+
+    private void applyPending(Set<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        for (int from = 0; from < all.size(); from += BATCH_SIZE) {
+            List<Long> batch = all.subList(from, Math.min(all.size(), from + BATCH_SIZE));
+            try {
+                transaction.executeWithoutResult(status -> refresh(batch));
+            } catch (RuntimeException e) {
+                log.error("Could not look for duplicates of candidates {}", batch, e);
+            }
+        }
+    }
+
+    // New signatures first, then every pair the batch is part of is compared again: the ones sharing a bucket
+    // now and the ones recorded before, which no longer stand if the candidate changed enough.
+    private void refresh(List<Long> batch) {
+        LocalDateTime now = LocalDateTime.now();
+        storeSignatures(batch, loadSignatures(COLUMNS + "where id in (:ids)", new MapSqlParameterSource("ids", batch)), now);
+        Set<Pair> pairs = new HashSet<>();
+        MapSqlParameterSource parameters = new MapSqlParameterSource("ids", batch).addValue("maxBucketSize", maxBucketSize);
+        jdbcTemplate.query(SHARED_BUCKETS.formatted("<>"), parameters, rs -> {
+            pairs.add(Pair.of(rs.getLong(1), rs.getLong(2)));
+        });
+        jdbcTemplate.query("select candidate_id, duplicate_id from candidate_duplicate " +
+                "where candidate_id in (:ids) or duplicate_id in (:ids)", parameters, rs -> {
+            pairs.add(Pair.of(rs.getLong(1), rs.getLong(2)));
+        });
+        Map<Pair, Double> duplicates = verify(pairs);
+        jdbcTemplate.update("delete from candidate_duplicate where candidate_id in (:ids) or duplicate_id in (:ids)", parameters);
+        storeDuplicates(duplicates, now);
+    }
+
+    @Override
+    public DedupScanJobDto startScan() {
+        DedupScanJob scan = new DedupScanJob();
+        if (!runningScan.compareAndSet(null, scan))
+            throw new ConflictException("A duplicate scan is already running");
+        scanJobs.execute(() -> run(scan));
+        return toDto(scan);
+    }
+
+    @Override
+    public DedupScanJobDto getScan(UUID scanId) {
+        DedupScanJob scan = runningScan.get();
+        if (scan == null || !scan.getId().equals(scanId)) scan = finishedScans.get(scanId);
+        if (scan == null)
+            throw new EntityNotFoundException("Duplicate scan not found");
+        return toDto(scan);
+    }
+
+    // The scan is cached before it stops being the running one, so a poll in between still finds it
+    private void run(DedupScanJob scan) {
+        scan.start();
+        String failure = null;
+        try {
+            scanAll(scan);
+        } catch (RuntimeException e) {
+            log.error("Duplicate scan {} failed", scan.getId(), e);
+            failure = e.getMessage();
+        } finally {
+            scan.finish(failure);
+            finishedScans.put(scan.getId(), scan);
+            runningScan.set(null);
+        }
+    }
+
+    // Two passes over the same id ranges, the second needs every signature of the first. Pairs not found
+    // again are removed at the end, changes handled meanwhile by the dedup thread are newer and kept.
+    private void scanAll(DedupScanJob scan) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        Map<String, Object> bounds = jdbcTemplate.queryForMap("select min(id) as low, max(id) as high from candidate", Map.of());
+        if (bounds.get("low") == null) return;
+        long low = ((Number) bounds.get("low")).longValue();
+        long high = ((Number) bounds.get("high")).longValue();
+        scan.signed(inSlices(low, high, this::signSlice));
+        scan.found(inSlices(low, high, (from, to) -> compareSlice(from, to, scan)));
+        transaction.executeWithoutResult(status -> jdbcTemplate.update("delete from candidate_duplicate where detected_at < :startedAt",
+                new MapSqlParameterSource("startedAt", Timestamp.valueOf(startedAt))));
+        log.info("Duplicate scan: {} candidates, {} pairs compared, {} duplicates in {} ms", scan.getCandidates(),
+                scan.getComparedPairs(), scan.getDuplicatePairs(), Duration.between(scan.getStartedAt(), Instant.now()).toMillis());
+    }
+
+    // Splits [low, high] in ranges run on the scan threads and sums what they return
+    private long inSlices(long low, long high, LongBinaryOperator slice) {
+        int count = scanThreads * SLICES_PER_THREAD;
+        long width = Math.max(1, (high - low) / count + 1);
+        List<Future<Long>> futures = new ArrayList<>();
+        for (long from = low; from <= high; from += width) {
+            long sliceFrom = from;
+            long sliceTo = Math.min(high, from + width - 1);
+            futures.add(scanner.submit(() -> slice.applyAsLong(sliceFrom, sliceTo)));
+        }
+        long total = 0;
+        try {
+            for (Future<Long> future : futures)
+                total += future.get();
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Duplicate scan interrupted", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Duplicate scan failed", e.getCause());
+        }
+        return total;
+    }
+
+    private long signSlice(long from, long to) {
+        long count = 0;
+        long after = from - 1;
+        while (true) {
+            MapSqlParameterSource parameters = new MapSqlParameterSource("after", after).addValue("to", to).addValue("limit", BATCH_SIZE);
+            List<Long> ids = new ArrayList<>(BATCH_SIZE);
+            Map<Long, int[]> signatures = new LinkedHashMap<>();
+            jdbcTemplate.query(COLUMNS + "where id > :after and id <= :to order by id limit :limit", parameters, rs -> {
+                ids.add(rs.getLong("id"));
+                sign(rs.getString("first_name"), rs.getString("last_name"), rs.getObject("birth_date", LocalDate.class),
+                        rs.getString("phone"), rs.getString("skills"), rs.getLong("id"), signatures);
+            });
+            if (ids.isEmpty()) return count;
+            LocalDateTime now = LocalDateTime.now();
+            transaction.executeWithoutResult(status -> storeSignatures(ids, signatures, now));
+            count += ids.size();
+            if (ids.size() < BATCH_SIZE) return count;
+            after = ids.get(ids.size() - 1);
+        }
+    }
+
+    // Duplicates found among the pairs whose lower id is in the range
+    private long compareSlice(long from, long to, DedupScanJob scan) {
+        long found = 0;
+        long after = from - 1;
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList("select candidate_id from candidate_signature " +
+                            "where candidate_id > :after and candidate_id <= :to order by candidate_id limit :limit",
+                    new MapSqlParameterSource("after", after).addValue("to", to).addValue("limit", BATCH_SIZE), Long.class);
+            if (ids.isEmpty()) return found;
+            Set<Pair> pairs = new HashSet<>();
+            jdbcTemplate.query(SHARED_BUCKETS.formatted(">"),
+                    new MapSqlParameterSource("ids", ids).addValue("maxBucketSize", maxBucketSize),
+                    rs -> {
+                        pairs.add(Pair.of(rs.getLong(1), rs.getLong(2)));
+                    });
+            Map<Pair, Double> duplicates = verify(pairs);
+            LocalDateTime now = LocalDateTime.now();
+            transaction.executeWithoutResult(status -> storeDuplicates(duplicates, now));
+            scan.compared(pairs.size());
+            found += duplicates.size();
+            if (ids.size() < BATCH_SIZE) return found;
+            after = ids.get(ids.size() - 1);
+        }
+    }
+
+    private Map<Long, int[]> loadSignatures(String sql, MapSqlParameterSource parameters) {
+        Map<Long, int[]> signatures = new LinkedHashMap<>();
+        jdbcTemplate.query(sql, parameters, rs -> {
+            sign(rs.getString("first_name"), rs.getString("last_name"), rs.getObject("birth_date", LocalDate.class),
+                    rs.getString("phone"), rs.getString("skills"), rs.getLong("id"), signatures);
+        });
+        return signatures;
+    }
+
+    // Candidates with nothing to compare on get no signature
+    private static void sign(String firstName, String lastName, LocalDate birthDate, String phone, String skills, long id,
+                             Map<Long, int[]> signatures) {
+        long[] features = CandidateFeatures.of(firstName, lastName, birthDate, phone, skills);
+        if (features.length > 0) signatures.put(id, MinHasher.signature(features));
+    }
+
+    // Replaces the signatures and buckets of ids, those without a new signature are left with none
+    private void storeSignatures(List<Long> ids, Map<Long, int[]> signatures, LocalDateTime now) {
+        MapSqlParameterSource idsParameter = new MapSqlParameterSource("ids", ids);
+        jdbcTemplate.update("delete from candidate_lsh_bucket where candidate_id in (:ids)", idsParameter);
+        jdbcTemplate.update("delete from candidate_signature where candidate_id in (:ids)", idsParameter);
+        if (signatures.isEmpty()) return;
+        List<SqlParameterSource> rows = new ArrayList<>(signatures.size());
+        List<SqlParameterSource> buckets = new ArrayList<>(signatures.size() * MinHasher.BANDS);
+        Timestamp computedAt = Timestamp.valueOf(now);
+        signatures.forEach((id, signature) -> {
+            rows.add(new MapSqlParameterSource("id", id).addValue("signature", MinHasher.toBytes(signature))
+                    .addValue("now", computedAt));
+            for (long band : MinHasher.bands(signature))
+                buckets.add(new MapSqlParameterSource("id", id).addValue("bucket", band));
+        });
+        jdbcTemplate.batchUpdate("insert into candidate_signature (candidate_id, signature, computed_at) values (:id, :signature, :now) " +
+                "on conflict (candidate_id) do update set signature = excluded.signature, computed_at = excluded.computed_at",
+                rows.toArray(SqlParameterSource[]::new));
+        // The dedup thread and a scan may write the same candidate at once, the last signature wins
+        jdbcTemplate.batchUpdate("insert into candidate_lsh_bucket (bucket, candidate_id) values (:bucket, :id) on conflict do nothing",
+                buckets.toArray(SqlParameterSource[]::new));
+    }
+
+    private Map<Pair, Double> verify(Set<Pair> pairs) {
+        Map<Pair, Double> duplicates = new HashMap<>();
+        if (pairs.isEmpty()) return duplicates;
+        Set<Long> ids = new HashSet<>();
+        for (Pair pair : pairs) {
+            ids.add(pair.low());
+            ids.add(pair.high());
+        }
+        Map<Long, int[]> signatures = signatures(ids);
+        for (Pair pair : pairs) {
+            int[] low = signatures.get(pair.low());
+            int[] high = signatures.get(pair.high());
+            if (low == null || high == null) continue;
+            double similarity = MinHasher.similarity(low, high);
+            if (similarity >= threshold) duplicates.put(pair, similarity);
+        }
+        return duplicates;
+    }
+
+    private Map<Long, int[]> signatures(Collection<Long> ids) {
+        Map<Long, int[]> signatures = new HashMap<>();
+        List<Long> all = new ArrayList<>(ids);
+        for (int from = 0; from < all.size(); from += MAX_IDS_PER_QUERY) {
+            jdbcTemplate.query("select candidate_id, signature from candidate_signature where candidate_id in (:ids)",
+                    new MapSqlParameterSource("ids", all.subList(from, Math.min(all.size(), from + MAX_IDS_PER_QUERY))),
+                    rs -> {
+                        signatures.put(rs.getLong(1), MinHasher.fromBytes(rs.getBytes(2)));
+                    });
+        }
+        return signatures;
+    }
+
+    private void storeDuplicates(Map<Pair, Double> duplicates, LocalDateTime now) {
+        if (duplicates.isEmpty()) return;
+        Timestamp detectedAt = Timestamp.valueOf(now);
+        SqlParameterSource[] rows = duplicates.entrySet().stream()
+                .map(entry -> new MapSqlParameterSource("candidateId", entry.getKey().low())
+                        .addValue("duplicateId", entry.getKey().high())
+                        .addValue("similarity", entry.getValue())
+                        .addValue("now", detectedAt))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(UPSERT_DUPLICATE, rows);
+    }
+
+    // Most similar first
+    private List<DuplicateCandidateDto> describe(Map<Long, Double> similar) {
+        if (similar.isEmpty()) return List.of();
+        List<DuplicateCandidateDto> duplicates = new ArrayList<>(similar.size());
+        List<Long> ids = new ArrayList<>(similar.keySet());
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_QUERY) {
+            jdbcTemplate.query("select id, first_name, last_name, email, phone, birth_date from candidate where id in (:ids)",
+                    new MapSqlParameterSource("ids", ids.subList(from, Math.min(ids.size(), from + MAX_IDS_PER_QUERY))),
+                    rs -> {
+                        long id = rs.getLong("id");
+                        duplicates.add(new DuplicateCandidateDto(id, rs.getString("first_name"), rs.getString("last_name"),
+                                rs.getString("email"), rs.getString("phone"), rs.getObject("birth_date", LocalDate.class),
+                                similar.get(id)));
+                    });
+        }
+        duplicates.sort(Comparator.comparingDouble(DuplicateCandidateDto::getSimilarity).reversed()
+                .thenComparing(DuplicateCandidateDto::getCandidateId));
+        return duplicates;
+    }
+
+    private static DedupScanJobDto toDto(DedupScanJob scan) {
+        DedupScanJobDto dto = new DedupScanJobDto();
+        dto.setId(scan.getId());
+        dto.setStatus(scan.getStatus().name());
+        dto.setCreatedAt(scan.getCreatedAt());
+        dto.setStartedAt(scan.getStartedAt());
+        dto.setFinishedAt(scan.getFinishedAt());
+        dto.setCandidates(scan.getCandidates());
+        dto.setComparedPairs(scan.getComparedPairs());
+        dto.setDuplicatePairs(scan.getDuplicatePairs());
+        if (scan.getStartedAt() != null) {
+            Instant end = scan.getFinishedAt() != null ? scan.getFinishedAt() : Instant.now();
+            dto.setDurationMillis(Duration.between(scan.getStartedAt(), end).toMillis());
+        }
+        dto.setFailure(scan.getFailure());
+        return dto;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+        scanJobs.shutdownNow();
+        scanner.shutdownNow();
+    }
+
+    private record Pair(long low, long high) {
+        static Pair of(long a, long b) {
+            return a < b ? new Pair(a, b) : new Pair(b, a);
+        }
+    }
+}
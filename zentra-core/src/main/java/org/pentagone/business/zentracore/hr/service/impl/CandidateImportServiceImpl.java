@@ -0,0 +1,311 @@
+package org.pentagone.business.zentracore.hr.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.pentagone.business.zentracore.common.exception.EntityNotFoundException;
+import org.pentagone.business.zentracore.common.util.BoundedCache;
+import org.pentagone.business.zentracore.common.util.PooledIds;
+import org.pentagone.business.zentracore.hr.cache.UniqueKey;
+import org.pentagone.business.zentracore.hr.cache.UniqueKeyIndex;
+import org.pentagone.business.zentracore.hr.dto.CandidateDto;
+import org.pentagone.business.zentracore.hr.dto.CandidateImportJobDto;
+import org.pentagone.business.zentracore.hr.event.CandidatesChangedEvent;
+import org.pentagone.business.zentracore.hr.model.CandidateImportJob;
+import org.pentagone.business.zentracore.hr.service.CandidateImportService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+// The upload is spooled to a temporary file and the import runs in the background, one job at a time.
+// The file is read line by line in chunks: every chunk costs one lookup of the emails that already exist,
+// then one JDBC batch of inserts and one of updates, in its own transaction. Memory stays flat whatever
+// the file size and a bad row is reported without aborting the run. Emails the unique key filter rules out
+// are not looked up, so a file of new candidates mostly skips the lookup.
+@Slf4j
+@Service
+public class CandidateImportServiceImpl implements CandidateImportService {
+    private static final int CHUNK_SIZE = 1000;
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    private static final String INSERT = "insert into candidate (id, last_name, first_name, email, phone, birth_date, address, city, " +
+            "country, education_level, last_degree, years_experience, skills, created_at, updated_at) values (:id, :lastName, " +
+            ":firstName, :email, :phone, :birthDate, :address, :city, :country, :educationLevel, :lastDegree, :yearsExperience, " +
+            ":skills, :now, :now)";
+    // Values missing from the file keep what is stored
+    private static final String UPDATE = "update candidate set last_name = :lastName, first_name = :firstName, " +
+            "phone = coalesce(:phone, phone), birth_date = :birthDate, address = coalesce(:address, address), " +
+            "city = coalesce(:city, city), country = coalesce(:country, country), " +
+            "education_level = coalesce(:educationLevel, education_level), last_degree = coalesce(:lastDegree, last_degree), " +
+            "years_experience = coalesce(:yearsExperience, years_experience), skills = coalesce(:skills, skills), " +
+            "updated_at = :now where lower(email) = :email";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UniqueKeyIndex uniqueKeyIndex;
+    private final ObjectReader jsonReader;
+    private final CsvMapper csvMapper;
+    // Queued and running jobs are held until they finish, only finished ones are left to the cache's eviction
+    private final Map<UUID, CandidateImportJob> activeJobs = new ConcurrentHashMap<>();
+    private final BoundedCache<UUID, CandidateImportJob> finishedJobs = new BoundedCache<>(100, Duration.ofDays(1));
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    public CandidateImportServiceImpl(DataSource dataSource, PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                                      ApplicationEventPublisher eventPublisher, UniqueKeyIndex uniqueKeyIndex) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.eventPublisher = eventPublisher;
+        this.uniqueKeyIndex = uniqueKeyIndex;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.jsonReader = objectMapper.readerFor(CandidateDto.class).without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.csvMapper = CsvMapper.builder().addModule(new JavaTimeModule())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES).build();
+    }
+
+    @Override
+    public CandidateImportJobDto startImport(InputStream in, CandidateImportJob.Format format) throws IOException {
+        Path file = Files.createTempFile("candidate-import-", "." + format.name().toLowerCase(Locale.ROOT));
+        try {
+            Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        CandidateImportJob job = new CandidateImportJob(format, file);
+        activeJobs.put(job.getId(), job);
+        executor.execute(() -> run(job));
+        return toDto(job);
+    }
+
+    @Override
+    public CandidateImportJobDto getJob(UUID jobId) {
+        CandidateImportJob job = activeJobs.get(jobId);
+        if (job == null) job = finishedJobs.get(jobId);
+        if (job == null)
+            throw new EntityNotFoundException("Import job not found");
+        return toDto(job);
+    }
+
+    private void run(CandidateImportJob job) {
+        job.start();
+        String failure = null;
+        try (BufferedReader reader = Files.newBufferedReader(job.getFile(), StandardCharsets.UTF_8)) {
+            RowParser parser = job.getFormat() == CandidateImportJob.Format.CSV ? csvParser(reader) : jsonReader::readValue;
+            Map<String, Row> chunk = new LinkedHashMap<>();
+            long line = job.getFormat() == CandidateImportJob.Format.CSV ? 1 : 0;
+            for (String record; (record = nextRecord(reader, job.getFormat())) != null; ) {
+                line++;
+                if (record.isBlank()) continue;
+                job.processed(1);
+                try {
+                    CandidateDto candidate = normalize(parser.parse(record));
+                    // A later row for the same email replaces the earlier one, as it would in the database
+                    chunk.remove(candidate.getEmail());
+                    chunk.put(candidate.getEmail(), new Row(line, candidate));
+                } catch (JsonProcessingException e) {
+                    job.reject(line, e.getOriginalMessage());
+                } catch (IllegalArgumentException e) {
+                    job.reject(line, e.getMessage());
+                }
+                if (chunk.size() == CHUNK_SIZE) {
+                    write(chunk, job);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) write(chunk, job);
+        } catch (IOException | RuntimeException e) {
+            log.error("Candidate import {} failed", job.getId(), e);
+            failure = e.getMessage();
+        } finally {
+            job.finish(failure);
+            // Cached first, so a poll in between still finds it
+            finishedJobs.put(job.getId(), job);
+            activeJobs.remove(job.getId());
+            try {
+                Files.deleteIfExists(job.getFile());
+            } catch (IOException e) {
+                log.warn("Could not delete {}", job.getFile(), e);
+            }
+        }
+    }
+
+    // Ids of the written candidates are published once the chunk committed, for the search index
+    private void write(Map<String, Row> chunk, CandidateImportJob job) {
+        List<Long> changed = new ArrayList<>();
+        try {
+            int[] written = transaction.execute(status -> upsert(new ArrayList<>(chunk.values()), changed, true));
+            job.written(written[0], written[1]);
+        } catch (RuntimeException e) {
+            // Something in the chunk violates a constraint, write the rows one by one to find which. The filter
+            // is not trusted then: an email another instance stored is not in it and would fail its row again.
+            changed.clear();
+            for (Row row : chunk.values()) {
+                List<Long> rowChanged = new ArrayList<>();
+                try {
+                    int[] written = transaction.execute(status -> upsert(List.of(row), rowChanged, false));
+                    job.written(written[0], written[1]);
+                    changed.addAll(rowChanged);
+                } catch (RuntimeException single) {
+                    job.reject(row.line(), NestedExceptionUtils.getMostSpecificCause(single).getMessage());
+                }
+            }
+        }
+        if (!changed.isEmpty()) eventPublisher.publishEvent(new CandidatesChangedEvent(changed));
+    }
+
+    // Returns {inserted, updated}, the ids written are added to changed
+    private int[] upsert(List<Row> rows, List<Long> changed, boolean filtered) {
+        List<String> emails = rows.stream().map(row -> row.candidate().getEmail()).toList();
+        if (filtered) emails = uniqueKeyIndex.mightExist(UniqueKey.CANDIDATE_EMAIL, emails);
+        Map<String, Long> existing = new HashMap<>();
+        if (!emails.isEmpty()) {
+            jdbcTemplate.query("select lower(email), id from candidate where lower(email) in (:emails)",
+                    new MapSqlParameterSource("emails", emails), rs -> {
+                        existing.put(rs.getString(1), rs.getLong(2));
+                    });
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<MapSqlParameterSource> inserts = new ArrayList<>();
+        List<MapSqlParameterSource> updates = new ArrayList<>();
+        for (Row row : rows) {
+            Long id = existing.get(row.candidate().getEmail());
+            if (id != null) changed.add(id);
+            else uniqueKeyIndex.added(UniqueKey.CANDIDATE_EMAIL, row.candidate().getEmail());
+            (id != null ? updates : inserts).add(parameters(row.candidate(), now));
+        }
+
+        long[] ids = PooledIds.allocate(jdbcTemplate.getJdbcTemplate(), "candidate_seq", inserts.size());
+        for (int i = 0; i < inserts.size(); i++) {
+            inserts.get(i).addValue("id", ids[i]);
+            changed.add(ids[i]);
+        }
+        if (!inserts.isEmpty()) jdbcTemplate.batchUpdate(INSERT, inserts.toArray(MapSqlParameterSource[]::new));
+        if (!updates.isEmpty()) jdbcTemplate.batchUpdate(UPDATE, updates.toArray(MapSqlParameterSource[]::new));
+        return new int[]{inserts.size(), updates.size()};
+    }
+
+    private static MapSqlParameterSource parameters(CandidateDto candidate, LocalDateTime now) {
+        return new MapSqlParameterSource()
+                .addValue("lastName", candidate.getLastName())
+                .addValue("firstName", candidate.getFirstName())
+                .addValue("email", candidate.getEmail())
+                .addValue("phone", candidate.getPhone())
+                .addValue("birthDate", Date.valueOf(candidate.getBirthDate()))
+                .addValue("address", candidate.getAddress())
+                .addValue("city", candidate.getCity())
+                .addValue("country", candidate.getCountry())
+                .addValue("educationLevel", candidate.getEducationLevel())
+                .addValue("lastDegree", candidate.getLastDegree())
+                .addValue("yearsExperience", candidate.getYearsExperience())
+                .addValue("skills", candidate.getSkills())
+                .addValue("now", Timestamp.valueOf(now));
+    }
+
+    private static CandidateDto normalize(CandidateDto candidate) {
+        if (candidate.getLastName() == null || candidate.getLastName().isBlank())
+            throw new IllegalArgumentException("Last name is empty");
+        if (candidate.getFirstName() == null || candidate.getFirstName().isBlank())
+            throw new IllegalArgumentException("First name is empty");
+        if (candidate.getEmail() == null || !EMAIL.matcher(candidate.getEmail().trim()).matches())
+            throw new IllegalArgumentException("Email is invalid");
+        if (candidate.getBirthDate() == null)
+            throw new IllegalArgumentException("Birth date is empty");
+        if (candidate.getYearsExperience() != null && candidate.getYearsExperience() < 0)
+            throw new IllegalArgumentException("Years of experience is negative");
+        candidate.setEmail(candidate.getEmail().trim().toLowerCase(Locale.ROOT));
+        candidate.setLastName(candidate.getLastName().trim());
+        candidate.setFirstName(candidate.getFirstName().trim());
+        return candidate;
+    }
+
+    // A CSV record continues on the next line while a quoted field is open
+    private static String nextRecord(BufferedReader reader, CandidateImportJob.Format format) throws IOException {
+        String line = reader.readLine();
+        if (line == null || format != CandidateImportJob.Format.CSV) return line;
+        StringBuilder record = new StringBuilder(line);
+        while (line != null && record.chars().filter(c -> c == '"').count() % 2 == 1) {
+            line = reader.readLine();
+            if (line != null) record.append('\n').append(line);
+        }
+        return record.toString();
+    }
+
+    // Header names may be camelCase like the dto (lastName) or snake_case like the table (last_name)
+    private RowParser csvParser(BufferedReader reader) throws IOException {
+        String header = nextRecord(reader, CandidateImportJob.Format.CSV);
+        if (header == null)
+            throw new IllegalArgumentException("CSV file is empty");
+        String[] columns = csvMapper.readerForArrayOf(String.class).with(CsvParser.Feature.WRAP_AS_ARRAY).readValue(header);
+        CsvSchema.Builder schema = CsvSchema.builder();
+        for (String column : columns)
+            schema.addColumn(Pattern.compile("_([a-z])").matcher(column.trim().replace("\uFEFF", ""))
+                    .replaceAll(match -> match.group(1).toUpperCase(Locale.ROOT)));
+        ObjectReader rowReader = csvMapper.readerFor(CandidateDto.class).with(schema.build());
+        return rowReader::readValue;
+    }
+
+    private static CandidateImportJobDto toDto(CandidateImportJob job) {
+        CandidateImportJobDto dto = new CandidateImportJobDto();
+        dto.setId(job.getId());
+        dto.setFormat(job.getFormat().name());
+        dto.setStatus(job.getStatus().name());
+        dto.setCreatedAt(job.getCreatedAt());
+        dto.setStartedAt(job.getStartedAt());
+        dto.setFinishedAt(job.getFinishedAt());
+        dto.setProcessed(job.getProcessed());
+        dto.setInserted(job.getInserted());
+        dto.setUpdated(job.getUpdated());
+        dto.setRejected(job.getRejected());
+        dto.setRowsPerSecond(job.rowsPerSecond());
+        dto.setFailure(job.getFailure());
+        dto.setErrors(job.getErrors());
+        return dto;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @FunctionalInterface
+    private interface RowParser {
+        CandidateDto parse(String record) throws IOException;
+    }
+
+    private record Row(long line, CandidateDto candidate) {
+    }
+}
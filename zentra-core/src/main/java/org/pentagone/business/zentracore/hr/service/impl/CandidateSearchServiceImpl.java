@@ -0,0 +1,220 @@
+package org.pentagone.business.zentracore.hr.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.pentagone.business.zentracore.common.storage.DocumentStore;
+import org.pentagone.business.zentracore.common.util.AfterCommitWorker;
+import org.pentagone.business.zentracore.hr.dto.CandidateHitDto;
+import org.pentagone.business.zentracore.hr.dto.CandidateSearchResultDto;
+import org.pentagone.business.zentracore.hr.event.CandidatesChangedEvent;
+import org.pentagone.business.zentracore.hr.search.CandidateDocument;
+import org.pentagone.business.zentracore.hr.search.CandidateIndex;
+import org.pentagone.business.zentracore.hr.search.CvTextExtractor;
+import org.pentagone.business.zentracore.hr.service.CandidateSearchService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Every write to the index happens on one indexing thread: changed candidates are queued by id and reloaded
+// from the table in batches, so a burst of events (an import chunk) costs one query per batch and a stale
+// read can never overwrite a fresher one. Each batch ends with a commit recording when its reload started;
+// on startup candidates updated since then (minus a margin) are reindexed, which covers events lost in a
+// crash, and indexed candidates no longer in the table are dropped, covering deletions lost the same way.
+// An empty index is rebuilt in full.
+@Slf4j
+@Service
+public class CandidateSearchServiceImpl implements CandidateSearchService {
+    private static final int MAX_SIZE = 100;
+    private static final int MAX_OFFSET = 1000;
+    private static final int BATCH_SIZE = 200;
+    private static final int ID_CHECK_SIZE = 1000;
+    private static final long CATCH_UP_MARGIN_MILLIS = 5 * 60 * 1000;
+    private static final String COLUMNS = "select id, first_name, last_name, city, country, education_level, last_degree, " +
+            "years_experience, skills, cv_file from candidate ";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final DocumentStore documentStore;
+    private final CandidateIndex index;
+    private final int maxCvChars;
+    private final AfterCommitWorker indexer = new AfterCommitWorker("candidate-indexing");
+    private final AfterCommitWorker.IdQueue changedCandidates = indexer.queue(this::applyPending);
+
+    public CandidateSearchServiceImpl(DataSource dataSource, DocumentStore documentStore,
+                                      @Value("${zentra.search.index-dir:data/candidate-index}") String indexDir,
+                                      @Value("${zentra.search.max-stale-ms:1000}") long maxStaleMillis,
+                                      @Value("${zentra.search.max-cv-chars:100000}") int maxCvChars) throws IOException {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.documentStore = documentStore;
+        Path path = Path.of(indexDir).toAbsolutePath();
+        Files.createDirectories(path);
+        this.index = new CandidateIndex(path, maxStaleMillis / 1000.0);
+        this.maxCvChars = maxCvChars;
+    }
+
+    @Override
+    public CandidateSearchResultDto search(String query, String country, String educationLevel, String experience, int page, int size) {
+        if (size < 1 || size > MAX_SIZE)
+            throw new IllegalArgumentException("Size must be between 1 and " + MAX_SIZE);
+        if (page < 0 || (long) page * size > MAX_OFFSET)
+            throw new IllegalArgumentException("Page is out of range, refine the search instead");
+        Map<String, String> filters = new HashMap<>();
+        filters.put(CandidateIndex.COUNTRY, country);
+        filters.put(CandidateIndex.EDUCATION_LEVEL, educationLevel);
+        filters.put(CandidateIndex.EXPERIENCE, experience);
+        CandidateIndex.Result result;
+        try {
+            result = index.search(query, filters, page * size, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        List<CandidateHitDto> hits = result.hits().stream()
+                .map(hit -> new CandidateHitDto(hit.id(), hit.name(), hit.city(), hit.country(), hit.score(), hit.highlights()))
+                .toList();
+        return new CandidateSearchResultDto(result.total(), hits, result.facets());
+    }
+
+    @Override
+    public void rebuild() {
+        indexer.execute(this::rebuildAll);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUp() {
+        indexer.execute(() -> {
+            Long syncedAt = index.syncedAt();
+            if (syncedAt == null || index.size() == 0) rebuildAll();
+            else reindexSince(syncedAt - CATCH_UP_MARGIN_MILLIS);
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCandidatesChanged(CandidatesChangedEvent event) {
+        changedCandidates.addAll(event.candidateIds());
+    }
+
+    private void applyPending(Set<Long> ids) {
+        long startedAt = System.currentTimeMillis();
+        try {
+            List<Long> all = new ArrayList<>(ids);
+            for (int from = 0; from < all.size(); from += BATCH_SIZE) {
+                List<Long> batch = all.subList(from, Math.min(all.size(), from + BATCH_SIZE));
+                List<Row> rows = jdbcTemplate.query(COLUMNS + "where id in (:ids)", new MapSqlParameterSource("ids", batch), ROW);
+                Set<Long> found = new HashSet<>();
+                for (Row row : rows) {
+                    index.update(withCv(row), startedAt);
+                    found.add(row.candidate().id());
+                }
+                index.delete(batch.stream().filter(id -> !found.contains(id)).toList());
+            }
+            index.commit(startedAt);
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not index candidates {}", ids, e);
+        }
+    }
+
+    private void reindexSince(long since) {
+        long startedAt = System.currentTimeMillis();
+        try {
+            int count = scan("where updated_at >= :since and id > :after order by id limit :limit",
+                    new MapSqlParameterSource("since", new Timestamp(since)), startedAt);
+            int deleted = deleteMissing();
+            index.commit(startedAt);
+            log.info("Candidate index caught up, {} candidates reindexed, {} deleted", count, deleted);
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not catch the candidate index up", e);
+        }
+    }
+
+    private void rebuildAll() {
+        long startedAt = System.currentTimeMillis();
+        try {
+            int count = scan("where id > :after order by id limit :limit", new MapSqlParameterSource(), startedAt);
+            index.deleteIndexedBefore(startedAt);
+            index.commit(startedAt);
+            log.info("Candidate index rebuilt, {} candidates in {} ms", count, System.currentTimeMillis() - startedAt);
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not rebuild the candidate index", e);
+        }
+    }
+
+    // Indexed ids are checked against the table a batch at a time
+    private int deleteMissing() throws IOException {
+        List<Long> indexed = index.ids();
+        int deleted = 0;
+        for (int from = 0; from < indexed.size(); from += ID_CHECK_SIZE) {
+            List<Long> batch = indexed.subList(from, Math.min(indexed.size(), from + ID_CHECK_SIZE));
+            Set<Long> existing = new HashSet<>(jdbcTemplate.queryForList("select id from candidate where id in (:ids)",
+                    new MapSqlParameterSource("ids", batch), Long.class));
+            List<Long> missing = batch.stream().filter(id -> !existing.contains(id)).toList();
+            index.delete(missing);
+            deleted += missing.size();
+        }
+        return deleted;
+    }
+
+    // Walks the matching candidates by id, one batch per query
+    private int scan(String where, MapSqlParameterSource parameters, long indexedAt) throws IOException {
+        int count = 0;
+        long after = 0;
+        while (true) {
+            List<Row> rows = jdbcTemplate.query(COLUMNS + where,
+                    parameters.addValue("after", after).addValue("limit", BATCH_SIZE), ROW);
+            for (Row row : rows)
+                index.update(withCv(row), indexedAt);
+            count += rows.size();
+            if (rows.size() < BATCH_SIZE) return count;
+            after = rows.get(rows.size() - 1).candidate().id();
+        }
+    }
+
+    // CV text is extracted once the rows are read, never while a connection is held
+    private CandidateDocument withCv(Row row) {
+        CandidateDocument candidate = row.candidate();
+        if (!documentStore.exists(row.cvFile())) return candidate;
+        String text;
+        try {
+            text = CvTextExtractor.extract(documentStore.path(row.cvFile()), documentStore.contentType(row.cvFile()), maxCvChars);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not extract the CV text of candidate {}", candidate.id(), e);
+            return candidate;
+        }
+        return new CandidateDocument(candidate.id(), candidate.firstName(), candidate.lastName(), candidate.city(),
+                candidate.country(), candidate.educationLevel(), candidate.lastDegree(), candidate.yearsExperience(),
+                candidate.skills(), text);
+    }
+
+    // The indexing thread is not interrupted: an interrupt inside Lucene closes the file channels it is using
+    @PreDestroy
+    public void shutdown() throws IOException, InterruptedException {
+        if (!indexer.shutdown(Duration.ofSeconds(30)))
+            log.warn("Candidate indexing did not finish, uncommitted changes are caught up at next startup");
+        index.close();
+    }
+
+    private static final RowMapper<Row> ROW = (rs, rowNum) -> new Row(new CandidateDocument(rs.getLong("id"),
+            rs.getString("first_name"), rs.getString("last_name"), rs.getString("city"), rs.getString("country"),
+            rs.getString("education_level"), rs.getString("last_degree"), rs.getObject("years_experience", Integer.class),
+            rs.getString("skills"), null), rs.getString("cv_file"));
+
+    private record Row(CandidateDocument candidate, String cvFile) {
+    }
+}
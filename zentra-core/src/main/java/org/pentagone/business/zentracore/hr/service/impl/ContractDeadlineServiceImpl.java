@@ -0,0 +1,209 @@
+package org.pentagone.business.zentracore.hr.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.pentagone.business.zentracore.common.outbox.Outbox;
+import org.pentagone.business.zentracore.common.util.AfterCommitWorker;
+import org.pentagone.business.zentracore.hr.deadline.DeadlineQueue;
+import org.pentagone.business.zentracore.hr.dto.ContractDeadlineDto;
+import org.pentagone.business.zentracore.hr.event.ContractDeadlineReached;
+import org.pentagone.business.zentracore.hr.event.OrgChangedEvent;
+import org.pentagone.business.zentracore.hr.service.ContractDeadlineService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+
+// Contract and probation deadlines are read from the database once, at startup, into a DeadlineQueue; after
+// that only the employees named by an OrgChangedEvent (employee or contract written) are read again. One
+// thread applies the changes and sleeps until the next alarm is due, nothing scans employment_contract on a
+// timer. Every alarm raised is recorded in contract_deadline_notice within the transaction that publishes its
+// outbox event, so alarms replayed by a restart, a change or another instance are published only once.
+@Slf4j
+@Service
+public class ContractDeadlineServiceImpl implements ContractDeadlineService {
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_DAYS = 366;
+    // Longest sleep, so a clock change or a missed wake up delays alarms by an hour at most
+    private static final Duration MAX_SLEEP = Duration.ofHours(1);
+    private static final Duration RETRY_DELAY = Duration.ofMinutes(1);
+    // The earlier of the employee's and the contract's end dates ends the employment; least() ignores nulls
+    private static final String SELECT_DEADLINES = "select e.id, least(e.contract_end_date, c.end_date) as end_date, " +
+            "c.probation_end_date from employee e left join employment_contract c on c.employee_id = e.id " +
+            "where (least(e.contract_end_date, c.end_date) >= :from or c.probation_end_date >= :from) %s";
+    private static final String INSERT_NOTICE = "insert into contract_deadline_notice (employee_id, kind, deadline, " +
+            "days_before, notified_at) values (:employee, :kind, :deadline, :daysBefore, :now) on conflict do nothing";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final Outbox outbox;
+    private final DeadlineQueue queue;
+    private final LocalTime notifyTime;
+    private final int catchUpDays;
+    private final AfterCommitWorker watcher = new AfterCommitWorker("contract-watch");
+    private final AfterCommitWorker.IdQueue changedEmployees = watcher.queue(this::applyPending);
+    // Only touched on the watcher thread
+    private ScheduledFuture<?> wakeUp;
+    private boolean loaded;
+
+    public ContractDeadlineServiceImpl(DataSource dataSource, PlatformTransactionManager transactionManager, Outbox outbox,
+                                       @Value("${zentra.contract-watch.reminder-days:30,7}") int[] reminderDays,
+                                       @Value("${zentra.contract-watch.notify-time:08:00}") String notifyTime,
+                                       @Value("${zentra.contract-watch.catch-up-days:7}") int catchUpDays) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.outbox = outbox;
+        this.queue = new DeadlineQueue(reminderDays);
+        this.notifyTime = LocalTime.parse(notifyTime);
+        this.catchUpDays = catchUpDays;
+    }
+
+    @Override
+    public List<ContractDeadlineDto> getUpcoming(int days) {
+        if (days < 0 || days > MAX_DAYS)
+            throw new IllegalArgumentException("Days must be between 0 and " + MAX_DAYS);
+        LocalDate today = LocalDate.now();
+        List<ContractDeadlineDto> upcoming = new ArrayList<>();
+        for (DeadlineQueue.Deadline deadline : queue.between(today, today.plusDays(days)))
+            upcoming.add(new ContractDeadlineDto(deadline.employeeId(), deadline.kind().name(), deadline.date(),
+                    ChronoUnit.DAYS.between(today, deadline.date())));
+        return upcoming;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        watcher.execute(() -> {
+            try {
+                long start = System.currentTimeMillis();
+                LocalDate today = LocalDate.now();
+                changedEmployees.clear();
+                Map<Long, List<DeadlineQueue.Deadline>> deadlines = read("", new MapSqlParameterSource());
+                queue.clear();
+                deadlines.forEach((employeeId, employeeDeadlines) -> queue.replace(employeeId, employeeDeadlines, today));
+                loaded = true;
+                log.info("Contract watch: {} deadlines of {} employees loaded in {} ms", queue.size(), deadlines.size(),
+                        System.currentTimeMillis() - start);
+                fireDue();
+            } catch (RuntimeException e) {
+                log.error("Could not load contract deadlines, retrying in {}", RETRY_DELAY, e);
+                watcher.schedule(this::load, RETRY_DELAY);
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrgChanged(OrgChangedEvent event) {
+        changedEmployees.addAll(event.employeeIds());
+    }
+
+    private void applyPending(Set<Long> employees) {
+        // Changes made before the load are part of it
+        if (!loaded) return;
+        try {
+            LocalDate today = LocalDate.now();
+            List<Long> all = new ArrayList<>(employees);
+            for (int from = 0; from < all.size(); from += BATCH_SIZE) {
+                List<Long> batch = all.subList(from, Math.min(all.size(), from + BATCH_SIZE));
+                Map<Long, List<DeadlineQueue.Deadline>> deadlines = read("and e.id in (:ids)",
+                        new MapSqlParameterSource("ids", batch));
+                for (Long employeeId : batch)
+                    queue.replace(employeeId, deadlines.getOrDefault(employeeId, List.of()), today);
+            }
+            fireDue();
+        } catch (RuntimeException e) {
+            log.error("Could not refresh the contract deadlines of employees {}, retrying in {}", employees, RETRY_DELAY, e);
+            changedEmployees.retry(employees, RETRY_DELAY);
+        }
+    }
+
+    // Deadlines missed by up to catchUpDays are kept, their expiry alarm is raised if it was not yet
+    private Map<Long, List<DeadlineQueue.Deadline>> read(String condition, MapSqlParameterSource parameters) {
+        LocalDate from = LocalDate.now().minusDays(catchUpDays);
+        parameters.addValue("from", Date.valueOf(from));
+        Map<Long, List<DeadlineQueue.Deadline>> deadlines = new HashMap<>();
+        jdbcTemplate.query(SELECT_DEADLINES.formatted(condition), parameters, rs -> {
+            long employeeId = rs.getLong("id");
+            LocalDate end = rs.getObject("end_date", LocalDate.class);
+            LocalDate probationEnd = rs.getObject("probation_end_date", LocalDate.class);
+            List<DeadlineQueue.Deadline> employeeDeadlines = deadlines.computeIfAbsent(employeeId, id -> new ArrayList<>(2));
+            if (end != null && !end.isBefore(from))
+                employeeDeadlines.add(new DeadlineQueue.Deadline(employeeId, DeadlineQueue.Kind.CONTRACT_END, end));
+            if (probationEnd != null && !probationEnd.isBefore(from))
+                employeeDeadlines.add(new DeadlineQueue.Deadline(employeeId, DeadlineQueue.Kind.PROBATION_END, probationEnd));
+        });
+        return deadlines;
+    }
+
+    // Raises the alarms due by now, then sleeps until the next one
+    private void fireDue() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate reached = now.toLocalTime().isBefore(notifyTime) ? now.toLocalDate().minusDays(1) : now.toLocalDate();
+        List<DeadlineQueue.Alarm> due = queue.pollDue(reached);
+        if (!due.isEmpty()) {
+            try {
+                int published = transaction.execute(status -> publish(due, now));
+                log.info("Contract watch: {} alarms due, {} published", due.size(), published);
+            } catch (RuntimeException e) {
+                // Re-reading the employees puts their due alarms back, notices already written keep them from repeating
+                log.error("Could not publish {} contract deadline alarms, retrying in {}", due.size(), RETRY_DELAY, e);
+                changedEmployees.retry(due.stream().map(alarm -> alarm.deadline().employeeId()).toList(), RETRY_DELAY);
+            }
+        }
+        sleep();
+    }
+
+    private int publish(List<DeadlineQueue.Alarm> alarms, LocalDateTime now) {
+        int published = 0;
+        for (DeadlineQueue.Alarm alarm : alarms) {
+            DeadlineQueue.Deadline deadline = alarm.deadline();
+            MapSqlParameterSource parameters = new MapSqlParameterSource("employee", deadline.employeeId())
+                    .addValue("kind", deadline.kind().name())
+                    .addValue("deadline", Date.valueOf(deadline.date()))
+                    .addValue("daysBefore", alarm.daysBefore())
+                    .addValue("now", Timestamp.valueOf(now));
+            if (jdbcTemplate.update(INSERT_NOTICE, parameters) == 0) continue;
+            outbox.publish(ContractDeadlineReached.AGGREGATE, deadline.employeeId(), ContractDeadlineReached.TYPE,
+                    new ContractDeadlineReached(deadline.employeeId(), deadline.kind(), deadline.date(), alarm.daysBefore()));
+            published++;
+        }
+        return published;
+    }
+
+    private void sleep() {
+        if (wakeUp != null) wakeUp.cancel(false);
+        LocalDate next = queue.nextFireDate();
+        if (next == null) {
+            wakeUp = null;
+            return;
+        }
+        Duration delay = Duration.between(LocalDateTime.now(), next.atTime(notifyTime));
+        if (delay.isNegative()) delay = Duration.ZERO;
+        if (delay.compareTo(MAX_SLEEP) > 0) delay = MAX_SLEEP;
+        wakeUp = watcher.schedule(this::fireDue, delay);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watcher.shutdownNow();
+    }
+}
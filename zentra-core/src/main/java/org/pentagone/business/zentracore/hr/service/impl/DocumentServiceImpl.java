@@ -0,0 +1,91 @@
+package org.pentagone.business.zentracore.hr.service.impl;
+
+import org.pentagone.business.zentracore.common.exception.EntityNotFoundException;
+import org.pentagone.business.zentracore.common.storage.DocumentStore;
+import org.pentagone.business.zentracore.common.storage.StoredDocument;
+import org.pentagone.business.zentracore.hr.dto.DocumentDto;
+import org.pentagone.business.zentracore.hr.event.CandidatesChangedEvent;
+import org.pentagone.business.zentracore.hr.repository.CandidateRepository;
+import org.pentagone.business.zentracore.hr.repository.ContractRepository;
+import org.pentagone.business.zentracore.hr.service.DocumentService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+// cvFile, motivationalLetterFile and contractFile hold the hash of the document in the DocumentStore.
+// Older values (paths from before the store) are reported as missing documents. Files are stored before
+// the owner row is updated, outside of any transaction, so a slow upload never holds a connection.
+@Service
+public class DocumentServiceImpl implements DocumentService {
+    private final DocumentStore documentStore;
+    private final CandidateRepository candidateRepository;
+    private final ContractRepository contractRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public DocumentServiceImpl(DocumentStore documentStore, CandidateRepository candidateRepository,
+                               ContractRepository contractRepository, ApplicationEventPublisher eventPublisher) {
+        this.documentStore = documentStore;
+        this.candidateRepository = candidateRepository;
+        this.contractRepository = contractRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public DocumentDto attachCv(Long candidateId, InputStream content) throws IOException {
+        if (!candidateRepository.existsById(candidateId))
+            throw new EntityNotFoundException("Candidate not found");
+        StoredDocument document = documentStore.store(content);
+        if (candidateRepository.updateCvFile(candidateId, document.hash()) == 0)
+            throw new EntityNotFoundException("Candidate not found");
+        // The bulk update bypasses the entity listener, the CV text has to be reindexed
+        eventPublisher.publishEvent(CandidatesChangedEvent.of(candidateId));
+        return toDto(document);
+    }
+
+    @Override
+    public DocumentDto attachMotivationalLetter(Long candidateId, InputStream content) throws IOException {
+        if (!candidateRepository.existsById(candidateId))
+            throw new EntityNotFoundException("Candidate not found");
+        StoredDocument document = documentStore.store(content);
+        if (candidateRepository.updateMotivationalLetterFile(candidateId, document.hash()) == 0)
+            throw new EntityNotFoundException("Candidate not found");
+        return toDto(document);
+    }
+
+    @Override
+    public DocumentDto attachContractFile(Long contractId, InputStream content) throws IOException {
+        if (!contractRepository.existsById(contractId))
+            throw new EntityNotFoundException("Contract not found");
+        StoredDocument document = documentStore.store(content);
+        if (contractRepository.updateContractFile(contractId, document.hash()) == 0)
+            throw new EntityNotFoundException("Contract not found");
+        return toDto(document);
+    }
+
+    @Override
+    public String getCvHash(Long candidateId) {
+        return stored(candidateRepository.findCvFileById(candidateId));
+    }
+
+    @Override
+    public String getMotivationalLetterHash(Long candidateId) {
+        return stored(candidateRepository.findMotivationalLetterFileById(candidateId));
+    }
+
+    @Override
+    public String getContractFileHash(Long contractId) {
+        return stored(contractRepository.findContractFileById(contractId));
+    }
+
+    private String stored(Optional<String> file) {
+        return file.filter(documentStore::exists)
+                .orElseThrow(() -> new EntityNotFoundException("Document not found"));
+    }
+
+    private static DocumentDto toDto(StoredDocument document) {
+        return new DocumentDto(document.hash(), document.size(), document.contentType());
+    }
+}
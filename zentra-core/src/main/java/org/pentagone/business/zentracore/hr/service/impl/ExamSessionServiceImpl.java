@@ -0,0 +1,232 @@
+package org.pentagone.business.zentracore.hr.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.pentagone.business.zentracore.common.exception.EntityNotFoundException;
+import org.pentagone.business.zentracore.common.util.TimingWheel;
+import org.pentagone.business.zentracore.hr.dto.AttemptDto;
+import org.pentagone.business.zentracore.hr.dto.AttemptSubmissionDto;
+import org.pentagone.business.zentracore.hr.dto.ExamSessionDto;
+import org.pentagone.business.zentracore.hr.dto.ExamSessionStartDto;
+import org.pentagone.business.zentracore.hr.model.CompiledQcm;
+import org.pentagone.business.zentracore.hr.model.ExamSession;
+import org.pentagone.business.zentracore.hr.repository.ApplicationRepository;
+import org.pentagone.business.zentracore.hr.repository.AttemptRepository;
+import org.pentagone.business.zentracore.hr.service.AttemptService;
+import org.pentagone.business.zentracore.hr.service.ExamSessionService;
+import org.pentagone.business.zentracore.hr.service.GradingService;
+import org.pentagone.business.zentracore.hr.service.QcmService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Answers stay in memory while the candidate works; the attempt and its responses are written once, when
+// the candidate submits or when the timing wheel expires the session. Sessions expiring together at the end
+// of a timed exam are persisted as bulk submissions rather than one transaction each: the wheel hands every
+// timeout of a tick to the expiry thread at once, each expiry only queues its submission, and the first one
+// queues a single drain behind them.
+@Slf4j
+@Service
+public class ExamSessionServiceImpl implements ExamSessionService {
+    private static final int EXPIRY_BATCH_SIZE = 500;
+
+    private final QcmService qcmService;
+    private final AttemptService attemptService;
+    private final GradingService gradingService;
+    private final ApplicationRepository applicationRepository;
+    private final AttemptRepository attemptRepository;
+    private final Duration defaultDuration;
+    private final Duration grace;
+    private final Map<UUID, ExamSession> sessions = new ConcurrentHashMap<>();
+    private final Map<Long, UUID> sessionsByApplication = new ConcurrentHashMap<>();
+    private final BlockingQueue<AttemptSubmissionDto> expired = new LinkedBlockingQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final ExecutorService expiryExecutor = Executors.newSingleThreadExecutor();
+    private final TimingWheel timingWheel;
+
+    public ExamSessionServiceImpl(QcmService qcmService, AttemptService attemptService, GradingService gradingService,
+                                  ApplicationRepository applicationRepository, AttemptRepository attemptRepository,
+                                  @Value("${zentra.exam.default-duration-minutes:60}") long defaultDurationMinutes,
+                                  @Value("${zentra.exam.grace-seconds:10}") long graceSeconds) {
+        this(qcmService, attemptService, gradingService, applicationRepository, attemptRepository,
+                Duration.ofMinutes(defaultDurationMinutes), Duration.ofSeconds(graceSeconds));
+    }
+
+    ExamSessionServiceImpl(QcmService qcmService, AttemptService attemptService, GradingService gradingService,
+                           ApplicationRepository applicationRepository, AttemptRepository attemptRepository,
+                           Duration defaultDuration, Duration grace) {
+        this.qcmService = qcmService;
+        this.attemptService = attemptService;
+        this.gradingService = gradingService;
+        this.applicationRepository = applicationRepository;
+        this.attemptRepository = attemptRepository;
+        this.defaultDuration = defaultDuration;
+        this.grace = grace;
+        this.timingWheel = new TimingWheel(Duration.ofSeconds(1), 512, expiryExecutor);
+    }
+
+    @Override
+    public ExamSessionDto startSession(ExamSessionStartDto startDto) {
+        if (startDto.getApplicationId() == null)
+            throw new IllegalArgumentException("Application is empty");
+        if (startDto.getQcmId() == null)
+            throw new IllegalArgumentException("Qcm is empty");
+        if (!applicationRepository.existsById(startDto.getApplicationId()))
+            throw new EntityNotFoundException("Application not found");
+        if (attemptRepository.existsByApplicationId(startDto.getApplicationId()))
+            throw new IllegalArgumentException("Application already has an attempt");
+
+        CompiledQcm qcm = qcmService.getCompiledQcm(startDto.getQcmId());
+        Duration duration = qcm.durationMinutes() != null && qcm.durationMinutes() > 0
+                ? Duration.ofMinutes(qcm.durationMinutes()) : defaultDuration;
+        Instant now = Instant.now();
+        ExamSession session = new ExamSession(startDto.getApplicationId(), qcm, now, now.plus(duration));
+        if (sessionsByApplication.putIfAbsent(session.getApplicationId(), session.getId()) != null)
+            throw new IllegalArgumentException("Application already has a session in progress");
+        sessions.put(session.getId(), session);
+        session.setTimeout(timingWheel.schedule(() -> expire(session), duration.plus(grace)));
+        return toDto(session);
+    }
+
+    @Override
+    public ExamSessionDto getSession(UUID sessionId) {
+        return toDto(findSession(sessionId));
+    }
+
+    @Override
+    public ExamSessionDto answer(UUID sessionId, Long questionId, List<Long> choiceIds) {
+        if (questionId == null)
+            throw new IllegalArgumentException("Question is empty");
+        ExamSession session = findSession(sessionId);
+        if (Instant.now().isAfter(session.getDeadline().plus(grace)))
+            throw new IllegalArgumentException("Session deadline has passed");
+        long[] choices = choiceIds == null ? new long[0] : choiceIds.stream().mapToLong(Long::longValue).toArray();
+        for (long choiceId : choices) {
+            if (session.getQcm().answerKey().questionIdOf(choiceId) != questionId)
+                throw new IllegalArgumentException("Choice " + choiceId + " does not belong to question " + questionId);
+        }
+        session.answer(questionId, choices);
+        return toDto(session);
+    }
+
+    @Override
+    public AttemptDto submit(UUID sessionId) {
+        ExamSession session = findSession(sessionId);
+        long[] choices = session.close(ExamSession.Status.SUBMITTED);
+        if (choices == null)
+            throw new IllegalArgumentException("Session is already closed");
+        AttemptDto attempt;
+        try {
+            // The candidate cannot hand in with a required question left blank, an expired session is persisted
+            // with whatever was answered.
+            if (!gradingService.grade(session.getQcm(), choices).isComplete())
+                throw new IllegalArgumentException("Required questions are not answered");
+            attempt = attemptService.submitAttempts(List.of(toSubmission(session, choices))).get(0);
+        } catch (RuntimeException e) {
+            // Nothing was written: the session is open again with its answers, the candidate can submit again
+            // and the session still expires at its deadline.
+            session.reopen();
+            session.setTimeout(timingWheel.schedule(() -> expire(session),
+                    Duration.between(Instant.now(), session.getDeadline().plus(grace))));
+            throw e;
+        }
+        forget(session);
+        return attempt;
+    }
+
+    private void expire(ExamSession session) {
+        long[] choices = session.close(ExamSession.Status.EXPIRED);
+        if (choices == null) return;
+        expired.add(toSubmission(session, choices));
+        forget(session);
+        if (!drainScheduled.compareAndSet(false, true)) return;
+        try {
+            expiryExecutor.execute(() -> {
+                drainScheduled.set(false);
+                drainExpired();
+            });
+        } catch (RejectedExecutionException ignored) {
+            // shutting down, shutdown() persists what is still queued
+        }
+    }
+
+    private void drainExpired() {
+        List<AttemptSubmissionDto> batch = new ArrayList<>(EXPIRY_BATCH_SIZE);
+        while (expired.drainTo(batch, EXPIRY_BATCH_SIZE) > 0) {
+            try {
+                attemptService.submitAttempts(batch);
+            } catch (RuntimeException e) {
+                // One bad submission fails the whole batch, fall back to persisting them one by one.
+                for (AttemptSubmissionDto submission : batch) {
+                    try {
+                        attemptService.submitAttempts(List.of(submission));
+                    } catch (RuntimeException single) {
+                        log.error("Could not persist expired attempt of application {}", submission.getApplicationId(), single);
+                    }
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    private ExamSession findSession(UUID sessionId) {
+        ExamSession session = sessions.get(sessionId);
+        if (session == null)
+            throw new EntityNotFoundException("Session not found");
+        return session;
+    }
+
+    private void forget(ExamSession session) {
+        sessions.remove(session.getId());
+        sessionsByApplication.remove(session.getApplicationId(), session.getId());
+    }
+
+    private static AttemptSubmissionDto toSubmission(ExamSession session, long[] choices) {
+        AttemptSubmissionDto submission = new AttemptSubmissionDto();
+        submission.setQcmId(session.getQcm().id());
+        submission.setApplicationId(session.getApplicationId());
+        submission.setChoiceIds(Arrays.stream(choices).boxed().toList());
+        return submission;
+    }
+
+    private static ExamSessionDto toDto(ExamSession session) {
+        ExamSessionDto dto = new ExamSessionDto();
+        dto.setId(session.getId());
+        dto.setApplicationId(session.getApplicationId());
+        dto.setQcmId(session.getQcm().id());
+        dto.setStartedAt(session.getStartedAt());
+        dto.setDeadline(session.getDeadline());
+        dto.setRemainingSeconds(Math.max(0, Duration.between(Instant.now(), session.getDeadline()).toSeconds()));
+        dto.setAnsweredQuestions(session.answeredQuestions());
+        dto.setStatus(session.getStatus().name());
+        return dto;
+    }
+
+    // Sessions still open at shutdown are persisted with the answers given so far.
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        timingWheel.close();
+        expiryExecutor.shutdown();
+        expiryExecutor.awaitTermination(30, TimeUnit.SECONDS);
+        for (ExamSession session : sessions.values()) {
+            long[] choices = session.close(ExamSession.Status.EXPIRED);
+            if (choices != null) expired.add(toSubmission(session, choices));
+        }
+        drainExpired();
+    }
+}
@@ -0,0 +1,112 @@
+package org.pentagone.business.zentracore.hr.service.impl;
+
+import org.pentagone.business.zentracore.common.exception.EntityNotFoundException;
+import org.pentagone.business.zentracore.hr.dto.AttemptDto;
+import org.pentagone.business.zentracore.hr.dto.RegradeReportDto;
+import org.pentagone.business.zentracore.hr.entity.Attempt;
+import org.pentagone.business.zentracore.hr.event.ApplicationScoreChangedEvent;
+import org.pentagone.business.zentracore.hr.grading.AnswerKey;
+import org.pentagone.business.zentracore.hr.grading.AttemptResponses;
+import org.pentagone.business.zentracore.hr.grading.GradeSheet;
+import org.pentagone.business.zentracore.hr.grading.GradingPolicy;
+import org.pentagone.business.zentracore.hr.grading.ItemStatistics;
+import org.pentagone.business.zentracore.hr.mapper.AttemptMapper;
+import org.pentagone.business.zentracore.hr.model.CompiledQcm;
+import org.pentagone.business.zentracore.hr.repository.AttemptRepository;
+import org.pentagone.business.zentracore.hr.repository.ResponseRepository;
+import org.pentagone.business.zentracore.hr.service.GradingService;
+import org.pentagone.business.zentracore.hr.service.ItemAnalyticsService;
+import org.pentagone.business.zentracore.hr.service.QcmService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+@Service
+public class GradingServiceImpl implements GradingService {
+    private static final int UPDATE_BATCH_SIZE = 500;
+
+    private final AttemptRepository attemptRepository;
+    private final ResponseRepository responseRepository;
+    private final AttemptMapper attemptMapper;
+    private final QcmService qcmService;
+    private final ItemAnalyticsService itemAnalyticsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final GradingPolicy policy;
+    private final ThreadLocal<GradeSheet> sheets = ThreadLocal.withInitial(GradeSheet::new);
+
+    public GradingServiceImpl(AttemptRepository attemptRepository, ResponseRepository responseRepository,
+                              AttemptMapper attemptMapper, QcmService qcmService,
+                              ItemAnalyticsService itemAnalyticsService, ApplicationEventPublisher eventPublisher,
+                              DataSource dataSource,
+                              @Value("${zentra.grading.policy:ALL_OR_NOTHING}") GradingPolicy policy) {
+        this.attemptRepository = attemptRepository;
+        this.responseRepository = responseRepository;
+        this.attemptMapper = attemptMapper;
+        this.qcmService = qcmService;
+        this.itemAnalyticsService = itemAnalyticsService;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(1000);
+        this.policy = policy;
+    }
+
+    @Override
+    public GradeSheet grade(CompiledQcm qcm, long[] choiceIds) {
+        GradeSheet sheet = sheets.get();
+        qcm.answerKey().grade(choiceIds, policy, sheet);
+        return sheet;
+    }
+
+    // The attempt is already counted in the item statistics, only the change of its score is added to them.
+    @Override
+    @Transactional
+    public AttemptDto gradeAttempt(Long attemptId) {
+        Attempt attempt = attemptRepository.findById(attemptId).orElseThrow(() -> new EntityNotFoundException("Attempt not found"));
+        CompiledQcm qcm = qcmService.getCompiledQcm(attempt.getQcm().getId());
+        long[] choiceIds = responseRepository.findChoiceIdsByAttemptId(attemptId).stream().mapToLong(Long::longValue).toArray();
+        GradeSheet sheet = grade(qcm, choiceIds);
+        if (attempt.getObtainedScore() != null) {
+            ItemStatistics statistics = new ItemStatistics();
+            statistics.addScoreChange(qcm.id(), qcm.answerKey(), attempt.getObtainedScore(), sheet);
+            itemAnalyticsService.record(statistics);
+        }
+        attempt.setObtainedScore(sheet.getScore());
+        return attemptMapper.toDto(attempt);
+    }
+
+    // Responses are read into flat arrays, every attempt is a slice of the choice array, then graded in
+    // parallel and written back in JDBC batches. The batch update bypasses the entity listeners, so the score
+    // change is published here, and item statistics are rebuilt since correctness may have changed.
+    @Override
+    @Transactional
+    public RegradeReportDto regradeQcm(Long qcmId) {
+        long start = System.currentTimeMillis();
+        AnswerKey key = qcmService.getCompiledQcm(qcmId).answerKey();
+        AttemptResponses responses = AttemptResponses.load(jdbcTemplate, qcmId);
+
+        double[] scores = new double[responses.size()];
+        IntStream.range(0, responses.size()).parallel().forEach(i ->
+                scores[i] = key.grade(responses.choiceIds(), responses.from(i), responses.to(i), policy, sheets.get()));
+
+        List<Object[]> batch = new ArrayList<>(UPDATE_BATCH_SIZE);
+        for (int i = 0; i < responses.size(); i++) {
+            batch.add(new Object[]{scores[i], responses.attemptId(i)});
+            if (batch.size() == UPDATE_BATCH_SIZE || i == responses.size() - 1) {
+                jdbcTemplate.batchUpdate("update attempt set obtained_score = ? where id = ?", batch);
+                batch.clear();
+            }
+        }
+        itemAnalyticsService.rebuildQcm(qcmId);
+        eventPublisher.publishEvent(new ApplicationScoreChangedEvent(
+                jdbcTemplate.queryForList("select application_id from attempt where qcm_id = ?", Long.class, qcmId)));
+        return new RegradeReportDto(qcmId, responses.size(), System.currentTimeMillis() - start);
+    }
+}
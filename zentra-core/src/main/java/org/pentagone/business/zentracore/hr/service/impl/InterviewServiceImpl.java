@@ -0,0 +1,269 @@
+package org.pentagone.business.zentracore.hr.service.impl;
+
+import org.pentagone.business.zentracore.common.exception.ConflictException;
+import org.pentagone.business.zentracore.common.exception.EntityNotFoundException;
+import org.pentagone.business.zentracore.common.util.AdvisoryLocks;
+import org.pentagone.business.zentracore.common.util.BoundedCache;
+import org.pentagone.business.zentracore.hr.dto.InterviewDto;
+import org.pentagone.business.zentracore.hr.dto.SlotRequestDto;
+import org.pentagone.business.zentracore.hr.dto.SlotSuggestionDto;
+import org.pentagone.business.zentracore.hr.entity.Application;
+import org.pentagone.business.zentracore.hr.entity.Employee;
+import org.pentagone.business.zentracore.hr.entity.Interview;
+import org.pentagone.business.zentracore.hr.mapper.InterviewMapper;
+import org.pentagone.business.zentracore.hr.repository.ApplicationRepository;
+import org.pentagone.business.zentracore.hr.repository.EmployeeRepository;
+import org.pentagone.business.zentracore.hr.repository.InterviewRepository;
+import org.pentagone.business.zentracore.hr.scheduling.Booking;
+import org.pentagone.business.zentracore.hr.scheduling.InterviewerCalendar;
+import org.pentagone.business.zentracore.hr.scheduling.WorkingHours;
+import org.pentagone.business.zentracore.hr.service.InterviewService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Consumer;
+
+// Each interviewer's busy time is kept in an InterviewerCalendar, loaded on first use from today onward and
+// refreshed after the cache TTL, so conflict checks and slot searches are tree lookups instead of loading
+// every interview of the interviewer. Bookings are serialized per interviewer with an advisory lock and
+// confirmed against the interview table, which keeps them safe when several instances hold calendars.
+@Service
+public class InterviewServiceImpl implements InterviewService {
+    // Namespace of the advisory lock serializing the bookings of an interviewer
+    private static final int BOOKING_LOCK = 0x4956;
+    private static final int MAX_APPLICATIONS = 500;
+    private static final int MAX_INTERVIEWERS = 100;
+    private static final String BOOKING_COLUMNS = "select id, interviewer_id, interview_date, start_time, end_time, " +
+            "duration_minutes from interview ";
+
+    private final InterviewRepository interviewRepository;
+    private final EmployeeRepository employeeRepository;
+    private final ApplicationRepository applicationRepository;
+    private final InterviewMapper interviewMapper;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final BoundedCache<Long, InterviewerCalendar> calendars;
+    private final WorkingHours workingHours;
+    private final Duration defaultLength;
+    private final int horizonDays;
+    private final RowMapper<Booking> bookingRow = (rs, rowNum) -> {
+        LocalDateTime start = rs.getObject("interview_date", LocalDate.class).atTime(rs.getObject("start_time", LocalTime.class));
+        return new Booking(rs.getLong("id"), start, end(start, rs.getObject("end_time", LocalTime.class),
+                rs.getObject("duration_minutes", Integer.class)));
+    };
+
+    public InterviewServiceImpl(InterviewRepository interviewRepository, EmployeeRepository employeeRepository,
+                                ApplicationRepository applicationRepository, InterviewMapper interviewMapper, DataSource dataSource,
+                                @Value("${zentra.interview.day-start:09:00}") String dayStart,
+                                @Value("${zentra.interview.day-end:18:00}") String dayEnd,
+                                @Value("${zentra.interview.slot-minutes:15}") int slotMinutes,
+                                @Value("${zentra.interview.default-duration-minutes:60}") int defaultDurationMinutes,
+                                @Value("${zentra.interview.horizon-days:30}") int horizonDays,
+                                @Value("${zentra.interview.max-calendars:1000}") int maxCalendars,
+                                @Value("${zentra.interview.calendar-ttl-seconds:300}") long calendarTtlSeconds) {
+        this.interviewRepository = interviewRepository;
+        this.employeeRepository = employeeRepository;
+        this.applicationRepository = applicationRepository;
+        this.interviewMapper = interviewMapper;
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.calendars = new BoundedCache<>(maxCalendars, Duration.ofSeconds(calendarTtlSeconds));
+        this.workingHours = new WorkingHours(LocalTime.parse(dayStart), LocalTime.parse(dayEnd), slotMinutes);
+        this.defaultLength = Duration.ofMinutes(defaultDurationMinutes);
+        this.horizonDays = horizonDays;
+    }
+
+    @Override
+    @Transactional
+    public InterviewDto scheduleInterview(InterviewDto interviewDto) {
+        if (interviewDto.getInterviewType() == null || interviewDto.getInterviewType().isBlank())
+            throw new IllegalArgumentException("Interview type is empty");
+        if (interviewDto.getInterviewDate() == null || interviewDto.getStartTime() == null)
+            throw new IllegalArgumentException("Interview date and start time are required");
+        if (interviewDto.getInterviewerId() == null || interviewDto.getApplicationId() == null)
+            throw new IllegalArgumentException("Interviewer and application are required");
+        LocalDateTime start = interviewDto.getInterviewDate().atTime(interviewDto.getStartTime());
+        if (start.isBefore(LocalDateTime.now()))
+            throw new IllegalArgumentException("Interview cannot be scheduled in the past");
+        LocalDateTime end = end(start, interviewDto.getEndTime(), interviewDto.getDurationMinutes());
+
+        Employee interviewer = employeeRepository.findById(interviewDto.getInterviewerId())
+                .orElseThrow(() -> new EntityNotFoundException("Employee not found"));
+        Application application = applicationRepository.findById(interviewDto.getApplicationId())
+                .orElseThrow(() -> new EntityNotFoundException("Application not found"));
+        if (application.getInterview() != null)
+            throw new IllegalArgumentException("Application already has an interview");
+
+        long interviewerId = interviewer.getId();
+        AdvisoryLocks.lock(jdbcTemplate.getJdbcTemplate(), BOOKING_LOCK, interviewerId);
+        InterviewerCalendar calendar = calendars(Set.of(interviewerId)).get(interviewerId);
+        List<Booking> conflicts;
+        synchronized (calendar) {
+            conflicts = calendar.conflicts(start, end);
+        }
+        if (conflicts.isEmpty()) {
+            // The calendar may predate a booking made by another instance, the table has the last word
+            conflicts = jdbcTemplate.query(BOOKING_COLUMNS + "where interviewer_id = :interviewer and interview_date between :from and :to",
+                            new MapSqlParameterSource("interviewer", interviewerId)
+                                    .addValue("from", start.toLocalDate().minusDays(1))
+                                    .addValue("to", end.toLocalDate()), bookingRow)
+                    .stream().filter(booking -> booking.overlaps(start, end)).toList();
+            if (!conflicts.isEmpty()) calendars.invalidate(interviewerId);
+        }
+        if (!conflicts.isEmpty()) {
+            Booking conflict = conflicts.get(0);
+            throw new ConflictException("Interviewer is already booked from " + conflict.start() + " to " + conflict.end() +
+                    " (interview " + conflict.interviewId() + ")");
+        }
+
+        Interview interview = new Interview();
+        interview.setInterviewType(interviewDto.getInterviewType());
+        interview.setInterviewDate(interviewDto.getInterviewDate());
+        interview.setStartTime(interviewDto.getStartTime());
+        interview.setEndTime(end.toLocalTime());
+        interview.setDurationMinutes((int) Duration.between(start, end).toMinutes());
+        interview.setInterviewer(interviewer);
+        interview.setApplication(application);
+        interview.setReport(interviewDto.getReport());
+        interview.setScore(interviewDto.getScore());
+        Interview saved = interviewRepository.save(interview);
+        Booking booking = new Booking(saved.getId(), start, end);
+        afterCommit(interviewerId, cached -> cached.add(booking));
+        return interviewMapper.toDto(saved);
+    }
+
+    @Override
+    @Transactional
+    public void cancelInterview(Long id) {
+        Interview interview = interviewRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Interview not found"));
+        long interviewerId = interview.getInterviewer().getId();
+        interviewRepository.delete(interview);
+        afterCommit(interviewerId, calendar -> calendar.remove(id));
+    }
+
+    // Greedy batch planning: applications are given, in order, the earliest free slot across the pool, the
+    // interviewers being kept in a priority queue by their next free slot. Slots handed out are after the
+    // interviewer's cursor, so the calendars are only read and the plan stays a suggestion until booked.
+    @Override
+    @Transactional(readOnly = true)
+    public List<SlotSuggestionDto> suggestSlots(SlotRequestDto request) {
+        if (request.getInterviewerIds() == null || request.getInterviewerIds().isEmpty())
+            throw new IllegalArgumentException("Interviewers are required");
+        if (request.getApplicationIds() == null || request.getApplicationIds().isEmpty())
+            throw new IllegalArgumentException("Applications are required");
+        Set<Long> interviewerIds = new LinkedHashSet<>(request.getInterviewerIds());
+        Set<Long> applicationIds = new LinkedHashSet<>(request.getApplicationIds());
+        if (interviewerIds.size() > MAX_INTERVIEWERS || applicationIds.size() > MAX_APPLICATIONS)
+            throw new IllegalArgumentException("At most " + MAX_INTERVIEWERS + " interviewers and " + MAX_APPLICATIONS +
+                    " applications per request");
+        Duration length = request.getDurationMinutes() == null ? defaultLength : Duration.ofMinutes(request.getDurationMinutes());
+        if (!workingHours.fits(length))
+            throw new IllegalArgumentException("Interview does not fit in a working day");
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from = request.getFrom() == null || request.getFrom().isBefore(now) ? now : request.getFrom();
+        LocalDateTime until = from.plusDays(horizonDays);
+
+        MapSqlParameterSource ids = new MapSqlParameterSource("interviewers", interviewerIds).addValue("applications", applicationIds);
+        Integer interviewers = jdbcTemplate.queryForObject("select count(*) from employee where id in (:interviewers)", ids, Integer.class);
+        if (interviewers == null || interviewers != interviewerIds.size())
+            throw new EntityNotFoundException("Employee not found");
+        Integer applications = jdbcTemplate.queryForObject("select count(*) from application where id in (:applications)", ids, Integer.class);
+        if (applications == null || applications != applicationIds.size())
+            throw new EntityNotFoundException("Application not found");
+        List<Long> scheduled = jdbcTemplate.queryForList("select application_id from interview where application_id in (:applications)",
+                ids, Long.class);
+        if (!scheduled.isEmpty())
+            throw new IllegalArgumentException("Application " + scheduled.get(0) + " already has an interview");
+
+        Map<Long, InterviewerCalendar> pool = calendars(interviewerIds);
+        PriorityQueue<Slot> queue = new PriorityQueue<>(Comparator.comparing(Slot::start).thenComparingInt(Slot::rank));
+        int rank = 0;
+        for (Long interviewerId : interviewerIds) {
+            LocalDateTime start = nextFree(pool.get(interviewerId), from, length, until);
+            if (start != null) queue.add(new Slot(start, interviewerId, rank));
+            rank++;
+        }
+        List<SlotSuggestionDto> suggestions = new ArrayList<>(applicationIds.size());
+        for (Long applicationId : applicationIds) {
+            Slot slot = queue.poll();
+            if (slot == null) break;
+            LocalDateTime end = slot.start().plus(length);
+            suggestions.add(new SlotSuggestionDto(applicationId, slot.interviewerId(), slot.start().toLocalDate(),
+                    slot.start().toLocalTime(), end.toLocalTime()));
+            LocalDateTime next = nextFree(pool.get(slot.interviewerId()), end, length, until);
+            if (next != null) queue.add(new Slot(next, slot.interviewerId(), slot.rank()));
+        }
+        return suggestions;
+    }
+
+    private LocalDateTime nextFree(InterviewerCalendar calendar, LocalDateTime from, Duration length, LocalDateTime until) {
+        synchronized (calendar) {
+            return calendar.nextFree(from, length, workingHours, until);
+        }
+    }
+
+    // Calendars of the given interviewers, the missing ones loaded with a single query
+    private Map<Long, InterviewerCalendar> calendars(Set<Long> interviewerIds) {
+        Map<Long, InterviewerCalendar> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long interviewerId : interviewerIds) {
+            InterviewerCalendar calendar = calendars.get(interviewerId);
+            if (calendar == null) missing.add(interviewerId);
+            else result.put(interviewerId, calendar);
+        }
+        if (missing.isEmpty()) return result;
+        for (Long interviewerId : missing) result.put(interviewerId, new InterviewerCalendar());
+        jdbcTemplate.query(BOOKING_COLUMNS + "where interviewer_id in (:interviewers) and interview_date >= :from",
+                new MapSqlParameterSource("interviewers", missing).addValue("from", LocalDate.now().minusDays(1)),
+                rs -> {
+                    result.get(rs.getLong("interviewer_id")).add(bookingRow.mapRow(rs, rs.getRow()));
+                });
+        for (Long interviewerId : missing) calendars.put(interviewerId, result.get(interviewerId));
+        return result;
+    }
+
+    // Calendars only reflect committed interviews, a rolled back booking never shows up as busy
+    private void afterCommit(long interviewerId, Consumer<InterviewerCalendar> change) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                InterviewerCalendar calendar = calendars.get(interviewerId);
+                if (calendar == null) return;
+                synchronized (calendar) {
+                    change.accept(calendar);
+                }
+            }
+        });
+    }
+
+    // End of an interview: its end time when set (past midnight if before the start), otherwise its duration
+    private LocalDateTime end(LocalDateTime start, LocalTime endTime, Integer durationMinutes) {
+        if (endTime != null && !endTime.equals(start.toLocalTime())) {
+            LocalDateTime end = start.toLocalDate().atTime(endTime);
+            return end.isAfter(start) ? end : end.plusDays(1);
+        }
+        if (durationMinutes != null && durationMinutes > 0) return start.plusMinutes(durationMinutes);
+        return start.plus(defaultLength);
+    }
+
+    private record Slot(LocalDateTime start, long interviewerId, int rank) {
+    }
+}
@@ -0,0 +1,177 @@
+package org.pentagone.business.zentracore.hr.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.pentagone.business.zentracore.common.util.AdvisoryLocks;
+import org.pentagone.business.zentracore.hr.dto.ChoiceAnalyticsDto;
+import org.pentagone.business.zentracore.hr.dto.ItemAnalyticsDto;
+import org.pentagone.business.zentracore.hr.dto.QuestionAnalyticsDto;
+import org.pentagone.business.zentracore.hr.dto.StatisticsRebuildReportDto;
+import org.pentagone.business.zentracore.hr.grading.AnswerKey;
+import org.pentagone.business.zentracore.hr.grading.AttemptResponses;
+import org.pentagone.business.zentracore.hr.grading.GradeSheet;
+import org.pentagone.business.zentracore.hr.grading.GradingPolicy;
+import org.pentagone.business.zentracore.hr.grading.ItemStatistics;
+import org.pentagone.business.zentracore.hr.model.CompiledChoice;
+import org.pentagone.business.zentracore.hr.model.CompiledQcm;
+import org.pentagone.business.zentracore.hr.model.CompiledQuestion;
+import org.pentagone.business.zentracore.hr.service.ItemAnalyticsService;
+import org.pentagone.business.zentracore.hr.service.QcmService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Statistics are stored as running sums in question_statistic and choice_statistic. Graded attempts add
+// their contribution in the transaction that inserts them, so reading the statistics of a qcm is two
+// indexed lookups instead of an aggregation over the response table.
+@Slf4j
+@Service
+public class ItemAnalyticsServiceImpl implements ItemAnalyticsService {
+    // Namespace of the advisory lock serializing statistics writes of a qcm
+    private static final int STATISTICS_LOCK = 0x5354;
+
+    private final QcmService qcmService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final GradingPolicy policy;
+
+    public ItemAnalyticsServiceImpl(QcmService qcmService, DataSource dataSource, PlatformTransactionManager transactionManager,
+                                    @Value("${zentra.grading.policy:ALL_OR_NOTHING}") GradingPolicy policy) {
+        this.qcmService = qcmService;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(1000);
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.policy = policy;
+    }
+
+    @Override
+    @Transactional
+    public void record(ItemStatistics statistics) {
+        if (statistics.isEmpty()) return;
+        for (Long qcmId : statistics.qcmIds())
+            lock(qcmId);
+
+        List<Object[]> questionRows = new ArrayList<>(statistics.questions().size());
+        statistics.questions().forEach((questionId, sums) -> questionRows.add(new Object[]{questionId, sums.getQcmId(),
+                sums.getAttempts(), sums.getCorrect(), sums.getSumScore(), sums.getSumScoreSquared(), sums.getSumCorrectScore()}));
+        jdbcTemplate.batchUpdate("insert into question_statistic (question_id, qcm_id, attempts, correct, sum_score, " +
+                "sum_score_squared, sum_correct_score) values (?, ?, ?, ?, ?, ?, ?) on conflict (question_id) do update set " +
+                "attempts = question_statistic.attempts + excluded.attempts, " +
+                "correct = question_statistic.correct + excluded.correct, " +
+                "sum_score = question_statistic.sum_score + excluded.sum_score, " +
+                "sum_score_squared = question_statistic.sum_score_squared + excluded.sum_score_squared, " +
+                "sum_correct_score = question_statistic.sum_correct_score + excluded.sum_correct_score", questionRows);
+
+        List<Object[]> choiceRows = new ArrayList<>(statistics.choices().size());
+        statistics.choices().forEach((choiceId, sums) -> choiceRows.add(new Object[]{choiceId, sums.getQuestionId(),
+                sums.getQcmId(), sums.getSelections()}));
+        jdbcTemplate.batchUpdate("insert into choice_statistic (choice_id, question_id, qcm_id, selections) values (?, ?, ?, ?) " +
+                "on conflict (choice_id) do update set selections = choice_statistic.selections + excluded.selections", choiceRows);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ItemAnalyticsDto getQcmAnalytics(Long qcmId) {
+        CompiledQcm qcm = qcmService.getCompiledQcm(qcmId);
+        Map<Long, QuestionAnalyticsDto> questionStatistics = new HashMap<>();
+        jdbcTemplate.query("select question_id, attempts, correct, sum_score, sum_score_squared, sum_correct_score " +
+                "from question_statistic where qcm_id = ?", rs -> {
+            QuestionAnalyticsDto dto = new QuestionAnalyticsDto();
+            long attempts = rs.getLong(2);
+            long correct = rs.getLong(3);
+            dto.setAttempts(attempts);
+            dto.setCorrect(correct);
+            dto.setDifficulty(attempts == 0 ? null : (double) correct / attempts);
+            dto.setDiscrimination(pointBiserial(attempts, correct, rs.getDouble(4), rs.getDouble(5), rs.getDouble(6)));
+            questionStatistics.put(rs.getLong(1), dto);
+        }, qcmId);
+        Map<Long, Long> selections = new HashMap<>();
+        jdbcTemplate.query("select choice_id, selections from choice_statistic where qcm_id = ?",
+                rs -> { selections.put(rs.getLong(1), rs.getLong(2)); }, qcmId);
+
+        List<QuestionAnalyticsDto> questions = new ArrayList<>(qcm.questions().size());
+        for (CompiledQuestion question : qcm.questions()) {
+            QuestionAnalyticsDto dto = questionStatistics.getOrDefault(question.id(), new QuestionAnalyticsDto());
+            dto.setQuestionId(question.id());
+            dto.setLibelle(question.libelle());
+            List<ChoiceAnalyticsDto> choices = new ArrayList<>(question.choices().size());
+            for (CompiledChoice choice : question.choices()) {
+                ChoiceAnalyticsDto choiceDto = new ChoiceAnalyticsDto();
+                choiceDto.setChoiceId(choice.id());
+                choiceDto.setLibelle(choice.libelle());
+                choiceDto.setCorrect(choice.correct());
+                choiceDto.setSelections(selections.getOrDefault(choice.id(), 0L));
+                choiceDto.setSelectionRate(dto.getAttempts() == 0 ? null : (double) choiceDto.getSelections() / dto.getAttempts());
+                choices.add(choiceDto);
+            }
+            dto.setChoices(choices);
+            questions.add(dto);
+        }
+        ItemAnalyticsDto analytics = new ItemAnalyticsDto();
+        analytics.setQcmId(qcmId);
+        analytics.setQuestions(questions);
+        return analytics;
+    }
+
+    // Existing rows are deleted before the responses are read: the delete waits for submissions holding the
+    // qcm lock, so every attempt is counted either by the rebuild or by its own upsert, never both.
+    @Override
+    @Transactional
+    public int rebuildQcm(Long qcmId) {
+        AnswerKey key = qcmService.getCompiledQcm(qcmId).answerKey();
+        lock(qcmId);
+        jdbcTemplate.update("delete from question_statistic where qcm_id = ?", qcmId);
+        jdbcTemplate.update("delete from choice_statistic where qcm_id = ?", qcmId);
+
+        AttemptResponses responses = AttemptResponses.load(jdbcTemplate, qcmId);
+        ItemStatistics statistics = new ItemStatistics();
+        GradeSheet sheet = new GradeSheet();
+        for (int i = 0; i < responses.size(); i++) {
+            key.grade(responses.choiceIds(), responses.from(i), responses.to(i), policy, sheet);
+            statistics.add(qcmId, key, responses.choiceIds(), responses.from(i), responses.to(i), sheet);
+        }
+        record(statistics);
+        return responses.size();
+    }
+
+    // Backfill job, every qcm is rebuilt in its own transaction so locks are held for one qcm at a time. A qcm
+    // that fails is logged and counted, the others are still rebuilt.
+    @Override
+    public StatisticsRebuildReportDto rebuildAll() {
+        long start = System.currentTimeMillis();
+        List<Long> qcmIds = jdbcTemplate.queryForList("select id from qcm order by id", Long.class);
+        long attempts = 0;
+        int failed = 0;
+        for (Long qcmId : qcmIds) {
+            try {
+                Integer rebuilt = transaction.execute(status -> rebuildQcm(qcmId));
+                attempts += rebuilt == null ? 0 : rebuilt;
+            } catch (RuntimeException e) {
+                log.error("Could not rebuild the statistics of qcm {}", qcmId, e);
+                failed++;
+            }
+        }
+        return new StatisticsRebuildReportDto(qcmIds.size(), attempts, failed, System.currentTimeMillis() - start);
+    }
+
+    private void lock(long qcmId) {
+        AdvisoryLocks.lock(jdbcTemplate, STATISTICS_LOCK, qcmId);
+    }
+
+    // Pearson correlation between the 0/1 correctness of the question and the attempt score, computed from
+    // the running sums (sum of x squared is the correct count since x is 0 or 1).
+    private static Double pointBiserial(long n, long correct, double sumScore, double sumScoreSquared, double sumCorrectScore) {
+        double varianceCorrect = (double) n * correct - (double) correct * correct;
+        double varianceScore = n * sumScoreSquared - sumScore * sumScore;
+        if (varianceCorrect <= 0 || varianceScore <= 0) return null;
+        return (n * sumCorrectScore - correct * sumScore) / Math.sqrt(varianceCorrect * varianceScore);
+    }
+}
@@ -0,0 +1,186 @@
+package org.pentagone.business.zentracore.hr.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.pentagone.business.zentracore.common.exception.EntityNotFoundException;
+import org.pentagone.business.zentracore.common.util.AfterCommitWorker;
+import org.pentagone.business.zentracore.hr.dto.LeaderboardEntryDto;
+import org.pentagone.business.zentracore.hr.event.ApplicationScoreChangedEvent;
+import org.pentagone.business.zentracore.hr.service.LeaderboardService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+// Every publication that has been read gets a Board: its applications in a skip list ordered by composite
+// score, so reading the first N is a walk over N nodes. Boards are loaded on first read and then kept up to
+// date from ApplicationScoreChangedEvent, re-reading only the changed applications after commit.
+// Loads and updates all run on one maintenance thread: every read of the database happens after the
+// previous one, so an older row can never overwrite a newer one on a board.
+@Slf4j
+@Service
+public class LeaderboardServiceImpl implements LeaderboardService {
+    private static final int MAX_LIMIT = 500;
+    private static final int UPDATE_CHUNK_SIZE = 1000;
+    private static final String SCORE_QUERY = "select a.id, a.publication_id, a.status, a.document_score, " +
+            "(select max(t.obtained_score) from attempt t where t.application_id = a.id) obtained_score, " +
+            "(select max(i.score) from interview i where i.application_id = a.id) interview_score, " +
+            "c.first_name, c.last_name from application a join candidate c on c.id = a.candidate_id ";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final double documentWeight;
+    private final double qcmWeight;
+    private final double interviewWeight;
+    private final int maxBoards;
+    private final Map<Long, Board> boards = new ConcurrentHashMap<>();
+    private final AfterCommitWorker maintenance = new AfterCommitWorker("leaderboard-maintenance");
+    private final AfterCommitWorker.IdQueue changedApplications = maintenance.queue(this::applyPending);
+
+    public LeaderboardServiceImpl(DataSource dataSource,
+                                  @Value("${zentra.leaderboard.weights.document:0.3}") double documentWeight,
+                                  @Value("${zentra.leaderboard.weights.qcm:0.4}") double qcmWeight,
+                                  @Value("${zentra.leaderboard.weights.interview:0.3}") double interviewWeight,
+                                  @Value("${zentra.leaderboard.max-publications:1000}") int maxBoards) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.documentWeight = documentWeight;
+        this.qcmWeight = qcmWeight;
+        this.interviewWeight = interviewWeight;
+        this.maxBoards = maxBoards;
+    }
+
+    @Override
+    public List<LeaderboardEntryDto> getLeaderboard(Long publicationId, int limit) {
+        if (limit < 1)
+            throw new IllegalArgumentException("Limit must be positive");
+        Board board = boards.get(publicationId);
+        if (board == null) board = await(publicationId);
+        board.lastRead = System.nanoTime();
+
+        List<LeaderboardEntryDto> result = new ArrayList<>(Math.min(limit, MAX_LIMIT));
+        Iterator<Entry> entries = board.ranking.iterator();
+        while (entries.hasNext() && result.size() < Math.min(limit, MAX_LIMIT)) {
+            Entry entry = entries.next();
+            result.add(new LeaderboardEntryDto(result.size() + 1, entry.applicationId, entry.candidateName, entry.status,
+                    entry.documentScore, entry.obtainedScore, entry.interviewScore, entry.composite));
+        }
+        return result;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScoreChanged(ApplicationScoreChangedEvent event) {
+        changedApplications.addAll(event.applicationIds());
+    }
+
+    private Board await(Long publicationId) {
+        return maintenance.call(() -> boards.containsKey(publicationId) ? boards.get(publicationId) : load(publicationId));
+    }
+
+    private Board load(Long publicationId) {
+        Integer exists = jdbcTemplate.queryForObject("select count(*) from publication where id = :id",
+                new MapSqlParameterSource("id", publicationId), Integer.class);
+        if (exists == null || exists == 0)
+            throw new EntityNotFoundException("Publication not found");
+        Board board = new Board();
+        jdbcTemplate.query(SCORE_QUERY + "where a.publication_id = :publicationId",
+                new MapSqlParameterSource("publicationId", publicationId), entryMapper()).forEach(board::put);
+        if (boards.size() >= maxBoards)
+            boards.entrySet().stream().min(Comparator.comparingLong(e -> e.getValue().lastRead))
+                    .ifPresent(e -> boards.remove(e.getKey()));
+        boards.put(publicationId, board);
+        return board;
+    }
+
+    // Drains everything queued so far: several events arriving together cost one query per chunk.
+    private void applyPending(Set<Long> ids) {
+        if (boards.isEmpty()) return;
+        try {
+            List<Long> all = new ArrayList<>(ids);
+            for (int from = 0; from < all.size(); from += UPDATE_CHUNK_SIZE) {
+                List<Long> chunk = all.subList(from, Math.min(all.size(), from + UPDATE_CHUNK_SIZE));
+                Set<Long> found = new HashSet<>();
+                for (Entry entry : jdbcTemplate.query(SCORE_QUERY + "where a.id in (:ids)", new MapSqlParameterSource("ids", chunk), entryMapper())) {
+                    found.add(entry.applicationId);
+                    // An application never moves to another publication, only its own board can hold it
+                    Board board = boards.get(entry.publicationId);
+                    if (board != null) board.put(entry);
+                }
+                // Deleted applications: their publication is not known anymore
+                chunk.stream().filter(id -> !found.contains(id)).forEach(id -> boards.values().forEach(board -> board.remove(id)));
+            }
+        } catch (RuntimeException e) {
+            // Boards may now be stale, drop them so the next read reloads from the database
+            log.error("Could not update leaderboards, dropping them", e);
+            boards.clear();
+        }
+    }
+
+    private RowMapper<Entry> entryMapper() {
+        return (rs, rowNum) -> {
+            Double documentScore = rs.getObject(4, Double.class);
+            Double obtainedScore = rs.getObject(5, Double.class);
+            Double interviewScore = rs.getObject(6, Double.class);
+            double composite = documentWeight * valueOf(documentScore) + qcmWeight * valueOf(obtainedScore)
+                    + interviewWeight * valueOf(interviewScore);
+            return new Entry(rs.getLong(1), rs.getLong(2), rs.getString(7) + " " + rs.getString(8), rs.getString(3),
+                    documentScore, obtainedScore, interviewScore, composite);
+        };
+    }
+
+    // A missing score counts as 0: an applicant not yet interviewed ranks below one who was, all else equal.
+    private static double valueOf(Double score) {
+        return score == null ? 0 : score;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        maintenance.shutdownNow();
+    }
+
+    private record Entry(long applicationId, long publicationId, String candidateName, String status, Double documentScore,
+                         Double obtainedScore, Double interviewScore, double composite) {
+    }
+
+    private static final class Board {
+        private static final Comparator<Entry> ORDER = Comparator.comparingDouble(Entry::composite).reversed()
+                .thenComparingLong(Entry::applicationId);
+
+        private final ConcurrentSkipListSet<Entry> ranking = new ConcurrentSkipListSet<>(ORDER);
+        private final Map<Long, Entry> byApplication = new HashMap<>();
+        private volatile long lastRead = System.nanoTime();
+
+        // Only called from the maintenance thread. When the position changes the new entry is added before the
+        // old one is removed, so a concurrent reader may briefly see the application twice but never miss it.
+        private void put(Entry entry) {
+            Entry previous = byApplication.put(entry.applicationId, entry);
+            if (previous == null) {
+                ranking.add(entry);
+            } else if (ORDER.compare(previous, entry) == 0) {
+                if (previous.equals(entry)) return;
+                ranking.remove(previous);
+                ranking.add(entry);
+            } else {
+                ranking.add(entry);
+                ranking.remove(previous);
+            }
+        }
+
+        private void remove(long applicationId) {
+            Entry previous = byApplication.remove(applicationId);
+            if (previous != null) ranking.remove(previous);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package org.pentagone.business.zentracore.hr.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.pentagone.business.zentracore.common.exception.EntityNotFoundException;
+import org.pentagone.business.zentracore.hr.dto.MatchDto;
+import org.pentagone.business.zentracore.hr.entity.PublicationStatus;
+import org.pentagone.business.zentracore.hr.matching.DegreeLevel;
+import org.pentagone.business.zentracore.hr.matching.MatchProfile;
+import org.pentagone.business.zentracore.hr.matching.MatchingIndex;
+import org.pentagone.business.zentracore.hr.matching.SkillDictionary;
+import org.pentagone.business.zentracore.hr.service.MatchingService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Rankings are computed against an in-memory MatchingIndex of every candidate and open publication,
+// rebuilt from two projection queries when it is older than the refresh interval. The rebuild runs in the
+// background, rankings keep using the previous index meanwhile; only the very first one waits for a build.
+// A ranking never touches the database unless the profile asked about is missing from the index (e.g. a
+// closed publication).
+@Slf4j
+@Service
+public class MatchingServiceImpl implements MatchingService {
+    private static final int MAX_K = 500;
+    private static final String CANDIDATE_COLUMNS = "select id, first_name, last_name, skills, education_level, last_degree, " +
+            "years_experience from candidate";
+    private static final String PUBLICATION_COLUMNS = "select p.id, p.title, j.required_skills, j.required_degree " +
+            "from publication p join job j on j.id = p.job_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration refreshInterval;
+    private volatile MatchingIndex index;
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "matching-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public MatchingServiceImpl(DataSource dataSource, @Value("${zentra.matching.refresh-seconds:300}") long refreshSeconds) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(1000);
+        this.refreshInterval = Duration.ofSeconds(refreshSeconds);
+    }
+
+    @Override
+    public List<MatchDto> topCandidates(Long publicationId, int k) {
+        MatchingIndex current = currentIndex();
+        MatchProfile publication = current.publication(publicationId);
+        if (publication == null)
+            publication = jdbcTemplate.query(PUBLICATION_COLUMNS + " where p.id = ?", PUBLICATION_ROW, publicationId)
+                    .stream().findFirst().orElseThrow(() -> new EntityNotFoundException("Publication not found"));
+        return toDtos(current.topCandidates(publication, limit(k)));
+    }
+
+    @Override
+    public List<MatchDto> topPublications(Long candidateId, int k) {
+        MatchingIndex current = currentIndex();
+        MatchProfile candidate = current.candidate(candidateId);
+        if (candidate == null)
+            candidate = jdbcTemplate.query(CANDIDATE_COLUMNS + " where id = ?", CANDIDATE_ROW, candidateId)
+                    .stream().findFirst().orElseThrow(() -> new EntityNotFoundException("Candidate not found"));
+        return toDtos(current.topPublications(candidate, limit(k)));
+    }
+
+    @Override
+    public synchronized void refresh() {
+        List<MatchProfile> candidates = jdbcTemplate.query(CANDIDATE_COLUMNS, CANDIDATE_ROW);
+        List<MatchProfile> publications = jdbcTemplate.query(PUBLICATION_COLUMNS + " where p.status = ?", PUBLICATION_ROW,
+                PublicationStatus.OPEN.getLabel());
+        index = MatchingIndex.build(candidates, publications);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildAtStartup() {
+        refreshInBackground();
+    }
+
+    private MatchingIndex currentIndex() {
+        MatchingIndex current = index;
+        if (current == null) {
+            synchronized (this) {
+                if (index == null) refresh();
+                return index;
+            }
+        }
+        if (current.builtAt().plus(refreshInterval).isBefore(Instant.now())) refreshInBackground();
+        return current;
+    }
+
+    private void refreshInBackground() {
+        if (!refreshQueued.compareAndSet(false, true)) return;
+        refresher.execute(() -> {
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                log.error("Could not refresh the matching index, rankings keep using the previous one", e);
+            } finally {
+                refreshQueued.set(false);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    private static int limit(int k) {
+        if (k < 1)
+            throw new IllegalArgumentException("k must be positive");
+        return Math.min(k, MAX_K);
+    }
+
+    private static List<MatchDto> toDtos(List<MatchingIndex.Match> matches) {
+        return matches.stream().map(match -> new MatchDto(match.id(), match.label(), match.score(), match.matchedSkills(),
+                match.requiredSkills())).toList();
+    }
+
+    // The better of the education level and the last degree is used, candidates fill in one or the other.
+    private static final RowMapper<MatchProfile> CANDIDATE_ROW = (rs, rowNum) -> new MatchProfile(rs.getLong(1),
+            rs.getString(2) + " " + rs.getString(3), SkillDictionary.parse(rs.getString(4)),
+            Math.max(DegreeLevel.of(rs.getString(5)), DegreeLevel.of(rs.getString(6))), rs.getInt(7));
+
+    private static final RowMapper<MatchProfile> PUBLICATION_ROW = (rs, rowNum) -> new MatchProfile(rs.getLong(1),
+            rs.getString(2), SkillDictionary.parse(rs.getString(3)), DegreeLevel.of(rs.getString(4)), 0);
+}
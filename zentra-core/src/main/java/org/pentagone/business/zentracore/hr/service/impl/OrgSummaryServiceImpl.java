@@ -0,0 +1,205 @@
+package org.pentagone.business.zentracore.hr.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.pentagone.business.zentracore.common.util.AfterCommitWorker;
+import org.pentagone.business.zentracore.hr.dto.DepartmentSummaryDto;
+import org.pentagone.business.zentracore.hr.dto.JobSummaryDto;
+import org.pentagone.business.zentracore.hr.dto.OrgSummaryRebuildReportDto;
+import org.pentagone.business.zentracore.hr.event.OrgChangedEvent;
+import org.pentagone.business.zentracore.hr.service.OrgSummaryService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Headcount and salary totals are kept per job (org_job_summary) and per department (org_department_summary),
+// so the dashboard reads one row per department instead of walking departments, jobs, employees and
+// contracts. Changes are queued by employee and job id and applied after commit on one thread, by recounting
+// the touched jobs from the source tables and then their departments from the job rows: a recount cannot
+// drift the way added deltas can. Budgets are read from department at query time, they need no refresh.
+// Refreshes and rebuilds take one advisory lock, so instances never interleave their recounts.
+@Slf4j
+@Service
+public class OrgSummaryServiceImpl implements OrgSummaryService {
+    // First key of the transaction level advisory lock serializing writes to the read model
+    private static final int ORG_SUMMARY_LOCK = 0x4F52;
+    private static final int BATCH_SIZE = 500;
+    // %s restricts the jobs recounted
+    private static final String COUNT_JOBS = "insert into org_job_summary (job_id, department_id, headcount, base_salary, " +
+            "gross_salary, annual_bonus, refreshed_at) " +
+            "select j.id, j.department_id, count(e.id), coalesce(sum(round(e.base_salary::numeric, 2)), 0), " +
+            "coalesce(sum(round(c.gross_salary::numeric, 2)), 0), coalesce(sum(round(c.annual_bonus::numeric, 2)), 0), :now " +
+            "from job j left join employee e on e.job_id = j.id left join employment_contract c on c.employee_id = e.id " +
+            "%s group by j.id, j.department_id";
+    // %s restricts the departments recounted
+    private static final String COUNT_DEPARTMENTS = "insert into org_department_summary (department_id, jobs, headcount, " +
+            "base_salary, gross_salary, annual_bonus, refreshed_at) " +
+            "select department_id, count(*), sum(headcount), sum(base_salary), sum(gross_salary), sum(annual_bonus), :now " +
+            "from org_job_summary %s group by department_id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final AfterCommitWorker worker = new AfterCommitWorker("org-summary");
+    private final AfterCommitWorker.IdQueue changedEmployees = worker.queue(this::refreshEmployees);
+    private final AfterCommitWorker.IdQueue changedJobs = worker.queue(this::refreshJobs);
+
+    public OrgSummaryServiceImpl(DataSource dataSource, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public List<DepartmentSummaryDto> getDepartmentSummaries(boolean includeJobs) {
+        Map<Long, List<JobSummaryDto>> jobs = new HashMap<>();
+        if (includeJobs) {
+            jdbcTemplate.query("select s.job_id, j.title, s.department_id, s.headcount, s.base_salary, s.gross_salary, s.annual_bonus " +
+                    "from org_job_summary s join job j on j.id = s.job_id order by j.title, s.job_id", rs -> {
+                jobs.computeIfAbsent(rs.getLong("department_id"), id -> new ArrayList<>()).add(new JobSummaryDto(rs.getLong("job_id"),
+                        rs.getString("title"), rs.getInt("headcount"), rs.getBigDecimal("base_salary"),
+                        rs.getBigDecimal("gross_salary"), rs.getBigDecimal("annual_bonus")));
+            });
+        }
+        return jdbcTemplate.query("select d.id, d.name, round(d.annual_budget::numeric, 2) as annual_budget, s.jobs, s.headcount, " +
+                "s.base_salary, s.gross_salary, s.annual_bonus, s.refreshed_at " +
+                "from department d left join org_department_summary s on s.department_id = d.id order by d.name", (rs, rowNum) -> {
+            DepartmentSummaryDto summary = new DepartmentSummaryDto();
+            summary.setDepartmentId(rs.getLong("id"));
+            summary.setName(rs.getString("name"));
+            summary.setJobCount(rs.getInt("jobs"));
+            summary.setHeadcount(rs.getInt("headcount"));
+            summary.setBaseSalaryTotal(orZero(rs.getBigDecimal("base_salary")));
+            summary.setGrossSalaryTotal(orZero(rs.getBigDecimal("gross_salary")));
+            summary.setAnnualBonusTotal(orZero(rs.getBigDecimal("annual_bonus")));
+            summary.setSalaryMass(summary.getGrossSalaryTotal().add(summary.getAnnualBonusTotal()));
+            BigDecimal budget = rs.getBigDecimal("annual_budget");
+            summary.setAnnualBudget(budget);
+            if (budget != null) {
+                summary.setRemainingBudget(budget.subtract(summary.getSalaryMass()));
+                if (budget.signum() > 0)
+                    summary.setBudgetConsumption(summary.getSalaryMass().divide(budget, 4, RoundingMode.HALF_UP));
+            }
+            Timestamp refreshedAt = rs.getTimestamp("refreshed_at");
+            summary.setRefreshedAt(refreshedAt == null ? null : refreshedAt.toLocalDateTime());
+            summary.setJobs(includeJobs ? jobs.getOrDefault(summary.getDepartmentId(), List.of()) : null);
+            return summary;
+        });
+    }
+
+    // Also repairs whatever a lost event (crash between commit and refresh, JDBC write) left stale
+    @Override
+    public OrgSummaryRebuildReportDto rebuild() {
+        long start = System.currentTimeMillis();
+        OrgSummaryRebuildReportDto report = transaction.execute(status -> {
+            lock();
+            MapSqlParameterSource parameters = new MapSqlParameterSource("now", Timestamp.valueOf(LocalDateTime.now()));
+            jdbcTemplate.update("delete from org_employee_job", parameters);
+            jdbcTemplate.update("delete from org_job_summary", parameters);
+            jdbcTemplate.update("delete from org_department_summary", parameters);
+            int employees = jdbcTemplate.update("insert into org_employee_job (employee_id, job_id) select id, job_id from employee",
+                    parameters);
+            int jobs = jdbcTemplate.update(COUNT_JOBS.formatted(""), parameters);
+            int departments = jdbcTemplate.update(COUNT_DEPARTMENTS.formatted(""), parameters);
+            return new OrgSummaryRebuildReportDto(departments, jobs, employees, 0);
+        });
+        report.setDurationMillis(System.currentTimeMillis() - start);
+        log.info("Organization summary rebuilt: {} departments, {} jobs, {} employees in {} ms", report.getDepartments(),
+                report.getJobs(), report.getEmployees(), report.getDurationMillis());
+        return report;
+    }
+
+    @Scheduled(cron = "${zentra.org-summary.rebuild-cron:0 30 3 * * *}")
+    public void scheduledRebuild() {
+        worker.execute(this::rebuild);
+    }
+
+    // A database whose read model was never built (new deployment) gets it before the first dashboard
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIfMissing() {
+        worker.execute(() -> {
+            Boolean missing = jdbcTemplate.queryForObject("select exists (select 1 from job) " +
+                    "and not exists (select 1 from org_job_summary)", new MapSqlParameterSource(), Boolean.class);
+            if (Boolean.TRUE.equals(missing)) rebuild();
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrgChanged(OrgChangedEvent event) {
+        changedEmployees.addAll(event.employeeIds());
+        changedJobs.addAll(event.jobIds());
+    }
+
+    private void refreshEmployees(Set<Long> employees) {
+        try {
+            List<Long> all = new ArrayList<>(employees);
+            for (int from = 0; from < all.size(); from += BATCH_SIZE) {
+                List<Long> batch = all.subList(from, Math.min(all.size(), from + BATCH_SIZE));
+                transaction.executeWithoutResult(status -> refresh(batch, Set.of()));
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not refresh the organization summary of employees {}", employees, e);
+        }
+    }
+
+    private void refreshJobs(Set<Long> jobs) {
+        try {
+            transaction.executeWithoutResult(status -> refresh(List.of(), jobs));
+        } catch (RuntimeException e) {
+            log.error("Could not refresh the organization summary of jobs {}", jobs, e);
+        }
+    }
+
+    // The employees' previous and current jobs are recounted, then the previous and current departments of those jobs
+    private void refresh(List<Long> employeeIds, Set<Long> jobIds) {
+        lock();
+        Set<Long> jobs = new HashSet<>(jobIds);
+        if (!employeeIds.isEmpty()) {
+            MapSqlParameterSource employees = new MapSqlParameterSource("ids", employeeIds);
+            jobs.addAll(jdbcTemplate.queryForList("delete from org_employee_job where employee_id in (:ids) returning job_id",
+                    employees, Long.class));
+            jobs.addAll(jdbcTemplate.queryForList("insert into org_employee_job (employee_id, job_id) " +
+                    "select id, job_id from employee where id in (:ids) returning job_id", employees, Long.class));
+        }
+        if (jobs.isEmpty()) return;
+        MapSqlParameterSource parameters = new MapSqlParameterSource("jobs", jobs)
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now()));
+        Set<Long> departments = new HashSet<>(jdbcTemplate.queryForList(
+                "delete from org_job_summary where job_id in (:jobs) returning department_id", parameters, Long.class));
+        departments.addAll(jdbcTemplate.queryForList(COUNT_JOBS.formatted("where j.id in (:jobs)") + " returning department_id",
+                parameters, Long.class));
+        if (departments.isEmpty()) return;
+        parameters.addValue("departments", departments);
+        jdbcTemplate.update("delete from org_department_summary where department_id in (:departments)", parameters);
+        jdbcTemplate.update(COUNT_DEPARTMENTS.formatted("where department_id in (:departments)"), parameters);
+    }
+
+    private void lock() {
+        jdbcTemplate.query("select pg_advisory_xact_lock(:key, 0)", new MapSqlParameterSource("key", ORG_SUMMARY_LOCK), rs -> {});
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value == null ? BigDecimal.ZERO : value;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+}
@@ -0,0 +1,263 @@
+package org.pentagone.business.zentracore.hr.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.pentagone.business.zentracore.common.exception.ConflictException;
+import org.pentagone.business.zentracore.common.exception.EntityNotFoundException;
+import org.pentagone.business.zentracore.common.util.PageResponse;
+import org.pentagone.business.zentracore.hr.dto.PayrollLineDto;
+import org.pentagone.business.zentracore.hr.dto.PayrollRunDto;
+import org.pentagone.business.zentracore.hr.entity.PayrollRun;
+import org.pentagone.business.zentracore.hr.mapper.PayrollMapper;
+import org.pentagone.business.zentracore.hr.payroll.PayrollCalculator;
+import org.pentagone.business.zentracore.hr.payroll.PayrollInput;
+import org.pentagone.business.zentracore.hr.payroll.PayrollTask;
+import org.pentagone.business.zentracore.hr.payroll.PayrollTotals;
+import org.pentagone.business.zentracore.hr.payroll.Payslip;
+import org.pentagone.business.zentracore.hr.repository.PayrollLineRepository;
+import org.pentagone.business.zentracore.hr.repository.PayrollRunRepository;
+import org.pentagone.business.zentracore.hr.service.PayrollService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Employees are read by id in chunks (one keyset query each, contract joined), every chunk is computed on a
+// dedicated fork/join pool, and its payslips are written by one JDBC batch on the writer thread while the
+// next chunk is read and computed. Memory holds at most two chunks whatever the number of employees.
+// One run per month at a time across nodes: a unique index covers the RUNNING runs of a period, and a run
+// holds a lease it renews after every chunk, so the run of a node that died is failed instead of blocking
+// its month forever.
+@Slf4j
+@Service
+public class PayrollServiceImpl implements PayrollService {
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final String RUNNING = "RUNNING";
+    // Money is rounded to the cent in numeric before it reaches Java, the double columns never meet BigDecimal
+    private static final String SELECT_INPUTS = "select e.id, round(e.base_salary::numeric, 2) as base_salary, e.hire_date, " +
+            "e.contract_end_date, round(c.gross_salary::numeric, 2) as gross_salary, round(c.annual_bonus::numeric, 2) as annual_bonus, " +
+            "round(c.weekly_hours::numeric, 2) as weekly_hours, c.start_date, c.end_date " +
+            "from employee e left join employment_contract c on c.employee_id = e.id " +
+            "where e.id > ? and e.hire_date <= ? order by e.id limit ?";
+    private static final String RENEW_LEASE = "update payroll_run set heartbeat_at = ? where id = ? and status = 'RUNNING'";
+    private static final String EXPIRE_LEASES = "update payroll_run set status = 'FAILED', finished_at = ?, " +
+            "error = 'Abandoned: lease not renewed' where status = 'RUNNING' and coalesce(heartbeat_at, started_at) < ?";
+    private static final String INSERT_LINE = "insert into payroll_line (run_id, employee_id, worked_days, gross_pay, bonus, " +
+            "employer_contributions, employer_cost) values (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final PayrollRunRepository payrollRunRepository;
+    private final PayrollLineRepository payrollLineRepository;
+    private final PayrollMapper payrollMapper;
+    private final PayrollCalculator calculator;
+    private final int chunkSize;
+    private final Duration lease;
+    private final ForkJoinPool pool;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "payroll-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PayrollServiceImpl(DataSource dataSource, PlatformTransactionManager transactionManager,
+                              PayrollRunRepository payrollRunRepository, PayrollLineRepository payrollLineRepository,
+                              PayrollMapper payrollMapper,
+                              @Value("${zentra.payroll.chunk-size:5000}") int chunkSize,
+                              @Value("${zentra.payroll.parallelism:0}") int parallelism,
+                              @Value("${zentra.payroll.lease-minutes:10}") long leaseMinutes,
+                              @Value("${zentra.payroll.full-time-hours:35}") BigDecimal fullTimeHours,
+                              @Value("${zentra.payroll.employer-rate:0.45}") BigDecimal employerRate) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(chunkSize);
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.payrollRunRepository = payrollRunRepository;
+        this.payrollLineRepository = payrollLineRepository;
+        this.payrollMapper = payrollMapper;
+        this.calculator = new PayrollCalculator(fullTimeHours, employerRate);
+        this.chunkSize = chunkSize;
+        this.lease = Duration.ofMinutes(leaseMinutes);
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @Override
+    public PayrollRunDto run(YearMonth period) {
+        if (period == null)
+            throw new IllegalArgumentException("Period is required");
+        if (!running.compareAndSet(false, true))
+            throw new ConflictException("A payroll run is already in progress");
+        try {
+            expireLeases();
+            if (payrollRunRepository.existsByPeriodStartAndStatus(period.atDay(1), RUNNING))
+                throw new ConflictException("A payroll run of " + period + " is already in progress");
+            PayrollRun run = new PayrollRun();
+            run.setPeriodStart(period.atDay(1));
+            run.setStartedAt(LocalDateTime.now());
+            run.setHeartbeatAt(run.getStartedAt());
+            try {
+                run = payrollRunRepository.save(run);
+            } catch (DataIntegrityViolationException e) {
+                // Another node started the same month since the check
+                throw new ConflictException("A payroll run of " + period + " is already in progress");
+            }
+            try {
+                PayrollTotals totals = compute(run.getId(), period);
+                run.setStatus("COMPLETED");
+                run.setEmployees(totals.employees());
+                run.setTotalGross(totals.grossPay());
+                run.setTotalBonus(totals.bonus());
+                run.setTotalEmployerContributions(totals.employerContributions());
+                run.setTotalEmployerCost(totals.employerCost());
+            } catch (RuntimeException e) {
+                log.error("Payroll run {} of {} failed", run.getId(), period, e);
+                Long runId = run.getId();
+                transaction.executeWithoutResult(status -> jdbcTemplate.update("delete from payroll_line where run_id = ?", runId));
+                run.setStatus("FAILED");
+                run.setError(e.getMessage());
+            }
+            run.setFinishedAt(LocalDateTime.now());
+            run = payrollRunRepository.save(run);
+            log.info("Payroll run {} of {}: {} employees, {} in {} ms", run.getId(), period, run.getEmployees(), run.getStatus(),
+                    Duration.between(run.getStartedAt(), run.getFinishedAt()).toMillis());
+            return payrollMapper.toDto(run);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    // Runs left RUNNING by a node that stopped mid-run
+    @EventListener(ApplicationReadyEvent.class)
+    public void expireLeases() {
+        LocalDateTime now = LocalDateTime.now();
+        int expired = jdbcTemplate.update(EXPIRE_LEASES, now, now.minus(lease));
+        if (expired > 0)
+            log.warn("Failed {} abandoned payroll run(s)", expired);
+    }
+
+    @Override
+    public PayrollRunDto getRun(Long runId) {
+        PayrollRun run = payrollRunRepository.findById(runId)
+                .orElseThrow(() -> new EntityNotFoundException("Payroll run not found"));
+        return payrollMapper.toDto(run);
+    }
+
+    @Override
+    public PageResponse<PayrollLineDto> getLines(Long runId, int page, int size) {
+        if (page < 0)
+            throw new IllegalArgumentException("Page must be positive");
+        if (size < 1 || size > MAX_PAGE_SIZE)
+            throw new IllegalArgumentException("Size must be between 1 and " + MAX_PAGE_SIZE);
+        if (!payrollRunRepository.existsById(runId))
+            throw new EntityNotFoundException("Payroll run not found");
+        return PageResponse.of(payrollLineRepository.findByIdRunId(runId, PageRequest.of(page, size, Sort.by("id.employeeId")))
+                .map(payrollMapper::toDto));
+    }
+
+    // At most one chunk is being written while the next one is read and computed
+    private PayrollTotals compute(long runId, YearMonth period) {
+        PayrollTotals totals = PayrollTotals.ZERO;
+        Future<?> writing = CompletableFuture.completedFuture(null);
+        Date periodEnd = Date.valueOf(period.atEndOfMonth());
+        long after = 0;
+        try {
+            while (true) {
+                List<PayrollInput> chunk = jdbcTemplate.query(SELECT_INPUTS, INPUT, after, periodEnd, chunkSize);
+                if (chunk.isEmpty()) break;
+                PayrollInput[] inputs = chunk.toArray(PayrollInput[]::new);
+                Payslip[] payslips = new Payslip[inputs.length];
+                totals = totals.plus(pool.invoke(new PayrollTask(calculator, period, inputs, payslips, 0, inputs.length)));
+                await(writing);
+                renewLease(runId);
+                writing = writer.submit(() -> write(runId, payslips));
+                if (inputs.length < chunkSize) break;
+                after = inputs[inputs.length - 1].employeeId();
+            }
+            await(writing);
+        } catch (RuntimeException e) {
+            // The failed run's lines are deleted next, the write in flight must not land after that
+            try {
+                writing.get();
+            } catch (Exception ignored) {
+                // The first failure is the one reported
+            }
+            throw e;
+        }
+        return totals;
+    }
+
+    private void renewLease(long runId) {
+        if (jdbcTemplate.update(RENEW_LEASE, LocalDateTime.now(), runId) == 0)
+            throw new IllegalStateException("Payroll run " + runId + " lost its lease");
+    }
+
+    private void write(long runId, Payslip[] payslips) {
+        List<Payslip> lines = new ArrayList<>(payslips.length);
+        for (Payslip payslip : payslips)
+            if (payslip != null) lines.add(payslip);
+        if (lines.isEmpty()) return;
+        transaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_LINE, lines, lines.size(), (ps, payslip) -> {
+            ps.setLong(1, runId);
+            ps.setLong(2, payslip.employeeId());
+            ps.setInt(3, payslip.workedDays());
+            ps.setBigDecimal(4, payslip.grossPay());
+            ps.setBigDecimal(5, payslip.bonus());
+            ps.setBigDecimal(6, payslip.employerContributions());
+            ps.setBigDecimal(7, payslip.employerCost());
+        }));
+    }
+
+    private static void await(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Payroll run interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new IllegalStateException("Could not write payroll lines", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writer.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    // The earlier of the employee's and the contract's end dates ends the employment, the later start starts it
+    private static final RowMapper<PayrollInput> INPUT = (rs, rowNum) -> {
+        LocalDate hireDate = rs.getObject("hire_date", LocalDate.class);
+        LocalDate contractStart = rs.getObject("start_date", LocalDate.class);
+        LocalDate employeeEnd = rs.getObject("contract_end_date", LocalDate.class);
+        LocalDate contractEnd = rs.getObject("end_date", LocalDate.class);
+        LocalDate start = contractStart != null && (hireDate == null || contractStart.isAfter(hireDate)) ? contractStart : hireDate;
+        LocalDate end = contractEnd != null && (employeeEnd == null || contractEnd.isBefore(employeeEnd)) ? contractEnd : employeeEnd;
+        return new PayrollInput(rs.getLong("id"), rs.getBigDecimal("base_salary"), rs.getBigDecimal("gross_salary"),
+                rs.getBigDecimal("annual_bonus"), rs.getBigDecimal("weekly_hours"), start, end);
+    };
+}
@@ -0,0 +1,140 @@
+package org.pentagone.business.zentracore.hr.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.pentagone.business.zentracore.common.outbox.Outbox;
+import org.pentagone.business.zentracore.hr.dto.PublicationLifecycleReportDto;
+import org.pentagone.business.zentracore.hr.entity.ApplicationStatus;
+import org.pentagone.business.zentracore.hr.event.ApplicationScoreChangedEvent;
+import org.pentagone.business.zentracore.hr.event.ApplicationStatusChanged;
+import org.pentagone.business.zentracore.hr.service.PublicationLifecycleService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+// Publications past their closing date are closed, those whose accepted applications reached
+// numberOfPositions are marked Filled, and the applications still open on either are rejected. Everything is
+// done by set based UPDATEs of at most CHUNK_SIZE rows, each in its own short transaction, on rows claimed
+// with FOR UPDATE SKIP LOCKED: the job never waits behind a user editing an application (the row is picked
+// up next run), holds its locks for one statement's time, and instances running it side by side share the work.
+@Slf4j
+@Service
+public class PublicationLifecycleServiceImpl implements PublicationLifecycleService {
+    private static final int CHUNK_SIZE = 500;
+    private static final String CLOSE_EXPIRED = "update publication set status = 'Closed', updated_at = :now where id in (" +
+            "select id from publication where status in ('Open', 'Suspended') and closing_date < :today " +
+            "order by id limit :limit for update skip locked)";
+    private static final String CLOSE_FILLED = "update publication set status = 'Filled', updated_at = :now where id in (" +
+            "select p.id from publication p where p.status = 'Open' %s and p.number_of_positions <= (" +
+            "select count(*) from application a where a.publication_id = p.id and a.status = :accepted) " +
+            "order by p.id limit :limit for update of p skip locked)";
+    private static final String REJECT_OPEN = "with target as (" +
+            "select a.id, a.status from application a join publication p on p.id = a.publication_id " +
+            "where p.status in ('Closed', 'Filled') and a.status in (:open) %s " +
+            "limit :limit for update of a skip locked) " +
+            "update application a set status = :rejected, updated_at = :now from target t where a.id = t.id " +
+            "returning a.id, t.status";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final Outbox outbox;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long maxRunMillis;
+    private final List<String> openStatuses = Arrays.stream(ApplicationStatus.values())
+            .filter(status -> !status.isTerminal()).map(ApplicationStatus::getLabel).toList();
+
+    public PublicationLifecycleServiceImpl(DataSource dataSource, PlatformTransactionManager transactionManager, Outbox outbox,
+                                           ApplicationEventPublisher eventPublisher,
+                                           @Value("${zentra.publication-lifecycle.max-run-seconds:30}") long maxRunSeconds) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.outbox = outbox;
+        this.eventPublisher = eventPublisher;
+        this.maxRunMillis = maxRunSeconds * 1000;
+    }
+
+    @Scheduled(cron = "${zentra.publication-lifecycle.cron:0 */5 * * * *}")
+    public void scheduledRun() {
+        PublicationLifecycleReportDto report = run();
+        if (report.getClosedPublications() + report.getFilledPublications() + report.getRejectedApplications() > 0)
+            log.info("Publication lifecycle: {} closed, {} filled, {} applications rejected in {} ms", report.getClosedPublications(),
+                    report.getFilledPublications(), report.getRejectedApplications(), report.getDurationMillis());
+    }
+
+    // Stops after max-run-seconds, whatever is left is picked up by the next run
+    @Override
+    public PublicationLifecycleReportDto run() {
+        long start = System.currentTimeMillis();
+        long deadline = start + maxRunMillis;
+        int closed = repeat(deadline, () -> update(CLOSE_EXPIRED, new MapSqlParameterSource("today", LocalDate.now())));
+        int filled = repeat(deadline, () -> update(CLOSE_FILLED.formatted(""), new MapSqlParameterSource()));
+        int rejected = repeat(deadline, () -> rejectOpen(REJECT_OPEN.formatted(""), new MapSqlParameterSource()));
+        return new PublicationLifecycleReportDto(closed, filled, rejected, System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public PublicationLifecycleReportDto closeIfFilled(Long publicationId) {
+        long start = System.currentTimeMillis();
+        MapSqlParameterSource publication = new MapSqlParameterSource("publicationId", publicationId);
+        int filled = update(CLOSE_FILLED.formatted("and p.id = :publicationId"), publication);
+        int rejected = filled == 0 ? 0 : repeat(start + maxRunMillis,
+                () -> rejectOpen(REJECT_OPEN.formatted("and a.publication_id = :publicationId"), publication));
+        return new PublicationLifecycleReportDto(0, filled, rejected, System.currentTimeMillis() - start);
+    }
+
+    private int update(String sql, MapSqlParameterSource parameters) {
+        Integer updated = transaction.execute(status -> jdbcTemplate.update(sql, parameters
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now()))
+                .addValue("accepted", ApplicationStatus.ACCEPTED.getLabel())
+                .addValue("limit", CHUNK_SIZE)));
+        return updated == null ? 0 : updated;
+    }
+
+    // One chunk: the rejections and their outbox events commit together
+    private int rejectOpen(String sql, MapSqlParameterSource parameters) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, ApplicationStatusChanged> changes = transaction.execute(status -> {
+            Map<Long, ApplicationStatusChanged> rejected = new LinkedHashMap<>();
+            jdbcTemplate.query(sql, parameters
+                    .addValue("open", openStatuses)
+                    .addValue("rejected", ApplicationStatus.REJECTED.getLabel())
+                    .addValue("now", Timestamp.valueOf(now))
+                    .addValue("limit", CHUNK_SIZE), rs -> {
+                long id = rs.getLong(1);
+                rejected.put(id, new ApplicationStatusChanged(id, ApplicationStatus.of(rs.getString(2)), ApplicationStatus.REJECTED,
+                        "Publication closed", now));
+            });
+            outbox.publishAll(ApplicationStatusChanged.AGGREGATE, ApplicationStatusChanged.TYPE, rejected);
+            return rejected;
+        });
+        if (changes == null || changes.isEmpty()) return 0;
+        // Statuses were written over JDBC, leaderboards have to be told
+        eventPublisher.publishEvent(new ApplicationScoreChangedEvent(changes.keySet()));
+        return changes.size();
+    }
+
+    // A short chunk means the rest is done or locked by someone else, either way it can wait for the next run
+    private static int repeat(long deadline, IntSupplier chunk) {
+        int total = 0;
+        int done;
+        do {
+            done = chunk.getAsInt();
+            total += done;
+        } while (done == CHUNK_SIZE && System.currentTimeMillis() < deadline);
+        return total;
+    }
+}
@@ -1,27 +1,97 @@
 package org.pentagone.business.zentracore.hr.service.impl;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.pentagone.business.zentracore.common.exception.EntityNotFoundException;
+import org.pentagone.business.zentracore.common.util.CacheStats;
+import org.pentagone.business.zentracore.common.util.PageResponse;
+import org.pentagone.business.zentracore.hr.cache.CompiledQcmCache;
+import org.pentagone.business.zentracore.hr.dto.ChoiceDto;
+import org.pentagone.business.zentracore.hr.dto.ImportReportDto;
 import org.pentagone.business.zentracore.hr.dto.QcmDto;
+import org.pentagone.business.zentracore.hr.dto.QcmSearchResultDto;
+import org.pentagone.business.zentracore.hr.dto.QcmSummaryDto;
+import org.pentagone.business.zentracore.hr.dto.QuestionDto;
 import org.pentagone.business.zentracore.hr.entity.Choice;
 import org.pentagone.business.zentracore.hr.entity.Qcm;
+import org.pentagone.business.zentracore.hr.entity.Question;
+import org.pentagone.business.zentracore.hr.mapper.ChoiceMapper;
 import org.pentagone.business.zentracore.hr.mapper.QcmMapper;
+import org.pentagone.business.zentracore.hr.mapper.QuestionMapper;
+import org.pentagone.business.zentracore.hr.model.CompiledQcm;
+import org.pentagone.business.zentracore.hr.repository.ChoiceRepository;
 import org.pentagone.business.zentracore.hr.repository.QcmRepository;
+import org.pentagone.business.zentracore.hr.repository.QuestionRepository;
+import org.pentagone.business.zentracore.hr.repository.ResponseRepository;
 import org.pentagone.business.zentracore.hr.service.QcmService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class QcmServiceImpl implements QcmService {
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int IMPORT_CHUNK_SIZE = 50;
+    private static final int MAX_REPORTED_ERRORS = 100;
+
     private final QcmRepository qcmRepository;
+    private final QuestionRepository questionRepository;
+    private final ChoiceRepository choiceRepository;
+    private final ResponseRepository responseRepository;
     private final QcmMapper qcmMapper;
+    private final QuestionMapper questionMapper;
+    private final ChoiceMapper choiceMapper;
+    private final CompiledQcmCache qcmCache;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate transaction;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
-    public QcmServiceImpl(QcmRepository qcmRepository, QcmMapper qcmMapper) {
+    public QcmServiceImpl(QcmRepository qcmRepository, QuestionRepository questionRepository,
+                          ChoiceRepository choiceRepository, ResponseRepository responseRepository, QcmMapper qcmMapper,
+                          QuestionMapper questionMapper, ChoiceMapper choiceMapper, CompiledQcmCache qcmCache,
+                          PlatformTransactionManager transactionManager, ObjectMapper objectMapper) {
         this.qcmRepository = qcmRepository;
+        this.questionRepository = questionRepository;
+        this.choiceRepository = choiceRepository;
+        this.responseRepository = responseRepository;
         this.qcmMapper = qcmMapper;
+        this.questionMapper = questionMapper;
+        this.choiceMapper = choiceMapper;
+        this.qcmCache = qcmCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
     }
 
-    private void verifyQcm(Qcm qcm) {
+    static void verifyQcm(Qcm qcm) {
         if (qcm.getTitle() == null || qcm.getTitle().isEmpty())
             throw new IllegalArgumentException("Title is empty");
         if (qcm.getDescription() == null || qcm.getDescription().isEmpty())
@@ -45,32 +115,254 @@ public class QcmServiceImpl implements QcmService {
     }
 
     @Override
+    @Transactional
     public QcmDto createQcm(QcmDto qcmDto) {
         Qcm qcm = qcmMapper.toEntity(qcmDto);
+        qcm.setVersion(null);
         verifyQcm(qcm);
         return qcmMapper.toDto(qcmRepository.save(qcm));
     }
 
+    // The persisted tree is loaded and the dto is applied onto it field by field, so dirty checking only
+    // writes the rows that actually changed. Any change bumps updatedAt, which makes the qcm row itself
+    // dirty and increments its version even when only a choice changed: two editors starting from the
+    // same version cannot both commit.
     @Override
+    @Transactional
     public QcmDto updateQcm(QcmDto qcmDto) {
-        Qcm qcm = qcmMapper.toEntity(qcmDto);
-        verifyQcm(qcm);
-        return qcmMapper.toDto(qcmRepository.save(qcm));
+        if (qcmDto.getId() == null)
+            throw new IllegalArgumentException("Id is empty");
+        if (qcmDto.getVersion() == null)
+            throw new IllegalArgumentException("Version is empty");
+        Qcm qcm = loadQcmTree(qcmDto.getId());
+        if (!qcmDto.getVersion().equals(qcm.getVersion()))
+            throw new ObjectOptimisticLockingFailureException(Qcm.class, qcm.getId());
+
+        if (applyChanges(qcm, qcmDto)) {
+            verifyQcm(qcm);
+            qcm.setUpdatedAt(LocalDateTime.now());
+            qcmRepository.flush();
+            invalidateAfterCommit(qcm.getId(), qcm.getUpdatedAt());
+        }
+        return qcmMapper.toDto(qcm);
+    }
+
+    private boolean applyChanges(Qcm qcm, QcmDto dto) {
+        boolean changed = apply(qcm.getTitle(), dto.getTitle(), qcm::setTitle)
+                | apply(qcm.getDescription(), dto.getDescription(), qcm::setDescription)
+                | apply(qcm.getDurationMinutes(), dto.getDurationMinutes(), qcm::setDurationMinutes)
+                | apply(qcm.getTotalScore(), dto.getTotalScore(), qcm::setTotalScore)
+                | apply(qcm.getRequiredScore(), dto.getRequiredScore(), qcm::setRequiredScore);
+
+        Map<Long, Question> existing = new HashMap<>();
+        qcm.getQuestions().forEach(q -> existing.put(q.getId(), q));
+        List<Question> questions = new ArrayList<>();
+        List<Long> removedChoiceIds = new ArrayList<>();
+        for (QuestionDto questionDto : dto.getQuestions() == null ? List.<QuestionDto>of() : dto.getQuestions()) {
+            if (questionDto.getId() == null) {
+                Question question = questionMapper.toEntity(questionDto);
+                if (question.getChoices() != null) question.getChoices().forEach(c -> c.setId(null));
+                question.setQcm(qcm);
+                questions.add(question);
+                changed = true;
+                continue;
+            }
+            Question question = existing.remove(questionDto.getId());
+            if (question == null)
+                throw new IllegalArgumentException("Question " + questionDto.getId() + " does not belong to the qcm");
+            changed |= applyChanges(question, questionDto, removedChoiceIds);
+            questions.add(question);
+        }
+        existing.values().forEach(q -> q.getChoices().forEach(c -> removedChoiceIds.add(c.getId())));
+        if (!removedChoiceIds.isEmpty() && responseRepository.existsByChoiceIdIn(removedChoiceIds))
+            throw new IllegalArgumentException("Choices already answered in an attempt cannot be removed");
+
+        if (!existing.isEmpty()) {
+            questionRepository.deleteAll(existing.values());
+            changed = true;
+        }
+        qcm.getQuestions().clear();
+        qcm.getQuestions().addAll(questions);
+        return changed;
+    }
+
+    private boolean applyChanges(Question question, QuestionDto dto, List<Long> removedChoiceIds) {
+        boolean changed = apply(question.getLibelle(), dto.getLibelle(), question::setLibelle)
+                | apply(question.isRequired(), dto.isRequired(), question::setRequired)
+                | apply(question.getScore(), dto.getScore(), question::setScore);
+
+        Map<Long, Choice> existing = new HashMap<>();
+        question.getChoices().forEach(c -> existing.put(c.getId(), c));
+        List<Choice> choices = new ArrayList<>();
+        for (ChoiceDto choiceDto : dto.getChoices() == null ? List.<ChoiceDto>of() : dto.getChoices()) {
+            if (choiceDto.getId() == null) {
+                Choice choice = choiceMapper.toEntity(choiceDto);
+                choice.setQuestion(question);
+                choices.add(choice);
+                changed = true;
+                continue;
+            }
+            Choice choice = existing.remove(choiceDto.getId());
+            if (choice == null)
+                throw new IllegalArgumentException("Choice " + choiceDto.getId() + " does not belong to the question");
+            changed |= apply(choice.getLibelle(), choiceDto.getLibelle(), choice::setLibelle)
+                    | apply(choice.isCorrect(), choiceDto.isCorrect(), choice::setCorrect);
+            choices.add(choice);
+        }
+        if (!existing.isEmpty()) {
+            existing.values().forEach(c -> removedChoiceIds.add(c.getId()));
+            choiceRepository.deleteAll(existing.values());
+            changed = true;
+        }
+        question.getChoices().clear();
+        question.getChoices().addAll(choices);
+        return changed;
+    }
+
+    private static <T> boolean apply(T current, T value, Consumer<T> setter) {
+        if (Objects.equals(current, value)) return false;
+        setter.accept(value);
+        return true;
+    }
+
+    private void invalidateAfterCommit(Long id, LocalDateTime version) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                if (version == null) qcmCache.invalidateDeleted(id);
+                else qcmCache.invalidate(id, version);
+            }
+        });
+    }
+
+    // Two queries whatever the size of the tree: the questions are fetched with the qcm, then the
+    // choices of all its questions in one go, which initializes them in the persistence context.
+    private Qcm loadQcmTree(Long id) {
+        Qcm qcm = qcmRepository.findWithQuestionsById(id).orElseThrow(() -> new EntityNotFoundException("Qcm not found"));
+        questionRepository.findWithChoicesByQcmId(id);
+        return qcm;
     }
 
     @Override
     public QcmDto getQcmById(Long id) {
-        return qcmMapper.toDto(qcmRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Qcm not found")));
+        return qcmMapper.toDto(getCompiledQcm(id));
+    }
+
+    // Cache hits never open a transaction, only misses go to the database.
+    @Override
+    public CompiledQcm getCompiledQcm(Long id) {
+        CompiledQcm compiled = qcmCache.get(id);
+        if (compiled == null) {
+            compiled = readOnlyTransaction.execute(status -> CompiledQcm.compile(loadQcmTree(id)));
+            qcmCache.put(compiled);
+        }
+        return compiled;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<QcmSummaryDto> getQcms(int page, int size) {
+        if (page < 0)
+            throw new IllegalArgumentException("Page must be positive");
+        if (size < 1 || size > MAX_PAGE_SIZE)
+            throw new IllegalArgumentException("Size must be between 1 and " + MAX_PAGE_SIZE);
+        return PageResponse.of(qcmRepository.findSummaries(PageRequest.of(page, size, Sort.by("id"))));
     }
 
     @Override
-    public List<QcmDto> getQcms() {
-        return qcmRepository.findAll().stream().map(qcmMapper::toDto).toList();
+    public List<QcmSearchResultDto> searchQcms(String query, int limit) {
+        if (query == null || query.isBlank())
+            throw new IllegalArgumentException("Query is empty");
+        if (limit < 1 || limit > MAX_PAGE_SIZE)
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        return qcmRepository.search(query, limit);
     }
 
     @Override
+    @Transactional
     public void deleteById(Long id) {
         Qcm qcm = qcmRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Qcm not found"));
         qcmRepository.delete(qcm);
+        invalidateAfterCommit(id, null);
+    }
+
+    @Override
+    public CacheStats getCacheStats() {
+        return qcmCache.stats();
+    }
+
+    // One qcm at a time: its choices are loaded, it is written as one NDJSON line and detached again, so
+    // the persistence context never holds more than a single tree.
+    @Override
+    @Transactional(readOnly = true)
+    public void exportQcms(OutputStream out) throws IOException {
+        try (SequenceWriter writer = objectMapper.writerFor(QcmDto.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(out);
+             Stream<Qcm> qcms = qcmRepository.streamAll()) {
+            for (Iterator<Qcm> iterator = qcms.iterator(); iterator.hasNext(); ) {
+                Qcm qcm = iterator.next();
+                questionRepository.findWithChoicesByQcmId(qcm.getId());
+                writer.write(qcmMapper.toDto(qcm));
+                entityManager.detach(qcm);
+            }
+        }
+    }
+
+    // Qcms are read one line at a time and persisted in chunks, each in its own transaction. A qcm failing
+    // the verifyQcm rules is reported and skipped, a line that is not valid JSON stops the import since
+    // the rest of the stream cannot be trusted.
+    @Override
+    public ImportReportDto importQcms(InputStream in) throws IOException {
+        ImportReportDto report = new ImportReportDto();
+        List<Qcm> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        try (MappingIterator<QcmDto> iterator = objectMapper.readerFor(QcmDto.class).readValues(in)) {
+            while (iterator.hasNextValue()) {
+                QcmDto qcmDto = iterator.nextValue();
+                report.setProcessed(report.getProcessed() + 1);
+                Qcm qcm = qcmMapper.toEntity(qcmDto);
+                clearIdentity(qcm);
+                try {
+                    verifyQcm(qcm);
+                } catch (IllegalArgumentException e) {
+                    report.setRejected(report.getRejected() + 1);
+                    if (report.getErrors().size() < MAX_REPORTED_ERRORS)
+                        report.getErrors().add("Qcm " + report.getProcessed() + ": " + e.getMessage());
+                    continue;
+                }
+                chunk.add(qcm);
+                if (chunk.size() == IMPORT_CHUNK_SIZE) persistChunk(chunk, report);
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid JSON after qcm " + report.getProcessed() + ": " + e.getOriginalMessage());
+        }
+        // Only once the whole file parsed: a malformed file saves no more than the chunks already committed
+        if (!chunk.isEmpty()) persistChunk(chunk, report);
+        return report;
+    }
+
+    // The chunk is emptied whether it was saved or not, it is never written twice
+    private void persistChunk(List<Qcm> chunk, ImportReportDto report) {
+        try {
+            transaction.executeWithoutResult(status -> {
+                qcmRepository.saveAll(chunk);
+                qcmRepository.flush();
+                entityManager.clear();
+            });
+            report.setImported(report.getImported() + chunk.size());
+        } finally {
+            chunk.clear();
+        }
+    }
+
+    private static void clearIdentity(Qcm qcm) {
+        qcm.setId(null);
+        qcm.setVersion(null);
+        if (qcm.getQuestions() == null) return;
+        qcm.getQuestions().forEach(q -> {
+            q.setId(null);
+            if (q.getChoices() != null) q.getChoices().forEach(c -> c.setId(null));
+        });
     }
 }
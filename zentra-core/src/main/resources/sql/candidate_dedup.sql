@@ -0,0 +1,28 @@
+-- Duplicate candidate detection (hr/dedup), applied at startup (spring.sql.init).
+-- Français: Signatures MinHash des candidats, seaux LSH et doublons probables détectés.
+
+-- 64 MinHash values of the candidate's name trigrams, birth date, phone and skills, big endian int32
+CREATE TABLE IF NOT EXISTS candidate_signature (
+    candidate_id BIGINT PRIMARY KEY REFERENCES candidate (id) ON DELETE CASCADE,
+    signature    BYTEA     NOT NULL,
+    computed_at  TIMESTAMP NOT NULL
+);
+
+-- One row per band of the signature, candidates sharing a bucket are compared
+CREATE TABLE IF NOT EXISTS candidate_lsh_bucket (
+    bucket       BIGINT NOT NULL,
+    candidate_id BIGINT NOT NULL REFERENCES candidate (id) ON DELETE CASCADE,
+    PRIMARY KEY (bucket, candidate_id)
+);
+CREATE INDEX IF NOT EXISTS idx_candidate_lsh_bucket_candidate ON candidate_lsh_bucket (candidate_id);
+
+-- Each pair is stored once, lower id first
+CREATE TABLE IF NOT EXISTS candidate_duplicate (
+    candidate_id BIGINT           NOT NULL REFERENCES candidate (id) ON DELETE CASCADE,
+    duplicate_id BIGINT           NOT NULL REFERENCES candidate (id) ON DELETE CASCADE,
+    similarity   DOUBLE PRECISION NOT NULL,
+    detected_at  TIMESTAMP        NOT NULL,
+    PRIMARY KEY (candidate_id, duplicate_id),
+    CHECK (candidate_id < duplicate_id)
+);
+CREATE INDEX IF NOT EXISTS idx_candidate_duplicate_duplicate ON candidate_duplicate (duplicate_id);
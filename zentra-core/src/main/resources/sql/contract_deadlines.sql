@@ -0,0 +1,13 @@
+-- Contract expiry and probation watcher (ContractDeadlineServiceImpl), applied at startup (spring.sql.init).
+-- Français: Rappels et échéances de fin de contrat et de période d'essai déjà notifiés.
+
+-- One row per alarm raised, so an alarm replayed after a restart, a change or by another instance is not
+-- published twice. days_before is 0 for the expiry itself. No foreign key: the notice outlives the employee.
+CREATE TABLE IF NOT EXISTS contract_deadline_notice (
+    employee_id   BIGINT      NOT NULL,
+    kind          VARCHAR(20) NOT NULL,
+    deadline      DATE        NOT NULL,
+    days_before   INTEGER     NOT NULL,
+    notified_at   TIMESTAMP   NOT NULL,
+    PRIMARY KEY (employee_id, kind, deadline, days_before)
+);
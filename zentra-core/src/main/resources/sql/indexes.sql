@@ -0,0 +1,65 @@
+-- Indexes and derived columns Hibernate does not manage, applied at startup (spring.sql.init).
+-- Français: Index et colonnes dérivées non gérés par Hibernate, appliqués au démarrage.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Full-text search over the qcm bank: tsvector columns maintained by PostgreSQL on every write
+ALTER TABLE qcm ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+                         setweight(to_tsvector('simple', coalesce(description, '')), 'B')) STORED;
+CREATE INDEX IF NOT EXISTS idx_qcm_search_vector ON qcm USING gin (search_vector);
+
+ALTER TABLE question ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (to_tsvector('simple', coalesce(libelle, ''))) STORED;
+CREATE INDEX IF NOT EXISTS idx_question_search_vector ON question USING gin (search_vector);
+
+ALTER TABLE choice ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (to_tsvector('simple', coalesce(libelle, ''))) STORED;
+CREATE INDEX IF NOT EXISTS idx_choice_search_vector ON choice USING gin (search_vector);
+
+-- Trigram indexes behind the ...ContainingIgnoreCase finders (upper(title) LIKE upper('%x%'))
+CREATE INDEX IF NOT EXISTS idx_qcm_title_trgm ON qcm USING gin (upper(title) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_job_title_trgm ON job USING gin (upper(title) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_publication_title_trgm ON publication USING gin (upper(title) gin_trgm_ops);
+
+-- Keyset listings of applications (ApplicationRepository.findPageBy...): equality columns first, then the
+-- (applied_at, id) sort key, the remaining projected columns included so pages are index-only scans
+CREATE INDEX IF NOT EXISTS idx_application_publication_applied
+    ON application (publication_id, applied_at, id) INCLUDE (status, document_score, score, candidate_id);
+CREATE INDEX IF NOT EXISTS idx_application_publication_status_applied
+    ON application (publication_id, status, applied_at, id) INCLUDE (document_score, score, candidate_id);
+CREATE INDEX IF NOT EXISTS idx_application_status_applied
+    ON application (status, applied_at, id) INCLUDE (publication_id, document_score, score, candidate_id);
+CREATE INDEX IF NOT EXISTS idx_application_candidate_applied
+    ON application (candidate_id, applied_at, id) INCLUDE (publication_id, status, document_score, score);
+
+-- Per application lookups of the attempt and the interview (leaderboards, attempt checks)
+CREATE INDEX IF NOT EXISTS idx_attempt_application ON attempt (application_id);
+CREATE INDEX IF NOT EXISTS idx_interview_application ON interview (application_id);
+
+-- Case insensitive email lookups of the candidate import (emails are compared lower cased)
+CREATE INDEX IF NOT EXISTS idx_candidate_email_lower ON candidate (lower(email));
+
+-- Due outbox events (OutboxDispatcher claim query), processed events stay out of the index
+CREATE INDEX IF NOT EXISTS idx_outbox_event_due ON outbox_event (available_at, id) WHERE status IN ('PENDING', 'PROCESSING');
+
+-- Interviewer calendars and booking checks (InterviewServiceImpl), by interviewer and day
+CREATE INDEX IF NOT EXISTS idx_interview_interviewer_date ON interview (interviewer_id, interview_date);
+
+-- Candidates changed since the search index last committed (catch-up at startup)
+CREATE INDEX IF NOT EXISTS idx_candidate_updated_at ON candidate (updated_at);
+
+-- Publication lifecycle job: publications still open with a closing date, applications not yet decided
+CREATE INDEX IF NOT EXISTS idx_publication_open_closing ON publication (closing_date) WHERE status IN ('Open', 'Suspended');
+CREATE INDEX IF NOT EXISTS idx_application_undecided ON application (publication_id)
+    WHERE status IN ('Received', 'Pending', 'Under Review', 'Shortlisted');
+
+-- Headcount and salary recounts of a job, jobs of a department (OrgSummaryServiceImpl)
+CREATE INDEX IF NOT EXISTS idx_employee_job ON employee (job_id);
+CREATE INDEX IF NOT EXISTS idx_job_department ON job (department_id);
+
+-- Payslips of a run in employee order (PayrollLineRepository.findByIdRunId), the primary key leads with employee_id
+CREATE INDEX IF NOT EXISTS idx_payroll_line_run ON payroll_line (run_id, employee_id);
+
+-- One RUNNING payroll run per month, also across nodes (PayrollServiceImpl.run)
+CREATE UNIQUE INDEX IF NOT EXISTS uq_payroll_run_running ON payroll_run (period_start) WHERE status = 'RUNNING';
@@ -0,0 +1,23 @@
+-- Item statistics maintained incrementally on every graded attempt, applied at startup (spring.sql.init).
+-- Français: Statistiques par question et par choix, mises à jour à chaque tentative corrigée.
+
+-- Running sums per question: difficulty = correct / attempts, discrimination is the point-biserial
+-- correlation between the question being correct and the attempt score, derived from the sums when read.
+CREATE TABLE IF NOT EXISTS question_statistic (
+    question_id       BIGINT PRIMARY KEY REFERENCES question (id) ON DELETE CASCADE,
+    qcm_id            BIGINT           NOT NULL REFERENCES qcm (id) ON DELETE CASCADE,
+    attempts          BIGINT           NOT NULL DEFAULT 0,
+    correct           BIGINT           NOT NULL DEFAULT 0,
+    sum_score         DOUBLE PRECISION NOT NULL DEFAULT 0,
+    sum_score_squared DOUBLE PRECISION NOT NULL DEFAULT 0,
+    sum_correct_score DOUBLE PRECISION NOT NULL DEFAULT 0
+);
+CREATE INDEX IF NOT EXISTS idx_question_statistic_qcm ON question_statistic (qcm_id);
+
+CREATE TABLE IF NOT EXISTS choice_statistic (
+    choice_id   BIGINT PRIMARY KEY REFERENCES choice (id) ON DELETE CASCADE,
+    question_id BIGINT NOT NULL,
+    qcm_id      BIGINT NOT NULL REFERENCES qcm (id) ON DELETE CASCADE,
+    selections  BIGINT NOT NULL DEFAULT 0
+);
+CREATE INDEX IF NOT EXISTS idx_choice_statistic_qcm ON choice_statistic (qcm_id);
@@ -0,0 +1,4 @@
+-- Migration: optimistic locking on qcm
+-- Français: Verrouillage optimiste des QCM. Les lignes existantes démarrent à la version 0.
+ALTER TABLE qcm ADD COLUMN IF NOT EXISTS version BIGINT;
+UPDATE qcm SET version = 0 WHERE version IS NULL;
@@ -0,0 +1,47 @@
+-- Migration: identity columns -> pooled sequences
+-- Français: Les identifiants sont désormais alloués par des séquences (pas de 50) pour permettre les insertions par lots.
+-- Hibernate creates the sequences on a fresh database. On a database created while ids were identity
+-- columns, run this once: every sequence is moved past the current max id plus one allocation block,
+-- since Hibernate hands out the 50 ids below each value it reads from a sequence.
+
+CREATE SEQUENCE IF NOT EXISTS application_seq INCREMENT BY 50;
+SELECT setval('application_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM application));
+
+CREATE SEQUENCE IF NOT EXISTS attempt_seq INCREMENT BY 50;
+SELECT setval('attempt_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM attempt));
+
+CREATE SEQUENCE IF NOT EXISTS candidate_seq INCREMENT BY 50;
+SELECT setval('candidate_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM candidate));
+
+CREATE SEQUENCE IF NOT EXISTS choice_seq INCREMENT BY 50;
+SELECT setval('choice_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM choice));
+
+CREATE SEQUENCE IF NOT EXISTS contract_seq INCREMENT BY 50;
+SELECT setval('contract_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM employment_contract));
+
+CREATE SEQUENCE IF NOT EXISTS department_seq INCREMENT BY 50;
+SELECT setval('department_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM department));
+
+CREATE SEQUENCE IF NOT EXISTS employee_seq INCREMENT BY 50;
+SELECT setval('employee_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM employee));
+
+CREATE SEQUENCE IF NOT EXISTS interview_seq INCREMENT BY 50;
+SELECT setval('interview_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM interview));
+
+CREATE SEQUENCE IF NOT EXISTS job_seq INCREMENT BY 50;
+SELECT setval('job_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM job));
+
+CREATE SEQUENCE IF NOT EXISTS publication_seq INCREMENT BY 50;
+SELECT setval('publication_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM publication));
+
+CREATE SEQUENCE IF NOT EXISTS qcm_seq INCREMENT BY 50;
+SELECT setval('qcm_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM qcm));
+
+CREATE SEQUENCE IF NOT EXISTS question_seq INCREMENT BY 50;
+SELECT setval('question_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM question));
+
+CREATE SEQUENCE IF NOT EXISTS response_seq INCREMENT BY 50;
+SELECT setval('response_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM response));
+
+CREATE SEQUENCE IF NOT EXISTS outbox_event_seq INCREMENT BY 50;
+SELECT setval('outbox_event_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM outbox_event));
@@ -0,0 +1,11 @@
+-- Business number counters (NumberAllocator), applied at startup (spring.sql.init).
+-- Français: Compteurs des matricules et numéros de contrat, réservés par blocs.
+
+-- One row per sequence and period (the year for yearly formats, 0 otherwise). next_value is the first value
+-- not reserved yet; a node reserves a whole block with one update, so the row is hot once per block.
+CREATE TABLE IF NOT EXISTS number_sequence (
+    name       VARCHAR(50) NOT NULL,
+    period     INTEGER     NOT NULL,
+    next_value BIGINT      NOT NULL,
+    PRIMARY KEY (name, period)
+);
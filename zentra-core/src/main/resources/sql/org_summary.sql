@@ -0,0 +1,33 @@
+-- Organization read model (OrgSummaryServiceImpl): headcount and salary mass per job and per department,
+-- refreshed after every employee, contract or job change, applied at startup (spring.sql.init).
+-- Français: Effectifs et masse salariale par poste et par département, tenus à jour à chaque modification.
+
+-- Job each employee was last counted in, so a move or a deletion knows which job to recount.
+-- No foreign keys: the row must outlive the employee until the refresh has read it.
+CREATE TABLE IF NOT EXISTS org_employee_job (
+    employee_id BIGINT PRIMARY KEY,
+    job_id      BIGINT NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_org_employee_job_job ON org_employee_job (job_id);
+
+-- Salaries are summed as numeric rounded to the cent, never as floating point
+CREATE TABLE IF NOT EXISTS org_job_summary (
+    job_id        BIGINT PRIMARY KEY,
+    department_id BIGINT         NOT NULL,
+    headcount     INTEGER        NOT NULL,
+    base_salary   NUMERIC(15, 2) NOT NULL,
+    gross_salary  NUMERIC(15, 2) NOT NULL,
+    annual_bonus  NUMERIC(15, 2) NOT NULL,
+    refreshed_at  TIMESTAMP      NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_org_job_summary_department ON org_job_summary (department_id);
+
+CREATE TABLE IF NOT EXISTS org_department_summary (
+    department_id BIGINT PRIMARY KEY,
+    jobs          INTEGER        NOT NULL,
+    headcount     INTEGER        NOT NULL,
+    base_salary   NUMERIC(15, 2) NOT NULL,
+    gross_salary  NUMERIC(15, 2) NOT NULL,
+    annual_bonus  NUMERIC(15, 2) NOT NULL,
+    refreshed_at  TIMESTAMP      NOT NULL
+);
@@ -62,6 +62,7 @@ CREATE TABLE employment_contract
     contract_number   VARCHAR(100)  NOT NULL UNIQUE, -- E: existence
     start_date        DATE          NOT NULL,
     end_date          DATE,
+    probation_end_date DATE,
 
     -- Contract terms
     gross_salary      DECIMAL(10, 2),
@@ -217,3 +218,18 @@ CREATE TABLE interview
     updated_at       DATE         NOT NULL DEFAULT CURRENT_DATE
 );
 
+-- Index: application listings
+-- Français: Index des listes de candidatures, paginées par (applied_at, application_id)
+CREATE INDEX idx_application_publication_applied ON application (publication_id, applied_at, application_id)
+    INCLUDE (status, document_score, score, candidate_id);
+CREATE INDEX idx_application_publication_status_applied ON application (publication_id, status, applied_at, application_id)
+    INCLUDE (document_score, score, candidate_id);
+CREATE INDEX idx_application_status_applied ON application (status, applied_at, application_id)
+    INCLUDE (publication_id, document_score, score, candidate_id);
+CREATE INDEX idx_application_candidate_applied ON application (candidate_id, applied_at, application_id)
+    INCLUDE (publication_id, status, document_score, score);
+CREATE INDEX idx_attempt_application ON attempt (application_id);
+CREATE INDEX idx_interview_application ON interview (application_id);
+CREATE INDEX idx_interview_interviewer_date ON interview (interviewer_id, interview_date);
+CREATE INDEX idx_employee_job ON employee (job_id);
+CREATE INDEX idx_job_department ON job (department_id);
@@ -0,0 +1,68 @@
+package org.pentagone.business.zentracore.common.storage;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DocumentServerTest {
+    private static final long SIZE = 1000;
+
+    @Test
+    void documentIsRevalidatedOnEveryUseAndAnUnchangedOneCostsA304() throws Exception {
+        DocumentStore store = new DocumentStore(Files.createTempDirectory("documents").toString());
+        String hash = store.store(new ByteArrayInputStream("%PDF-1.4 cv".getBytes(StandardCharsets.US_ASCII))).hash();
+        DocumentServer server = new DocumentServer(store);
+
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        server.serve(hash, "cv-1", new MockHttpServletRequest("GET", "/candidates/1/cv"), first);
+        MockHttpServletRequest revalidation = new MockHttpServletRequest("GET", "/candidates/1/cv");
+        revalidation.addHeader(HttpHeaders.IF_NONE_MATCH, first.getHeader(HttpHeaders.ETAG));
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        server.serve(hash, "cv-1", revalidation, second);
+
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(first.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("private, no-cache");
+        assertThat(first.getContentAsString()).isEqualTo("%PDF-1.4 cv");
+        assertThat(second.getStatus()).isEqualTo(304);
+        assertThat(second.getContentLength()).isZero();
+    }
+
+    @Test
+    void boundedRangeIsClampedToTheDocument() {
+        assertThat(DocumentServer.parseRange("bytes=0-499", SIZE)).containsExactly(0, 499);
+        assertThat(DocumentServer.parseRange("bytes=500-", SIZE)).containsExactly(500, 999);
+        assertThat(DocumentServer.parseRange("bytes=900-2000", SIZE)).containsExactly(900, 999);
+        assertThat(DocumentServer.parseRange("bytes= 10 - 19 ", SIZE)).containsExactly(10, 19);
+    }
+
+    @Test
+    void suffixRangeTakesTheLastBytes() {
+        assertThat(DocumentServer.parseRange("bytes=-100", SIZE)).containsExactly(900, 999);
+        assertThat(DocumentServer.parseRange("bytes=-5000", SIZE)).containsExactly(0, 999);
+    }
+
+    @Test
+    void rangeStartingPastTheEndIsUnsatisfiable() {
+        assertThat(DocumentServer.parseRange("bytes=1000-", SIZE)).isNull();
+        assertThat(DocumentServer.parseRange("bytes=-0", SIZE)).isNull();
+        assertThat(DocumentServer.parseRange("bytes=-10", 0)).isNull();
+    }
+
+    // Malformed or multiple ranges are ignored: the whole document is served
+    @Test
+    void unsupportedRangesServeTheWholeDocument() {
+        assertThat(DocumentServer.parseRange("bytes=0-1,5-9", SIZE)).isEmpty();
+        assertThat(DocumentServer.parseRange("items=0-1", SIZE)).isEmpty();
+        assertThat(DocumentServer.parseRange("bytes=abc-", SIZE)).isEmpty();
+        assertThat(DocumentServer.parseRange("bytes=10", SIZE)).isEmpty();
+        assertThat(DocumentServer.parseRange("bytes=-", SIZE)).isEmpty();
+        assertThat(DocumentServer.parseRange("bytes=20-10", SIZE)).isEmpty();
+    }
+}
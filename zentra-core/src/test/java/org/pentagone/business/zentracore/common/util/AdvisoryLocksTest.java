@@ -0,0 +1,30 @@
+package org.pentagone.business.zentracore.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdvisoryLocksTest {
+
+    @Test
+    void idsBeyondAnIntKeepTheirOwnKey() {
+        long id = (1L << 32) + 7;
+
+        assertThat(AdvisoryLocks.key(0x5354, id)).isNotEqualTo(AdvisoryLocks.key(0x5354, 7));
+        assertThat(AdvisoryLocks.key(0x5354, id) & ((1L << 48) - 1)).isEqualTo(id);
+    }
+
+    @Test
+    void namespacesNeverShareAKey() {
+        assertThat(AdvisoryLocks.key(0x5354, 42)).isNotEqualTo(AdvisoryLocks.key(0x4956, 42));
+        assertThat(AdvisoryLocks.key(0xFFFF, 42)).isNegative();
+    }
+
+    @Test
+    void idAndNamespaceMustFit() {
+        assertThatThrownBy(() -> AdvisoryLocks.key(0x5354, 1L << 48)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AdvisoryLocks.key(0x5354, -1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AdvisoryLocks.key(0x10000, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
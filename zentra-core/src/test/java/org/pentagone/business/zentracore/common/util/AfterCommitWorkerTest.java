@@ -0,0 +1,62 @@
+package org.pentagone.business.zentracore.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AfterCommitWorkerTest {
+    private final AfterCommitWorker worker = new AfterCommitWorker("test-worker");
+    private final List<Set<Long>> drained = new CopyOnWriteArrayList<>();
+    private final AfterCommitWorker.IdQueue queue = worker.queue(drained::add);
+
+    @Test
+    void idsQueuedWhileTheWorkerIsBusyAreDrainedAsOneSet() throws InterruptedException {
+        CountDownLatch busy = new CountDownLatch(1);
+        worker.execute(() -> await(busy));
+
+        queue.addAll(List.of(1L, 2L));
+        queue.addAll(List.of(2L, 3L));
+        busy.countDown();
+
+        assertThat(worker.shutdown(Duration.ofSeconds(5))).isTrue();
+        assertThat(drained).containsExactly(Set.of(1L, 2L, 3L));
+    }
+
+    @Test
+    void retriedIdsAreDrainedAfterTheDelay() throws InterruptedException {
+        queue.retry(List.of(7L), Duration.ofMillis(200));
+
+        assertThat(worker.call(() -> drained)).isEmpty();
+        Thread.sleep(400);
+        assertThat(worker.call(() -> drained)).containsExactly(Set.of(7L));
+    }
+
+    @Test
+    void aFailedTaskDoesNotStopTheWorker() {
+        worker.execute(() -> {
+            throw new IllegalStateException("boom");
+        });
+        queue.addAll(List.of(1L));
+
+        assertThat(worker.call(() -> drained)).containsExactly(Set.of(1L));
+        assertThatThrownBy(() -> worker.call(() -> {
+            throw new IllegalArgumentException("bad");
+        })).isInstanceOf(IllegalArgumentException.class).hasMessage("bad");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.pentagone.business.zentracore.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BloomFilterTest {
+    private static final int VALUES = 100_000;
+
+    @Test
+    void neverMissesAValuePut() {
+        BloomFilter filter = new BloomFilter(VALUES, 0.01);
+        for (int i = 0; i < VALUES; i++)
+            filter.put("candidate" + i + "@example.org");
+
+        for (int i = 0; i < VALUES; i++)
+            assertThat(filter.mightContain("candidate" + i + "@example.org")).isTrue();
+        assertThat(filter.insertions()).isEqualTo(VALUES);
+    }
+
+    @Test
+    void falsePositiveRateIsCloseToTheOneSizedFor() {
+        BloomFilter filter = new BloomFilter(VALUES, 0.01);
+        for (int i = 0; i < VALUES; i++)
+            filter.put("candidate" + i + "@example.org");
+
+        int falsePositives = 0;
+        for (int i = 0; i < VALUES; i++)
+            if (filter.mightContain("other" + i + "@example.org")) falsePositives++;
+
+        assertThat((double) falsePositives / VALUES).isBetween(0.005, 0.015);
+        assertThat(filter.falsePositiveRate()).isBetween(0.005, 0.015);
+    }
+
+    @Test
+    void estimatedRateGrowsPastTheCapacity() {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+        for (int i = 0; i < 1_000; i++)
+            filter.put("value" + i);
+        double atCapacity = filter.falsePositiveRate();
+        for (int i = 1_000; i < 3_000; i++)
+            filter.put("value" + i);
+
+        assertThat(filter.falsePositiveRate()).isGreaterThan(atCapacity * 5);
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+
+        assertThat(filter.mightContain("anything")).isFalse();
+        assertThat(filter.mightContain("")).isFalse();
+        assertThat(filter.falsePositiveRate()).isZero();
+    }
+
+    @Test
+    void rateMustBeBetweenZeroAndOne() {
+        assertThatThrownBy(() -> new BloomFilter(1_000, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BloomFilter(1_000, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,59 @@
+package org.pentagone.business.zentracore.common.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PooledIdsTest {
+
+    // A sequence "start with <start> increment by 50", as Hibernate creates them
+    private static JdbcTemplate sequence(long start) {
+        return new JdbcTemplate() {
+            private long next = start;
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> List<T> queryForList(String sql, Class<T> elementType, Object... args) {
+                List<Long> values = new ArrayList<>();
+                for (int i = 0; i < (Integer) args[0]; i++) {
+                    values.add(next);
+                    next += PooledIds.ALLOCATION;
+                }
+                return (List<T>) values;
+            }
+        };
+    }
+
+    @Test
+    void idsEndAtTheValuesReturned() {
+        long[] ids = PooledIds.allocate(sequence(101), "candidate_seq", 60);
+
+        assertThat(ids).containsExactly(LongStream.rangeClosed(52, 111).toArray());
+    }
+
+    @Test
+    void firstValueOfAFreshSequenceOnlyReservesItself() {
+        JdbcTemplate fresh = sequence(1);
+
+        assertThat(PooledIds.allocate(fresh, "candidate_seq", 3)).containsExactly(1, 2, 3);
+        // Hibernate would have taken 1..51 the same way, the next block starts after it
+        assertThat(PooledIds.allocate(fresh, "candidate_seq", 1)).containsExactly(52);
+    }
+
+    @Test
+    void nothingIsReservedForNoIds() {
+        assertThat(PooledIds.allocate(sequence(1), "candidate_seq", 0)).isEmpty();
+    }
+
+    @Test
+    void sequenceNameIsValidated() {
+        assertThatThrownBy(() -> PooledIds.allocate(sequence(1), "seq'); drop table x; --", 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,73 @@
+package org.pentagone.business.zentracore.common.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+    // Four buckets of 10 ms: delays over 40 ms go round the wheel more than once
+    private final TimingWheel wheel = new TimingWheel(Duration.ofMillis(10), 4, Runnable::run);
+
+    @AfterEach
+    void close() {
+        wheel.close();
+    }
+
+    @Test
+    void runsATaskNoEarlierThanItsDelay() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicLong ranAt = new AtomicLong();
+        long start = System.nanoTime();
+
+        wheel.schedule(() -> {
+            ranAt.set(System.nanoTime());
+            done.countDown();
+        }, Duration.ofMillis(50));
+
+        assertThat(done.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(ranAt.get() - start).isGreaterThanOrEqualTo(Duration.ofMillis(50).toNanos());
+    }
+
+    @Test
+    void delaysLongerThanOneTurnWaitTheirRounds() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicLong ranAt = new AtomicLong();
+        long start = System.nanoTime();
+
+        wheel.schedule(() -> {
+            ranAt.set(System.nanoTime());
+            done.countDown();
+        }, Duration.ofMillis(150));
+
+        assertThat(done.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(ranAt.get() - start).isGreaterThanOrEqualTo(Duration.ofMillis(150).toNanos());
+    }
+
+    @Test
+    void aPastDeadlineRunsOnTheNextTick() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+
+        wheel.schedule(done::countDown, Duration.ofMillis(-100));
+
+        assertThat(done.await(500, TimeUnit.MILLISECONDS)).isTrue();
+    }
+
+    @Test
+    void cancelledTaskNeverRuns() throws InterruptedException {
+        AtomicBoolean ran = new AtomicBoolean();
+        CountDownLatch after = new CountDownLatch(1);
+
+        wheel.schedule(() -> ran.set(true), Duration.ofMillis(30)).cancel();
+        wheel.schedule(after::countDown, Duration.ofMillis(80));
+
+        assertThat(after.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(ran).isFalse();
+    }
+}
@@ -0,0 +1,60 @@
+package org.pentagone.business.zentracore.hr.cache;
+
+import org.junit.jupiter.api.Test;
+import org.pentagone.business.zentracore.hr.model.CompiledQcm;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompiledQcmCacheTest {
+    private static final LocalDateTime V1 = LocalDateTime.of(2026, 10, 1, 9, 0);
+    private static final LocalDateTime V2 = V1.plusHours(1);
+    private static final LocalDateTime V3 = V1.plusHours(2);
+
+    private final CompiledQcmCache cache = new CompiledQcmCache(16, 600);
+
+    private static CompiledQcm qcm(long id, LocalDateTime updatedAt) {
+        return new CompiledQcm(id, 1L, updatedAt, "Java", null, 30, 10.0, 5.0, List.of(), null);
+    }
+
+    @Test
+    void treeOlderThanTheInvalidationIsRefused() {
+        cache.put(qcm(1, V1));
+        cache.invalidate(1L, V2);
+
+        cache.put(qcm(1, V1));
+
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    void olderTreeLoadedLateDoesNotReplaceTheNewOne() {
+        cache.invalidate(1L, V2);
+        cache.put(qcm(1, V2));
+
+        cache.put(qcm(1, V1));
+
+        assertThat(cache.get(1L).updatedAt()).isEqualTo(V2);
+    }
+
+    @Test
+    void newerTreeReplacesTheCachedOne() {
+        cache.put(qcm(1, V2));
+
+        cache.put(qcm(1, V3));
+
+        assertThat(cache.get(1L).updatedAt()).isEqualTo(V3);
+    }
+
+    @Test
+    void deletedQcmIsNeverCachedAgain() {
+        cache.put(qcm(1, V1));
+        cache.invalidateDeleted(1L);
+
+        cache.put(qcm(1, V3));
+
+        assertThat(cache.get(1L)).isNull();
+    }
+}
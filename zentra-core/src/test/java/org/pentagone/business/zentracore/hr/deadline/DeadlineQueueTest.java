@@ -0,0 +1,80 @@
+package org.pentagone.business.zentracore.hr.deadline;
+
+import org.junit.jupiter.api.Test;
+import org.pentagone.business.zentracore.hr.deadline.DeadlineQueue.Alarm;
+import org.pentagone.business.zentracore.hr.deadline.DeadlineQueue.Deadline;
+import org.pentagone.business.zentracore.hr.deadline.DeadlineQueue.Kind;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeadlineQueueTest {
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 2);
+
+    private final DeadlineQueue queue = new DeadlineQueue(30, 7);
+
+    @Test
+    void remindersFireInOrderThenTheExpiry() {
+        Deadline deadline = new Deadline(1, Kind.CONTRACT_END, TODAY.plusDays(40));
+        queue.replace(1, List.of(deadline), TODAY);
+
+        assertThat(queue.nextFireDate()).isEqualTo(TODAY.plusDays(10));
+        assertThat(queue.pollDue(TODAY.plusDays(9))).isEmpty();
+        assertThat(queue.pollDue(TODAY.plusDays(10))).containsExactly(new Alarm(TODAY.plusDays(10), 30, deadline));
+        assertThat(queue.nextFireDate()).isEqualTo(TODAY.plusDays(33));
+        assertThat(queue.pollDue(TODAY.plusDays(33))).containsExactly(new Alarm(TODAY.plusDays(33), 7, deadline));
+        assertThat(queue.pollDue(TODAY.plusDays(40))).containsExactly(new Alarm(TODAY.plusDays(40), 0, deadline));
+        assertThat(queue.nextFireDate()).isNull();
+        assertThat(queue.size()).isZero();
+    }
+
+    @Test
+    void catchUpRaisesOnlyTheLatestDueReminderThenRearmsTheNext() {
+        Deadline deadline = new Deadline(1, Kind.PROBATION_END, TODAY.plusDays(3));
+        queue.replace(1, List.of(deadline), TODAY);
+
+        assertThat(queue.pollDue(TODAY)).containsExactly(new Alarm(TODAY.minusDays(4), 7, deadline));
+        assertThat(queue.nextFireDate()).isEqualTo(TODAY.plusDays(3));
+        assertThat(queue.pendingAlarms()).isEqualTo(1);
+    }
+
+    @Test
+    void catchUpOfAPassedDeadlineRaisesTheExpiryOnly() {
+        Deadline deadline = new Deadline(1, Kind.CONTRACT_END, TODAY.minusDays(2));
+        queue.replace(1, List.of(deadline), TODAY);
+
+        assertThat(queue.pollDue(TODAY)).containsExactly(new Alarm(TODAY.minusDays(2), 0, deadline));
+        assertThat(queue.size()).isZero();
+        assertThat(queue.pendingAlarms()).isZero();
+    }
+
+    @Test
+    void pollingLateRearmsAfterTheDayPolled() {
+        Deadline deadline = new Deadline(1, Kind.CONTRACT_END, TODAY.plusDays(40));
+        queue.replace(1, List.of(deadline), TODAY);
+
+        // Down from the 30 day reminder until after the 7 day one was due
+        assertThat(queue.pollDue(TODAY.plusDays(35))).containsExactly(new Alarm(TODAY.plusDays(10), 30, deadline));
+        assertThat(queue.nextFireDate()).isEqualTo(TODAY.plusDays(40));
+    }
+
+    @Test
+    void replaceDropsThePreviousDeadlinesOfTheEmployee() {
+        queue.replace(1, List.of(new Deadline(1, Kind.CONTRACT_END, TODAY.plusDays(40)),
+                new Deadline(1, Kind.PROBATION_END, TODAY.plusDays(20))), TODAY);
+        queue.replace(2, List.of(new Deadline(2, Kind.CONTRACT_END, TODAY.plusDays(50))), TODAY);
+        Deadline moved = new Deadline(1, Kind.CONTRACT_END, TODAY.plusDays(60));
+
+        queue.replace(1, List.of(moved), TODAY);
+
+        assertThat(queue.size()).isEqualTo(2);
+        assertThat(queue.pendingAlarms()).isEqualTo(2);
+        assertThat(queue.between(TODAY, TODAY.plusDays(55))).extracting(Deadline::employeeId).containsExactly(2L);
+        assertThat(queue.between(TODAY.plusDays(55), TODAY.plusDays(60))).containsExactly(moved);
+
+        queue.replace(1, List.of(), TODAY);
+        assertThat(queue.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,98 @@
+package org.pentagone.business.zentracore.hr.grading;
+
+import org.junit.jupiter.api.Test;
+import org.pentagone.business.zentracore.hr.model.CompiledChoice;
+import org.pentagone.business.zentracore.hr.model.CompiledQuestion;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class AnswerKeyTest {
+    // Question 1 (required, 2 points): 11 and 13 are correct. Question 2 (3 points): 22 is correct.
+    // Question 3 (1 point): 70 choices, so two words, only 365 is correct.
+    private final AnswerKey key = AnswerKey.compile(List.of(
+            question(1, true, 2.0, choice(13, true), choice(12, false), choice(11, true)),
+            question(2, false, 3.0, choice(21, false), choice(22, true)),
+            question(3, false, 1.0, manyChoices())));
+    private final GradeSheet sheet = new GradeSheet();
+
+    @Test
+    void exactlyTheCorrectChoicesEarnTheFullScore() {
+        double score = key.grade(new long[]{22, 11, 365, 13}, GradingPolicy.ALL_OR_NOTHING, sheet);
+
+        assertThat(score).isEqualTo(6.0);
+        assertThat(key.maxScore()).isEqualTo(6.0);
+        assertThat(sheet.getAnswered()).isEqualTo(3);
+        assertThat(sheet.isCorrect(0)).isTrue();
+        assertThat(sheet.isCorrect(2)).isTrue();
+    }
+
+    @Test
+    void allOrNothingGivesNothingForAPartialAnswer() {
+        double score = key.grade(new long[]{11, 22, 364}, GradingPolicy.ALL_OR_NOTHING, sheet);
+
+        assertThat(score).isEqualTo(3.0);
+        assertThat(sheet.isCorrect(0)).isFalse();
+        assertThat(sheet.getAwarded(0)).isZero();
+        assertThat(sheet.isCorrect(2)).isFalse();
+    }
+
+    @Test
+    void partialCreditTakesWrongChoicesBackWithoutGoingNegative() {
+        assertThat(key.grade(new long[]{11}, GradingPolicy.PARTIAL_CREDIT, sheet)).isCloseTo(1.0, within(1e-9));
+        assertThat(key.grade(new long[]{11, 12, 13}, GradingPolicy.PARTIAL_CREDIT, sheet)).isCloseTo(1.0, within(1e-9));
+        assertThat(key.grade(new long[]{12, 21}, GradingPolicy.PARTIAL_CREDIT, sheet)).isZero();
+        assertThat(sheet.getAnswered()).isEqualTo(2);
+    }
+
+    @Test
+    void unansweredRequiredQuestionsAndUnknownChoicesAreCounted() {
+        key.grade(new long[]{22, 999}, GradingPolicy.ALL_OR_NOTHING, sheet);
+
+        assertThat(sheet.getMissingRequired()).isEqualTo(1);
+        assertThat(sheet.isComplete()).isFalse();
+        assertThat(sheet.getUnknownChoices()).isEqualTo(1);
+    }
+
+    @Test
+    void gradesASliceOfAFlatArrayWithAReusedSheet() {
+        long[] responses = {11, 13, 22, 12, 21};
+
+        assertThat(key.grade(responses, 0, 3, GradingPolicy.ALL_OR_NOTHING, sheet)).isEqualTo(5.0);
+        assertThat(key.grade(responses, 3, 5, GradingPolicy.ALL_OR_NOTHING, sheet)).isZero();
+        assertThat(sheet.getMissingRequired()).isZero();
+        assertThat(sheet.isCorrect(0)).isFalse();
+    }
+
+    @Test
+    void mapsChoicesToTheirQuestion() {
+        assertThat(key.questionIdOf(12)).isEqualTo(1);
+        assertThat(key.questionIdOf(22)).isEqualTo(2);
+        assertThat(key.questionIdOf(369)).isEqualTo(3);
+        assertThat(key.questionIdOf(999)).isEqualTo(-1);
+        assertThat(key.questionCount()).isEqualTo(3);
+        assertThat(key.choiceCount()).isEqualTo(75);
+    }
+
+    private static CompiledChoice[] manyChoices() {
+        CompiledChoice[] choices = new CompiledChoice[70];
+        for (int i = 0; i < choices.length; i++)
+            choices[i] = choice(300 + i, i == 65);
+        return choices;
+    }
+
+    private static CompiledQuestion question(long id, boolean required, double score, CompiledChoice... choices) {
+        List<Long> correct = new ArrayList<>();
+        for (CompiledChoice choice : choices)
+            if (choice.correct()) correct.add(choice.id());
+        return new CompiledQuestion(id, "Question " + id, required, score, List.of(choices), Set.copyOf(correct));
+    }
+
+    private static CompiledChoice choice(long id, boolean correct) {
+        return new CompiledChoice(id, "Choice " + id, correct);
+    }
+}
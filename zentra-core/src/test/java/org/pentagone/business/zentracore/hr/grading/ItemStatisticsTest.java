@@ -0,0 +1,68 @@
+package org.pentagone.business.zentracore.hr.grading;
+
+import org.junit.jupiter.api.Test;
+import org.pentagone.business.zentracore.hr.model.CompiledChoice;
+import org.pentagone.business.zentracore.hr.model.CompiledQuestion;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ItemStatisticsTest {
+    // Question 1 (2 points): 11 is correct. Question 2 (3 points): 22 is correct.
+    private final AnswerKey key = AnswerKey.compile(List.of(
+            new CompiledQuestion(1L, "q1", true, 2.0,
+                    List.of(new CompiledChoice(11L, "a", true), new CompiledChoice(12L, "b", false)), Set.of(11L)),
+            new CompiledQuestion(2L, "q2", false, 3.0,
+                    List.of(new CompiledChoice(21L, "a", false), new CompiledChoice(22L, "b", true)), Set.of(22L))));
+    private final GradeSheet sheet = new GradeSheet();
+
+    @Test
+    void aScoreChangeMovesTheScoreSumsWithoutCountingTheAttemptAgain() {
+        long[] choiceIds = {11, 21};
+        key.grade(choiceIds, GradingPolicy.ALL_OR_NOTHING, sheet);
+        ItemStatistics statistics = new ItemStatistics();
+
+        statistics.addScoreChange(7, key, 5.0, sheet);
+
+        ItemStatistics.QuestionSums first = statistics.questions().get(1L);
+        assertThat(first.getAttempts()).isZero();
+        assertThat(first.getCorrect()).isZero();
+        assertThat(first.getSumScore()).isCloseTo(-3.0, within(1e-9));
+        assertThat(first.getSumScoreSquared()).isCloseTo(4.0 - 25.0, within(1e-9));
+        assertThat(first.getSumCorrectScore()).isCloseTo(-3.0, within(1e-9));
+        ItemStatistics.QuestionSums second = statistics.questions().get(2L);
+        assertThat(second.getSumScore()).isCloseTo(-3.0, within(1e-9));
+        assertThat(second.getSumCorrectScore()).isZero();
+        assertThat(statistics.choices()).isEmpty();
+    }
+
+    @Test
+    void addingTheChangeToTheOldContributionGivesTheNewContribution() {
+        long[] choiceIds = {11, 22};
+        key.grade(choiceIds, GradingPolicy.ALL_OR_NOTHING, sheet);
+        ItemStatistics regraded = new ItemStatistics();
+        regraded.add(7, key, choiceIds, sheet);
+
+        ItemStatistics change = new ItemStatistics();
+        change.addScoreChange(7, key, 2.0, sheet);
+        ItemStatistics.QuestionSums sums = regraded.questions().get(1L);
+        ItemStatistics.QuestionSums delta = change.questions().get(1L);
+
+        assertThat(sums.getSumScore() - delta.getSumScore()).isCloseTo(2.0, within(1e-9));
+        assertThat(sums.getSumScoreSquared() - delta.getSumScoreSquared()).isCloseTo(4.0, within(1e-9));
+        assertThat(sums.getSumCorrectScore() - delta.getSumCorrectScore()).isCloseTo(2.0, within(1e-9));
+    }
+
+    @Test
+    void anUnchangedScoreAddsNothing() {
+        key.grade(new long[]{11}, GradingPolicy.ALL_OR_NOTHING, sheet);
+        ItemStatistics statistics = new ItemStatistics();
+
+        statistics.addScoreChange(7, key, 2.0, sheet);
+
+        assertThat(statistics.isEmpty()).isTrue();
+    }
+}
@@ -0,0 +1,37 @@
+package org.pentagone.business.zentracore.hr.matching;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class MatchingIndexTest {
+    private final MatchingIndex index = MatchingIndex.build(
+            List.of(new MatchProfile(1, "Ada Lovelace", Set.of("java", "postgresql"), 5, 10),
+                    new MatchProfile(2, "Alan Turing", Set.of("python"), 5, 10)),
+            List.of(new MatchProfile(10, "Backend developer", Set.of("java", "postgresql"), 5, 0)));
+
+    @Test
+    void indexedPublicationRanksOnItsRequiredSkills() {
+        List<MatchingIndex.Match> matches = index.topCandidates(index.publication(10), 2);
+
+        assertThat(matches).extracting(MatchingIndex.Match::id).containsExactly(1L, 2L);
+        assertThat(matches.get(0).score()).isCloseTo(1.0, within(1e-9));
+        assertThat(matches.get(0).matchedSkills()).isEqualTo(2);
+        assertThat(matches.get(0).requiredSkills()).isEqualTo(2);
+    }
+
+    @Test
+    void skillsOutsideTheDictionaryAreNotCountedForAProfileLoadedOutsideTheIndex() {
+        MatchProfile closed = new MatchProfile(11, "Mainframe developer", Set.of("java", "postgresql", "cobol"), 5, 0);
+
+        MatchingIndex.Match best = index.topCandidates(closed, 1).get(0);
+
+        assertThat(best.id()).isEqualTo(1L);
+        assertThat(best.score()).isEqualTo(index.topCandidates(index.publication(10), 1).get(0).score());
+        assertThat(best.requiredSkills()).isEqualTo(2);
+    }
+}
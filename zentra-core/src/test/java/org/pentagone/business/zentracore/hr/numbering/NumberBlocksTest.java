@@ -0,0 +1,63 @@
+package org.pentagone.business.zentracore.hr.numbering;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NumberBlocksTest {
+    private final AtomicLong counter = new AtomicLong(1);
+    private final AtomicInteger reservations = new AtomicInteger();
+
+    // Like the counter row: next_value moves by size, the last value reserved is returned
+    private long reserve(int size) {
+        reservations.incrementAndGet();
+        return counter.addAndGet(size) - 1;
+    }
+
+    @Test
+    void refillsOnlyOnceTheBlockIsExhausted() {
+        NumberBlocks blocks = new NumberBlocks(this::reserve, 10);
+
+        for (long expected = 1; expected <= 10; expected++)
+            assertThat(blocks.next()).isEqualTo(expected);
+        assertThat(reservations).hasValue(1);
+        assertThat(blocks.next()).isEqualTo(11);
+        assertThat(reservations).hasValue(2);
+    }
+
+    @Test
+    void blockSizeMustBePositive() {
+        assertThatThrownBy(() -> new NumberBlocks(this::reserve, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void concurrentCallersNeverGetTheSameValue() throws Exception {
+        NumberBlocks blocks = new NumberBlocks(this::reserve, 100);
+        Set<Long> values = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++)
+                        assertThat(values.add(blocks.next())).isTrue();
+                }));
+            }
+            for (Future<?> future : futures) future.get();
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(values).hasSize(8 * 10_000);
+    }
+}
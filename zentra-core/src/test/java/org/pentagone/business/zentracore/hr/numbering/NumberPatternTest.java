@@ -0,0 +1,63 @@
+package org.pentagone.business.zentracore.hr.numbering;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NumberPatternTest {
+
+    @Test
+    void formatsTheYearAndThePaddedCounter() {
+        NumberPattern pattern = new NumberPattern("EMP-{yyyy}-{seq:5}");
+
+        assertThat(pattern.format(2026, 42)).isEqualTo("EMP-2026-00042");
+        assertThat(pattern.format(2026, 123456)).isEqualTo("EMP-2026-123456");
+        assertThat(new NumberPattern("C{yy}/{seq}").format(2026, 7)).isEqualTo("C26/7");
+    }
+
+    @Test
+    void periodIsTheYearOnlyWhenThePatternHoldsIt() {
+        LocalDate day = LocalDate.of(2026, 10, 18);
+
+        assertThat(new NumberPattern("EMP-{yyyy}-{seq:5}").period(day)).isEqualTo(2026);
+        assertThat(new NumberPattern("C{yy}{seq:4}").period(day)).isEqualTo(2026);
+        assertThat(new NumberPattern("CTR-{seq:6}").period(day)).isZero();
+    }
+
+    @Test
+    void sqlRegexEscapesLiteralTextAndCapturesTheCounter() {
+        NumberPattern pattern = new NumberPattern("E.M+P({yyyy})-{seq:3}");
+
+        String regex = pattern.sqlRegex(2026);
+
+        assertThat(regex).isEqualTo("^E\\.M\\+P\\(2026\\)\\-([0-9]+)$");
+        Matcher matcher = Pattern.compile(regex).matcher(pattern.format(2026, 1234));
+        assertThat(matcher.matches()).isTrue();
+        assertThat(matcher.group(1)).isEqualTo("1234");
+        assertThat(pattern.format(2025, 1)).doesNotMatch(regex);
+        assertThat("EXM+P(2026)-001").doesNotMatch(regex);
+    }
+
+    @Test
+    void matchesNumbersOfAnyPeriod() {
+        NumberPattern pattern = new NumberPattern("EMP-{yyyy}-{seq:5}");
+
+        assertThat(pattern.matches("EMP-2026-00042")).isTrue();
+        assertThat(pattern.matches("EMP-1999-7")).isTrue();
+        assertThat(pattern.matches("EMP-26-00042")).isFalse();
+        assertThat(pattern.matches("EMP-2026-A0042")).isFalse();
+        assertThat(pattern.matches("X-EMP-2026-00042")).isFalse();
+        assertThat(new NumberPattern("C.{seq}").matches("CX12")).isFalse();
+    }
+
+    @Test
+    void patternMustHoldExactlyOneCounter() {
+        assertThatThrownBy(() -> new NumberPattern("EMP-{yyyy}")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new NumberPattern("{seq}-{seq}")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,110 @@
+package org.pentagone.business.zentracore.hr.payroll;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PayrollCalculatorTest {
+    private static final YearMonth FEBRUARY = YearMonth.of(2025, 2);
+    private static final YearMonth LEAP_FEBRUARY = YearMonth.of(2024, 2);
+
+    private final PayrollCalculator calculator = new PayrollCalculator(new BigDecimal("35"), new BigDecimal("0.45"));
+
+    @Test
+    void fullMonthPaysATwelfthOfTheContractSalary() {
+        Payslip payslip = calculator.compute(input("30000", "36000", "1200", "35", null, null), FEBRUARY);
+
+        assertThat(payslip.workedDays()).isEqualTo(28);
+        assertThat(payslip.grossPay()).isEqualByComparingTo("3000.00");
+        assertThat(payslip.bonus()).isEqualByComparingTo("100.00");
+        assertThat(payslip.employerContributions()).isEqualByComparingTo("1395.00");
+        assertThat(payslip.employerCost()).isEqualByComparingTo("4495.00");
+    }
+
+    @Test
+    void hireMidMonthIsProratedByCalendarDays() {
+        Payslip payslip = calculator.compute(input("30000", null, null, null, LocalDate.of(2025, 2, 15), null), FEBRUARY);
+
+        assertThat(payslip.workedDays()).isEqualTo(14);
+        assertThat(payslip.grossPay()).isEqualByComparingTo("1250.00");
+    }
+
+    @Test
+    void endMidMonthIsProratedByCalendarDays() {
+        Payslip payslip = calculator.compute(input(null, "36000", "1200", "35", null, LocalDate.of(2025, 2, 7)), FEBRUARY);
+
+        assertThat(payslip.workedDays()).isEqualTo(7);
+        assertThat(payslip.grossPay()).isEqualByComparingTo("750.00");
+        assertThat(payslip.bonus()).isEqualByComparingTo("25.00");
+    }
+
+    @Test
+    void leapFebruaryHasTwentyNineDays() {
+        Payslip fullMonth = calculator.compute(input(null, "36000", null, null, null, null), LEAP_FEBRUARY);
+        Payslip fromTheFifteenth = calculator.compute(input(null, "36000", null, null, LocalDate.of(2024, 2, 15), null), LEAP_FEBRUARY);
+
+        assertThat(fullMonth.workedDays()).isEqualTo(29);
+        assertThat(fullMonth.grossPay()).isEqualByComparingTo("3000.00");
+        assertThat(fromTheFifteenth.workedDays()).isEqualTo(15);
+        // 36000 * 15 / (12 * 29) = 1551.724...
+        assertThat(fromTheFifteenth.grossPay()).isEqualByComparingTo("1551.72");
+    }
+
+    @Test
+    void partTimeIsScaledByWeeklyHours() {
+        Payslip fullMonth = calculator.compute(input(null, "36000", null, "17.5", null, null), FEBRUARY);
+        Payslip untilTheTenth = calculator.compute(input(null, "36000", null, "17.5", null, LocalDate.of(2025, 2, 10)), FEBRUARY);
+
+        assertThat(fullMonth.grossPay()).isEqualByComparingTo("1500.00");
+        // 36000 * 17.5 * 10 / (35 * 12 * 28) = 535.714...
+        assertThat(untilTheTenth.grossPay()).isEqualByComparingTo("535.71");
+    }
+
+    @Test
+    void withoutContractTheBaseSalaryIsFullTime() {
+        Payslip payslip = calculator.compute(input("24000", null, null, null, null, null), FEBRUARY);
+
+        assertThat(payslip.grossPay()).isEqualByComparingTo("2000.00");
+        assertThat(payslip.bonus()).isEqualByComparingTo("0.00");
+    }
+
+    @Test
+    void withoutAnySalaryThePayIsZero() {
+        Payslip payslip = calculator.compute(input(null, null, null, null, null, null), FEBRUARY);
+
+        assertThat(payslip.workedDays()).isEqualTo(28);
+        assertThat(payslip.grossPay()).isEqualByComparingTo("0.00");
+        assertThat(payslip.employerCost()).isEqualByComparingTo("0.00");
+    }
+
+    @Test
+    void amountsAreRoundedHalfUpToTheCent() {
+        // 1.02 / 12 = 0.085 and 0.06 / 12 = 0.005, half even would round both down
+        Payslip payslip = calculator.compute(input(null, "1.02", "0.06", null, null, null), YearMonth.of(2025, 1));
+
+        assertThat(payslip.grossPay()).isEqualByComparingTo("0.09");
+        assertThat(payslip.bonus()).isEqualByComparingTo("0.01");
+        // (0.09 + 0.01) * 0.45 = 0.045
+        assertThat(payslip.employerContributions()).isEqualByComparingTo("0.05");
+    }
+
+    @Test
+    void noPayslipOutsideTheEmployment() {
+        assertThat(calculator.compute(input("30000", null, null, null, LocalDate.of(2025, 3, 1), null), FEBRUARY)).isNull();
+        assertThat(calculator.compute(input("30000", null, null, null, null, LocalDate.of(2025, 1, 31)), FEBRUARY)).isNull();
+    }
+
+    private static PayrollInput input(String baseSalary, String grossSalary, String annualBonus, String weeklyHours,
+                                      LocalDate startDate, LocalDate endDate) {
+        return new PayrollInput(1, decimal(baseSalary), decimal(grossSalary), decimal(annualBonus), decimal(weeklyHours),
+                startDate, endDate);
+    }
+
+    private static BigDecimal decimal(String value) {
+        return value == null ? null : new BigDecimal(value);
+    }
+}
@@ -0,0 +1,54 @@
+package org.pentagone.business.zentracore.hr.payroll;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PayrollTaskTest {
+    private static final YearMonth PERIOD = YearMonth.of(2025, 2);
+
+    private final PayrollCalculator calculator = new PayrollCalculator(new BigDecimal("35"), new BigDecimal("0.45"));
+
+    @Test
+    void parallelTotalsEqualSequentialTotals() {
+        PayrollInput[] inputs = inputs(10_000);
+        Payslip[] payslips = new Payslip[inputs.length];
+
+        PayrollTotals parallel = new ForkJoinPool(4).invoke(new PayrollTask(calculator, PERIOD, inputs, payslips, 0, inputs.length));
+
+        PayrollTotals sequential = PayrollTotals.ZERO;
+        for (int i = 0; i < inputs.length; i++) {
+            Payslip payslip = calculator.compute(inputs[i], PERIOD);
+            assertThat(payslips[i]).isEqualTo(payslip);
+            if (payslip != null) sequential = sequential.plus(payslip);
+        }
+        assertThat(parallel).isEqualTo(sequential);
+        assertThat(parallel.employees()).isLessThan(inputs.length);
+    }
+
+    // Some employees leave before or join after the period, so some slots stay null
+    private static PayrollInput[] inputs(int count) {
+        SplittableRandom random = new SplittableRandom(42);
+        PayrollInput[] inputs = new PayrollInput[count];
+        for (int i = 0; i < count; i++) {
+            boolean contract = random.nextBoolean();
+            LocalDate start = LocalDate.of(2025, 1, 1).plusDays(random.nextInt(70));
+            LocalDate end = random.nextInt(4) == 0 ? start.plusDays(random.nextInt(60)) : null;
+            inputs[i] = new PayrollInput(i, cents(random, 2_000_000, 8_000_000),
+                    contract ? cents(random, 2_000_000, 9_000_000) : null,
+                    contract ? cents(random, 0, 500_000) : null,
+                    contract ? BigDecimal.valueOf(10 + random.nextInt(26)) : null, start, end);
+        }
+        return inputs;
+    }
+
+    private static BigDecimal cents(SplittableRandom random, int from, int to) {
+        return BigDecimal.valueOf(random.nextInt(from, to), 2);
+    }
+}
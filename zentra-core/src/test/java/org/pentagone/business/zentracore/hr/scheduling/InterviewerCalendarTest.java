@@ -0,0 +1,109 @@
+package org.pentagone.business.zentracore.hr.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InterviewerCalendarTest {
+    private static final LocalDate MONDAY = LocalDate.of(2026, 3, 2);
+    private static final LocalDate FRIDAY = MONDAY.plusDays(4);
+    private static final WorkingHours HOURS = new WorkingHours(LocalTime.of(9, 0), LocalTime.of(17, 0), 30);
+
+    private final InterviewerCalendar calendar = new InterviewerCalendar();
+
+    @Test
+    void touchingAndOverlappingBookingsMergeIntoOneBlock() {
+        calendar.add(booking(1, MONDAY, "09:00", "10:00"));
+        calendar.add(booking(2, MONDAY, "10:00", "11:00"));
+        calendar.add(booking(3, MONDAY, "10:30", "12:00"));
+
+        assertThat(calendar.size()).isEqualTo(3);
+        assertThat(calendar.isFree(at(MONDAY, "08:30"), at(MONDAY, "09:00"))).isTrue();
+        assertThat(calendar.isFree(at(MONDAY, "11:59"), at(MONDAY, "12:00"))).isFalse();
+        assertThat(calendar.isFree(at(MONDAY, "12:00"), at(MONDAY, "12:30"))).isTrue();
+        assertThat(calendar.nextFree(at(MONDAY, "09:00"), Duration.ofMinutes(30), HOURS, at(FRIDAY, "17:00")))
+                .isEqualTo(at(MONDAY, "12:00"));
+    }
+
+    @Test
+    void cancellingTheMiddleBookingSplitsTheBlock() {
+        calendar.add(booking(1, MONDAY, "09:00", "10:00"));
+        calendar.add(booking(2, MONDAY, "10:00", "11:00"));
+        calendar.add(booking(3, MONDAY, "11:00", "12:00"));
+
+        assertThat(calendar.remove(2)).isTrue();
+        assertThat(calendar.remove(2)).isFalse();
+
+        assertThat(calendar.isFree(at(MONDAY, "10:00"), at(MONDAY, "11:00"))).isTrue();
+        assertThat(calendar.isFree(at(MONDAY, "09:30"), at(MONDAY, "10:00"))).isFalse();
+        assertThat(calendar.isFree(at(MONDAY, "11:00"), at(MONDAY, "11:30"))).isFalse();
+        assertThat(calendar.nextFree(at(MONDAY, "09:00"), Duration.ofHours(1), HOURS, at(FRIDAY, "17:00")))
+                .isEqualTo(at(MONDAY, "10:00"));
+    }
+
+    @Test
+    void cancellingTheBookingSpanningABlockKeepsTheOnesInsideIt() {
+        calendar.add(booking(1, MONDAY, "09:00", "12:00"));
+        calendar.add(booking(2, MONDAY, "10:00", "10:30"));
+        calendar.add(booking(3, MONDAY, "11:30", "12:30"));
+
+        calendar.remove(1);
+
+        assertThat(calendar.isFree(at(MONDAY, "09:00"), at(MONDAY, "10:00"))).isTrue();
+        assertThat(calendar.isFree(at(MONDAY, "10:30"), at(MONDAY, "11:30"))).isTrue();
+        assertThat(calendar.conflicts(at(MONDAY, "09:00"), at(MONDAY, "13:00")))
+                .extracting(Booking::interviewId).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void conflictsAreCollectedAcrossSeveralBlocks() {
+        calendar.add(booking(1, MONDAY, "09:00", "10:00"));
+        calendar.add(booking(2, MONDAY, "11:00", "12:00"));
+        calendar.add(booking(3, MONDAY, "13:00", "14:00"));
+        calendar.add(booking(4, MONDAY, "15:00", "16:00"));
+
+        assertThat(calendar.conflicts(at(MONDAY, "09:30"), at(MONDAY, "13:30")))
+                .extracting(Booking::interviewId).containsExactly(1L, 2L, 3L);
+        assertThat(calendar.conflicts(at(MONDAY, "10:30"), at(MONDAY, "15:00")))
+                .extracting(Booking::interviewId).containsExactly(2L, 3L);
+        assertThat(calendar.conflicts(at(MONDAY, "11:30"), at(MONDAY, "11:45")))
+                .extracting(Booking::interviewId).containsExactly(2L);
+        assertThat(calendar.conflicts(at(MONDAY, "10:00"), at(MONDAY, "11:00"))).isEmpty();
+    }
+
+    @Test
+    void nextFreeSkipsBusyBlocksAndTheWeekend() {
+        calendar.add(booking(1, FRIDAY, "15:00", "16:00"));
+        calendar.add(booking(2, FRIDAY, "16:00", "17:00"));
+        LocalDate nextMonday = MONDAY.plusWeeks(1);
+        calendar.add(booking(3, nextMonday, "09:00", "09:45"));
+
+        assertThat(calendar.nextFree(at(FRIDAY, "14:45"), Duration.ofHours(1), HOURS, at(nextMonday, "17:00")))
+                .isEqualTo(at(nextMonday, "10:00"));
+        assertThat(calendar.nextFree(at(FRIDAY, "14:45"), Duration.ofHours(1), HOURS, at(nextMonday, "10:00")))
+                .isNull();
+    }
+
+    @Test
+    void nextFreeDoesNotSuggestOutsideTheWorkingDay() {
+        assertThat(calendar.nextFree(at(MONDAY, "07:10"), Duration.ofHours(1), HOURS, at(FRIDAY, "17:00")))
+                .isEqualTo(at(MONDAY, "09:00"));
+        assertThat(calendar.nextFree(at(MONDAY, "16:10"), Duration.ofHours(1), HOURS, at(FRIDAY, "17:00")))
+                .isEqualTo(at(MONDAY.plusDays(1), "09:00"));
+        assertThat(calendar.nextFree(at(MONDAY, "10:10"), Duration.ofHours(1), HOURS, at(FRIDAY, "17:00")))
+                .isEqualTo(at(MONDAY, "10:30"));
+    }
+
+    private static Booking booking(long interviewId, LocalDate day, String start, String end) {
+        return new Booking(interviewId, at(day, start), at(day, end));
+    }
+
+    private static LocalDateTime at(LocalDate day, String time) {
+        return day.atTime(LocalTime.parse(time));
+    }
+}
@@ -0,0 +1,118 @@
+package org.pentagone.business.zentracore.hr.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.pentagone.business.zentracore.hr.dto.AttemptSubmissionDto;
+import org.pentagone.business.zentracore.hr.dto.AttemptDto;
+import org.pentagone.business.zentracore.hr.dto.ExamSessionDto;
+import org.pentagone.business.zentracore.hr.dto.ExamSessionStartDto;
+import org.pentagone.business.zentracore.hr.grading.GradeSheet;
+import org.pentagone.business.zentracore.hr.model.CompiledQcm;
+import org.pentagone.business.zentracore.hr.model.ExamSession;
+import org.pentagone.business.zentracore.hr.repository.ApplicationRepository;
+import org.pentagone.business.zentracore.hr.repository.AttemptRepository;
+import org.pentagone.business.zentracore.hr.service.AttemptService;
+import org.pentagone.business.zentracore.hr.service.GradingService;
+import org.pentagone.business.zentracore.hr.service.QcmService;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ExamSessionServiceImplTest {
+    private static final int SESSIONS = 50;
+
+    @Test
+    void sessionsExpiringInTheSameTickArePersistedInOneBatch() throws Exception {
+        QcmService qcmService = mock(QcmService.class);
+        AttemptService attemptService = mock(AttemptService.class);
+        ApplicationRepository applicationRepository = mock(ApplicationRepository.class);
+        AttemptRepository attemptRepository = mock(AttemptRepository.class);
+        when(qcmService.getCompiledQcm(7L)).thenReturn(new CompiledQcm(7L, 1L, null, "Java", null, null, 10.0, 5.0, List.of(), null));
+        when(applicationRepository.existsById(anyLong())).thenReturn(true);
+        List<Integer> batches = Collections.synchronizedList(new ArrayList<>());
+        when(attemptService.submitAttempts(any())).thenAnswer(invocation -> {
+            List<AttemptSubmissionDto> submissions = invocation.getArgument(0);
+            batches.add(submissions.size());
+            return List.of();
+        });
+        // One second with no grace: started right after the wheel, every session falls due on its second tick
+        ExamSessionServiceImpl service = new ExamSessionServiceImpl(qcmService, attemptService, mock(GradingService.class),
+                applicationRepository, attemptRepository, Duration.ofSeconds(1), Duration.ZERO);
+        try {
+            for (long applicationId = 1; applicationId <= SESSIONS; applicationId++) {
+                ExamSessionStartDto start = new ExamSessionStartDto();
+                start.setApplicationId(applicationId);
+                start.setQcmId(7L);
+                service.startSession(start);
+            }
+
+            for (long waited = 0; batches.isEmpty() && waited < 5_000; waited += 50)
+                Thread.sleep(50);
+            Thread.sleep(200);
+
+            assertThat(batches).containsExactly(SESSIONS);
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void answerWithoutAQuestionIsRejected() throws Exception {
+        ExamSessionServiceImpl service = new ExamSessionServiceImpl(mock(QcmService.class), mock(AttemptService.class),
+                mock(GradingService.class), mock(ApplicationRepository.class), mock(AttemptRepository.class), Duration.ofMinutes(1), Duration.ZERO);
+        try {
+            assertThatThrownBy(() -> service.answer(UUID.randomUUID(), null, List.of(1L)))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Question is empty");
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void submissionWithARequiredQuestionLeftBlankIsRejectedAndTheSessionStaysOpen() throws Exception {
+        QcmService qcmService = mock(QcmService.class);
+        AttemptService attemptService = mock(AttemptService.class);
+        GradingService gradingService = mock(GradingService.class);
+        ApplicationRepository applicationRepository = mock(ApplicationRepository.class);
+        CompiledQcm qcm = new CompiledQcm(7L, 1L, null, "Java", null, null, 10.0, 5.0, List.of(), null);
+        when(qcmService.getCompiledQcm(7L)).thenReturn(qcm);
+        when(applicationRepository.existsById(anyLong())).thenReturn(true);
+        GradeSheet incomplete = mock(GradeSheet.class);
+        when(incomplete.isComplete()).thenReturn(false);
+        GradeSheet complete = mock(GradeSheet.class);
+        when(complete.isComplete()).thenReturn(true);
+        when(gradingService.grade(any(), any())).thenReturn(incomplete, complete);
+        when(attemptService.submitAttempts(any())).thenReturn(List.of(new AttemptDto()));
+        ExamSessionServiceImpl service = new ExamSessionServiceImpl(qcmService, attemptService, gradingService,
+                applicationRepository, mock(AttemptRepository.class), Duration.ofMinutes(1), Duration.ZERO);
+        try {
+            ExamSessionStartDto start = new ExamSessionStartDto();
+            start.setApplicationId(1L);
+            start.setQcmId(7L);
+            UUID sessionId = service.startSession(start).getId();
+
+            assertThatThrownBy(() -> service.submit(sessionId))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Required questions are not answered");
+            verify(attemptService, never()).submitAttempts(any());
+            ExamSessionDto session = service.getSession(sessionId);
+            assertThat(session.getStatus()).isEqualTo(ExamSession.Status.ACTIVE.name());
+
+            assertThat(service.submit(sessionId)).isNotNull();
+        } finally {
+            service.shutdown();
+        }
+    }
+}
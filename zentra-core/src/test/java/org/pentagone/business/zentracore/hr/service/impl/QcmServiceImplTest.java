@@ -0,0 +1,58 @@
+package org.pentagone.business.zentracore.hr.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.pentagone.business.zentracore.hr.cache.CompiledQcmCache;
+import org.pentagone.business.zentracore.hr.dto.QcmDto;
+import org.pentagone.business.zentracore.hr.entity.Qcm;
+import org.pentagone.business.zentracore.hr.mapper.ChoiceMapper;
+import org.pentagone.business.zentracore.hr.mapper.QcmMapper;
+import org.pentagone.business.zentracore.hr.mapper.QuestionMapper;
+import org.pentagone.business.zentracore.hr.repository.ChoiceRepository;
+import org.pentagone.business.zentracore.hr.repository.QcmRepository;
+import org.pentagone.business.zentracore.hr.repository.QuestionRepository;
+import org.pentagone.business.zentracore.hr.repository.ResponseRepository;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QcmServiceImplTest {
+    private final QcmRepository qcmRepository = mock(QcmRepository.class);
+    private final QcmServiceImpl service = new QcmServiceImpl(qcmRepository, mock(QuestionRepository.class),
+            mock(ChoiceRepository.class), mock(ResponseRepository.class), mock(QcmMapper.class),
+            mock(QuestionMapper.class), mock(ChoiceMapper.class), new CompiledQcmCache(16, 60),
+            mock(PlatformTransactionManager.class), new ObjectMapper());
+
+    @Test
+    void updateWithoutAVersionIsABadRequest() {
+        QcmDto dto = new QcmDto();
+        dto.setId(1L);
+
+        assertThatThrownBy(() -> service.updateQcm(dto))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Version is empty");
+        verify(qcmRepository, never()).findWithQuestionsById(any());
+    }
+
+    @Test
+    void updateFromAStaleVersionIsAConflict() {
+        Qcm qcm = new Qcm();
+        qcm.setId(1L);
+        qcm.setVersion(3L);
+        when(qcmRepository.findWithQuestionsById(1L)).thenReturn(Optional.of(qcm));
+        QcmDto dto = new QcmDto();
+        dto.setId(1L);
+        dto.setVersion(2L);
+
+        assertThatThrownBy(() -> service.updateQcm(dto))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+}